@@ -0,0 +1,54 @@
+package nl.rug.aoop.command;
+
+/**
+ * Class BatchResult holds the outcome of every execution of a batch of a Command, by its index in the batch: it either
+ * succeeded, or it failed with a RuntimeException. A failed execution does not stop the ones after it, so the caller
+ * can settle every execution on its own.
+ */
+public class BatchResult {
+    /**
+     * RuntimeException[] the failure of every execution, null for an execution that succeeded.
+     */
+    private final RuntimeException[] failures;
+
+    /**
+     * Constructor creates the BatchResult of a batch in which every execution succeeded so far.
+     * @param size int number of executions in the batch.
+     */
+    public BatchResult(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size can't be negative.");
+        }
+        this.failures = new RuntimeException[size];
+    }
+
+    /**
+     * Method runs one execution of the batch and records the RuntimeException it fails with, if any.
+     * @param index int index of the execution in the batch.
+     * @param execution Runnable that executes the Command once.
+     */
+    public void run(int index, Runnable execution) {
+        try {
+            execution.run();
+        } catch (RuntimeException e) {
+            failures[index] = e;
+        }
+    }
+
+    /**
+     * Method retrieves the failure of an execution of the batch.
+     * @param index int index of the execution in the batch.
+     * @return RuntimeException the execution failed with, or null if it succeeded.
+     */
+    public RuntimeException getFailure(int index) {
+        return failures[index];
+    }
+
+    /**
+     * Method retrieves the number of executions in the batch.
+     * @return int number of executions.
+     */
+    public int getSize() {
+        return failures.length;
+    }
+}
@@ -1,9 +1,10 @@
 package nl.rug.aoop.command;
 
+import java.util.List;
 import java.util.Map;
 
 /**
- * Interface Command that can be executed.
+ * Interface Command that can be executed, once or for a batch of options at a time.
  */
 public interface Command {
     /**
@@ -11,4 +12,21 @@ public interface Command {
      * @param options Map(String, Object) with Objects for the Command to use.
      */
     void execute(Map<String, Object> options);
+
+    /**
+     * Method executes the Command once for every Map of Objects of a batch, in order, and reports the outcome of every
+     * execution. An execution that fails does not stop the ones after it. By default this executes them one by one;
+     * Commands that can share work between the executions of a batch override it. An override only throws before any
+     * execution had an effect.
+     * @param optionsBatch List(Map(String, Object)) with the Objects for every execution of the Command.
+     * @return BatchResult with the outcome of every execution, by its index in the batch.
+     */
+    default BatchResult executeBatch(List<Map<String, Object>> optionsBatch) {
+        BatchResult result = new BatchResult(optionsBatch.size());
+        for (int i = 0; i < optionsBatch.size(); i++) {
+            Map<String, Object> options = optionsBatch.get(i);
+            result.run(i, () -> execute(options));
+        }
+        return result;
+    }
 }
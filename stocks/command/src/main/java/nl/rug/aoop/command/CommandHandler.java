@@ -3,6 +3,7 @@ package nl.rug.aoop.command;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
@@ -37,6 +38,21 @@ public class CommandHandler {
         }
     }
 
+    /**
+     * Executes a command for a batch of options, looking the command up once.
+     * @param command Command string.
+     * @param optionsBatch Options maps passed into the command, one per execution.
+     * @return BatchResult with the outcome of every execution, by its index in the batch.
+     */
+    public BatchResult executeBatch(String command, List<Map<String, Object>> optionsBatch)
+            throws IllegalArgumentException {
+        Command batchCommand = commandMap.get(requireNonNull(command, "Map key cannot be null."));
+        if (batchCommand == null) {
+            throw new IllegalArgumentException("Command not found.");
+        }
+        return batchCommand.executeBatch(optionsBatch);
+    }
+
     /**
      * Method registers a Command by adding it to the CommandHandler's Map commandMap.
      * @param name String of the Command name to be used as a key for the Map commandMap.
@@ -0,0 +1,35 @@
+package nl.rug.aoop.command;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestBatchResultClass tests the BatchResult class.
+ */
+public class TestBatchResultClass {
+
+    /**
+     * Method tests that run records the failure of an execution only, by its index.
+     */
+    @Test
+    void testRun() {
+        BatchResult result = new BatchResult(2);
+        IllegalStateException failure = new IllegalStateException("failed");
+        result.run(0, () -> {
+            throw failure;
+        });
+        result.run(1, () -> { });
+        assertEquals(2, result.getSize());
+        assertSame(failure, result.getFailure(0));
+        assertNull(result.getFailure(1));
+    }
+
+    /**
+     * Method tests that the constructor throws an IllegalArgumentException for a negative size.
+     */
+    @Test
+    void testIllegalConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchResult(-1));
+    }
+}
@@ -3,10 +3,14 @@ package nl.rug.aoop.command;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -89,6 +93,35 @@ public class TestCommandHandlerClass {
         verify(mockCommand).execute(options);
     }
 
+    /**
+     * Method tests if method executeBatch executes a Command once for every options Map of the batch, reports the
+     * failure of an execution without stopping the ones after it, and throws an IllegalArgumentException for a
+     * Command that is not in the Map.
+     */
+    @Test
+    void testExecuteBatch() {
+        createCommandHandler();
+
+        Command mockCommand = mock(Command.class, CALLS_REAL_METHODS);
+        commandHandler.registerCommand("mockCommand", mockCommand);
+        Map<String, Object> first = new HashMap<>(Map.of("Body", "first"));
+        Map<String, Object> second = new HashMap<>(Map.of("Body", "second"));
+        Map<String, Object> third = new HashMap<>(Map.of("Body", "third"));
+        IllegalStateException failure = new IllegalStateException("second fails");
+        doThrow(failure).when(mockCommand).execute(second);
+        BatchResult result = commandHandler.executeBatch("mockCommand", List.of(first, second, third));
+        verify(mockCommand).executeBatch(List.of(first, second, third));
+        verify(mockCommand, times(1)).execute(first);
+        verify(mockCommand, times(1)).execute(second);
+        verify(mockCommand, times(1)).execute(third);
+        assertEquals(3, result.getSize());
+        assertNull(result.getFailure(0));
+        assertSame(failure, result.getFailure(1));
+        assertNull(result.getFailure(2));
+        assertThrows(IllegalArgumentException.class, () -> commandHandler.executeBatch("not mockCommand", List.of()));
+        assertThrows(NullPointerException.class, () -> commandHandler.executeBatch(null, List.of()));
+    }
+
     /**
      * Method tests if method executeCommand throws a NullPointerException when a null is given as Map key.
      */
@@ -0,0 +1,83 @@
+package nl.rug.aoop.core.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * BookDepth class is a snapshot of the best price levels of both sides of an order book, aggregated per price.
+ * The first level of a side is its top of book.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Getter
+public class BookDepth {
+    /**
+     * Id of the stock of the order book.
+     */
+    private String stockId;
+    /**
+     * Buy levels, highest price first.
+     */
+    private List<DepthLevel> bids = List.of();
+    /**
+     * Sell levels, lowest price first.
+     */
+    private List<DepthLevel> asks = List.of();
+
+    /**
+     * Default constructor.
+     */
+    public BookDepth() {
+    }
+
+    /**
+     * Constructor creates the depth snapshot.
+     * @param stockId Id of the stock of the order book.
+     * @param bids Buy levels, highest price first.
+     * @param asks Sell levels, lowest price first.
+     */
+    public BookDepth(String stockId, List<DepthLevel> bids, List<DepthLevel> asks) {
+        this.stockId = stockId;
+        this.bids = List.copyOf(bids);
+        this.asks = List.copyOf(asks);
+    }
+
+    /**
+     * Retrieves the best buy level.
+     * @return Best bid level, or null if there are no bids.
+     */
+    @JsonIgnore
+    public DepthLevel getBestBid() {
+        return bids.isEmpty() ? null : bids.get(0);
+    }
+
+    /**
+     * Retrieves the best sell level.
+     * @return Best ask level, or null if there are no asks.
+     */
+    @JsonIgnore
+    public DepthLevel getBestAsk() {
+        return asks.isEmpty() ? null : asks.get(0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BookDepth that = (BookDepth) o;
+        return Objects.equals(stockId, that.stockId) && Objects.equals(bids, that.bids)
+                && Objects.equals(asks, that.asks);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stockId, bids, asks);
+    }
+}
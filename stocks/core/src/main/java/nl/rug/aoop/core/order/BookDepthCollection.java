@@ -0,0 +1,87 @@
+package nl.rug.aoop.core.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * BookDepthCollection represents the depth snapshots of the order books of several stocks.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Getter
+public class BookDepthCollection {
+    /**
+     * Map of depth snapshots by stock id.
+     */
+    private Map<String, BookDepth> bookDepths = new HashMap<>();
+
+    /**
+     * Converts the depth collection to json String format.
+     *
+     * @param bookDepthCollection Collection to be converted.
+     * @return Json String of the collection.
+     */
+    public static String toString(BookDepthCollection bookDepthCollection) throws JsonProcessingException {
+        return (new ObjectMapper()).writeValueAsString(bookDepthCollection);
+    }
+
+    /**
+     * Converts a json String into a depth collection.
+     *
+     * @param string Json String to be converted.
+     * @return Converted depth collection.
+     */
+    public static BookDepthCollection fromString(String string) throws JsonProcessingException {
+        return (new ObjectMapper()).readValue(string, BookDepthCollection.class);
+    }
+
+    /**
+     * Updates the depth snapshot of a stock. Replaces the snapshot if one is already present, otherwise adds it.
+     *
+     * @param bookDepth New depth snapshot.
+     */
+    public void updateBookDepth(BookDepth bookDepth) {
+        bookDepths.put(bookDepth.getStockId(), bookDepth);
+    }
+
+    /**
+     * Retrieves the depth snapshot of a stock.
+     *
+     * @param stockId Stock id.
+     * @return Depth snapshot, or null if the collection holds none for the stock.
+     */
+    public BookDepth getBookDepth(String stockId) {
+        return bookDepths.get(stockId);
+    }
+
+    /**
+     * Retrieves the size of the depth collection.
+     *
+     * @return Size.
+     */
+    public int getSize() {
+        return bookDepths.size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BookDepthCollection that = (BookDepthCollection) o;
+        return Objects.equals(this.bookDepths, that.bookDepths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bookDepths);
+    }
+}
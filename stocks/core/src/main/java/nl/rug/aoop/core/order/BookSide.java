@@ -0,0 +1,204 @@
+package nl.rug.aoop.core.order;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * BookSide class holds the price levels of one side of an order book. The levels are kept in an array sorted by
+ * price with the best price at the end, so the best level is found in constant time, any price in O(log n), and
+ * levels are mostly added and removed near the end without shifting. Removed levels are pooled and reused, so a side
+ * only allocates when it holds more prices than it ever held before.
+ */
+public class BookSide {
+    /**
+     * Initial number of price levels the side has room for.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Side of the orders held by the levels.
+     */
+    @Getter
+    private final byte side;
+    /**
+     * Removed price levels waiting to be reused.
+     */
+    private final Deque<PriceLevel> freeLevels = new ArrayDeque<>();
+    /**
+     * Sort keys of the levels: the price for bids and the negated price for asks, so the best level has the highest
+     * key.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+    /**
+     * Price levels in the order of their keys.
+     */
+    private PriceLevel[] levels = new PriceLevel[INITIAL_CAPACITY];
+    /**
+     * Number of price levels.
+     */
+    @Getter
+    private int numOfLevels;
+
+    /**
+     * Constructor creates an empty book side.
+     * @param side Side of the orders the levels hold, either Order.BUY or Order.SELL.
+     * @throws IllegalArgumentException if the side is not recognised.
+     */
+    public BookSide(byte side) throws IllegalArgumentException {
+        if (side != Order.BUY && side != Order.SELL) {
+            throw new IllegalArgumentException("Book side not recognised.");
+        }
+        this.side = side;
+    }
+
+    /**
+     * Retrieves the level of a price.
+     * @param price Price of the level.
+     * @return Price level, or null if no order rests at the price.
+     */
+    public PriceLevel get(int price) {
+        int index = indexOf(toKey(price));
+        return index < 0 ? null : levels[index];
+    }
+
+    /**
+     * Retrieves a level by its depth.
+     * @param depth Depth of the level, 0 for the best level.
+     * @return Price level.
+     * @throws IndexOutOfBoundsException if the side holds no level at the depth.
+     */
+    public PriceLevel getLevel(int depth) throws IndexOutOfBoundsException {
+        return levels[toIndex(depth)];
+    }
+
+    /**
+     * Checks whether the side holds no levels.
+     * @return True if the side is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return numOfLevels == 0;
+    }
+
+    /**
+     * Retrieves the best price of the side: the highest bid or the lowest ask.
+     * @return Best price, or Order.NO_PRICE if the side is empty.
+     */
+    public int getBestPrice() {
+        return numOfLevels == 0 ? Order.NO_PRICE : levels[numOfLevels - 1].getPrice();
+    }
+
+    /**
+     * Retrieves the worst price of the side: the lowest bid or the highest ask.
+     * @return Worst price, or Order.NO_PRICE if the side is empty.
+     */
+    public int getWorstPrice() {
+        return numOfLevels == 0 ? Order.NO_PRICE : levels[0].getPrice();
+    }
+
+    /**
+     * Retrieves the aggregated depth of the best levels. This takes time in the number of returned levels, as every
+     * level keeps the total quantity of its orders.
+     * @param maxLevels Maximum number of levels.
+     * @return List of the levels, best level first.
+     */
+    public List<DepthLevel> getDepth(int maxLevels) {
+        int numOfDepthLevels = Math.max(0, Math.min(maxLevels, numOfLevels));
+        List<DepthLevel> depth = new ArrayList<>(numOfDepthLevels);
+        for (int index = numOfLevels - 1; index >= numOfLevels - numOfDepthLevels; index--) {
+            PriceLevel level = levels[index];
+            depth.add(new DepthLevel(level.getPrice(), level.getQuantity(), level.getSize()));
+        }
+        return depth;
+    }
+
+    /**
+     * Retrieves the level of a price, adding an empty one if no order rests at the price yet.
+     * @param price Price of the level.
+     * @return Price level.
+     */
+    PriceLevel getOrCreate(int price) {
+        long key = toKey(price);
+        int index = indexOf(key);
+        if (index >= 0) {
+            return levels[index];
+        }
+        index = -index - 1;
+        if (numOfLevels == levels.length) {
+            keys = Arrays.copyOf(keys, numOfLevels * 2);
+            levels = Arrays.copyOf(levels, numOfLevels * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, numOfLevels - index);
+        System.arraycopy(levels, index, levels, index + 1, numOfLevels - index);
+        PriceLevel level = freeLevels.poll();
+        if (level == null) {
+            level = new PriceLevel(price);
+        } else {
+            level.reset(price);
+        }
+        keys[index] = key;
+        levels[index] = level;
+        numOfLevels++;
+        return level;
+    }
+
+    /**
+     * Removes a level from the side and keeps it for reuse. Only levels worse than the removed one change their
+     * array index.
+     * @param level Removed price level.
+     */
+    void remove(PriceLevel level) {
+        int index = indexOf(toKey(level.getPrice()));
+        if (index < 0 || levels[index] != level) {
+            return;
+        }
+        System.arraycopy(keys, index + 1, keys, index, numOfLevels - index - 1);
+        System.arraycopy(levels, index + 1, levels, index, numOfLevels - index - 1);
+        numOfLevels--;
+        levels[numOfLevels] = null;
+        freeLevels.push(level);
+    }
+
+    /**
+     * Retrieves a level by its array index, where the best level has the highest index.
+     * @param index Array index of the level.
+     * @return Price level.
+     */
+    PriceLevel levelAt(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Converts a depth into an array index.
+     * @param depth Depth of the level, 0 for the best level.
+     * @return Array index of the level.
+     * @throws IndexOutOfBoundsException if the side holds no level at the depth.
+     */
+    private int toIndex(int depth) throws IndexOutOfBoundsException {
+        if (depth < 0 || depth >= numOfLevels) {
+            throw new IndexOutOfBoundsException(depth);
+        }
+        return numOfLevels - 1 - depth;
+    }
+
+    /**
+     * Converts a price into the sort key of the side.
+     * @param price Price.
+     * @return Sort key.
+     */
+    private long toKey(int price) {
+        return side == Order.BUY ? price : -(long) price;
+    }
+
+    /**
+     * Finds a key by binary search.
+     * @param key Sort key.
+     * @return Array index of the key, or (-(insertion point) - 1) if the side holds no level with the key.
+     */
+    private int indexOf(long key) {
+        return Arrays.binarySearch(keys, 0, numOfLevels, key);
+    }
+}
@@ -0,0 +1,10 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * Record class DepthLevel holds the aggregated resting orders of one price level of an order book.
+ * @param price Price of the level.
+ * @param quantity Total quantity of the orders of the level.
+ * @param numOfOrders Number of orders of the level.
+ */
+public record DepthLevel(int price, long quantity, int numOfOrders) {
+}
@@ -0,0 +1,43 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * FillOrKillOrder class represents the fill-or-kill order. It is either resolved right away in full within its
+ * price limit, or cancelled as a whole. It is never stored.
+ */
+public class FillOrKillOrder extends Order {
+    /**
+     * Default constructor.
+     */
+    public FillOrKillOrder() {
+    }
+
+    /**
+     * Constructor creates the fill-or-kill order.
+     * @param builder Fill-or-kill order builder.
+     */
+    public FillOrKillOrder(Builder builder) {
+        super(builder);
+        this.type = "FillOrKillOrder";
+    }
+
+    /**
+     * Method creates new builder.
+     * @return New Builder.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for the fill-or-kill order.
+     */
+    public static class Builder extends Order.Builder<Builder> {
+        /**
+         * Builds the fill-or-kill order.
+         * @return New FillOrKillOrder.
+         */
+        public FillOrKillOrder build() {
+            return new FillOrKillOrder(this);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package nl.rug.aoop.core.order;
+
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * HeapOrderBook class is an order book that keeps its resting orders on the heap. Both sides are sorted arrays of
+ * price levels with the best price last, so the best bid and ask are found in constant time and matching only visits
+ * the orders that actually cross. A primitive index from order id to order, together with the links every order
+ * keeps to its level and neighbours, makes lookups, cancels and amendments constant time. Adding, matching and
+ * removing orders does not allocate once the book has grown to its working size.
+ */
+public class HeapOrderBook extends OrderBook {
+    /**
+     * Buy orders grouped by price, highest price best.
+     */
+    @Getter
+    private final BookSide bids = new BookSide(Order.BUY);
+    /**
+     * Sell orders grouped by price, lowest price best.
+     */
+    @Getter
+    private final BookSide asks = new BookSide(Order.SELL);
+    /**
+     * Every resting order by order id.
+     */
+    private final OrderIndex orderIndex = new OrderIndex();
+    /**
+     * Iterator over the matching bids, reused by every call to getMatchingBids.
+     */
+    private final MatchingOrderIterator bidIterator = new MatchingOrderIterator(bids);
+    /**
+     * Iterator over the matching asks, reused by every call to getMatchingAsks.
+     */
+    private final MatchingOrderIterator askIterator = new MatchingOrderIterator(asks);
+
+    /**
+     * Constructor creates an empty order book.
+     * @param stockId Id of the stock the book belongs to.
+     */
+    public HeapOrderBook(String stockId) {
+        super(stockId);
+    }
+
+    /**
+     * Adds an order to the back of its price level.
+     * @param order Added order.
+     * @throws NullPointerException if the order has no id or no price.
+     * @throws IllegalArgumentException if the order side is not recognised or its id is already in the book.
+     */
+    @Override
+    public void addOrder(Order order) throws NullPointerException, IllegalArgumentException {
+        checkRestable(order);
+        BookSide side = getSide(order.getSide());
+        if (orderIndex.get(order.getOrderId()) != null) {
+            throw new IllegalArgumentException("Order id already in book.");
+        }
+        side.getOrCreate(order.getPriceTicks()).addOrder(order);
+        orderIndex.put(order.getOrderId(), order);
+        changeSize(order.getSide(), 1);
+    }
+
+    /**
+     * Retrieves a resting order by its id.
+     * @param orderId Id of the order.
+     * @return Order, or null if no order with the id rests in the book.
+     */
+    @Override
+    public Order getOrder(long orderId) {
+        return orderIndex.get(orderId);
+    }
+
+    /**
+     * Removes an order from its price level by its id and drops the level once it is empty.
+     * @param orderId Id of the removed order.
+     * @return Removed order, or null if no order with the id rests in the book.
+     */
+    @Override
+    public Order removeOrder(long orderId) {
+        Order order = orderIndex.remove(orderId);
+        if (order != null) {
+            unlink(order);
+        }
+        return order;
+    }
+
+    /**
+     * Changes the quantity of a resting order. A smaller quantity keeps the time priority of the order, a larger
+     * quantity moves it to the back of its price level, and a quantity of zero or less removes it.
+     * @param orderId Id of the amended order.
+     * @param quantity New quantity of the order.
+     * @return Amended order, or null if no order with the id rests in the book.
+     */
+    @Override
+    public Order amendOrder(long orderId, long quantity) {
+        Order order = orderIndex.get(orderId);
+        if (order == null) {
+            return null;
+        }
+        if (quantity <= 0) {
+            return removeOrder(orderId);
+        }
+        if (quantity > order.getQuantity()) {
+            PriceLevel level = order.getLevel();
+            level.unlink(order);
+            level.addOrder(order);
+        }
+        order.setQuantity(quantity);
+        return order;
+    }
+
+    @Override
+    public int getBestBidPrice() {
+        return bids.getBestPrice();
+    }
+
+    @Override
+    public int getBestAskPrice() {
+        return asks.getBestPrice();
+    }
+
+    @Override
+    public int getWorstAskPrice() {
+        return asks.getWorstPrice();
+    }
+
+    /**
+     * Iterates in price-time priority over the asks a buy order with the given limit can trade with.
+     * The iterator supports removal of the last returned order. The book reuses one iterator per side, so it is only
+     * valid until the next call for the same side.
+     * @param maxPrice Highest acceptable price, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matching asks.
+     */
+    @Override
+    public Iterator<Order> getMatchingAsks(int maxPrice) {
+        return askIterator.reset(maxPrice);
+    }
+
+    /**
+     * Iterates in price-time priority over the bids a sell order with the given limit can trade with.
+     * The iterator supports removal of the last returned order. The book reuses one iterator per side, so it is only
+     * valid until the next call for the same side.
+     * @param minPrice Lowest acceptable price, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matching bids.
+     */
+    @Override
+    public Iterator<Order> getMatchingBids(int minPrice) {
+        return bidIterator.reset(minPrice);
+    }
+
+    @Override
+    public BookDepth getDepth(int maxLevels) {
+        return new BookDepth(getStockId(), bids.getDepth(maxLevels), asks.getDepth(maxLevels));
+    }
+
+    /**
+     * Unlinks a removed order from its price level and drops the level once it is empty.
+     * @param order Order that was removed from the index.
+     */
+    private void unlink(Order order) {
+        PriceLevel level = order.getLevel();
+        level.unlink(order);
+        if (level.isEmpty()) {
+            getSide(order.getSide()).remove(level);
+        }
+        changeSize(order.getSide(), -1);
+    }
+
+    /**
+     * Retrieves the book side that holds orders of the given side.
+     * @param side Side of the orders.
+     * @return Book side.
+     * @throws IllegalArgumentException if the side is not recognised.
+     */
+    private BookSide getSide(byte side) throws IllegalArgumentException {
+        if (side == Order.BUY) {
+            return bids;
+        } else if (side == Order.SELL) {
+            return asks;
+        } else {
+            throw new IllegalArgumentException("Order operation not recognised.");
+        }
+    }
+
+    /**
+     * Iterator that walks price levels from best to worst and the orders of each level by arrival. It walks the level
+     * array from the end, and removing a level only shifts the levels behind it, which were already passed, so
+     * removing orders and emptied levels is safe.
+     */
+    private final class MatchingOrderIterator implements Iterator<Order> {
+        /**
+         * Book side the iterator walks.
+         */
+        private final BookSide side;
+        /**
+         * Worst acceptable price, or Order.NO_PRICE for no limit.
+         */
+        private int limit;
+        /**
+         * Array index of the level of the next order.
+         */
+        private int levelIndex;
+        /**
+         * Order returned by the next call to next.
+         */
+        private Order nextOrder;
+        /**
+         * Last returned order.
+         */
+        private Order lastOrder;
+
+        /**
+         * Constructor creates an iterator over a book side.
+         * @param side Book side to walk.
+         */
+        private MatchingOrderIterator(BookSide side) {
+            this.side = side;
+        }
+
+        /**
+         * Positions the iterator before the best level.
+         * @param limit Worst acceptable price, or Order.NO_PRICE for no limit.
+         * @return The iterator.
+         */
+        private MatchingOrderIterator reset(int limit) {
+            this.limit = limit;
+            lastOrder = null;
+            levelIndex = side.getNumOfLevels();
+            nextOrder = nextLevel();
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextOrder != null;
+        }
+
+        @Override
+        public Order next() {
+            if (nextOrder == null) {
+                throw new NoSuchElementException();
+            }
+            lastOrder = nextOrder;
+            nextOrder = lastOrder.getNextInLevel() == null ? nextLevel() : lastOrder.getNextInLevel();
+            return lastOrder;
+        }
+
+        @Override
+        public void remove() {
+            if (lastOrder == null) {
+                throw new IllegalStateException();
+            }
+            orderIndex.remove(lastOrder.getOrderId());
+            unlink(lastOrder);
+            lastOrder = null;
+        }
+
+        /**
+         * Moves to the next worse level if it crosses the limit.
+         * @return First order of the level, or null if there is no crossing level left.
+         */
+        private Order nextLevel() {
+            levelIndex--;
+            if (levelIndex < 0) {
+                return null;
+            }
+            PriceLevel level = side.levelAt(levelIndex);
+            return crosses(level.getPrice()) ? level.getFirstOrder() : null;
+        }
+
+        /**
+         * Checks whether a price is acceptable within the limit.
+         * @param price Price of a level.
+         * @return True if the price is acceptable, otherwise false.
+         */
+        private boolean crosses(int price) {
+            if (limit == Order.NO_PRICE) {
+                return true;
+            }
+            return side.getSide() == Order.SELL ? price <= limit : price >= limit;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * ImmediateOrCancelOrder class represents the immediate-or-cancel order. It is resolved right away as far as
+ * possible within its price limit, and its unresolved amount is cancelled instead of stored.
+ */
+public class ImmediateOrCancelOrder extends Order {
+    /**
+     * Default constructor.
+     */
+    public ImmediateOrCancelOrder() {
+    }
+
+    /**
+     * Constructor creates the immediate-or-cancel order.
+     * @param builder Immediate-or-cancel order builder.
+     */
+    public ImmediateOrCancelOrder(Builder builder) {
+        super(builder);
+        this.type = "ImmediateOrCancelOrder";
+    }
+
+    /**
+     * Method creates new builder.
+     * @return New Builder.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for the immediate-or-cancel order.
+     */
+    public static class Builder extends Order.Builder<Builder> {
+        /**
+         * Builds the immediate-or-cancel order.
+         * @return New ImmediateOrCancelOrder.
+         */
+        public ImmediateOrCancelOrder build() {
+            return new ImmediateOrCancelOrder(this);
+        }
+    }
+}
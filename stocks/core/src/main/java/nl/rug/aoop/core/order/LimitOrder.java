@@ -29,7 +29,7 @@ public class LimitOrder extends Order {
     public LimitOrder(Builder builder) {
         super(builder);
         this.type = "LimitOrder";
-        this.limit = price;
+        this.limit = getPrice();
     }
 
     /**
@@ -42,7 +42,7 @@ public class LimitOrder extends Order {
 
     @Override
     public int hashCode() {
-        return Objects.hash(limit, type, traderId, stockId, operation, price, amount);
+        return 31 * super.hashCode() + Objects.hashCode(limit);
     }
 
     @Override
@@ -54,7 +54,7 @@ public class LimitOrder extends Order {
             return false;
         }
         LimitOrder order = (LimitOrder) o;
-        return this.hashCode() == o.hashCode();
+        return super.equals(order) && Objects.equals(limit, order.limit);
     }
 
     /**
@@ -0,0 +1,44 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * MarketOrder class represents the market order. It is resolved right away at the best prices available, whatever
+ * they are, and its unresolved amount is cancelled instead of stored. The price of a market order is not set by the
+ * trader.
+ */
+public class MarketOrder extends Order {
+    /**
+     * Default constructor.
+     */
+    public MarketOrder() {
+    }
+
+    /**
+     * Constructor creates the market order.
+     * @param builder Market order builder.
+     */
+    public MarketOrder(Builder builder) {
+        super(builder);
+        this.type = "MarketOrder";
+    }
+
+    /**
+     * Method creates new builder.
+     * @return New Builder.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for the market order.
+     */
+    public static class Builder extends Order.Builder<Builder> {
+        /**
+         * Builds the market order.
+         * @return New MarketOrder.
+         */
+        public MarketOrder build() {
+            return new MarketOrder(this);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package nl.rug.aoop.core.order;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * OffHeapOrderBook class is an order book that keeps its resting orders as records in an OrderRecordStore instead of
+ * on the heap. Only the price levels (their price and first and last record) stay on the heap, so heap usage depends
+ * on the number of prices rather than the number of orders. An added order is copied into the store and the order
+ * object itself is not kept; the book hands out OrderRecordView objects instead, which are limit orders that write
+ * changes of their quantity back to the store. Matching reuses one view per side, so it does not allocate.
+ */
+public class OffHeapOrderBook extends OrderBook {
+    /**
+     * Store holding the records of the resting orders.
+     */
+    private final OrderRecordStore recordStore;
+    /**
+     * Book symbol that marks the records of this book in the store.
+     */
+    private final int book;
+    /**
+     * Price levels of the buy orders, highest price best.
+     */
+    private final RecordLevels bidLevels;
+    /**
+     * Price levels of the sell orders, lowest price best.
+     */
+    private final RecordLevels askLevels;
+    /**
+     * Iterator over the matching bids, reused by every call to getMatchingBids.
+     */
+    private final RecordIterator bidIterator;
+    /**
+     * Iterator over the matching asks, reused by every call to getMatchingAsks.
+     */
+    private final RecordIterator askIterator;
+
+    /**
+     * Constructor creates an empty order book that keeps its orders in a store.
+     * @param stockId Id of the stock the book belongs to.
+     * @param recordStore Store holding the records of the resting orders, which may be shared with other books.
+     */
+    public OffHeapOrderBook(String stockId, OrderRecordStore recordStore) {
+        super(stockId);
+        this.recordStore = requireNonNull(recordStore);
+        this.book = recordStore.registerBook();
+        this.bidLevels = new RecordLevels(recordStore, Order.BUY);
+        this.askLevels = new RecordLevels(recordStore, Order.SELL);
+        this.bidIterator = new RecordIterator(bidLevels);
+        this.askIterator = new RecordIterator(askLevels);
+    }
+
+    /**
+     * Retrieves the store holding the records of the resting orders.
+     * @return Order record store.
+     */
+    public OrderRecordStore getRecordStore() {
+        return recordStore;
+    }
+
+    /**
+     * Copies an order into the store, at the back of its price level.
+     * @param order Added order.
+     * @throws NullPointerException if the order has no id or no price.
+     * @throws IllegalArgumentException if the order side is not recognised or its id is already in the store.
+     */
+    @Override
+    public void addOrder(Order order) throws NullPointerException, IllegalArgumentException {
+        checkRestable(order);
+        RecordLevels levels = getLevels(order.getSide());
+        int record = recordStore.add(order, book);
+        levels.append(record);
+        changeSize(order.getSide(), 1);
+    }
+
+    /**
+     * Retrieves a resting order by its id.
+     * @param orderId Id of the order.
+     * @return New view of the order, or null if no order with the id rests in the book.
+     */
+    @Override
+    public Order getOrder(long orderId) {
+        int record = findRecord(orderId);
+        return record == OrderRecordStore.NO_RECORD ? null : new OrderRecordView().load(this, record);
+    }
+
+    /**
+     * Removes an order from the book by its id and frees its record.
+     * @param orderId Id of the removed order.
+     * @return View of the removed order, or null if no order with the id rests in the book.
+     */
+    @Override
+    public Order removeOrder(long orderId) {
+        int record = findRecord(orderId);
+        if (record == OrderRecordStore.NO_RECORD) {
+            return null;
+        }
+        OrderRecordView order = new OrderRecordView().load(this, record);
+        unlink(record);
+        order.detach();
+        return order;
+    }
+
+    /**
+     * Changes the quantity of a resting order. A smaller quantity keeps the time priority of the order, a larger
+     * quantity moves it to the back of its price level, and a quantity of zero or less removes it.
+     * @param orderId Id of the amended order.
+     * @param quantity New quantity of the order.
+     * @return View of the amended order, or null if no order with the id rests in the book.
+     */
+    @Override
+    public Order amendOrder(long orderId, long quantity) {
+        int record = findRecord(orderId);
+        if (record == OrderRecordStore.NO_RECORD) {
+            return null;
+        }
+        if (quantity <= 0) {
+            return removeOrder(orderId);
+        }
+        RecordLevels levels = getLevels(recordStore.getSide(record));
+        if (quantity > recordStore.getQuantity(record)) {
+            levels.unlink(record);
+            levels.append(record);
+        }
+        levels.changeQuantity(record, quantity);
+        return new OrderRecordView().load(this, record);
+    }
+
+    @Override
+    public int getBestBidPrice() {
+        return bidLevels.getBestPrice();
+    }
+
+    @Override
+    public int getBestAskPrice() {
+        return askLevels.getBestPrice();
+    }
+
+    @Override
+    public int getWorstAskPrice() {
+        return askLevels.getWorstPrice();
+    }
+
+    /**
+     * Iterates in price-time priority over the asks a buy order with the given limit can trade with. The iterator
+     * returns one reused view and supports removal of the last returned order. It is only valid until the next call
+     * for the same side.
+     * @param maxPrice Highest acceptable price, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matching asks.
+     */
+    @Override
+    public Iterator<Order> getMatchingAsks(int maxPrice) {
+        return askIterator.reset(maxPrice);
+    }
+
+    /**
+     * Iterates in price-time priority over the bids a sell order with the given limit can trade with. The iterator
+     * returns one reused view and supports removal of the last returned order. It is only valid until the next call
+     * for the same side.
+     * @param minPrice Lowest acceptable price, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matching bids.
+     */
+    @Override
+    public Iterator<Order> getMatchingBids(int minPrice) {
+        return bidIterator.reset(minPrice);
+    }
+
+    @Override
+    public BookDepth getDepth(int maxLevels) {
+        return new BookDepth(getStockId(), bidLevels.getDepth(maxLevels), askLevels.getDepth(maxLevels));
+    }
+
+    /**
+     * Changes the quantity of a resting record, keeping the total quantity of its level up to date.
+     * @param record Record index.
+     * @param quantity New quantity.
+     */
+    void changeQuantity(int record, long quantity) {
+        getLevels(recordStore.getSide(record)).changeQuantity(record, quantity);
+    }
+
+    /**
+     * Finds the record of a resting order of this book.
+     * @param orderId Id of the order.
+     * @return Record index, or OrderRecordStore.NO_RECORD if no order with the id rests in the book.
+     */
+    private int findRecord(long orderId) {
+        int record = recordStore.find(orderId);
+        if (record == OrderRecordStore.NO_RECORD || recordStore.getBook(record) != book) {
+            return OrderRecordStore.NO_RECORD;
+        }
+        return record;
+    }
+
+    /**
+     * Unlinks a record from its price level, drops the level once it is empty and frees the record.
+     * @param record Record index.
+     */
+    private void unlink(int record) {
+        byte side = recordStore.getSide(record);
+        getLevels(side).unlink(record);
+        recordStore.remove(record);
+        changeSize(side, -1);
+    }
+
+    /**
+     * Retrieves the price levels that hold orders of the given side.
+     * @param side Side of the orders.
+     * @return Price levels of the side.
+     * @throws IllegalArgumentException if the side is not recognised.
+     */
+    private RecordLevels getLevels(byte side) throws IllegalArgumentException {
+        if (side == Order.BUY) {
+            return bidLevels;
+        } else if (side == Order.SELL) {
+            return askLevels;
+        } else {
+            throw new IllegalArgumentException("Order operation not recognised.");
+        }
+    }
+
+    /**
+     * Iterator that walks price levels from best to worst and the records of each level by arrival, loading every
+     * record into one reused view.
+     */
+    private final class RecordIterator implements Iterator<Order> {
+        /**
+         * Price levels the iterator walks.
+         */
+        private final RecordLevels levels;
+        /**
+         * View the records are loaded into.
+         */
+        private final OrderRecordView view = new OrderRecordView();
+        /**
+         * Worst acceptable price, or Order.NO_PRICE for no limit.
+         */
+        private int limit;
+        /**
+         * Array index of the level of the next record.
+         */
+        private int levelIndex;
+        /**
+         * Record returned by the next call to next.
+         */
+        private int nextRecord = OrderRecordStore.NO_RECORD;
+        /**
+         * Last returned record.
+         */
+        private int lastRecord = OrderRecordStore.NO_RECORD;
+
+        /**
+         * Constructor creates an iterator over price levels.
+         * @param levels Price levels to walk.
+         */
+        private RecordIterator(RecordLevels levels) {
+            this.levels = levels;
+        }
+
+        /**
+         * Positions the iterator before the best level.
+         * @param limit Worst acceptable price, or Order.NO_PRICE for no limit.
+         * @return The iterator.
+         */
+        private RecordIterator reset(int limit) {
+            this.limit = limit;
+            lastRecord = OrderRecordStore.NO_RECORD;
+            levelIndex = levels.getNumOfLevels();
+            nextRecord = nextLevel();
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRecord != OrderRecordStore.NO_RECORD;
+        }
+
+        @Override
+        public Order next() {
+            if (nextRecord == OrderRecordStore.NO_RECORD) {
+                throw new NoSuchElementException();
+            }
+            lastRecord = nextRecord;
+            int next = recordStore.getNext(lastRecord);
+            nextRecord = next == OrderRecordStore.NO_RECORD ? nextLevel() : next;
+            return view.load(OffHeapOrderBook.this, lastRecord);
+        }
+
+        @Override
+        public void remove() {
+            if (lastRecord == OrderRecordStore.NO_RECORD) {
+                throw new IllegalStateException();
+            }
+            unlink(lastRecord);
+            view.detach();
+            lastRecord = OrderRecordStore.NO_RECORD;
+        }
+
+        /**
+         * Moves to the next worse level if it crosses the limit.
+         * @return First record of the level, or OrderRecordStore.NO_RECORD if there is no crossing level left.
+         */
+        private int nextLevel() {
+            levelIndex--;
+            if (levelIndex < 0) {
+                return OrderRecordStore.NO_RECORD;
+            }
+            int price = levels.getPrice(levelIndex);
+            boolean crosses = limit == Order.NO_PRICE
+                    || (levels.getSide() == Order.SELL ? price <= limit : price >= limit);
+            return crosses ? levels.getHead(levelIndex) : OrderRecordStore.NO_RECORD;
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package nl.rug.aoop.core.order;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.Objects;
 
 /**
- * Order class represents orders for the stock market.
+ * Order class represents orders for the stock market. The Json properties (id, operation, price, amount) are the edge
+ * form of an order; the stock exchange works on the primitive engine form behind them (order id, side, price ticks
+ * and quantity), so matching never boxes numbers or compares strings. Both forms live on this class: the engine fields
+ * and the links a HeapOrderBook keeps between resting orders are not serialized, and the edge properties are derived
+ * from them.
  */
 @JsonTypeInfo(
         use = JsonTypeInfo.Id.NAME,
@@ -16,6 +22,31 @@ import java.util.Objects;
 @Getter
 @Setter
 public class Order {
+    /**
+     * Side of an order whose operation is not recognised.
+     */
+    public static final byte NO_SIDE = 0;
+    /**
+     * Side of a buy order.
+     */
+    public static final byte BUY = 1;
+    /**
+     * Side of a sell order.
+     */
+    public static final byte SELL = 2;
+    /**
+     * Price ticks of an order without a price.
+     */
+    public static final int NO_PRICE = Integer.MIN_VALUE;
+    /**
+     * Order id of an order that has not been assigned an id.
+     */
+    public static final long NO_ID = 0;
+    /**
+     * Unique order id, assigned by the stock exchange when the order arrives.
+     */
+    @JsonIgnore
+    protected long orderId = NO_ID;
     /**
      * Order type.
      */
@@ -33,13 +64,42 @@ public class Order {
      */
     protected String operation;
     /**
-     * Price of the order.
+     * Side of the order, derived from the operation.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    protected byte side = NO_SIDE;
+    /**
+     * Price of the order in integer ticks.
      */
-    protected Integer price;
+    @JsonIgnore
+    protected int priceTicks = NO_PRICE;
     /**
      * Amount of stocks the order is worth.
      */
-    protected Integer amount;
+    @JsonIgnore
+    protected long quantity;
+    /**
+     * Price level holding the order while it rests in an order book.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private PriceLevel level;
+    /**
+     * Previous order of the price level holding the order.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private Order previousInLevel;
+    /**
+     * Next order of the price level holding the order.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private Order nextInLevel;
 
     /**
      * Default constructor.
@@ -54,11 +114,12 @@ public class Order {
      */
     public Order(Builder<?> builder) {
         this.type = "Order";
+        setId(builder.id);
         this.traderId = builder.traderId;
         this.stockId = builder.stockId;
-        this.operation = builder.operation;
-        this.price = builder.price;
-        this.amount = builder.amount;
+        setOperation(builder.operation);
+        setPrice(builder.price);
+        setAmount(builder.amount);
     }
 
     /**
@@ -70,9 +131,97 @@ public class Order {
         return new Builder();
     }
 
+    /**
+     * Retrieves the order id.
+     *
+     * @return Order id, or null if the order has not been assigned an id.
+     */
+    public Long getId() {
+        return orderId == NO_ID ? null : orderId;
+    }
+
+    /**
+     * Sets the order id.
+     *
+     * @param id Order id, or null to clear it.
+     */
+    public void setId(Long id) {
+        orderId = id == null ? NO_ID : id;
+    }
+
+    /**
+     * Sets the operation and the side derived from it.
+     *
+     * @param operation Operation.
+     */
+    public void setOperation(String operation) {
+        this.operation = operation;
+        if ("BUY".equals(operation)) {
+            side = BUY;
+        } else if ("SELL".equals(operation)) {
+            side = SELL;
+        } else {
+            side = NO_SIDE;
+        }
+    }
+
+    /**
+     * Retrieves the price.
+     *
+     * @return Price, or null if the order has no price.
+     */
+    public Integer getPrice() {
+        return priceTicks == NO_PRICE ? null : priceTicks;
+    }
+
+    /**
+     * Sets the price.
+     *
+     * @param price Price, or null for no price.
+     */
+    public void setPrice(Integer price) {
+        priceTicks = price == null ? NO_PRICE : price;
+    }
+
+    /**
+     * Retrieves the amount.
+     *
+     * @return Amount.
+     */
+    public Integer getAmount() {
+        return (int) quantity;
+    }
+
+    /**
+     * Sets the amount.
+     *
+     * @param amount Amount, null counts as zero.
+     */
+    public void setAmount(Integer amount) {
+        setQuantity(amount == null ? 0 : amount);
+    }
+
+    /**
+     * Sets the quantity. The total quantity of the price level holding the order follows the change.
+     *
+     * @param quantity Quantity.
+     */
+    public void setQuantity(long quantity) {
+        if (level != null) {
+            level.changeQuantity(quantity - this.quantity);
+        }
+        this.quantity = quantity;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(type, traderId, stockId, operation, price, amount);
+        int result = Long.hashCode(orderId);
+        result = 31 * result + Objects.hashCode(type);
+        result = 31 * result + Objects.hashCode(traderId);
+        result = 31 * result + Objects.hashCode(stockId);
+        result = 31 * result + Objects.hashCode(operation);
+        result = 31 * result + priceTicks;
+        return 31 * result + Long.hashCode(quantity);
     }
 
     @Override
@@ -84,7 +233,13 @@ public class Order {
             return false;
         }
         Order order = (Order) o;
-        return this.hashCode() == o.hashCode();
+        return orderId == order.orderId
+                && Objects.equals(type, order.type)
+                && Objects.equals(traderId, order.traderId)
+                && Objects.equals(stockId, order.stockId)
+                && Objects.equals(operation, order.operation)
+                && priceTicks == order.priceTicks
+                && quantity == order.quantity;
     }
 
     /**
@@ -93,6 +248,10 @@ public class Order {
      * @param <T> Generic extension of Builder.
      */
     public static class Builder<T extends Builder<T>> {
+        /**
+         * Order id.
+         */
+        private Long id;
         /**
          * Trader id.
          */
@@ -114,6 +273,17 @@ public class Order {
          */
         private Integer amount;
 
+        /**
+         * Sets the order id.
+         *
+         * @param id Order id.
+         * @return Builder.
+         */
+        public Builder<T> setId(Long id) {
+            this.id = id;
+            return this;
+        }
+
         /**
          * Sets the trader id.
          *
@@ -0,0 +1,199 @@
+package nl.rug.aoop.core.order;
+
+import lombok.Getter;
+
+import java.util.Iterator;
+
+/**
+ * OrderBook class is the base of the order books, which hold the resting orders of a single stock in price-time
+ * priority. It defines the operations the stock exchange matches and manages orders with, so the way an
+ * implementation stores its orders stays hidden behind them. The book counts its resting orders per side.
+ */
+@Getter
+public abstract class OrderBook {
+    /**
+     * Id of the stock the book belongs to.
+     */
+    private final String stockId;
+    /**
+     * Number of resting buy orders.
+     */
+    private int numOfBids;
+    /**
+     * Number of resting sell orders.
+     */
+    private int numOfAsks;
+
+    /**
+     * Constructor creates an empty order book.
+     * @param stockId Id of the stock the book belongs to.
+     */
+    protected OrderBook(String stockId) {
+        this.stockId = stockId;
+    }
+
+    /**
+     * Adds an order to the back of its price level.
+     * @param order Added order.
+     * @throws NullPointerException if the order has no id or no price.
+     * @throws IllegalArgumentException if the order side is not recognised or its id is already in the book.
+     */
+    public abstract void addOrder(Order order) throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Retrieves a resting order by its id.
+     * @param orderId Id of the order.
+     * @return Order, or null if no order with the id rests in the book.
+     */
+    public abstract Order getOrder(long orderId);
+
+    /**
+     * Removes an order from its price level by its id and drops the level once it is empty.
+     * @param orderId Id of the removed order.
+     * @return Removed order, or null if no order with the id rests in the book.
+     */
+    public abstract Order removeOrder(long orderId);
+
+    /**
+     * Changes the quantity of a resting order. A smaller quantity keeps the time priority of the order, a larger
+     * quantity moves it to the back of its price level, and a quantity of zero or less removes it.
+     * @param orderId Id of the amended order.
+     * @param quantity New quantity of the order.
+     * @return Amended order, or null if no order with the id rests in the book.
+     */
+    public abstract Order amendOrder(long orderId, long quantity);
+
+    /**
+     * Retrieves the highest bid price without boxing it.
+     * @return Best bid price, or Order.NO_PRICE if there are no bids.
+     */
+    public abstract int getBestBidPrice();
+
+    /**
+     * Retrieves the lowest ask price without boxing it.
+     * @return Best ask price, or Order.NO_PRICE if there are no asks.
+     */
+    public abstract int getBestAskPrice();
+
+    /**
+     * Retrieves the highest ask price without boxing it.
+     * @return Worst ask price, or Order.NO_PRICE if there are no asks.
+     */
+    public abstract int getWorstAskPrice();
+
+    /**
+     * Iterates in price-time priority over the asks a buy order with the given limit can trade with.
+     * The iterator supports removal of the last returned order. The book may reuse one iterator per side, so it is
+     * only valid until the next call for the same side.
+     * @param maxPrice Highest acceptable price, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matching asks.
+     */
+    public abstract Iterator<Order> getMatchingAsks(int maxPrice);
+
+    /**
+     * Iterates in price-time priority over the bids a sell order with the given limit can trade with.
+     * The iterator supports removal of the last returned order. The book may reuse one iterator per side, so it is
+     * only valid until the next call for the same side.
+     * @param minPrice Lowest acceptable price, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matching bids.
+     */
+    public abstract Iterator<Order> getMatchingBids(int minPrice);
+
+    /**
+     * Retrieves the aggregated depth of the best levels of both sides, in time linear in the number of levels.
+     * @param maxLevels Maximum number of levels per side.
+     * @return Depth snapshot.
+     */
+    public abstract BookDepth getDepth(int maxLevels);
+
+    /**
+     * Removes an order from its price level and drops the level once it is empty.
+     * @param order Removed order.
+     * @return True if the order was in the book, otherwise false.
+     */
+    public boolean removeOrder(Order order) {
+        return removeOrder(order.getOrderId()) != null;
+    }
+
+    /**
+     * Retrieves the highest bid price.
+     * @return Best bid price, or null if there are no bids.
+     */
+    public Integer getBestBid() {
+        int price = getBestBidPrice();
+        return price == Order.NO_PRICE ? null : price;
+    }
+
+    /**
+     * Retrieves the lowest ask price.
+     * @return Best ask price, or null if there are no asks.
+     */
+    public Integer getBestAsk() {
+        int price = getBestAskPrice();
+        return price == Order.NO_PRICE ? null : price;
+    }
+
+    /**
+     * Retrieves the highest ask price, the worst price a buy order without limit can trade at.
+     * @return Worst ask price, or null if there are no asks.
+     */
+    public Integer getWorstAsk() {
+        int price = getWorstAskPrice();
+        return price == Order.NO_PRICE ? null : price;
+    }
+
+    /**
+     * Iterates in price-time priority over the asks a buy order with the given limit can trade with.
+     * The iterator supports removal of the last returned order.
+     * @param maxPrice Highest acceptable price, or null for no limit.
+     * @return Iterator over the matching asks.
+     */
+    public Iterator<Order> getMatchingAsks(Integer maxPrice) {
+        return getMatchingAsks(maxPrice == null ? Order.NO_PRICE : maxPrice.intValue());
+    }
+
+    /**
+     * Iterates in price-time priority over the bids a sell order with the given limit can trade with.
+     * The iterator supports removal of the last returned order.
+     * @param minPrice Lowest acceptable price, or null for no limit.
+     * @return Iterator over the matching bids.
+     */
+    public Iterator<Order> getMatchingBids(Integer minPrice) {
+        return getMatchingBids(minPrice == null ? Order.NO_PRICE : minPrice.intValue());
+    }
+
+    /**
+     * Retrieves the total number of resting orders.
+     * @return Size.
+     */
+    public int getSize() {
+        return numOfBids + numOfAsks;
+    }
+
+    /**
+     * Checks that an order can rest in a book.
+     * @param order Order to be added.
+     * @throws NullPointerException if the order has no id or no price.
+     */
+    protected static void checkRestable(Order order) throws NullPointerException {
+        if (order.getOrderId() == Order.NO_ID) {
+            throw new NullPointerException("Order id can't be null.");
+        }
+        if (order.getPriceTicks() == Order.NO_PRICE) {
+            throw new NullPointerException("Order price can't be null.");
+        }
+    }
+
+    /**
+     * Changes the order count of the given side.
+     * @param side Side of the orders.
+     * @param delta Change in the number of orders.
+     */
+    protected void changeSize(byte side, int delta) {
+        if (side == Order.BUY) {
+            numOfBids += delta;
+        } else {
+            numOfAsks += delta;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package nl.rug.aoop.core.order;
+
+import nl.rug.aoop.messagequeue.message.BinaryCodec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * OrderCodec class converts orders to and from their fields in a compact, versioned binary frame, instead of Json. The
+ * frame starts with the version and the index of the order type, followed by fixed-width fields: the order id, the
+ * trader id, stock id and operation as strings (a length and their UTF-8 bytes, -1 for null), the price ticks and
+ * quantity, and the limit and stop price (NO_PRICE if the order has none). Like a BinaryCodec frame it is carried as
+ * text, the TEXT_MARKER followed by the Base64 frame, so it fits the body of a Message; a BinaryCodec frame stores such
+ * a body as its raw bytes.
+ */
+public final class OrderCodec {
+    /**
+     * Version of the frames written by this codec.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * List(String) the order types that can be converted, by their index in a frame.
+     */
+    private static final List<String> TYPES = List.of("LimitOrder", "MarketOrder", "ImmediateOrCancelOrder",
+            "FillOrKillOrder", "StopOrder", "StopLimitOrder");
+
+    /**
+     * Private constructor, as the OrderCodec only has static methods.
+     */
+    private OrderCodec() {
+    }
+
+    /**
+     * Checks whether a string is an order frame as text rather than Json.
+     * @param text String to be checked.
+     * @return boolean true if the string starts with the TEXT_MARKER.
+     */
+    public static boolean isText(String text) {
+        return text != null && !text.isEmpty() && text.charAt(0) == BinaryCodec.TEXT_MARKER;
+    }
+
+    /**
+     * Converts an order to its frame as text.
+     * @param order Order to be converted.
+     * @return String of the TEXT_MARKER and the Base64 frame.
+     * @throws IllegalArgumentException if the type of the order can't be converted.
+     */
+    public static String toText(Order order) throws IllegalArgumentException {
+        return BinaryCodec.TEXT_MARKER + Base64.getEncoder().encodeToString(encode(order));
+    }
+
+    /**
+     * Converts an order frame as text back to the order.
+     * @param text String of the TEXT_MARKER and the Base64 frame.
+     * @return Order of the frame.
+     * @throws IllegalArgumentException if the text is no valid order frame.
+     */
+    public static Order fromText(String text) throws IllegalArgumentException {
+        if (!isText(text)) {
+            throw new IllegalArgumentException("Not an order frame.");
+        }
+        return decode(ByteBuffer.wrap(Base64.getDecoder().decode(text.substring(1))));
+    }
+
+    /**
+     * Converts an order to a frame.
+     * @param order Order to be converted.
+     * @return byte[] frame of the order.
+     * @throws IllegalArgumentException if the type of the order can't be converted.
+     */
+    public static byte[] encode(Order order) throws IllegalArgumentException {
+        int type = order.getType() == null ? -1 : TYPES.indexOf(order.getType());
+        if (type < 0) {
+            throw new IllegalArgumentException("Unsupported order type: " + order.getType());
+        }
+        byte[] traderId = toBytes(order.getTraderId());
+        byte[] stockId = toBytes(order.getStockId());
+        byte[] operation = toBytes(order.getOperation());
+        ByteBuffer frame = ByteBuffer.allocate(2 + Long.BYTES + sizeOf(traderId) + sizeOf(stockId) + sizeOf(operation)
+                + Integer.BYTES + Long.BYTES + 2 * Integer.BYTES);
+        frame.put(VERSION).put((byte) type).putLong(order.getOrderId());
+        putString(frame, traderId);
+        putString(frame, stockId);
+        putString(frame, operation);
+        frame.putInt(order.getPriceTicks()).putLong(order.getQuantity());
+        frame.putInt(order instanceof LimitOrder limitOrder ? toTicks(limitOrder.getLimit()) : Order.NO_PRICE);
+        frame.putInt(order instanceof StopOrder stopOrder ? toTicks(stopOrder.getStopPrice()) : Order.NO_PRICE);
+        return frame.array();
+    }
+
+    /**
+     * Reads an order from the frame at the position of a buffer.
+     * @param frame ByteBuffer holding the frame.
+     * @return Order of the frame.
+     * @throws IllegalArgumentException if the buffer holds no valid order frame.
+     */
+    public static Order decode(ByteBuffer frame) throws IllegalArgumentException {
+        try {
+            byte version = frame.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported order frame version: " + version);
+            }
+            Order order = newOrder(frame.get());
+            order.setId(frame.getLong());
+            order.setTraderId(getString(frame));
+            order.setStockId(getString(frame));
+            order.setOperation(getString(frame));
+            order.setPriceTicks(frame.getInt());
+            order.setQuantity(frame.getLong());
+            Integer limit = toPrice(frame.getInt());
+            Integer stopPrice = toPrice(frame.getInt());
+            if (order instanceof LimitOrder limitOrder) {
+                limitOrder.setLimit(limit);
+            } else if (order instanceof StopOrder stopOrder) {
+                stopOrder.setStopPrice(stopPrice);
+            }
+            return order;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated order frame.", e);
+        }
+    }
+
+    /**
+     * Creates an empty order of a type.
+     * @param type byte index of the order type.
+     * @return New Order of the type.
+     * @throws IllegalArgumentException if there is no order type with the index.
+     */
+    private static Order newOrder(byte type) throws IllegalArgumentException {
+        Order order = switch (type) {
+            case 0 -> new LimitOrder();
+            case 1 -> new MarketOrder();
+            case 2 -> new ImmediateOrCancelOrder();
+            case 3 -> new FillOrKillOrder();
+            case 4 -> new StopOrder();
+            case 5 -> new StopLimitOrder();
+            default -> throw new IllegalArgumentException("Unknown order type: " + type);
+        };
+        order.setType(TYPES.get(type));
+        return order;
+    }
+
+    /**
+     * Reads a string field.
+     * @param frame ByteBuffer positioned at the field.
+     * @return String of the field, or null.
+     * @throws IllegalArgumentException if the length of the field is invalid.
+     */
+    private static String getString(ByteBuffer frame) throws IllegalArgumentException {
+        int length = frame.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > frame.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        frame.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a string field.
+     * @param frame ByteBuffer the field is written into.
+     * @param bytes byte[] UTF-8 string, or null.
+     */
+    private static void putString(ByteBuffer frame, byte[] bytes) {
+        if (bytes == null) {
+            frame.putInt(-1);
+        } else {
+            frame.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    /**
+     * Converts a string to UTF-8.
+     * @param string String to be converted, or null.
+     * @return byte[] UTF-8 bytes, or null.
+     */
+    private static byte[] toBytes(String string) {
+        return string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes the size of a string field.
+     * @param bytes byte[] UTF-8 string, or null.
+     * @return int number of bytes of the field.
+     */
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    /**
+     * Converts an optional price to ticks.
+     * @param price Integer price, or null.
+     * @return int price ticks, or NO_PRICE for null.
+     */
+    private static int toTicks(Integer price) {
+        return price == null ? Order.NO_PRICE : price;
+    }
+
+    /**
+     * Converts price ticks to an optional price.
+     * @param ticks int price ticks, or NO_PRICE.
+     * @return Integer price, or null for NO_PRICE.
+     */
+    private static Integer toPrice(int ticks) {
+        return ticks == Order.NO_PRICE ? null : ticks;
+    }
+}
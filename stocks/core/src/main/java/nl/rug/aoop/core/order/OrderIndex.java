@@ -0,0 +1,132 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * OrderIndex class maps order ids to the resting orders of an order book. It is an open addressing hash table on
+ * primitive ids with linear probing, so lookups neither box the id nor allocate entries. Order.NO_ID marks an empty
+ * slot and can't be stored.
+ */
+final class OrderIndex {
+    /**
+     * Initial number of slots, a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+    /**
+     * Multiplier that spreads sequential ids over the slots.
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    /**
+     * Order id stored in every slot.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+    /**
+     * Order stored in every slot.
+     */
+    private Order[] values = new Order[INITIAL_CAPACITY];
+    /**
+     * Number of stored orders.
+     */
+    private int size;
+
+    /**
+     * Retrieves the order with an id.
+     * @param orderId Id of the order.
+     * @return Order, or null if no order with the id is stored.
+     */
+    Order get(long orderId) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(orderId, mask); keys[slot] != Order.NO_ID; slot = (slot + 1) & mask) {
+            if (keys[slot] == orderId) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores an order under an id, replacing the order that was stored under it.
+     * @param orderId Id of the order, not Order.NO_ID.
+     * @param order Stored order.
+     */
+    void put(long orderId, Order order) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = slotOf(orderId, mask);
+        while (keys[slot] != Order.NO_ID && keys[slot] != orderId) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == Order.NO_ID) {
+            size++;
+        }
+        keys[slot] = orderId;
+        values[slot] = order;
+    }
+
+    /**
+     * Removes the order with an id. The following entries of the probe sequence are shifted back, so no tombstones
+     * are left behind.
+     * @param orderId Id of the order.
+     * @return Removed order, or null if no order with the id is stored.
+     */
+    Order remove(long orderId) {
+        int mask = keys.length - 1;
+        int slot = slotOf(orderId, mask);
+        while (keys[slot] != orderId) {
+            if (keys[slot] == Order.NO_ID) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        Order order = values[slot];
+        int next = (slot + 1) & mask;
+        while (keys[next] != Order.NO_ID) {
+            int home = slotOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = Order.NO_ID;
+        values[slot] = null;
+        size--;
+        return order;
+    }
+
+    /**
+     * Retrieves the number of stored orders.
+     * @return Size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the number of slots and stores all orders again.
+     */
+    private void resize() {
+        long[] oldKeys = keys;
+        Order[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Order[oldValues.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != Order.NO_ID) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the home slot of an id.
+     * @param orderId Id of the order.
+     * @param mask Number of slots minus one.
+     * @return Home slot.
+     */
+    private static int slotOf(long orderId, int mask) {
+        long hash = orderId * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,317 @@
+package nl.rug.aoop.core.order;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OrderRecordStore class keeps resting orders as fixed size records in off-heap memory, so the heap does not grow
+ * with the depth of the order books that use it. Records are allocated from direct buffer chunks and freed records
+ * are reused. An off-heap hash index finds a record by order id. Only the ids of the traders and order books are kept
+ * on the heap, once per trader or book. A store is not thread-safe; it is owned by one matching thread and can be
+ * shared by all order books of that thread.
+ */
+public class OrderRecordStore {
+    /**
+     * Record index that refers to no record.
+     */
+    public static final int NO_RECORD = -1;
+    /**
+     * Number of bytes of a record.
+     */
+    static final int RECORD_SIZE = 48;
+    /**
+     * Offset of the order id (long).
+     */
+    private static final int ORDER_ID = 0;
+    /**
+     * Offset of the quantity (long).
+     */
+    private static final int QUANTITY = 8;
+    /**
+     * Offset of the price ticks (int).
+     */
+    private static final int PRICE_TICKS = 16;
+    /**
+     * Offset of the trader symbol (int).
+     */
+    private static final int TRADER = 20;
+    /**
+     * Offset of the book symbol (int).
+     */
+    private static final int BOOK = 24;
+    /**
+     * Offset of the previous record of the price level (int).
+     */
+    private static final int PREVIOUS = 28;
+    /**
+     * Offset of the next record of the price level, or of the free list (int).
+     */
+    private static final int NEXT = 32;
+    /**
+     * Offset of the side (byte).
+     */
+    private static final int SIDE = 36;
+    /**
+     * Number of bits of the record index that address a record within its chunk.
+     */
+    private static final int CHUNK_BITS = 16;
+    /**
+     * Number of records of a chunk.
+     */
+    private static final int CHUNK_RECORDS = 1 << CHUNK_BITS;
+    /**
+     * Direct buffer chunks holding the records.
+     */
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    /**
+     * Ids of the traders by trader symbol.
+     */
+    private final List<String> traderIds = new ArrayList<>();
+    /**
+     * Trader symbol by trader id.
+     */
+    private final Map<String, Integer> traderSymbols = new HashMap<>();
+    /**
+     * Off-heap index of the records by order id.
+     */
+    private final RecordIndex index = new RecordIndex();
+    /**
+     * First free record, or NO_RECORD if all allocated records are in use.
+     */
+    private int freeRecord = NO_RECORD;
+    /**
+     * Number of records ever allocated from the chunks.
+     */
+    private int numOfAllocatedRecords;
+    /**
+     * Number of records in use.
+     */
+    private int size;
+    /**
+     * Number of registered order books.
+     */
+    private int numOfBooks;
+
+    /**
+     * Registers an order book that keeps its orders in the store.
+     * @return Book symbol that marks the records of the book.
+     */
+    public int registerBook() {
+        return numOfBooks++;
+    }
+
+    /**
+     * Copies an order into a new record.
+     * @param order Stored order, with an id, side, price and trader.
+     * @param book Book symbol of the order book the order rests in.
+     * @return Record index.
+     * @throws IllegalArgumentException if the store already holds an order with the id.
+     */
+    public int add(Order order, int book) throws IllegalArgumentException {
+        if (find(order.getOrderId()) != NO_RECORD) {
+            throw new IllegalArgumentException("Order id already in store.");
+        }
+        int record = allocateRecord();
+        ByteBuffer chunk = chunkOf(record);
+        int offset = offsetOf(record);
+        chunk.putLong(offset + ORDER_ID, order.getOrderId());
+        chunk.putLong(offset + QUANTITY, order.getQuantity());
+        chunk.putInt(offset + PRICE_TICKS, order.getPriceTicks());
+        chunk.putInt(offset + TRADER, internTrader(order.getTraderId()));
+        chunk.putInt(offset + BOOK, book);
+        chunk.putInt(offset + PREVIOUS, NO_RECORD);
+        chunk.putInt(offset + NEXT, NO_RECORD);
+        chunk.put(offset + SIDE, order.getSide());
+        index.put(order.getOrderId(), record);
+        size++;
+        return record;
+    }
+
+    /**
+     * Frees a record so it can be reused.
+     * @param record Record index.
+     */
+    public void remove(int record) {
+        index.remove(getOrderId(record));
+        setNext(record, freeRecord);
+        chunkOf(record).putLong(offsetOf(record) + ORDER_ID, Order.NO_ID);
+        freeRecord = record;
+        size--;
+    }
+
+    /**
+     * Finds the record of an order.
+     * @param orderId Id of the order.
+     * @return Record index, or NO_RECORD if the store holds no order with the id.
+     */
+    public int find(long orderId) {
+        return index.get(orderId);
+    }
+
+    /**
+     * Retrieves the order id of a record.
+     * @param record Record index.
+     * @return Order id, or Order.NO_ID if the record is free.
+     */
+    public long getOrderId(int record) {
+        return chunkOf(record).getLong(offsetOf(record) + ORDER_ID);
+    }
+
+    /**
+     * Retrieves the quantity of a record.
+     * @param record Record index.
+     * @return Quantity.
+     */
+    public long getQuantity(int record) {
+        return chunkOf(record).getLong(offsetOf(record) + QUANTITY);
+    }
+
+    /**
+     * Changes the quantity of a record.
+     * @param record Record index.
+     * @param quantity New quantity.
+     */
+    public void setQuantity(int record, long quantity) {
+        chunkOf(record).putLong(offsetOf(record) + QUANTITY, quantity);
+    }
+
+    /**
+     * Retrieves the price ticks of a record.
+     * @param record Record index.
+     * @return Price ticks.
+     */
+    public int getPriceTicks(int record) {
+        return chunkOf(record).getInt(offsetOf(record) + PRICE_TICKS);
+    }
+
+    /**
+     * Retrieves the side of a record.
+     * @param record Record index.
+     * @return Side.
+     */
+    public byte getSide(int record) {
+        return chunkOf(record).get(offsetOf(record) + SIDE);
+    }
+
+    /**
+     * Retrieves the trader id of a record.
+     * @param record Record index.
+     * @return Trader id.
+     */
+    public String getTraderId(int record) {
+        return traderIds.get(chunkOf(record).getInt(offsetOf(record) + TRADER));
+    }
+
+    /**
+     * Retrieves the book symbol of a record.
+     * @param record Record index.
+     * @return Book symbol.
+     */
+    public int getBook(int record) {
+        return chunkOf(record).getInt(offsetOf(record) + BOOK);
+    }
+
+    /**
+     * Retrieves the previous record of the price level of a record.
+     * @param record Record index.
+     * @return Previous record, or NO_RECORD if the record is the first of its level.
+     */
+    public int getPrevious(int record) {
+        return chunkOf(record).getInt(offsetOf(record) + PREVIOUS);
+    }
+
+    /**
+     * Links a record to the previous record of its price level.
+     * @param record Record index.
+     * @param previous Previous record, or NO_RECORD.
+     */
+    public void setPrevious(int record, int previous) {
+        chunkOf(record).putInt(offsetOf(record) + PREVIOUS, previous);
+    }
+
+    /**
+     * Retrieves the next record of the price level of a record.
+     * @param record Record index.
+     * @return Next record, or NO_RECORD if the record is the last of its level.
+     */
+    public int getNext(int record) {
+        return chunkOf(record).getInt(offsetOf(record) + NEXT);
+    }
+
+    /**
+     * Links a record to the next record of its price level.
+     * @param record Record index.
+     * @param next Next record, or NO_RECORD.
+     */
+    public void setNext(int record, int next) {
+        chunkOf(record).putInt(offsetOf(record) + NEXT, next);
+    }
+
+    /**
+     * Retrieves the number of records in use.
+     * @return Size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Retrieves the off-heap memory taken by the records and the index.
+     * @return Number of bytes.
+     */
+    public long getOffHeapBytes() {
+        return (long) chunks.size() * CHUNK_RECORDS * RECORD_SIZE + index.getOffHeapBytes();
+    }
+
+    /**
+     * Takes a free record, or a new one from the last chunk, adding a chunk if it is full.
+     * @return Record index.
+     */
+    private int allocateRecord() {
+        if (freeRecord != NO_RECORD) {
+            int record = freeRecord;
+            freeRecord = getNext(record);
+            return record;
+        }
+        if (numOfAllocatedRecords == chunks.size() * CHUNK_RECORDS) {
+            chunks.add(RecordIndex.allocate(CHUNK_RECORDS * RECORD_SIZE));
+        }
+        return numOfAllocatedRecords++;
+    }
+
+    /**
+     * Retrieves the symbol of a trader id, adding it if the trader has no records yet.
+     * @param traderId Id of the trader.
+     * @return Trader symbol.
+     */
+    private int internTrader(String traderId) {
+        Integer symbol = traderSymbols.get(traderId);
+        if (symbol == null) {
+            symbol = traderIds.size();
+            traderIds.add(traderId);
+            traderSymbols.put(traderId, symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Retrieves the chunk of a record.
+     * @param record Record index.
+     * @return Chunk.
+     */
+    private ByteBuffer chunkOf(int record) {
+        return chunks.get(record >>> CHUNK_BITS);
+    }
+
+    /**
+     * Retrieves the byte offset of a record within its chunk.
+     * @param record Record index.
+     * @return Byte offset.
+     */
+    private static int offsetOf(int record) {
+        return (record & (CHUNK_RECORDS - 1)) * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,89 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * OrderRecordView class is a limit order loaded from a record of an OrderRecordStore. Changing its quantity writes
+ * the record as long as the order still rests in the store, which is checked by its id as freed records are reused.
+ * A removed order keeps the values it had when it was loaded. Order books reuse a view while matching, so it is only
+ * valid until the next order is loaded into it.
+ */
+final class OrderRecordView extends LimitOrder {
+    /**
+     * Order book the record rests in.
+     */
+    private OffHeapOrderBook book;
+    /**
+     * Record index, or OrderRecordStore.NO_RECORD once the order no longer rests in the store.
+     */
+    private int record = OrderRecordStore.NO_RECORD;
+
+    /**
+     * Constructor creates an empty view.
+     */
+    OrderRecordView() {
+        this.type = "LimitOrder";
+    }
+
+    /**
+     * Loads a record into the view.
+     * @param book Order book the record rests in.
+     * @param record Record index.
+     * @return The view.
+     */
+    OrderRecordView load(OffHeapOrderBook book, int record) {
+        OrderRecordStore store = book.getRecordStore();
+        this.book = book;
+        this.record = record;
+        this.orderId = store.getOrderId(record);
+        this.traderId = store.getTraderId(record);
+        this.stockId = book.getStockId();
+        setOperation(store.getSide(record) == BUY ? "BUY" : "SELL");
+        this.priceTicks = store.getPriceTicks(record);
+        this.quantity = store.getQuantity(record);
+        return this;
+    }
+
+    /**
+     * Detaches the view from its record, after the record was freed.
+     */
+    void detach() {
+        record = OrderRecordStore.NO_RECORD;
+    }
+
+    /**
+     * Retrieves the record the view is loaded from.
+     * @return Record index, or OrderRecordStore.NO_RECORD if the view is detached.
+     */
+    int getRecord() {
+        return record;
+    }
+
+    /**
+     * Retrieves the price limit, which is the price of a resting order.
+     * @return Price limit.
+     */
+    @Override
+    public Integer getLimit() {
+        return getPrice();
+    }
+
+    /**
+     * Sets the quantity and writes it to the record through the order book, which keeps its level totals up to date.
+     * @param quantity New quantity.
+     */
+    @Override
+    public void setQuantity(long quantity) {
+        super.setQuantity(quantity);
+        if (record != OrderRecordStore.NO_RECORD && book.getRecordStore().getOrderId(record) == orderId) {
+            book.changeQuantity(record, quantity);
+        }
+    }
+
+    /**
+     * Sets the amount and writes it to the record.
+     * @param amount Amount, null counts as zero.
+     */
+    @Override
+    public void setAmount(Integer amount) {
+        setQuantity(amount == null ? 0 : amount);
+    }
+}
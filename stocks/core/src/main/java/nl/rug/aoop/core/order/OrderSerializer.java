@@ -2,21 +2,31 @@ package nl.rug.aoop.core.order;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * OrderSerializer class converts the orders to Json String.
+ * OrderSerializer class converts the orders to Json String. It also reads the binary order frames of OrderCodec, so
+ * an order sent in either form is deserialized.
  */
 public class OrderSerializer {
     /**
-     * Creates object mapper.
+     * Creates object mapper that knows every order type, so it also converts the orders inside other objects.
      * @return New object mapper.
      */
-    private static ObjectMapper createMapper() {
+    public static ObjectMapper createMapper() {
         ObjectMapper mapper = new ObjectMapper();
 
         mapper.registerSubtypes(
-                new NamedType(LimitOrder.class, "LimitOrder")
+                new NamedType(LimitOrder.class, "LimitOrder"),
+                new NamedType(MarketOrder.class, "MarketOrder"),
+                new NamedType(ImmediateOrCancelOrder.class, "ImmediateOrCancelOrder"),
+                new NamedType(FillOrKillOrder.class, "FillOrKillOrder"),
+                new NamedType(StopOrder.class, "StopOrder"),
+                new NamedType(StopLimitOrder.class, "StopLimitOrder")
         );
 
         return mapper;
@@ -33,10 +43,32 @@ public class OrderSerializer {
 
     /**
      * Method deserializes order.
-     * @param json Order in json string.
+     * @param json Order in json string, or an OrderCodec frame as text.
      * @return Deserialized order.
+     * @throws IllegalArgumentException if the string is an invalid OrderCodec frame.
      */
-    public static Order deserialize(String json) throws JsonProcessingException {
+    public static Order deserialize(String json) throws JsonProcessingException, IllegalArgumentException {
+        if (OrderCodec.isText(json)) {
+            return OrderCodec.fromText(json);
+        }
         return createMapper().readValue(json, Order.class);
     }
+
+    /**
+     * Method deserializes a batch of orders with one reader, so the mapper is only set up once per batch.
+     * @param jsons Orders in json strings or OrderCodec frames as text.
+     * @return Deserialized orders in the order of the strings, with null for every string that is not an order.
+     */
+    public static List<Order> deserialize(List<String> jsons) {
+        ObjectReader reader = createMapper().readerFor(Order.class);
+        List<Order> orders = new ArrayList<>(jsons.size());
+        for (String json : jsons) {
+            try {
+                orders.add(OrderCodec.isText(json) ? OrderCodec.fromText(json) : reader.readValue(json));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                orders.add(null);
+            }
+        }
+        return orders;
+    }
 }
@@ -0,0 +1,89 @@
+package nl.rug.aoop.core.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * OrderUpdate class represents a request of a trader to cancel or amend one of its resting orders.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Getter
+public class OrderUpdate {
+    /**
+     * Id of the updated order.
+     */
+    private Long orderId;
+    /**
+     * Id of the trader that placed the order.
+     */
+    private String traderId;
+    /**
+     * Id of the stock of the order.
+     */
+    private String stockId;
+    /**
+     * New amount of the order. Not used for cancels.
+     */
+    private Integer amount;
+
+    /**
+     * Constructor creates the order update.
+     * @param orderId Id of the updated order.
+     * @param traderId Id of the trader that placed the order.
+     * @param stockId Id of the stock of the order.
+     * @param amount New amount of the order.
+     */
+    public OrderUpdate(Long orderId, String traderId, String stockId, Integer amount) {
+        this.orderId = orderId;
+        this.traderId = traderId;
+        this.stockId = stockId;
+        this.amount = amount;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public OrderUpdate() {}
+
+    /**
+     * Converts an order update to json String format.
+     * @param orderUpdate Order update to be converted.
+     * @return Json String of the order update.
+     */
+    public static String toString(OrderUpdate orderUpdate) throws JsonProcessingException {
+        return (new ObjectMapper()).writeValueAsString(orderUpdate);
+    }
+
+    /**
+     * Converts a json String back to an order update.
+     * @param string Json String.
+     * @return Converted order update.
+     */
+    public static OrderUpdate fromString(String string) throws JsonProcessingException {
+        return (new ObjectMapper()).readValue(string, OrderUpdate.class);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        OrderUpdate that = (OrderUpdate) o;
+        return Objects.equals(orderId, that.orderId)
+                && Objects.equals(traderId, that.traderId)
+                && Objects.equals(stockId, that.stockId)
+                && Objects.equals(amount, that.amount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(orderId, traderId, stockId, amount);
+    }
+}
@@ -0,0 +1,197 @@
+package nl.rug.aoop.core.order;
+
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * PriceLevel class holds all resting orders of one book side at a single price, in the order they arrived.
+ * The orders are linked to each other through their own fields, so adding and unlinking an order takes constant time
+ * and never allocates. The level keeps the total quantity of its orders up to date as orders are added, unlinked or
+ * change their quantity, so depth is read without walking the orders. A level removed from its book side is reused
+ * for the next new price.
+ */
+public class PriceLevel implements Iterable<Order> {
+    /**
+     * Price shared by all orders of the level.
+     */
+    @Getter
+    private int price;
+    /**
+     * Number of orders in the level.
+     */
+    @Getter
+    private int size;
+    /**
+     * Total quantity of the orders in the level.
+     */
+    @Getter
+    private long quantity;
+    /**
+     * Order with the highest time priority.
+     */
+    private Order head;
+    /**
+     * Order with the lowest time priority.
+     */
+    private Order tail;
+
+    /**
+     * Constructor creates an empty price level.
+     * @param price Price of the level.
+     */
+    public PriceLevel(int price) {
+        this.price = price;
+    }
+
+    /**
+     * Adds an order to the back of the level.
+     * @param order Added order.
+     */
+    public void addOrder(Order order) {
+        order.setLevel(this);
+        order.setPreviousInLevel(tail);
+        order.setNextInLevel(null);
+        if (tail == null) {
+            head = order;
+        } else {
+            tail.setNextInLevel(order);
+        }
+        tail = order;
+        size++;
+        quantity += order.getQuantity();
+    }
+
+    /**
+     * Retrieves an order of the level by its id. This walks the level, the order book finds orders through its index.
+     * @param orderId Id of the order.
+     * @return Order, or null if the level holds no order with the id.
+     */
+    public Order getOrder(long orderId) {
+        for (Order order = head; order != null; order = order.getNextInLevel()) {
+            if (order.getOrderId() == orderId) {
+                return order;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes an order from the level by its id.
+     * @param orderId Id of the removed order.
+     * @return Removed order, or null if the level holds no order with the id.
+     */
+    public Order removeOrder(long orderId) {
+        Order order = getOrder(orderId);
+        if (order != null) {
+            unlink(order);
+        }
+        return order;
+    }
+
+    /**
+     * Retrieves the order with the highest time priority without removing it.
+     * @return First order, or null if the level is empty.
+     */
+    public Order getFirstOrder() {
+        return head;
+    }
+
+    /**
+     * Checks whether the level holds no orders.
+     * @return True if the level is empty, otherwise false.
+     */
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    /**
+     * Iterates over the orders of the level in time priority.
+     * @return Order iterator.
+     */
+    @Override
+    public Iterator<Order> iterator() {
+        return new LevelIterator();
+    }
+
+    /**
+     * Unlinks an order of the level in constant time.
+     * @param order Order of the level.
+     */
+    void unlink(Order order) {
+        if (order.getPreviousInLevel() == null) {
+            head = order.getNextInLevel();
+        } else {
+            order.getPreviousInLevel().setNextInLevel(order.getNextInLevel());
+        }
+        if (order.getNextInLevel() == null) {
+            tail = order.getPreviousInLevel();
+        } else {
+            order.getNextInLevel().setPreviousInLevel(order.getPreviousInLevel());
+        }
+        order.setLevel(null);
+        order.setPreviousInLevel(null);
+        order.setNextInLevel(null);
+        size--;
+        quantity -= order.getQuantity();
+    }
+
+    /**
+     * Changes the total quantity when an order of the level changes its quantity.
+     * @param delta Change in quantity.
+     */
+    void changeQuantity(long delta) {
+        quantity += delta;
+    }
+
+    /**
+     * Empties the level and gives it a new price, so a book side can reuse it.
+     * @param price New price of the level.
+     */
+    void reset(int price) {
+        this.price = price;
+        head = null;
+        tail = null;
+        size = 0;
+        quantity = 0;
+    }
+
+    /**
+     * Iterator over the orders of the level that supports removal of the last returned order.
+     */
+    private final class LevelIterator implements Iterator<Order> {
+        /**
+         * Order returned by the next call to next.
+         */
+        private Order nextOrder = head;
+        /**
+         * Last returned order.
+         */
+        private Order lastOrder;
+
+        @Override
+        public boolean hasNext() {
+            return nextOrder != null;
+        }
+
+        @Override
+        public Order next() {
+            if (nextOrder == null) {
+                throw new NoSuchElementException();
+            }
+            lastOrder = nextOrder;
+            nextOrder = nextOrder.getNextInLevel();
+            return lastOrder;
+        }
+
+        @Override
+        public void remove() {
+            if (lastOrder == null) {
+                throw new IllegalStateException();
+            }
+            unlink(lastOrder);
+            lastOrder = null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package nl.rug.aoop.core.order;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * RecordIndex class maps order ids to record indices of an OrderRecordStore. The slots live in a direct buffer and
+ * are probed linearly; removal shifts the following slots back, so no tombstones are left behind. The index doubles
+ * once it is half full. It is not thread-safe.
+ */
+final class RecordIndex {
+    /**
+     * Number of bytes of a slot: the order id (long) and the record index (int), padded.
+     */
+    private static final int SLOT_SIZE = 16;
+    /**
+     * Initial number of slots, a power of two.
+     */
+    private static final int INITIAL_SLOTS = 1024;
+    /**
+     * Multiplier that spreads sequential ids over the slots.
+     */
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    /**
+     * Direct buffer holding the slots.
+     */
+    private ByteBuffer slots = allocate(INITIAL_SLOTS * SLOT_SIZE);
+    /**
+     * Number of slots minus one.
+     */
+    private int mask = INITIAL_SLOTS - 1;
+    /**
+     * Number of indexed order ids.
+     */
+    private int size;
+
+    /**
+     * Finds the record of an order id.
+     * @param orderId Id of the order.
+     * @return Record index, or OrderRecordStore.NO_RECORD if the id is not indexed.
+     */
+    int get(long orderId) {
+        if (orderId == Order.NO_ID) {
+            return OrderRecordStore.NO_RECORD;
+        }
+        for (int slot = slotOf(orderId); ; slot = (slot + 1) & mask) {
+            long key = slots.getLong(slot * SLOT_SIZE);
+            if (key == orderId) {
+                return slots.getInt(slot * SLOT_SIZE + Long.BYTES);
+            } else if (key == Order.NO_ID) {
+                return OrderRecordStore.NO_RECORD;
+            }
+        }
+    }
+
+    /**
+     * Indexes the record of an order id that is not indexed yet.
+     * @param orderId Id of the order.
+     * @param record Record index.
+     */
+    void put(long orderId, int record) {
+        if ((size + 1) * 2 > mask + 1) {
+            resize();
+        }
+        insert(slots, orderId, record);
+        size++;
+    }
+
+    /**
+     * Removes an indexed order id.
+     * @param orderId Id of the order.
+     */
+    void remove(long orderId) {
+        int slot = slotOf(orderId);
+        while (slots.getLong(slot * SLOT_SIZE) != orderId) {
+            slot = (slot + 1) & mask;
+        }
+        for (int next = (slot + 1) & mask; slots.getLong(next * SLOT_SIZE) != Order.NO_ID; next = (next + 1) & mask) {
+            long key = slots.getLong(next * SLOT_SIZE);
+            if (((next - slotOf(key)) & mask) >= ((next - slot) & mask)) {
+                slots.putLong(slot * SLOT_SIZE, key);
+                slots.putInt(slot * SLOT_SIZE + Long.BYTES, slots.getInt(next * SLOT_SIZE + Long.BYTES));
+                slot = next;
+            }
+        }
+        slots.putLong(slot * SLOT_SIZE, Order.NO_ID);
+        size--;
+    }
+
+    /**
+     * Retrieves the off-heap memory taken by the slots.
+     * @return Number of bytes.
+     */
+    int getOffHeapBytes() {
+        return slots.capacity();
+    }
+
+    /**
+     * Doubles the number of slots and indexes all order ids again.
+     */
+    private void resize() {
+        ByteBuffer oldSlots = slots;
+        int numOfOldSlots = mask + 1;
+        slots = allocate(numOfOldSlots * 2 * SLOT_SIZE);
+        mask = numOfOldSlots * 2 - 1;
+        for (int oldSlot = 0; oldSlot < numOfOldSlots; oldSlot++) {
+            long key = oldSlots.getLong(oldSlot * SLOT_SIZE);
+            if (key != Order.NO_ID) {
+                insert(slots, key, oldSlots.getInt(oldSlot * SLOT_SIZE + Long.BYTES));
+            }
+        }
+    }
+
+    /**
+     * Writes an order id and its record into the first free slot of its probe sequence.
+     * @param buffer Slots written to.
+     * @param orderId Id of the order.
+     * @param record Record index.
+     */
+    private void insert(ByteBuffer buffer, long orderId, int record) {
+        int slot = slotOf(orderId);
+        while (buffer.getLong(slot * SLOT_SIZE) != Order.NO_ID) {
+            slot = (slot + 1) & mask;
+        }
+        buffer.putLong(slot * SLOT_SIZE, orderId);
+        buffer.putInt(slot * SLOT_SIZE + Long.BYTES, record);
+    }
+
+    /**
+     * Retrieves the home slot of an order id.
+     * @param orderId Id of the order.
+     * @return Home slot.
+     */
+    private int slotOf(long orderId) {
+        long hash = orderId * HASH_MULTIPLIER;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Allocates a zeroed direct buffer in native byte order.
+     * @param capacity Number of bytes.
+     * @return Direct buffer.
+     */
+    static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+}
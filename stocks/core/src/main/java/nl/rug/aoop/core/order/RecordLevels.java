@@ -0,0 +1,251 @@
+package nl.rug.aoop.core.order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RecordLevels class holds the price levels of one side of an OffHeapOrderBook. The levels are kept in arrays sorted
+ * by price with the best price last, and every level holds the first and last record of a list linked through the
+ * records of an OrderRecordStore. Every level also keeps the total quantity and number of its records, so depth is read
+ * without walking the records.
+ */
+final class RecordLevels {
+    /**
+     * Initial number of price levels the side has room for.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * Store holding the records.
+     */
+    private final OrderRecordStore recordStore;
+    /**
+     * Side of the orders held by the levels.
+     */
+    private final byte side;
+    /**
+     * Sort keys of the levels: the price for bids and the negated price for asks.
+     */
+    private long[] keys = new long[INITIAL_CAPACITY];
+    /**
+     * Prices of the levels.
+     */
+    private int[] prices = new int[INITIAL_CAPACITY];
+    /**
+     * First record of every level.
+     */
+    private int[] heads = new int[INITIAL_CAPACITY];
+    /**
+     * Last record of every level.
+     */
+    private int[] tails = new int[INITIAL_CAPACITY];
+    /**
+     * Total quantity of the records of every level.
+     */
+    private long[] quantities = new long[INITIAL_CAPACITY];
+    /**
+     * Number of records of every level.
+     */
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    /**
+     * Number of price levels.
+     */
+    private int numOfLevels;
+
+    /**
+     * Constructor creates empty price levels.
+     * @param recordStore Store holding the records.
+     * @param side Side of the orders the levels hold.
+     */
+    RecordLevels(OrderRecordStore recordStore, byte side) {
+        this.recordStore = recordStore;
+        this.side = side;
+    }
+
+    /**
+     * Retrieves the side of the orders held by the levels.
+     * @return Side.
+     */
+    byte getSide() {
+        return side;
+    }
+
+    /**
+     * Retrieves the number of levels.
+     * @return Number of levels.
+     */
+    int getNumOfLevels() {
+        return numOfLevels;
+    }
+
+    /**
+     * Retrieves the price of a level.
+     * @param index Array index of the level, where the best level has the highest index.
+     * @return Price.
+     */
+    int getPrice(int index) {
+        return prices[index];
+    }
+
+    /**
+     * Retrieves the first record of a level.
+     * @param index Array index of the level, where the best level has the highest index.
+     * @return Record index.
+     */
+    int getHead(int index) {
+        return heads[index];
+    }
+
+    /**
+     * Links a record to the back of the level of its price, adding the level if needed.
+     * @param record Record index.
+     */
+    void append(int record) {
+        int price = recordStore.getPriceTicks(record);
+        int index = indexOf(price);
+        if (index < 0) {
+            index = insertLevel(-index - 1, price);
+        }
+        recordStore.setPrevious(record, tails[index]);
+        recordStore.setNext(record, OrderRecordStore.NO_RECORD);
+        if (tails[index] == OrderRecordStore.NO_RECORD) {
+            heads[index] = record;
+        } else {
+            recordStore.setNext(tails[index], record);
+        }
+        tails[index] = record;
+        quantities[index] += recordStore.getQuantity(record);
+        sizes[index]++;
+    }
+
+    /**
+     * Unlinks a record from its level and drops the level once it is empty.
+     * @param record Record index.
+     */
+    void unlink(int record) {
+        int index = indexOf(recordStore.getPriceTicks(record));
+        int previous = recordStore.getPrevious(record);
+        int next = recordStore.getNext(record);
+        if (previous == OrderRecordStore.NO_RECORD) {
+            heads[index] = next;
+        } else {
+            recordStore.setNext(previous, next);
+        }
+        if (next == OrderRecordStore.NO_RECORD) {
+            tails[index] = previous;
+        } else {
+            recordStore.setPrevious(next, previous);
+        }
+        quantities[index] -= recordStore.getQuantity(record);
+        sizes[index]--;
+        if (heads[index] == OrderRecordStore.NO_RECORD) {
+            removeLevel(index);
+        }
+    }
+
+    /**
+     * Changes the quantity of a linked record, keeping the total quantity of its level up to date.
+     * @param record Record index.
+     * @param quantity New quantity.
+     */
+    void changeQuantity(int record, long quantity) {
+        int index = indexOf(recordStore.getPriceTicks(record));
+        quantities[index] += quantity - recordStore.getQuantity(record);
+        recordStore.setQuantity(record, quantity);
+    }
+
+    /**
+     * Retrieves the aggregated depth of the best levels.
+     * @param maxLevels Maximum number of levels.
+     * @return List of the levels, best level first.
+     */
+    List<DepthLevel> getDepth(int maxLevels) {
+        int numOfDepthLevels = Math.max(0, Math.min(maxLevels, numOfLevels));
+        List<DepthLevel> depth = new ArrayList<>(numOfDepthLevels);
+        for (int index = numOfLevels - 1; index >= numOfLevels - numOfDepthLevels; index--) {
+            depth.add(new DepthLevel(prices[index], quantities[index], sizes[index]));
+        }
+        return depth;
+    }
+
+    /**
+     * Retrieves the best price.
+     * @return Best price, or Order.NO_PRICE if there are no levels.
+     */
+    int getBestPrice() {
+        return numOfLevels == 0 ? Order.NO_PRICE : prices[numOfLevels - 1];
+    }
+
+    /**
+     * Retrieves the worst price.
+     * @return Worst price, or Order.NO_PRICE if there are no levels.
+     */
+    int getWorstPrice() {
+        return numOfLevels == 0 ? Order.NO_PRICE : prices[0];
+    }
+
+    /**
+     * Adds an empty level.
+     * @param index Array index of the new level.
+     * @param price Price of the new level.
+     * @return Array index of the new level.
+     */
+    private int insertLevel(int index, int price) {
+        if (numOfLevels == keys.length) {
+            keys = Arrays.copyOf(keys, numOfLevels * 2);
+            prices = Arrays.copyOf(prices, numOfLevels * 2);
+            heads = Arrays.copyOf(heads, numOfLevels * 2);
+            tails = Arrays.copyOf(tails, numOfLevels * 2);
+            quantities = Arrays.copyOf(quantities, numOfLevels * 2);
+            sizes = Arrays.copyOf(sizes, numOfLevels * 2);
+        }
+        int moved = numOfLevels - index;
+        System.arraycopy(keys, index, keys, index + 1, moved);
+        System.arraycopy(prices, index, prices, index + 1, moved);
+        System.arraycopy(heads, index, heads, index + 1, moved);
+        System.arraycopy(tails, index, tails, index + 1, moved);
+        System.arraycopy(quantities, index, quantities, index + 1, moved);
+        System.arraycopy(sizes, index, sizes, index + 1, moved);
+        keys[index] = toKey(price);
+        prices[index] = price;
+        heads[index] = OrderRecordStore.NO_RECORD;
+        tails[index] = OrderRecordStore.NO_RECORD;
+        quantities[index] = 0;
+        sizes[index] = 0;
+        numOfLevels++;
+        return index;
+    }
+
+    /**
+     * Removes a level. Only levels worse than the removed one change their array index.
+     * @param index Array index of the level.
+     */
+    private void removeLevel(int index) {
+        int moved = numOfLevels - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(prices, index + 1, prices, index, moved);
+        System.arraycopy(heads, index + 1, heads, index, moved);
+        System.arraycopy(tails, index + 1, tails, index, moved);
+        System.arraycopy(quantities, index + 1, quantities, index, moved);
+        System.arraycopy(sizes, index + 1, sizes, index, moved);
+        numOfLevels--;
+    }
+
+    /**
+     * Finds the level of a price by binary search.
+     * @param price Price of the level.
+     * @return Array index of the level, or (-(insertion point) - 1) if there is no level with the price.
+     */
+    private int indexOf(int price) {
+        return Arrays.binarySearch(keys, 0, numOfLevels, toKey(price));
+    }
+
+    /**
+     * Converts a price into the sort key of the side.
+     * @param price Price.
+     * @return Sort key.
+     */
+    private long toKey(int price) {
+        return side == Order.BUY ? price : -(long) price;
+    }
+}
@@ -0,0 +1,44 @@
+package nl.rug.aoop.core.order;
+
+/**
+ * StopLimitOrder class represents the stop-limit order. It waits until the stock price reaches its stop price (rises
+ * to it for a buy order, falls to it for a sell order) and is then resolved as a limit order at its price.
+ */
+public class StopLimitOrder extends StopOrder {
+    /**
+     * Default constructor.
+     */
+    public StopLimitOrder() {
+    }
+
+    /**
+     * Constructor creates the stop-limit order.
+     * @param builder Stop-limit order builder.
+     */
+    public StopLimitOrder(Builder builder) {
+        super(builder);
+        this.type = "StopLimitOrder";
+    }
+
+    /**
+     * Method creates new builder.
+     * @return New Builder.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for the stop-limit order.
+     */
+    public static class Builder extends StopOrder.Builder {
+        /**
+         * Builds the stop-limit order.
+         * @return New StopLimitOrder.
+         */
+        @Override
+        public StopLimitOrder build() {
+            return new StopLimitOrder(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package nl.rug.aoop.core.order;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Objects;
+
+/**
+ * StopOrder class represents the stop order. It waits until the stock price reaches its stop price (rises to it for
+ * a buy order, falls to it for a sell order) and is then resolved as a market order.
+ */
+@Getter
+@Setter
+public class StopOrder extends Order {
+    /**
+     * Stock price at which the order is activated.
+     */
+    private Integer stopPrice;
+
+    /**
+     * Default constructor.
+     */
+    public StopOrder() {
+    }
+
+    /**
+     * Constructor creates the stop order.
+     * @param builder Stop order builder.
+     */
+    public StopOrder(Builder builder) {
+        super(builder);
+        this.type = "StopOrder";
+        this.stopPrice = builder.stopPrice;
+    }
+
+    /**
+     * Method creates new builder.
+     * @return New Builder.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(stopPrice);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StopOrder order = (StopOrder) o;
+        return super.equals(order) && Objects.equals(stopPrice, order.stopPrice);
+    }
+
+    /**
+     * Builder class for the stop order.
+     */
+    public static class Builder extends Order.Builder<Builder> {
+        /**
+         * Stop order stop price.
+         */
+        private Integer stopPrice;
+
+        /**
+         * Sets the stop order stop price.
+         * @param stopPrice Stop order stop price.
+         * @return Builder.
+         */
+        public Builder setStopPrice(Integer stopPrice) {
+            this.stopPrice = stopPrice;
+            return this;
+        }
+
+        /**
+         * Builds the stop order.
+         * @return New StopOrder.
+         */
+        public StopOrder build() {
+            return new StopOrder(this);
+        }
+    }
+}
@@ -51,6 +51,14 @@ public class Stock {
         this.marketCapitalization = marketCapitalization;
     }
 
+    /**
+     * Copy constructor creates an independent copy of a stock.
+     * @param stock Stock to be copied.
+     */
+    public Stock(Stock stock) {
+        this(stock.symbol, stock.name, stock.sharesOutstanding, stock.price, stock.marketCapitalization);
+    }
+
     /**
      * Default constructor.
      */
@@ -48,6 +48,16 @@ public class Trader {
         this.funds = funds;
     }
 
+    /**
+     * Copy constructor creates an independent copy of a trader.
+     * @param trader Trader to be copied.
+     */
+    public Trader(Trader trader) {
+        this(trader.id, trader.name, trader.funds);
+        ownedShares = new HashMap<>(trader.ownedShares);
+        transactionHistory.addAll(trader.transactionHistory);
+    }
+
     /**
      * Default constructor.
      */
@@ -100,6 +110,14 @@ public class Trader {
         transactionHistory.add(transaction);
     }
 
+    /**
+     * Sets the funds of the trader.
+     * @param funds New funds.
+     */
+    public void setFunds(Long funds) {
+        this.funds = funds;
+    }
+
     /**
      * Retrieves the amount of a particular stock that the trader owns.
      * @param stockId Id of stock.
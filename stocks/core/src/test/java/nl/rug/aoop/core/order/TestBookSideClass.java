@@ -0,0 +1,90 @@
+package nl.rug.aoop.core.order;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestBookSideClass tests the BookSide class.
+ */
+public class TestBookSideClass {
+
+    /**
+     * Method tests that a book side is successfully created and rejects unknown sides.
+     */
+    @Test
+    void testConstructor() {
+        BookSide bookSide = new BookSide(Order.BUY);
+        assertEquals(Order.BUY, bookSide.getSide());
+        assertTrue(bookSide.isEmpty());
+        assertEquals(Order.NO_PRICE, bookSide.getBestPrice());
+        assertEquals(Order.NO_PRICE, bookSide.getWorstPrice());
+        assertThrows(IllegalArgumentException.class, () -> new BookSide(Order.NO_SIDE));
+    }
+
+    /**
+     * Method tests that bid levels are ordered with the highest price best.
+     */
+    @Test
+    void testBidOrdering() {
+        BookSide bookSide = new BookSide(Order.BUY);
+        bookSide.getOrCreate(5);
+        bookSide.getOrCreate(7);
+        bookSide.getOrCreate(3);
+        assertEquals(7, bookSide.getBestPrice());
+        assertEquals(3, bookSide.getWorstPrice());
+        assertEquals(5, bookSide.getLevel(1).getPrice());
+        assertThrows(IndexOutOfBoundsException.class, () -> bookSide.getLevel(3));
+    }
+
+    /**
+     * Method tests that ask levels are ordered with the lowest price best.
+     */
+    @Test
+    void testAskOrdering() {
+        BookSide bookSide = new BookSide(Order.SELL);
+        bookSide.getOrCreate(5);
+        bookSide.getOrCreate(7);
+        bookSide.getOrCreate(3);
+        assertEquals(3, bookSide.getBestPrice());
+        assertEquals(7, bookSide.getWorstPrice());
+        assertEquals(3, bookSide.getNumOfLevels());
+    }
+
+    /**
+     * Method tests that an existing level is returned instead of a new one and that the side grows past its initial
+     * capacity.
+     */
+    @Test
+    void testGetOrCreate() {
+        BookSide bookSide = new BookSide(Order.SELL);
+        PriceLevel level = bookSide.getOrCreate(5);
+        assertSame(level, bookSide.getOrCreate(5));
+        assertSame(level, bookSide.get(5));
+        assertNull(bookSide.get(6));
+        for (int price = 100; price > 50; price--) {
+            bookSide.getOrCreate(price);
+        }
+        assertEquals(51, bookSide.getNumOfLevels());
+        assertEquals(5, bookSide.getBestPrice());
+        assertEquals(100, bookSide.getWorstPrice());
+    }
+
+    /**
+     * Method tests that removed levels are dropped and reused for new prices.
+     */
+    @Test
+    void testRemoveReusesLevels() {
+        BookSide bookSide = new BookSide(Order.BUY);
+        PriceLevel level = bookSide.getOrCreate(5);
+        bookSide.getOrCreate(6);
+        bookSide.remove(level);
+        assertNull(bookSide.get(5));
+        assertEquals(1, bookSide.getNumOfLevels());
+        bookSide.remove(level);
+        assertEquals(1, bookSide.getNumOfLevels());
+        assertSame(level, bookSide.getOrCreate(9));
+        assertEquals(9, level.getPrice());
+        assertEquals(9, bookSide.getBestPrice());
+    }
+}
@@ -0,0 +1,292 @@
+package nl.rug.aoop.core.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestHeapOrderBookClass tests the HeapOrderBook class.
+ */
+public class TestHeapOrderBookClass {
+    /**
+     * Tested order book.
+     */
+    private HeapOrderBook orderBook;
+    /**
+     * Id of the next created order.
+     */
+    private long nextOrderId = 1;
+
+    /**
+     * Method sets up the order book.
+     */
+    void setupOrderBook() {
+        orderBook = new HeapOrderBook("Stock");
+    }
+
+    /**
+     * Method creates a limit order for the stock of the book.
+     * @param traderId Id of the trader.
+     * @param operation Operation of the order.
+     * @param price Price of the order.
+     * @return New order.
+     */
+    private Order createOrder(String traderId, String operation, Integer price) {
+        return new LimitOrder.Builder()
+                .setId(nextOrderId++)
+                .setTraderId(traderId)
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setPrice(price)
+                .setAmount(1)
+                .build();
+    }
+
+    /**
+     * Method collects the orders of an iterator in a list.
+     * @param iterator Iterator to be collected.
+     * @return List of the iterated orders.
+     */
+    private List<Order> collect(Iterator<Order> iterator) {
+        List<Order> orders = new ArrayList<>();
+        iterator.forEachRemaining(orders::add);
+        return orders;
+    }
+
+    /**
+     * Method tests that an order book is successfully created.
+     */
+    @Test
+    void testConstructor() {
+        setupOrderBook();
+        assertNotNull(orderBook);
+        assertEquals("Stock", orderBook.getStockId());
+        assertEquals(0, orderBook.getSize());
+        assertNull(orderBook.getBestBid());
+        assertNull(orderBook.getBestAsk());
+        assertNull(orderBook.getWorstAsk());
+    }
+
+    /**
+     * Method tests that orders are added to the correct side.
+     */
+    @Test
+    void testAddOrder() {
+        setupOrderBook();
+        orderBook.addOrder(createOrder("Trader1", "BUY", 5));
+        orderBook.addOrder(createOrder("Trader2", "SELL", 6));
+        orderBook.addOrder(createOrder("Trader3", "SELL", 7));
+        assertEquals(1, orderBook.getNumOfBids());
+        assertEquals(2, orderBook.getNumOfAsks());
+        assertEquals(3, orderBook.getSize());
+    }
+
+    /**
+     * Method tests that orders without an id or with an id already in the book are rejected.
+     */
+    @Test
+    void testAddInvalidId() {
+        setupOrderBook();
+        Order order = createOrder("Trader1", "BUY", 5);
+        orderBook.addOrder(order);
+        assertThrows(IllegalArgumentException.class, () -> orderBook.addOrder(order));
+        order.setId(null);
+        assertThrows(NullPointerException.class, () -> orderBook.addOrder(order));
+        assertEquals(1, orderBook.getSize());
+    }
+
+    /**
+     * Method tests that an order with an unknown operation is rejected.
+     */
+    @Test
+    void testAddUnknownOperation() {
+        setupOrderBook();
+        assertThrows(IllegalArgumentException.class, () -> orderBook.addOrder(createOrder("Trader1", "HOLD", 5)));
+        assertEquals(0, orderBook.getSize());
+    }
+
+    /**
+     * Method tests that the best bid and ask are the highest bid and the lowest ask.
+     */
+    @Test
+    void testBestPrices() {
+        setupOrderBook();
+        orderBook.addOrder(createOrder("Trader1", "BUY", 4));
+        orderBook.addOrder(createOrder("Trader2", "BUY", 5));
+        orderBook.addOrder(createOrder("Trader3", "SELL", 8));
+        orderBook.addOrder(createOrder("Trader4", "SELL", 7));
+        assertEquals(5, orderBook.getBestBid());
+        assertEquals(7, orderBook.getBestAsk());
+        assertEquals(8, orderBook.getWorstAsk());
+    }
+
+    /**
+     * Method tests that removing the last order of a level removes the level.
+     */
+    @Test
+    void testRemoveOrder() {
+        setupOrderBook();
+        Order order = createOrder("Trader1", "SELL", 5);
+        orderBook.addOrder(order);
+        assertTrue(orderBook.removeOrder(order));
+        assertEquals(0, orderBook.getNumOfAsks());
+        assertTrue(orderBook.getAsks().isEmpty());
+        assertFalse(orderBook.removeOrder(order));
+    }
+
+    /**
+     * Method tests that orders are found and removed by id, even if an identical order rests in the book.
+     */
+    @Test
+    void testRemoveOrderById() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "BUY", 5);
+        Order second = createOrder("Trader1", "BUY", 5);
+        orderBook.addOrder(first);
+        orderBook.addOrder(second);
+        assertEquals(second, orderBook.getOrder(second.getId()));
+        assertSame(second, orderBook.removeOrder(second.getId()));
+        assertNull(orderBook.getOrder(second.getId()));
+        assertSame(first, orderBook.getBids().get(5).getFirstOrder());
+        assertNull(orderBook.removeOrder(second.getId()));
+        assertEquals(1, orderBook.getNumOfBids());
+    }
+
+    /**
+     * Method tests that a lower amount keeps the time priority and a higher amount loses it.
+     */
+    @Test
+    void testAmendOrder() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 5);
+        Order second = createOrder("Trader2", "SELL", 5);
+        first.setAmount(10);
+        orderBook.addOrder(first);
+        orderBook.addOrder(second);
+
+        assertSame(first, orderBook.amendOrder(first.getId(), 4));
+        assertEquals(4, first.getAmount());
+        assertEquals(List.of(first, second), collect(orderBook.getMatchingAsks(null)));
+
+        orderBook.amendOrder(first.getId(), 6);
+        assertEquals(6, first.getAmount());
+        assertEquals(List.of(second, first), collect(orderBook.getMatchingAsks(null)));
+
+        assertSame(first, orderBook.amendOrder(first.getId(), 0));
+        assertNull(orderBook.getOrder(first.getId()));
+        assertEquals(1, orderBook.getNumOfAsks());
+        assertNull(orderBook.amendOrder(first.getId(), 1));
+    }
+
+    /**
+     * Method tests that matching asks are returned cheapest first and by arrival within a price.
+     */
+    @Test
+    void testMatchingAsksPriority() {
+        setupOrderBook();
+        Order late = createOrder("Trader1", "SELL", 4);
+        Order best = createOrder("Trader2", "SELL", 3);
+        Order early = createOrder("Trader3", "SELL", 4);
+        Order tooExpensive = createOrder("Trader4", "SELL", 6);
+        orderBook.addOrder(early);
+        orderBook.addOrder(tooExpensive);
+        orderBook.addOrder(late);
+        orderBook.addOrder(best);
+        assertEquals(List.of(best, early, late), collect(orderBook.getMatchingAsks(5)));
+        assertEquals(List.of(best, early, late, tooExpensive), collect(orderBook.getMatchingAsks(null)));
+    }
+
+    /**
+     * Method tests that matching bids are returned most expensive first and by arrival within a price.
+     */
+    @Test
+    void testMatchingBidsPriority() {
+        setupOrderBook();
+        Order early = createOrder("Trader1", "BUY", 6);
+        Order best = createOrder("Trader2", "BUY", 7);
+        Order late = createOrder("Trader3", "BUY", 6);
+        Order tooCheap = createOrder("Trader4", "BUY", 4);
+        orderBook.addOrder(early);
+        orderBook.addOrder(tooCheap);
+        orderBook.addOrder(best);
+        orderBook.addOrder(late);
+        assertEquals(List.of(best, early, late), collect(orderBook.getMatchingBids(5)));
+    }
+
+    /**
+     * Method tests that the matching iterator removes orders and drops emptied levels.
+     */
+    @Test
+    void testMatchingIteratorRemove() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 3);
+        Order second = createOrder("Trader2", "SELL", 4);
+        Order third = createOrder("Trader3", "SELL", 4);
+        orderBook.addOrder(first);
+        orderBook.addOrder(second);
+        orderBook.addOrder(third);
+
+        Iterator<Order> iterator = orderBook.getMatchingAsks(null);
+        assertEquals(first, iterator.next());
+        iterator.remove();
+        assertEquals(4, orderBook.getBestAsk());
+        assertEquals(second, iterator.next());
+        assertTrue(iterator.hasNext());
+        iterator.remove();
+        assertEquals(third, iterator.next());
+        iterator.remove();
+        assertFalse(iterator.hasNext());
+        assertNull(orderBook.getOrder(third.getId()));
+        assertEquals(0, orderBook.getNumOfAsks());
+        assertNull(orderBook.getBestAsk());
+    }
+
+    /**
+     * Method tests that the matching iterator rejects a removal without a returned order.
+     */
+    @Test
+    void testMatchingIteratorIllegalRemove() {
+        setupOrderBook();
+        orderBook.addOrder(createOrder("Trader1", "BUY", 3));
+        Iterator<Order> iterator = orderBook.getMatchingBids(null);
+        assertThrows(IllegalStateException.class, iterator::remove);
+        iterator.next();
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+
+    /**
+     * Method tests that the depth aggregates every price level and follows fills, amendments and removals.
+     */
+    @Test
+    void testDepth() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 5);
+        first.setAmount(3);
+        orderBook.addOrder(first);
+        orderBook.addOrder(createOrder("Trader2", "SELL", 5));
+        orderBook.addOrder(createOrder("Trader3", "SELL", 6));
+        Order bid = createOrder("Trader4", "BUY", 4);
+        orderBook.addOrder(bid);
+        orderBook.addOrder(createOrder("Trader5", "BUY", 3));
+
+        BookDepth depth = orderBook.getDepth(10);
+        assertEquals("Stock", depth.getStockId());
+        assertEquals(List.of(new DepthLevel(5, 4, 2), new DepthLevel(6, 1, 1)), depth.getAsks());
+        assertEquals(List.of(new DepthLevel(4, 1, 1), new DepthLevel(3, 1, 1)), depth.getBids());
+        assertEquals(List.of(new DepthLevel(5, 4, 2)), orderBook.getDepth(1).getAsks());
+
+        Iterator<Order> matchingAsks = orderBook.getMatchingAsks(5);
+        matchingAsks.next().setQuantity(1);
+        orderBook.amendOrder(bid.getOrderId(), 6);
+        assertEquals(new DepthLevel(5, 2, 2), orderBook.getDepth(10).getBestAsk());
+        assertEquals(new DepthLevel(4, 6, 1), orderBook.getDepth(10).getBestBid());
+        orderBook.removeOrder(bid);
+        assertEquals(List.of(new DepthLevel(3, 1, 1)), orderBook.getDepth(10).getBids());
+        assertTrue(orderBook.getDepth(0).getAsks().isEmpty());
+    }
+}
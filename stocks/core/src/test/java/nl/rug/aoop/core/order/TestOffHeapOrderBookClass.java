@@ -0,0 +1,240 @@
+package nl.rug.aoop.core.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestOffHeapOrderBookClass tests the OffHeapOrderBook class.
+ */
+public class TestOffHeapOrderBookClass {
+    /**
+     * Store shared by the tested order books.
+     */
+    private OrderRecordStore recordStore;
+    /**
+     * Tested order book.
+     */
+    private OffHeapOrderBook orderBook;
+    /**
+     * Id of the next created order.
+     */
+    private long nextOrderId = 1;
+
+    /**
+     * Method sets up the order book.
+     */
+    void setupOrderBook() {
+        recordStore = new OrderRecordStore();
+        orderBook = new OffHeapOrderBook("Stock", recordStore);
+    }
+
+    /**
+     * Method creates a limit order for the stock of the book.
+     * @param traderId Id of the trader.
+     * @param operation Operation of the order.
+     * @param price Price of the order.
+     * @return New order.
+     */
+    private Order createOrder(String traderId, String operation, Integer price) {
+        return new LimitOrder.Builder()
+                .setId(nextOrderId++)
+                .setTraderId(traderId)
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setPrice(price)
+                .setAmount(1)
+                .build();
+    }
+
+    /**
+     * Method collects the ids of the orders of an iterator in a list.
+     * @param iterator Iterator to be collected.
+     * @return List of the ids of the iterated orders.
+     */
+    private List<Long> collectIds(Iterator<Order> iterator) {
+        List<Long> orderIds = new ArrayList<>();
+        iterator.forEachRemaining(order -> orderIds.add(order.getOrderId()));
+        return orderIds;
+    }
+
+    /**
+     * Method tests that orders are copied into the store and read back as views.
+     */
+    @Test
+    void testAddOrder() {
+        setupOrderBook();
+        Order order = createOrder("Trader1", "BUY", 5);
+        orderBook.addOrder(order);
+        orderBook.addOrder(createOrder("Trader2", "SELL", 6));
+        assertEquals(1, orderBook.getNumOfBids());
+        assertEquals(1, orderBook.getNumOfAsks());
+        assertEquals(2, recordStore.getSize());
+
+        Order view = orderBook.getOrder(order.getOrderId());
+        assertNotSame(order, view);
+        assertEquals("Trader1", view.getTraderId());
+        assertEquals("Stock", view.getStockId());
+        assertEquals("BUY", view.getOperation());
+        assertEquals(5, view.getPrice());
+        assertEquals(1, view.getAmount());
+        assertEquals("LimitOrder", view.getType());
+        assertThrows(IllegalArgumentException.class, () -> orderBook.addOrder(order));
+        assertThrows(IllegalArgumentException.class, () -> orderBook.addOrder(createOrder("Trader1", "HOLD", 5)));
+    }
+
+    /**
+     * Method tests that the best and worst prices follow the stored orders.
+     */
+    @Test
+    void testBestPrices() {
+        setupOrderBook();
+        assertNull(orderBook.getBestBid());
+        assertEquals(Order.NO_PRICE, orderBook.getWorstAskPrice());
+        orderBook.addOrder(createOrder("Trader1", "BUY", 4));
+        orderBook.addOrder(createOrder("Trader2", "BUY", 5));
+        orderBook.addOrder(createOrder("Trader3", "SELL", 8));
+        orderBook.addOrder(createOrder("Trader4", "SELL", 7));
+        assertEquals(5, orderBook.getBestBid());
+        assertEquals(7, orderBook.getBestAsk());
+        assertEquals(8, orderBook.getWorstAsk());
+    }
+
+    /**
+     * Method tests that books sharing a store only see their own orders.
+     */
+    @Test
+    void testSharedStore() {
+        setupOrderBook();
+        OffHeapOrderBook otherBook = new OffHeapOrderBook("Other", recordStore);
+        Order order = createOrder("Trader1", "BUY", 5);
+        orderBook.addOrder(order);
+        assertNull(otherBook.getOrder(order.getOrderId()));
+        assertNull(otherBook.removeOrder(order.getOrderId()));
+        assertEquals(1, orderBook.getSize());
+    }
+
+    /**
+     * Method tests that removing orders frees their records and drops emptied levels.
+     */
+    @Test
+    void testRemoveOrder() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 5);
+        Order second = createOrder("Trader2", "SELL", 5);
+        orderBook.addOrder(first);
+        orderBook.addOrder(second);
+        Order removed = orderBook.removeOrder(first.getOrderId());
+        assertEquals(first.getOrderId(), removed.getOrderId());
+        assertNull(orderBook.getOrder(first.getOrderId()));
+        assertEquals(5, orderBook.getBestAsk());
+        assertTrue(orderBook.removeOrder(second));
+        assertNull(orderBook.getBestAsk());
+        assertEquals(0, recordStore.getSize());
+        assertFalse(orderBook.removeOrder(second));
+    }
+
+    /**
+     * Method tests that a lower quantity keeps the time priority, a higher quantity loses it, and views write their
+     * quantity to the store.
+     */
+    @Test
+    void testAmendOrder() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 5);
+        Order second = createOrder("Trader2", "SELL", 5);
+        first.setAmount(10);
+        orderBook.addOrder(first);
+        orderBook.addOrder(second);
+
+        assertEquals(4, orderBook.amendOrder(first.getOrderId(), 4).getAmount());
+        assertEquals(List.of(first.getOrderId(), second.getOrderId()), collectIds(orderBook.getMatchingAsks(null)));
+        orderBook.amendOrder(first.getOrderId(), 6);
+        assertEquals(List.of(second.getOrderId(), first.getOrderId()), collectIds(orderBook.getMatchingAsks(null)));
+
+        orderBook.getOrder(first.getOrderId()).setQuantity(2);
+        assertEquals(2, orderBook.getOrder(first.getOrderId()).getAmount());
+        assertNotNull(orderBook.amendOrder(first.getOrderId(), 0));
+        assertNull(orderBook.getOrder(first.getOrderId()));
+        assertNull(orderBook.amendOrder(first.getOrderId(), 1));
+    }
+
+    /**
+     * Method tests that matching walks the levels in price-time priority within the limit.
+     */
+    @Test
+    void testMatchingPriority() {
+        setupOrderBook();
+        Order late = createOrder("Trader1", "SELL", 4);
+        Order best = createOrder("Trader2", "SELL", 3);
+        Order early = createOrder("Trader3", "SELL", 4);
+        Order tooExpensive = createOrder("Trader4", "SELL", 6);
+        orderBook.addOrder(early);
+        orderBook.addOrder(tooExpensive);
+        orderBook.addOrder(late);
+        orderBook.addOrder(best);
+        assertEquals(List.of(best.getOrderId(), early.getOrderId(), late.getOrderId()),
+                collectIds(orderBook.getMatchingAsks(5)));
+
+        Order bid = createOrder("Trader5", "BUY", 7);
+        Order tooCheap = createOrder("Trader6", "BUY", 4);
+        orderBook.addOrder(tooCheap);
+        orderBook.addOrder(bid);
+        assertEquals(List.of(bid.getOrderId()), collectIds(orderBook.getMatchingBids(5)));
+    }
+
+    /**
+     * Method tests that the matching iterator writes partial fills to the store and removes filled orders.
+     */
+    @Test
+    void testMatchingIteratorRemove() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 3);
+        Order second = createOrder("Trader2", "SELL", 4);
+        orderBook.addOrder(first);
+        second.setAmount(5);
+        orderBook.addOrder(second);
+
+        Iterator<Order> iterator = orderBook.getMatchingAsks(null);
+        assertThrows(IllegalStateException.class, iterator::remove);
+        assertEquals(first.getOrderId(), iterator.next().getOrderId());
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        Order view = iterator.next();
+        view.setQuantity(view.getQuantity() - 2);
+        assertFalse(iterator.hasNext());
+        assertEquals(4, orderBook.getBestAsk());
+        assertEquals(3, orderBook.getOrder(second.getOrderId()).getAmount());
+        assertEquals(1, orderBook.getNumOfAsks());
+        assertEquals(1, recordStore.getSize());
+    }
+
+    /**
+     * Method tests that the depth aggregates every price level and follows fills through views, amendments and
+     * removals.
+     */
+    @Test
+    void testDepth() {
+        setupOrderBook();
+        Order first = createOrder("Trader1", "SELL", 5);
+        first.setAmount(3);
+        orderBook.addOrder(first);
+        orderBook.addOrder(createOrder("Trader2", "SELL", 5));
+        orderBook.addOrder(createOrder("Trader3", "SELL", 6));
+        Order bid = createOrder("Trader4", "BUY", 4);
+        orderBook.addOrder(bid);
+
+        assertEquals(List.of(new DepthLevel(5, 4, 2), new DepthLevel(6, 1, 1)), orderBook.getDepth(10).getAsks());
+        Iterator<Order> matchingAsks = orderBook.getMatchingAsks(5);
+        matchingAsks.next().setQuantity(1);
+        orderBook.amendOrder(bid.getOrderId(), 6);
+        assertEquals(new DepthLevel(5, 2, 2), orderBook.getDepth(10).getBestAsk());
+        assertEquals(List.of(new DepthLevel(4, 6, 1)), orderBook.getDepth(10).getBids());
+        orderBook.removeOrder(bid.getOrderId());
+        assertNull(orderBook.getDepth(10).getBestBid());
+    }
+}
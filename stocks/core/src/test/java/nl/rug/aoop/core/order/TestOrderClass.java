@@ -3,7 +3,7 @@ package nl.rug.aoop.core.order;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * TestOrderClass tests the Order class.
@@ -23,4 +23,59 @@ public class TestOrderClass {
                 .build();
         assertNotNull(normalStock);
     }
+
+    /**
+     * Tests that orders with identical fields but different ids are not equal.
+     */
+    @Test
+    void testEqualsComparesIds() {
+        Order first = Order.newBuilder()
+                .setId(1L)
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(1)
+                .build();
+        Order second = Order.newBuilder()
+                .setId(2L)
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(1)
+                .build();
+        assertNotEquals(first, second);
+        second.setId(1L);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    /**
+     * Tests that the engine form of an order follows its Json properties.
+     */
+    @Test
+    void testEngineForm() {
+        Order order = Order.newBuilder()
+                .setId(7L)
+                .setOperation("SELL")
+                .setPrice(5)
+                .setAmount(3)
+                .build();
+        assertEquals(7L, order.getOrderId());
+        assertEquals(Order.SELL, order.getSide());
+        assertEquals(5, order.getPriceTicks());
+        assertEquals(3L, order.getQuantity());
+
+        order.setOperation("HOLD");
+        order.setPrice(null);
+        order.setId(null);
+        order.setQuantity(4L);
+        assertEquals(Order.NO_SIDE, order.getSide());
+        assertEquals(Order.NO_PRICE, order.getPriceTicks());
+        assertEquals(Order.NO_ID, order.getOrderId());
+        assertNull(order.getPrice());
+        assertNull(order.getId());
+        assertEquals(4, order.getAmount());
+    }
 }
@@ -0,0 +1,92 @@
+package nl.rug.aoop.core.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestOrderCodecClass tests the OrderCodec class.
+ */
+public class TestOrderCodecClass {
+
+    /**
+     * Method checks that every order type survives a frame with all of its fields, including the order id, which Json
+     * leaves out.
+     */
+    @Test
+    void testOrderTypeConversion() {
+        List<Order> orders = List.of(
+                LimitOrder.newBuilder().setId(7L).setTraderId("NIELS").setStockId("AAPL").setOperation("BUY")
+                        .setPrice(10).setAmount(100).build(),
+                MarketOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY").setAmount(1)
+                        .build(),
+                ImmediateOrCancelOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("SELL")
+                        .setPrice(10).setAmount(1).build(),
+                FillOrKillOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY")
+                        .setPrice(10).setAmount(1).build(),
+                StopOrder.newBuilder().setStopPrice(9).setTraderId("NIELS").setStockId("AAPL").setOperation("SELL")
+                        .setAmount(1).build(),
+                StopLimitOrder.newBuilder().setStopPrice(11).setTraderId("Niëls").setStockId(null)
+                        .setOperation("BUY").setPrice(12).setAmount(1).build());
+        for (Order order : orders) {
+            String text = OrderCodec.toText(order);
+            assertTrue(OrderCodec.isText(text));
+            Order convertedOrder = OrderCodec.fromText(text);
+            assertEquals(order.getClass(), convertedOrder.getClass());
+            assertEquals(order, convertedOrder);
+        }
+        assertEquals(7L, OrderCodec.fromText(OrderCodec.toText(orders.get(0))).getOrderId());
+        assertEquals(Order.BUY, OrderCodec.fromText(OrderCodec.toText(orders.get(0))).getSide());
+    }
+
+    /**
+     * Method checks that the frame of an order is smaller than its Json.
+     * @throws JsonProcessingException Thrown if the order can't be converted to Json.
+     */
+    @Test
+    void testSize() throws JsonProcessingException {
+        Order order = LimitOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY")
+                .setPrice(10).setAmount(100).build();
+        assertTrue(OrderCodec.encode(order).length * 2 < OrderSerializer.serialize(order).length());
+    }
+
+    /**
+     * Method checks that OrderSerializer reads order frames as text, alone and in a batch with Json orders.
+     * @throws JsonProcessingException Thrown if an order can't be converted to Json.
+     */
+    @Test
+    void testOrderSerializer() throws JsonProcessingException {
+        Order limitOrder = LimitOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY")
+                .setPrice(10).setAmount(1).build();
+        Order marketOrder = MarketOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("SELL")
+                .setAmount(2).build();
+        assertEquals(limitOrder, OrderSerializer.deserialize(OrderCodec.toText(limitOrder)));
+        List<Order> convertedOrders = OrderSerializer.deserialize(List.of(OrderCodec.toText(limitOrder), "#AAAA",
+                OrderSerializer.serialize(marketOrder)));
+        assertEquals(limitOrder, convertedOrders.get(0));
+        assertNull(convertedOrders.get(1));
+        assertEquals(marketOrder, convertedOrders.get(2));
+    }
+
+    /**
+     * Method checks that unsupported order types, and frames of another version, of an unknown type or truncated, are
+     * refused.
+     */
+    @Test
+    void testIllegalFrame() {
+        assertThrows(IllegalArgumentException.class, () -> OrderCodec.encode(new Order()));
+        byte[] frame = OrderCodec.encode(MarketOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL")
+                .setOperation("BUY").setAmount(1).build());
+        ByteBuffer truncated = ByteBuffer.wrap(frame, 0, frame.length - 3);
+        assertThrows(IllegalArgumentException.class, () -> OrderCodec.decode(truncated));
+        frame[1] = 6;
+        assertThrows(IllegalArgumentException.class, () -> OrderCodec.decode(ByteBuffer.wrap(frame)));
+        frame[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> OrderCodec.decode(ByteBuffer.wrap(frame)));
+        assertThrows(IllegalArgumentException.class, () -> OrderCodec.fromText("{}"));
+    }
+}
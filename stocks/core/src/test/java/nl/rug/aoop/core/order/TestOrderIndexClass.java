@@ -0,0 +1,69 @@
+package nl.rug.aoop.core.order;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestOrderIndexClass tests the OrderIndex class.
+ */
+public class TestOrderIndexClass {
+
+    /**
+     * Method tests that orders are stored, replaced and found by id.
+     */
+    @Test
+    void testPutAndGet() {
+        OrderIndex orderIndex = new OrderIndex();
+        Order first = new Order();
+        Order second = new Order();
+        orderIndex.put(1L, first);
+        assertSame(first, orderIndex.get(1L));
+        assertNull(orderIndex.get(2L));
+        orderIndex.put(1L, second);
+        assertSame(second, orderIndex.get(1L));
+        assertEquals(1, orderIndex.size());
+    }
+
+    /**
+     * Method tests that the index grows and keeps all orders findable.
+     */
+    @Test
+    void testResize() {
+        OrderIndex orderIndex = new OrderIndex();
+        Order[] orders = new Order[1000];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new Order();
+            orderIndex.put(i + 1, orders[i]);
+        }
+        assertEquals(1000, orderIndex.size());
+        for (int i = 0; i < orders.length; i++) {
+            assertSame(orders[i], orderIndex.get(i + 1));
+        }
+    }
+
+    /**
+     * Method tests that removing orders keeps the remaining orders findable.
+     */
+    @Test
+    void testRemove() {
+        OrderIndex orderIndex = new OrderIndex();
+        Order[] orders = new Order[500];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new Order();
+            orderIndex.put(i + 1, orders[i]);
+        }
+        for (int i = 0; i < orders.length; i += 2) {
+            assertSame(orders[i], orderIndex.remove(i + 1));
+        }
+        assertNull(orderIndex.remove(1L));
+        assertEquals(250, orderIndex.size());
+        for (int i = 0; i < orders.length; i++) {
+            if (i % 2 == 0) {
+                assertNull(orderIndex.get(i + 1));
+            } else {
+                assertSame(orders[i], orderIndex.get(i + 1));
+            }
+        }
+    }
+}
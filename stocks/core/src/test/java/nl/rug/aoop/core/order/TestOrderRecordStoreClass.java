@@ -0,0 +1,92 @@
+package nl.rug.aoop.core.order;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestOrderRecordStoreClass tests the OrderRecordStore class.
+ */
+public class TestOrderRecordStoreClass {
+
+    /**
+     * Method creates a limit order.
+     * @param id Id of the order.
+     * @param traderId Id of the trader.
+     * @param operation Operation of the order.
+     * @return New order.
+     */
+    private Order createOrder(long id, String traderId, String operation) {
+        return new LimitOrder.Builder()
+                .setId(id)
+                .setTraderId(traderId)
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setPrice(5)
+                .setAmount(3)
+                .build();
+    }
+
+    /**
+     * Method tests that an order is copied into a record and found by its id.
+     */
+    @Test
+    void testAdd() {
+        OrderRecordStore recordStore = new OrderRecordStore();
+        int book = recordStore.registerBook();
+        int record = recordStore.add(createOrder(7L, "Trader", "SELL"), book);
+        assertEquals(record, recordStore.find(7L));
+        assertEquals(OrderRecordStore.NO_RECORD, recordStore.find(8L));
+        assertEquals(OrderRecordStore.NO_RECORD, recordStore.find(Order.NO_ID));
+        assertEquals(7L, recordStore.getOrderId(record));
+        assertEquals("Trader", recordStore.getTraderId(record));
+        assertEquals(Order.SELL, recordStore.getSide(record));
+        assertEquals(5, recordStore.getPriceTicks(record));
+        assertEquals(3L, recordStore.getQuantity(record));
+        assertEquals(book, recordStore.getBook(record));
+        assertEquals(OrderRecordStore.NO_RECORD, recordStore.getNext(record));
+        assertEquals(1, recordStore.getSize());
+        assertThrows(IllegalArgumentException.class, () -> recordStore.add(createOrder(7L, "Trader", "SELL"), book));
+    }
+
+    /**
+     * Method tests that freed records are no longer found and are reused.
+     */
+    @Test
+    void testRemoveReusesRecords() {
+        OrderRecordStore recordStore = new OrderRecordStore();
+        int first = recordStore.add(createOrder(1L, "Trader1", "BUY"), 0);
+        recordStore.add(createOrder(2L, "Trader2", "BUY"), 0);
+        recordStore.remove(first);
+        assertEquals(OrderRecordStore.NO_RECORD, recordStore.find(1L));
+        assertEquals(Order.NO_ID, recordStore.getOrderId(first));
+        assertEquals(first, recordStore.add(createOrder(3L, "Trader1", "BUY"), 0));
+        assertEquals(2, recordStore.getSize());
+    }
+
+    /**
+     * Method tests that the store grows past one chunk and its index, and keeps all records findable.
+     */
+    @Test
+    void testGrowth() {
+        OrderRecordStore recordStore = new OrderRecordStore();
+        int numOfOrders = 100000;
+        for (long id = 1; id <= numOfOrders; id++) {
+            recordStore.add(createOrder(id, "Trader" + (id % 10), "SELL"), 0);
+        }
+        for (long id = 1; id <= numOfOrders; id += 2) {
+            recordStore.remove(recordStore.find(id));
+        }
+        assertEquals(numOfOrders / 2, recordStore.getSize());
+        for (long id = 1; id <= numOfOrders; id++) {
+            int record = recordStore.find(id);
+            if (id % 2 == 1) {
+                assertEquals(OrderRecordStore.NO_RECORD, record);
+            } else {
+                assertEquals(id, recordStore.getOrderId(record));
+                assertEquals("Trader" + (id % 10), recordStore.getTraderId(record));
+            }
+        }
+        assertTrue(recordStore.getOffHeapBytes() >= 2L * 65536 * OrderRecordStore.RECORD_SIZE);
+    }
+}
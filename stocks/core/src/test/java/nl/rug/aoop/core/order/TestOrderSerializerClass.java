@@ -3,7 +3,10 @@ package nl.rug.aoop.core.order;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * TestOrderSerializerClass tests the OrderSerializer class.
@@ -27,4 +30,46 @@ public class TestOrderSerializerClass {
 
         assertEquals(order, convertedOrder);
     }
+
+    /**
+     * Method checks that the other order types are converted back to the same type.
+     */
+    @Test
+    void testOrderTypeConversion() throws JsonProcessingException {
+        List<Order> orders = List.of(
+                MarketOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY").setAmount(1)
+                        .build(),
+                ImmediateOrCancelOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("SELL")
+                        .setPrice(10).setAmount(1).build(),
+                FillOrKillOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY")
+                        .setPrice(10).setAmount(1).build(),
+                StopOrder.newBuilder().setStopPrice(9).setTraderId("NIELS").setStockId("AAPL").setOperation("SELL")
+                        .setAmount(1).build(),
+                StopLimitOrder.newBuilder().setStopPrice(11).setTraderId("NIELS").setStockId("AAPL")
+                        .setOperation("BUY").setPrice(12).setAmount(1).build());
+        for (Order order : orders) {
+            Order convertedOrder = OrderSerializer.deserialize(OrderSerializer.serialize(order));
+            assertEquals(order.getClass(), convertedOrder.getClass());
+            assertEquals(order, convertedOrder);
+        }
+        assertEquals(9, ((StopOrder) orders.get(3)).getStopPrice());
+    }
+
+    /**
+     * Method checks that a batch of orders is converted back in order, with null for a string that is no order.
+     */
+    @Test
+    void testBatchConversion() throws JsonProcessingException {
+        Order limitOrder = LimitOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("BUY")
+                .setPrice(10).setAmount(1).build();
+        Order marketOrder = MarketOrder.newBuilder().setTraderId("NIELS").setStockId("AAPL").setOperation("SELL")
+                .setAmount(2).build();
+        List<Order> convertedOrders = OrderSerializer.deserialize(List.of(OrderSerializer.serialize(limitOrder),
+                "not an order", OrderSerializer.serialize(marketOrder)));
+
+        assertEquals(3, convertedOrders.size());
+        assertEquals(limitOrder, convertedOrders.get(0));
+        assertNull(convertedOrders.get(1));
+        assertEquals(marketOrder, convertedOrders.get(2));
+    }
 }
@@ -0,0 +1,26 @@
+package nl.rug.aoop.core.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TestOrderUpdateClass tests the OrderUpdate class.
+ */
+public class TestOrderUpdateClass {
+
+    /**
+     * Method checks that an order update can be correctly converted to json and back.
+     */
+    @Test
+    void testStringConversion() throws JsonProcessingException {
+        OrderUpdate orderUpdate = new OrderUpdate(3L, "NIELS", "AAPL", 50);
+        String jsonOrderUpdate = OrderUpdate.toString(orderUpdate);
+        OrderUpdate convertedOrderUpdate = OrderUpdate.fromString(jsonOrderUpdate);
+
+        assertEquals(orderUpdate, convertedOrderUpdate);
+        assertEquals(3L, convertedOrderUpdate.getOrderId());
+        assertEquals(50, convertedOrderUpdate.getAmount());
+    }
+}
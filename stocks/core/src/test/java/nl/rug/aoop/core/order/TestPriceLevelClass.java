@@ -0,0 +1,149 @@
+package nl.rug.aoop.core.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestPriceLevelClass tests the PriceLevel class.
+ */
+public class TestPriceLevelClass {
+
+    /**
+     * Method creates an order with the given id.
+     * @param id Id of the order.
+     * @return New order.
+     */
+    private Order createOrder(long id) {
+        return new LimitOrder.Builder()
+                .setId(id)
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(1)
+                .build();
+    }
+
+    /**
+     * Method tests that a price level is successfully created.
+     */
+    @Test
+    void testConstructor() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        assertEquals(5, priceLevel.getPrice());
+        assertTrue(priceLevel.isEmpty());
+        assertNull(priceLevel.getFirstOrder());
+    }
+
+    /**
+     * Method tests that orders keep their arrival order.
+     */
+    @Test
+    void testTimePriority() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        Order first = createOrder(1L);
+        Order second = createOrder(2L);
+        priceLevel.addOrder(first);
+        priceLevel.addOrder(second);
+        assertEquals(2, priceLevel.getSize());
+        assertEquals(first, priceLevel.getFirstOrder());
+        assertEquals(first, priceLevel.iterator().next());
+    }
+
+    /**
+     * Method tests that an order can be removed.
+     */
+    @Test
+    void testRemoveOrder() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        Order order = createOrder(1L);
+        priceLevel.addOrder(order);
+        assertEquals(order, priceLevel.getOrder(1L));
+        assertEquals(order, priceLevel.removeOrder(1L));
+        assertNull(priceLevel.removeOrder(1L));
+        assertTrue(priceLevel.isEmpty());
+    }
+
+    /**
+     * Method tests that orders can be unlinked from the front, middle and back of the level.
+     */
+    @Test
+    void testUnlink() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        Order first = createOrder(1L);
+        Order second = createOrder(2L);
+        Order third = createOrder(3L);
+        Order fourth = createOrder(4L);
+        priceLevel.addOrder(first);
+        priceLevel.addOrder(second);
+        priceLevel.addOrder(third);
+        priceLevel.addOrder(fourth);
+
+        priceLevel.unlink(second);
+        priceLevel.unlink(fourth);
+        priceLevel.unlink(first);
+        assertEquals(1, priceLevel.getSize());
+        assertSame(third, priceLevel.getFirstOrder());
+        priceLevel.addOrder(first);
+        Iterator<Order> iterator = priceLevel.iterator();
+        assertSame(third, iterator.next());
+        assertSame(first, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Method tests that the iterator removes the last returned order.
+     */
+    @Test
+    void testIteratorRemove() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        Order first = createOrder(1L);
+        Order second = createOrder(2L);
+        priceLevel.addOrder(first);
+        priceLevel.addOrder(second);
+        Iterator<Order> iterator = priceLevel.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        iterator.next();
+        iterator.remove();
+        assertSame(second, iterator.next());
+        assertSame(second, priceLevel.getFirstOrder());
+        assertEquals(1, priceLevel.getSize());
+    }
+
+    /**
+     * Method tests that a reset level is empty and has its new price.
+     */
+    @Test
+    void testReset() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        priceLevel.addOrder(createOrder(1L));
+        priceLevel.reset(7);
+        assertEquals(7, priceLevel.getPrice());
+        assertTrue(priceLevel.isEmpty());
+        assertEquals(0, priceLevel.getSize());
+    }
+
+    /**
+     * Method tests that the total quantity follows added, unlinked and changed orders.
+     */
+    @Test
+    void testQuantity() {
+        PriceLevel priceLevel = new PriceLevel(5);
+        Order first = createOrder(1L);
+        Order second = createOrder(2L);
+        second.setQuantity(4);
+        priceLevel.addOrder(first);
+        priceLevel.addOrder(second);
+        assertEquals(5, priceLevel.getQuantity());
+        second.setQuantity(2);
+        assertEquals(3, priceLevel.getQuantity());
+        priceLevel.unlink(first);
+        first.setQuantity(10);
+        assertEquals(2, priceLevel.getQuantity());
+        priceLevel.reset(6);
+        assertEquals(0, priceLevel.getQuantity());
+    }
+}
@@ -2,8 +2,7 @@ package nl.rug.aoop.core.stock;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * TestStockClass tests the Stock class.
@@ -19,6 +18,18 @@ public class TestStockClass {
         assertNotNull(stock);
     }
 
+    /**
+     * Method tests that a copied Stock is equal to, but independent of, the original.
+     */
+    @Test
+    void testCopyConstructor() {
+        Stock stock = new Stock("Stock", "Stock", 1L, 1.0, 1.0);
+        Stock copy = new Stock(stock);
+        assertEquals(stock, copy);
+        stock.updatePrice(2.0);
+        assertEquals(1.0, copy.getPrice());
+    }
+
     /**
      * Method tests that the price of a stock can be correctly updated.
      */
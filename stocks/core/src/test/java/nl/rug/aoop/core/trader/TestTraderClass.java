@@ -3,8 +3,7 @@ package nl.rug.aoop.core.trader;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * TestTraderClass tests the Trader class.
@@ -63,6 +62,16 @@ public class TestTraderClass {
         assertEquals(1L, trader.getStockAmount("Stock"));
     }
 
+    /**
+     * Method checks that the trader's funds can be set.
+     */
+    @Test
+    void testSetFunds() {
+        Trader trader = new Trader("Trader", "Trader", 0L);
+        trader.setFunds(5L);
+        assertEquals(5L, trader.getFunds());
+    }
+
     /**
      * Method checks that it is correctly determined if trader has certain amount of stock.
      */
@@ -73,4 +82,20 @@ public class TestTraderClass {
         assertEquals(1L, trader.getStockAmount("Stock"));
         assertEquals(0L, trader.getStockAmount("NoStock"));
     }
+
+    /**
+     * Method tests that a copied trader is equal to, but independent of, the original.
+     */
+    @Test
+    void testCopyConstructor() {
+        Trader trader = new Trader("Trader", "Trader", 1L);
+        trader.setStockAmount("Stock", 5L);
+        trader.addTransaction(new Transaction("Stock", 5, 1));
+        Trader copy = new Trader(trader);
+        assertEquals(trader, copy);
+        trader.setStockAmount("Stock", 6L);
+        trader.addTransaction(new Transaction("Stock", 1, 1));
+        assertEquals(5L, copy.getStockAmount("Stock"));
+        assertEquals(1, copy.getTransactionHistory().size());
+    }
 }
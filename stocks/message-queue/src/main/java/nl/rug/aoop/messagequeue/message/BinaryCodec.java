@@ -0,0 +1,327 @@
+package nl.rug.aoop.messagequeue.message;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * BinaryCodec class converts Messages and NetworkMessages to and from a compact, versioned binary frame. A frame starts
+ * with the version and the kind of frame, followed by fixed-width fields: strings are a length and their UTF-8 bytes
+ * (a length of -1 for null), and the timestamp of a Message is a long of UTC epoch nanoseconds. An envelope frame holds
+ * a NetworkMessage whose body is a Message in a single frame, instead of the Message's JSON escaped inside the JSON of
+ * the NetworkMessage. A line based transport carries a frame as text: the TEXT_MARKER followed by the Base64 frame.
+ * The body of a Message may itself be a frame as text, like the binary fields of an Order; it is stored as its raw
+ * frame, with a length below -1 (-2 minus the number of bytes), so it is not Base64 inside Base64.
+ */
+public final class BinaryCodec {
+    /**
+     * Version of the frames written by this codec.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * First character of a frame that is carried as text, which never starts a JSON object.
+     */
+    public static final char TEXT_MARKER = '#';
+    /**
+     * Kind of a frame holding a Message.
+     */
+    static final byte MESSAGE = 1;
+    /**
+     * Kind of a frame holding a NetworkMessage.
+     */
+    static final byte NETWORK_MESSAGE = 2;
+    /**
+     * Kind of a frame holding a NetworkMessage whose body is a Message.
+     */
+    static final byte ENVELOPE = 3;
+    /**
+     * long number of nanoseconds in a second.
+     */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Private constructor, as the BinaryCodec only has static methods.
+     */
+    private BinaryCodec() {
+    }
+
+    /**
+     * Converts a Message to a frame.
+     * @param message Message to be converted.
+     * @return byte[] frame of the Message.
+     */
+    public static byte[] encode(Message message) {
+        byte[] header = toBytes(message.header());
+        byte[] body = toBodyField(message.body());
+        ByteBuffer frame = ByteBuffer.allocate(2 + sizeOf(header) + body.length + Long.BYTES);
+        frame.put(VERSION).put(MESSAGE);
+        putMessage(frame, header, body, message.timestamp());
+        return frame.array();
+    }
+
+    /**
+     * Writes the frame of a Message into a buffer, from its position.
+     * @param message Message to be written.
+     * @param target ByteBuffer the frame is written into.
+     * @return boolean true if the frame was written, false if it does not fit in the rest of the buffer.
+     */
+    public static boolean encode(Message message, ByteBuffer target) {
+        byte[] header = toBytes(message.header());
+        byte[] body = toBodyField(message.body());
+        if (target.remaining() < 2 + sizeOf(header) + body.length + Long.BYTES) {
+            return false;
+        }
+        target.put(VERSION).put(MESSAGE);
+        putMessage(target, header, body, message.timestamp());
+        return true;
+    }
+
+    /**
+     * Converts a NetworkMessage to a frame.
+     * @param networkMessage NetworkMessage to be converted.
+     * @return byte[] frame of the NetworkMessage.
+     */
+    public static byte[] encode(NetworkMessage networkMessage) {
+        byte[] header = toBytes(networkMessage.header());
+        byte[] body = toBytes(networkMessage.body());
+        ByteBuffer frame = ByteBuffer.allocate(2 + sizeOf(header) + sizeOf(body));
+        frame.put(VERSION).put(NETWORK_MESSAGE);
+        putString(frame, header);
+        putString(frame, body);
+        return frame.array();
+    }
+
+    /**
+     * Converts a NetworkMessage whose body is a Message to an envelope frame.
+     * @param header String header of the NetworkMessage.
+     * @param message Message in the body of the NetworkMessage.
+     * @return byte[] envelope frame.
+     */
+    public static byte[] encode(String header, Message message) {
+        byte[] networkHeader = toBytes(header);
+        byte[] messageHeader = toBytes(message.header());
+        byte[] body = toBodyField(message.body());
+        ByteBuffer frame = ByteBuffer.allocate(2 + sizeOf(networkHeader) + sizeOf(messageHeader) + body.length
+                + Long.BYTES);
+        frame.put(VERSION).put(ENVELOPE);
+        putString(frame, networkHeader);
+        putMessage(frame, messageHeader, body, message.timestamp());
+        return frame.array();
+    }
+
+    /**
+     * Reads a Message from the frame at the position of a buffer, and moves the position past it.
+     * @param frame ByteBuffer holding the frame.
+     * @return Message of the frame.
+     * @throws IllegalArgumentException if the buffer holds no valid Message frame.
+     */
+    public static Message decodeMessage(ByteBuffer frame) throws IllegalArgumentException {
+        checkFrame(frame, MESSAGE);
+        return getMessage(frame);
+    }
+
+    /**
+     * Reads the header of a NetworkMessage or envelope frame and checks its version.
+     * @param frame ByteBuffer holding the frame, positioned after the header when this returns.
+     * @return byte kind of the frame: NETWORK_MESSAGE or ENVELOPE.
+     * @throws IllegalArgumentException if the buffer holds no valid NetworkMessage or envelope frame.
+     */
+    static byte readKind(ByteBuffer frame) throws IllegalArgumentException {
+        byte kind = checkFrame(frame, (byte) 0);
+        if (kind != NETWORK_MESSAGE && kind != ENVELOPE) {
+            throw new IllegalArgumentException("Not a network message frame: " + kind);
+        }
+        return kind;
+    }
+
+    /**
+     * Reads a string field.
+     * @param frame ByteBuffer positioned at the field.
+     * @return String of the field, or null.
+     * @throws IllegalArgumentException if the field is truncated or its length is invalid.
+     */
+    static String getString(ByteBuffer frame) throws IllegalArgumentException {
+        try {
+            int length = frame.getInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0 || length > frame.remaining()) {
+                throw new IllegalArgumentException("Invalid string length: " + length);
+            }
+            if (frame.hasArray()) {
+                String string = new String(frame.array(), frame.arrayOffset() + frame.position(), length,
+                        StandardCharsets.UTF_8);
+                frame.position(frame.position() + length);
+                return string;
+            }
+            byte[] bytes = new byte[length];
+            frame.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated frame.", e);
+        }
+    }
+
+    /**
+     * Reads the body field of a Message: a string field, or a raw frame that is returned as text.
+     * @param frame ByteBuffer positioned at the field.
+     * @return String of the field, or null.
+     * @throws IllegalArgumentException if the field is truncated or its length is invalid.
+     */
+    static String getBody(ByteBuffer frame) throws IllegalArgumentException {
+        if (frame.remaining() < Integer.BYTES || frame.getInt(frame.position()) >= -1) {
+            return getString(frame);
+        }
+        int length = -2 - frame.getInt();
+        if (length > frame.remaining()) {
+            throw new IllegalArgumentException("Invalid body length: " + length);
+        }
+        byte[] raw = new byte[length];
+        frame.get(raw);
+        return toText(raw);
+    }
+
+    /**
+     * Reads the fields of a Message.
+     * @param frame ByteBuffer positioned at the fields.
+     * @return Message of the fields.
+     * @throws IllegalArgumentException if the fields are truncated.
+     */
+    static Message getMessage(ByteBuffer frame) throws IllegalArgumentException {
+        String header = getString(frame);
+        String body = getBody(frame);
+        if (frame.remaining() < Long.BYTES) {
+            throw new IllegalArgumentException("Truncated frame.");
+        }
+        long epochNanos = frame.getLong();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+        return new Message(header, body, timestamp);
+    }
+
+    /**
+     * Converts a frame to text for a line based transport.
+     * @param frame byte[] frame.
+     * @return String of the TEXT_MARKER and the Base64 frame.
+     */
+    static String toText(byte[] frame) {
+        return TEXT_MARKER + Base64.getEncoder().encodeToString(frame);
+    }
+
+    /**
+     * Converts text from a line based transport back to a frame.
+     * @param text String of the TEXT_MARKER and the Base64 frame.
+     * @return ByteBuffer holding the frame.
+     * @throws IllegalArgumentException if the text is no Base64 frame.
+     */
+    static ByteBuffer fromText(String text) throws IllegalArgumentException {
+        return ByteBuffer.wrap(Base64.getDecoder().decode(text.substring(1)));
+    }
+
+    /**
+     * Checks the version and kind of the frame at the position of a buffer.
+     * @param frame ByteBuffer holding the frame, positioned after the version and kind when this returns.
+     * @param expectedKind byte kind the frame must have, or 0 for any kind.
+     * @return byte kind of the frame.
+     * @throws IllegalArgumentException if the frame has another version or kind.
+     */
+    private static byte checkFrame(ByteBuffer frame, byte expectedKind) throws IllegalArgumentException {
+        if (frame.remaining() < 2) {
+            throw new IllegalArgumentException("Truncated frame.");
+        }
+        byte version = frame.get();
+        byte kind = frame.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported frame version: " + version);
+        }
+        if (expectedKind != 0 && kind != expectedKind) {
+            throw new IllegalArgumentException("Unexpected frame kind: " + kind);
+        }
+        return kind;
+    }
+
+    /**
+     * Writes the fields of a Message.
+     * @param frame ByteBuffer the fields are written into.
+     * @param header byte[] UTF-8 header, or null.
+     * @param body byte[] body field, see toBodyField.
+     * @param timestamp LocalDateTime timestamp, taken as UTC.
+     * @throws BufferOverflowException if the fields do not fit.
+     */
+    private static void putMessage(ByteBuffer frame, byte[] header, byte[] body, LocalDateTime timestamp)
+            throws BufferOverflowException {
+        putString(frame, header);
+        frame.put(body);
+        frame.putLong(timestamp.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + timestamp.getNano());
+    }
+
+    /**
+     * Writes a string field.
+     * @param frame ByteBuffer the field is written into.
+     * @param bytes byte[] UTF-8 string, or null.
+     */
+    private static void putString(ByteBuffer frame, byte[] bytes) {
+        if (bytes == null) {
+            frame.putInt(-1);
+        } else {
+            frame.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    /**
+     * Converts the body of a Message to its whole field. A body that is a frame as text becomes the raw frame, unless
+     * it is not exactly the text BinaryCodec writes for it, so every body is read back unchanged.
+     * @param body String body, or null.
+     * @return byte[] body field, including its length.
+     */
+    private static byte[] toBodyField(String body) {
+        byte[] raw = toRawFrame(body);
+        if (raw != null) {
+            return ByteBuffer.allocate(Integer.BYTES + raw.length).putInt(-2 - raw.length).put(raw).array();
+        }
+        byte[] bytes = toBytes(body);
+        ByteBuffer field = ByteBuffer.allocate(sizeOf(bytes));
+        putString(field, bytes);
+        return field.array();
+    }
+
+    /**
+     * Converts a body that is a frame as text back to the raw frame.
+     * @param body String body, or null.
+     * @return byte[] raw frame, or null if the body is not exactly the text of a frame.
+     */
+    private static byte[] toRawFrame(String body) {
+        if (body == null || body.isEmpty() || body.charAt(0) != TEXT_MARKER) {
+            return null;
+        }
+        try {
+            byte[] raw = fromText(body).array();
+            return toText(raw).equals(body) ? raw : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts a string to UTF-8.
+     * @param string String to be converted, or null.
+     * @return byte[] UTF-8 bytes, or null.
+     */
+    private static byte[] toBytes(String string) {
+        return string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes the size of a string field.
+     * @param bytes byte[] UTF-8 string, or null.
+     * @return int number of bytes of the field.
+     */
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+}
@@ -0,0 +1,153 @@
+package nl.rug.aoop.messagequeue.message;
+
+import nl.rug.aoop.networking.Communicator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Enum WireFormat is the format in which NetworkMessages are sent over a connection. Every connection starts with JSON
+ * and may negotiate BINARY, in which every NetworkMessage is a BinaryCodec frame. A received line is decoded in the
+ * format it was sent in, so both formats can be mixed on a connection. The WireFormat negotiated on a connection is
+ * attached to its Communicator, so the messages sent back over it are encoded in that WireFormat.
+ */
+public enum WireFormat {
+    /**
+     * A NetworkMessage is its JSON, and a Message in its body is the JSON of the Message.
+     */
+    JSON,
+    /**
+     * A NetworkMessage is a BinaryCodec frame as text, and a Message in its body is part of the same frame.
+     */
+    BINARY;
+
+    /**
+     * Key of the Header in the options of a decoded NetworkMessage.
+     */
+    public static final String HEADER = "Header";
+    /**
+     * Key of the Body in the options of a decoded NetworkMessage.
+     */
+    public static final String BODY = "Body";
+    /**
+     * Key of the WireFormat in the options of a decoded NetworkMessage.
+     */
+    public static final String FORMAT = "WireFormat";
+
+    /**
+     * Method retrieves a WireFormat by its case-insensitive name: json or binary.
+     * @param name String name of the WireFormat, or null for JSON.
+     * @return WireFormat with the name.
+     * @throws IllegalArgumentException if there is no WireFormat with the name.
+     */
+    public static WireFormat fromName(String name) throws IllegalArgumentException {
+        return name == null ? JSON : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Method retrieves the WireFormat negotiated on a connection.
+     * @param communicator Communicator of the connection.
+     * @return WireFormat attached to the Communicator, or JSON if none was negotiated.
+     */
+    public static WireFormat of(Communicator communicator) {
+        return communicator.getAttachment() instanceof WireFormat format ? format : JSON;
+    }
+
+    /**
+     * Method records that the messages sent over a connection are encoded in this WireFormat.
+     * @param communicator Communicator of the connection.
+     */
+    public void attachTo(Communicator communicator) {
+        communicator.setAttachment(this);
+    }
+
+    /**
+     * Method converts a NetworkMessage to a line in this WireFormat.
+     * @param networkMessage NetworkMessage to be converted.
+     * @return String line to be sent.
+     */
+    public String encode(NetworkMessage networkMessage) {
+        if (this == BINARY) {
+            return BinaryCodec.toText(BinaryCodec.encode(networkMessage));
+        }
+        return networkMessage.toJson();
+    }
+
+    /**
+     * Method converts a NetworkMessage whose body is a Message to a line in this WireFormat.
+     * @param header String header of the NetworkMessage.
+     * @param message Message in the body of the NetworkMessage.
+     * @return String line to be sent.
+     */
+    public String encode(String header, Message message) {
+        if (this == BINARY) {
+            return BinaryCodec.toText(BinaryCodec.encode(header, message));
+        }
+        return new NetworkMessage(header, message.toJson()).toJson();
+    }
+
+    /**
+     * Method converts a received line in either WireFormat to the options of a Command: the Header, the Body and the
+     * WireFormat of the line. The Body is a String, or the Message of a binary envelope.
+     * @param line String line that was received.
+     * @return Map(String, Object) with the options.
+     * @throws IllegalArgumentException if a binary line is no valid frame.
+     */
+    public static Map<String, Object> decode(String line) throws IllegalArgumentException {
+        if (!line.isEmpty() && line.charAt(0) == BinaryCodec.TEXT_MARKER) {
+            return decodeBinary(BinaryCodec.fromText(line));
+        }
+        Map<String, Object> options = new HashMap<>();
+        NetworkMessage networkMessage = NetworkMessage.fromJson(line);
+        options.put(HEADER, networkMessage.header());
+        options.put(BODY, networkMessage.body());
+        options.put(FORMAT, JSON);
+        return options;
+    }
+
+    /**
+     * Method converts a received frame to the options of a Command, like decode(String). Besides the UTF-8 text of a
+     * line, the frame may be a raw BinaryCodec frame, as a length-prefixed transport carries it without the Base64
+     * text; such a frame is decoded straight from the buffer.
+     * @param frame ByteBuffer holding the frame.
+     * @return Map(String, Object) with the options.
+     * @throws IllegalArgumentException if a binary frame is not valid.
+     */
+    public static Map<String, Object> decode(ByteBuffer frame) throws IllegalArgumentException {
+        if (frame.hasRemaining() && frame.get(frame.position()) == BinaryCodec.VERSION) {
+            return decodeBinary(frame);
+        }
+        return decode(StandardCharsets.UTF_8.decode(frame).toString());
+    }
+
+    /**
+     * Method converts a BinaryCodec frame of a NetworkMessage or an envelope to the options of a Command.
+     * @param frame ByteBuffer holding the frame.
+     * @return Map(String, Object) with the options.
+     * @throws IllegalArgumentException if the frame is not valid.
+     */
+    private static Map<String, Object> decodeBinary(ByteBuffer frame) throws IllegalArgumentException {
+        Map<String, Object> options = new HashMap<>();
+        byte kind = BinaryCodec.readKind(frame);
+        options.put(HEADER, BinaryCodec.getString(frame));
+        options.put(BODY, kind == BinaryCodec.ENVELOPE ? BinaryCodec.getMessage(frame) : BinaryCodec.getString(frame));
+        options.put(FORMAT, BINARY);
+        return options;
+    }
+
+    /**
+     * Method retrieves the Message in the Body of decoded options, parsing it if it was sent as JSON.
+     * @param body Object Body of the options: a Message, or the JSON of a Message.
+     * @return Message of the Body.
+     * @throws ClassCastException if the Body is neither.
+     */
+    public static Message toMessage(Object body) throws ClassCastException {
+        if (body instanceof Message message) {
+            return message;
+        }
+        return Message.fromJson((String) body);
+    }
+}
@@ -0,0 +1,288 @@
+package nl.rug.aoop.messagequeue.process;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class ConsumerGroup gives at-least-once delivery of the Messages of a MessageQueue to a group of GroupConsumers,
+ * which split the Messages between them. A delivered Message is not removed for good but leased to its consumer until
+ * the consumer acknowledges it (ack) or hands it back (nack). A Message that is handed back, or whose lease is not
+ * settled within the visibility timeout, is delivered again to the first consumer that polls, before any new
+ * Message. After maxDeliveries deliveries such a Message is moved to the dead-letter MessageQueue instead.
+ * As the visibility timeout is the same for every lease, leases expire in the order they were made, so the expired
+ * leases are found at the head of a single queue without a timer thread. Redelivered Messages overtake newer ones,
+ * so only Messages that are delivered once keep the order of the MessageQueue.
+ */
+@Slf4j
+public class ConsumerGroup {
+    /**
+     * Default number of milliseconds within which a consumer must settle its lease.
+     */
+    public static final long DEFAULT_VISIBILITY_TIMEOUT_MILLIS = 30_000;
+    /**
+     * Default maximum number of deliveries of a Message before it is dead-lettered.
+     */
+    public static final int DEFAULT_MAX_DELIVERIES = 3;
+    /**
+     * MessageQueue whose Messages are delivered.
+     */
+    private final MessageQueue queue;
+    /**
+     * MessageQueue receiving the Messages that were delivered maxDeliveries times without being acknowledged.
+     */
+    @Getter
+    private final MessageQueue deadLetterQueue;
+    /**
+     * long number of nanoseconds within which a consumer must settle its lease.
+     */
+    private final long visibilityTimeoutNanos;
+    /**
+     * int maximum number of deliveries of a Message before it is dead-lettered.
+     */
+    @Getter
+    private final int maxDeliveries;
+    /**
+     * Queue(Lease) with the leases in the order they were made, so also in the order they expire.
+     */
+    private final Queue<Lease> leases = new ConcurrentLinkedQueue<>();
+    /**
+     * Queue(Lease) with the settled leases whose Messages are waiting to be delivered again.
+     */
+    private final Queue<Lease> redeliveries = new ConcurrentLinkedQueue<>();
+    /**
+     * AtomicInteger number of leases that are not settled yet.
+     */
+    private final AtomicInteger numOfInFlight = new AtomicInteger();
+    /**
+     * LongAdder number of Messages that were handed back or whose lease expired.
+     */
+    private final LongAdder numOfRedelivered = new LongAdder();
+    /**
+     * LongAdder number of dead-lettered Messages.
+     */
+    private final LongAdder numOfDeadLettered = new LongAdder();
+
+    /**
+     * Constructor for the ConsumerGroup with the default visibility timeout and maximum number of deliveries.
+     * @param queue MessageQueue whose Messages are delivered.
+     * @param deadLetterQueue MessageQueue receiving the Messages that could not be delivered.
+     */
+    public ConsumerGroup(MessageQueue queue, MessageQueue deadLetterQueue) {
+        this(queue, deadLetterQueue, DEFAULT_VISIBILITY_TIMEOUT_MILLIS, DEFAULT_MAX_DELIVERIES);
+    }
+
+    /**
+     * Constructor for the ConsumerGroup.
+     * @param queue MessageQueue whose Messages are delivered.
+     * @param deadLetterQueue MessageQueue receiving the Messages that could not be delivered.
+     * @param visibilityTimeoutMillis long number of milliseconds within which a consumer must settle its lease.
+     * @param maxDeliveries int maximum number of deliveries of a Message before it is dead-lettered.
+     */
+    public ConsumerGroup(MessageQueue queue, MessageQueue deadLetterQueue, long visibilityTimeoutMillis,
+                         int maxDeliveries) {
+        this.queue = requireNonNull(queue, "MessageQueue can't be null.");
+        this.deadLetterQueue = requireNonNull(deadLetterQueue, "Dead-letter queue can't be null.");
+        if (visibilityTimeoutMillis <= 0 || maxDeliveries <= 0) {
+            throw new IllegalArgumentException("Visibility timeout and maximum deliveries must be positive.");
+        }
+        this.visibilityTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(visibilityTimeoutMillis);
+        this.maxDeliveries = maxDeliveries;
+    }
+
+    /**
+     * Method leases the next Message: one that has to be delivered again, or else a new one.
+     * @return Lease of the Message, or null if there is none.
+     */
+    Lease lease() {
+        reclaimExpired();
+        Lease previous = redeliveries.poll();
+        if (previous != null) {
+            return newLease(previous.message(), previous.deliveryCount() + 1);
+        }
+        Message message = queue.dequeue();
+        return message == null ? null : newLease(message, 1);
+    }
+
+    /**
+     * Method leases the next Message, waiting up to a timeout for a new one as the MessageQueue decides. A Message
+     * that has to be delivered again while the consumer waits is delivered by the next poll.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Lease of the Message, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    Lease lease(long timeout, TimeUnit unit) throws InterruptedException {
+        Lease lease = lease();
+        if (lease != null) {
+            return lease;
+        }
+        Message message = queue.dequeue(timeout, unit);
+        return message == null ? null : newLease(message, 1);
+    }
+
+    /**
+     * Method leases up to a maximum number of Messages at once, without waiting: first those that have to be delivered
+     * again, then new ones drained from the MessageQueue.
+     * @param batch List(Message) the leased Messages are added to.
+     * @param batchLeases List(Lease) the leases are added to, in the order of the batch.
+     * @param maxMessages int maximum number of Messages to lease.
+     * @return int number of Messages added to the batch.
+     */
+    int drain(List<Message> batch, List<Lease> batchLeases, int maxMessages) {
+        reclaimExpired();
+        int drained = 0;
+        Lease previous = drained < maxMessages ? redeliveries.poll() : null;
+        while (previous != null) {
+            batch.add(previous.message());
+            batchLeases.add(newLease(previous.message(), previous.deliveryCount() + 1));
+            drained++;
+            previous = drained < maxMessages ? redeliveries.poll() : null;
+        }
+        int start = batch.size();
+        drained += queue.drain(batch, maxMessages - drained);
+        for (int i = start; i < batch.size(); i++) {
+            batchLeases.add(newLease(batch.get(i), 1));
+        }
+        return drained;
+    }
+
+    /**
+     * Method acknowledges a lease, so its Message is not delivered again.
+     * @param lease Lease to be acknowledged.
+     * @return boolean true if the lease was acknowledged, false if it was already settled or had expired.
+     */
+    boolean ack(Lease lease) {
+        if (!lease.settled().compareAndSet(false, true)) {
+            return false;
+        }
+        numOfInFlight.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Method hands a lease back, so its Message is delivered again, or dead-lettered after maxDeliveries deliveries.
+     * @param lease Lease to be handed back.
+     * @return boolean true if the lease was handed back, false if it was already settled or had expired.
+     */
+    boolean nack(Lease lease) {
+        if (!lease.settled().compareAndSet(false, true)) {
+            return false;
+        }
+        numOfInFlight.decrementAndGet();
+        redeliver(lease);
+        return true;
+    }
+
+    /**
+     * Method records in the MessageQueue that every Message retrieved so far was handled, but only while every lease
+     * is acknowledged, so a durable MessageQueue never skips a Message that still has to be delivered.
+     * @return boolean true if the MessageQueue was committed.
+     */
+    boolean commit() {
+        if (numOfInFlight.get() != 0 || !redeliveries.isEmpty()) {
+            return false;
+        }
+        queue.commit();
+        return true;
+    }
+
+    /**
+     * Method retrieves the number of leases that are not settled yet.
+     * @return int number of Messages in flight.
+     */
+    public int getNumOfInFlight() {
+        return numOfInFlight.get();
+    }
+
+    /**
+     * Method retrieves the number of Messages that were handed back or whose lease expired.
+     * @return long number of redelivered Messages.
+     */
+    public long getNumOfRedelivered() {
+        return numOfRedelivered.sum();
+    }
+
+    /**
+     * Method retrieves the number of Messages that were moved to the dead-letter MessageQueue.
+     * @return long number of dead-lettered Messages.
+     */
+    public long getNumOfDeadLettered() {
+        return numOfDeadLettered.sum();
+    }
+
+    /**
+     * Method leases a Message to a consumer.
+     * @param message Message to be leased.
+     * @param deliveryCount int number of the delivery, 1 for the first one.
+     * @return New Lease.
+     */
+    private Lease newLease(Message message, int deliveryCount) {
+        Lease lease = new Lease(message, deliveryCount, System.nanoTime() + visibilityTimeoutNanos,
+                new AtomicBoolean());
+        numOfInFlight.incrementAndGet();
+        leases.add(lease);
+        return lease;
+    }
+
+    /**
+     * Method delivers the Message of a settled lease again, or dead-letters it after maxDeliveries deliveries.
+     * @param lease Lease that was handed back or expired.
+     */
+    private void redeliver(Lease lease) {
+        if (lease.deliveryCount() < maxDeliveries) {
+            numOfRedelivered.increment();
+            redeliveries.add(lease);
+        } else {
+            log.warn("Message " + lease.message().header() + " dead-lettered after " + maxDeliveries
+                    + " deliveries.");
+            numOfDeadLettered.increment();
+            deadLetterQueue.enqueue(lease.message());
+        }
+    }
+
+    /**
+     * Method removes the settled leases from the head of the leases, and settles and redelivers the expired ones.
+     * Leases behind an unsettled lease that has not expired stay until it is settled or expires.
+     */
+    private void reclaimExpired() {
+        Lease head = leases.peek();
+        if (head == null || !head.settled().get() && System.nanoTime() - head.deadline() < 0) {
+            return;
+        }
+        synchronized (leases) {
+            long now = System.nanoTime();
+            for (head = leases.peek(); head != null; head = leases.peek()) {
+                if (!head.settled().get() && now - head.deadline() < 0) {
+                    return;
+                }
+                leases.poll();
+                if (head.settled().compareAndSet(false, true)) {
+                    numOfInFlight.decrementAndGet();
+                    redeliver(head);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lease record is the delivery of a Message to a consumer, which has to be settled before its deadline.
+     * @param message Leased Message.
+     * @param deliveryCount int number of the delivery, 1 for the first one.
+     * @param deadline long System.nanoTime() at which the lease expires.
+     * @param settled AtomicBoolean whether the lease was acknowledged, handed back or expired.
+     */
+    record Lease(Message message, int deliveryCount, long deadline, AtomicBoolean settled) {
+    }
+}
@@ -0,0 +1,130 @@
+package nl.rug.aoop.messagequeue.process;
+
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class GroupConsumer that implements MQConsumer. It is one consumer of a ConsumerGroup: every polled Message is
+ * leased to it until it acknowledges the Message with ack, or hands it back with nack for another delivery. A
+ * GroupConsumer is used by one thread; run a GroupConsumer per thread to split the Messages between threads.
+ */
+public class GroupConsumer implements MQConsumer {
+    /**
+     * ConsumerGroup the consumer belongs to.
+     */
+    private final ConsumerGroup group;
+    /**
+     * Map(Message, Lease) with the lease of every polled Message that is not settled yet, by Message instance.
+     */
+    private final Map<Message, ConsumerGroup.Lease> leases = new IdentityHashMap<>();
+    /**
+     * List(Lease) with the leases of a drained batch, reused for every batch.
+     */
+    private final List<ConsumerGroup.Lease> batchLeases = new ArrayList<>();
+
+    /**
+     * Constructor creates a consumer of a ConsumerGroup.
+     * @param group ConsumerGroup the consumer belongs to.
+     */
+    public GroupConsumer(ConsumerGroup group) {
+        this.group = requireNonNull(group, "ConsumerGroup can't be null.");
+    }
+
+    /**
+     * Method polls a Message from the ConsumerGroup and leases it.
+     * @return Message that is polled, or null if there is none.
+     */
+    @Override
+    public Message poll() {
+        return hold(group.lease());
+    }
+
+    /**
+     * Method polls a Message, waiting up to a timeout as the MessageQueue of the ConsumerGroup decides, and leases it.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message that is polled, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return hold(group.lease(timeout, unit));
+    }
+
+    /**
+     * Method drains and leases up to a maximum number of Messages at once, without waiting.
+     * @param batch List(Message) the drained Messages are added to.
+     * @param maxMessages int maximum number of Messages to drain.
+     * @return int number of Messages added to the batch, 0 if there are none.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        int drained = group.drain(batch, batchLeases, maxMessages);
+        for (ConsumerGroup.Lease lease : batchLeases) {
+            leases.put(lease.message(), lease);
+        }
+        batchLeases.clear();
+        return drained;
+    }
+
+    /**
+     * Method acknowledges a polled Message, so it is not delivered again.
+     * @param message Message that was handled.
+     */
+    @Override
+    public void ack(Message message) {
+        ConsumerGroup.Lease lease = leases.remove(message);
+        if (lease != null) {
+            group.ack(lease);
+        }
+    }
+
+    /**
+     * Method hands a polled Message back, so it is delivered again or dead-lettered.
+     * @param message Message that could not be handled.
+     */
+    @Override
+    public void nack(Message message) {
+        ConsumerGroup.Lease lease = leases.remove(message);
+        if (lease != null) {
+            group.nack(lease);
+        }
+    }
+
+    /**
+     * Method records in the MessageQueue of the ConsumerGroup that every Message retrieved so far was handled, if
+     * every lease of the group is acknowledged.
+     */
+    @Override
+    public void commit() {
+        group.commit();
+    }
+
+    /**
+     * Method retrieves the number of Messages polled by this consumer that are not acknowledged or handed back yet.
+     * @return int number of leased Messages.
+     */
+    public int getNumOfLeased() {
+        return leases.size();
+    }
+
+    /**
+     * Method remembers the lease of a polled Message.
+     * @param lease Lease of the polled Message, or null if none was polled.
+     * @return The polled Message, or null.
+     */
+    private Message hold(ConsumerGroup.Lease lease) {
+        if (lease == null) {
+            return null;
+        }
+        leases.put(lease.message(), lease);
+        return lease.message();
+    }
+}
@@ -1,9 +1,15 @@
 package nl.rug.aoop.messagequeue.process;
 
 import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.ParkingWaitStrategy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Interface for a Consumer. A Consumer accepts messages.
+ * Interface for a Consumer. A Consumer accepts messages, either by polling or by waiting for them. A Consumer that
+ * handles many messages can drain a batch of them at once. A Consumer that delivers at least once expects every
+ * polled message to be acknowledged or handed back.
  */
 public interface MQConsumer {
     /**
@@ -11,4 +17,70 @@ public interface MQConsumer {
      * @return Message that is polled.
      */
     Message poll();
+
+    /**
+     * Drains up to a maximum number of messages at once, without waiting. By default this polls them one by one.
+     * @param batch List(Message) the drained messages are added to, in the order they are polled.
+     * @param maxMessages int maximum number of messages to drain.
+     * @return int number of messages added to the batch, 0 if there are none.
+     */
+    default int drain(List<Message> batch, int maxMessages) {
+        int drained = 0;
+        while (drained < maxMessages) {
+            Message message = poll();
+            if (message == null) {
+                break;
+            }
+            batch.add(message);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Acknowledges that a polled message was handled, so it is not delivered again. By default a polled message is
+     * removed for good, so there is nothing to acknowledge.
+     * @param message Message that was handled.
+     */
+    default void ack(Message message) {
+    }
+
+    /**
+     * Hands back a polled message that could not be handled, so it is delivered again. By default a polled message is
+     * removed for good and can't be handed back.
+     * @param message Message that could not be handled.
+     */
+    default void nack(Message message) {
+    }
+
+    /**
+     * Records that every message polled so far was handled, so a durable source does not deliver them again after a
+     * restart. By default a Consumer keeps no record.
+     */
+    default void commit() {
+    }
+
+    /**
+     * Polls a message, waiting up to a timeout while there is none. By default this parks between polls.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message that is polled, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    default Message poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return new ParkingWaitStrategy().waitFor(this::poll, unit.toNanos(timeout));
+    }
+
+    /**
+     * Takes a message, waiting as long as there is none.
+     * @return Message that is taken.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    default Message take() throws InterruptedException {
+        Message message = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        while (message == null) {
+            message = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return message;
+    }
 }
@@ -0,0 +1,75 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Class BlockingWaitStrategy that implements WaitStrategy. A waiting consumer sleeps on a Condition until a producer
+ * signals it, so an idle consumer uses no CPU at the cost of a wake-up latency. Producers only take the lock while a
+ * consumer is waiting; the consumer registers itself before it checks the source a last time, and the producer
+ * fences between publishing its Message and reading the waiters, so no signal is lost.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    /**
+     * ReentrantLock guarding the Condition.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Condition signalled when a Message is enqueued.
+     */
+    private final Condition notEmpty = lock.newCondition();
+    /**
+     * AtomicInteger number of waiting consumers.
+     */
+    private final AtomicInteger numOfWaiters = new AtomicInteger();
+
+    /**
+     * Method takes a Message from a source, sleeping until a producer signals while the source is empty.
+     * @param source Supplier(Message) that returns the next Message, or null if there is none.
+     * @param timeoutNanos long maximum time to wait in nanoseconds, Long.MAX_VALUE to wait without limit.
+     * @return Message from the source, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message waitFor(Supplier<Message> source, long timeoutNanos) throws InterruptedException {
+        Message message = source.get();
+        if (message != null || timeoutNanos <= 0) {
+            return message;
+        }
+        lock.lockInterruptibly();
+        numOfWaiters.incrementAndGet();
+        try {
+            long remainingNanos = timeoutNanos;
+            message = source.get();
+            while (message == null && remainingNanos > 0) {
+                remainingNanos = notEmpty.awaitNanos(remainingNanos);
+                message = source.get();
+            }
+            return message;
+        } finally {
+            numOfWaiters.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method wakes the waiting consumers, if there are any.
+     */
+    @Override
+    public void signal() {
+        VarHandle.fullFence();
+        if (numOfWaiters.get() > 0) {
+            lock.lock();
+            try {
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class BoundedMessageQueue that implements MessageQueue. It limits the number of Messages in another MessageQueue to
+ * a capacity, and applies its OverloadPolicy to a Message that is enqueued while the queue is full. Every enqueue takes
+ * a free slot from a Semaphore and every dequeued Message returns it, so enqueueing stays lock-free while the queue has
+ * room. Producers that block wait on the Semaphore, so a network thread that enqueues stops reading from its
+ * connection, which in turn throttles the sender. The capacity must not exceed the capacity of the wrapped queue, and
+ * all Messages must be dequeued through the BoundedMessageQueue.
+ * The BoundedMessageQueue counts the rejected, dropped and blocked enqueues; its size is the queue depth.
+ */
+public class BoundedMessageQueue implements MessageQueue {
+    /**
+     * MessageQueue that stores the Messages.
+     */
+    private final MessageQueue queue;
+    /**
+     * int maximum number of Messages in the queue.
+     */
+    @Getter
+    private final int capacity;
+    /**
+     * OverloadPolicy applied to a Message that is enqueued while the queue is full.
+     */
+    @Getter
+    private final OverloadPolicy overloadPolicy;
+    /**
+     * Semaphore with a permit for every free slot.
+     */
+    private final Semaphore freeSlots;
+    /**
+     * LongAdder number of rejected Messages.
+     */
+    private final LongAdder numOfRejected = new LongAdder();
+    /**
+     * LongAdder number of dropped Messages.
+     */
+    private final LongAdder numOfDropped = new LongAdder();
+    /**
+     * LongAdder number of enqueues that blocked on a full queue.
+     */
+    private final LongAdder numOfBlocked = new LongAdder();
+
+    /**
+     * Constructor for the BoundedMessageQueue. Messages already in the wrapped queue, for example in a reopened
+     * durable queue, take up slots as well. A durable queue can't drop its oldest Messages, as a dropped Message
+     * would still be delivered again after a restart.
+     * @param queue MessageQueue that stores the Messages.
+     * @param capacity int maximum number of Messages in the queue.
+     * @param overloadPolicy OverloadPolicy applied to a Message that is enqueued while the queue is full.
+     * @throws IllegalArgumentException if the capacity is not positive, or DROP_OLDEST is applied to a durable queue.
+     */
+    public BoundedMessageQueue(MessageQueue queue, int capacity, OverloadPolicy overloadPolicy)
+            throws IllegalArgumentException {
+        this.queue = requireNonNull(queue, "MessageQueue can't be null.");
+        this.overloadPolicy = requireNonNull(overloadPolicy, "Overload policy can't be null.");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (overloadPolicy == OverloadPolicy.DROP_OLDEST && queue.isDurable()) {
+            throw new IllegalArgumentException("A durable MessageQueue can't drop its oldest Messages.");
+        }
+        this.capacity = capacity;
+        this.freeSlots = new Semaphore(capacity - queue.getSize());
+    }
+
+    /**
+     * Method adds a Message to the MessageQueue, applying the OverloadPolicy if it is full.
+     * @param message Message to be added.
+     * @throws IllegalStateException if the Message is rejected, or the producer is interrupted while it blocks.
+     */
+    @Override
+    public void enqueue(Message message) throws IllegalStateException {
+        requireNonNull(message, "Message can't be null.");
+        if (!freeSlots.tryAcquire()) {
+            acquireOverloaded();
+        }
+        queue.enqueue(message);
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue.
+     * @return Message to be retrieved from the MessageQueue, or null if it is empty.
+     */
+    @Override
+    public Message dequeue() {
+        return release(queue.dequeue());
+    }
+
+    /**
+     * Method that retrieves up to a maximum number of messages from the MessageQueue at once, without waiting.
+     * @param batch List(Message) the retrieved messages are added to, in dequeue order.
+     * @param maxMessages int maximum number of messages to retrieve.
+     * @return int number of messages added to the batch, 0 if the MessageQueue is empty.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        int drained = queue.drain(batch, maxMessages);
+        if (drained > 0) {
+            freeSlots.release(drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting as the wrapped queue decides up to a timeout.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message to be retrieved from the MessageQueue, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return release(queue.dequeue(timeout, unit));
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting as the wrapped queue decides.
+     * @return Message to be retrieved from the MessageQueue.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message take() throws InterruptedException {
+        return release(queue.take());
+    }
+
+    /**
+     * Method records in the wrapped queue that every message retrieved so far was handled.
+     */
+    @Override
+    public void commit() {
+        queue.commit();
+    }
+
+    /**
+     * Method tells whether the wrapped queue is durable.
+     * @return boolean true if the wrapped queue is durable.
+     */
+    @Override
+    public boolean isDurable() {
+        return queue.isDurable();
+    }
+
+    /**
+     * Method that gets the size, i.e. the depth, of the MessageQueue.
+     * @return Integer size of the MessageQueue.
+     */
+    @Override
+    public Integer getSize() {
+        return queue.getSize();
+    }
+
+    /**
+     * Method retrieves the number of Messages rejected because the queue was full.
+     * @return long number of rejected Messages.
+     */
+    public long getNumOfRejected() {
+        return numOfRejected.sum();
+    }
+
+    /**
+     * Method retrieves the number of Messages dropped to make room for newer ones.
+     * @return long number of dropped Messages.
+     */
+    public long getNumOfDropped() {
+        return numOfDropped.sum();
+    }
+
+    /**
+     * Method retrieves the number of enqueues that blocked because the queue was full.
+     * @return long number of blocked enqueues.
+     */
+    public long getNumOfBlocked() {
+        return numOfBlocked.sum();
+    }
+
+    /**
+     * Method takes a free slot for a Message enqueued into a full queue, as the OverloadPolicy decides.
+     * @throws IllegalStateException if the Message is rejected, or the producer is interrupted while it blocks.
+     */
+    private void acquireOverloaded() throws IllegalStateException {
+        if (overloadPolicy == OverloadPolicy.REJECT) {
+            numOfRejected.increment();
+            throw new IllegalStateException("MessageQueue is full.");
+        } else if (overloadPolicy == OverloadPolicy.DROP_OLDEST) {
+            dropOldest();
+        } else {
+            numOfBlocked.increment();
+            try {
+                freeSlots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                numOfRejected.increment();
+                throw new IllegalStateException("Interrupted while waiting for room in the MessageQueue.");
+            }
+        }
+    }
+
+    /**
+     * Method drops the oldest Message and takes over its slot, unless a consumer frees a slot first.
+     */
+    private void dropOldest() {
+        while (!freeSlots.tryAcquire()) {
+            if (queue.dequeue() != null) {
+                numOfDropped.increment();
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Method returns the slot of a dequeued Message.
+     * @param message Dequeued Message, or null if none was dequeued.
+     * @return The dequeued Message.
+     */
+    private Message release(Message message) {
+        if (message != null) {
+            freeSlots.release();
+        }
+        return message;
+    }
+}
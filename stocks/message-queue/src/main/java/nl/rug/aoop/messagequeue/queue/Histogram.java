@@ -0,0 +1,128 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Class Histogram records the distribution of non-negative long values, such as latencies in nanoseconds or queue
+ * depths, in the manner of an HDR histogram. Values below 64 get a bucket each; larger values share log-linear buckets
+ * of 32 per power of two, so every recorded value is known within about 3% over the whole long range, in a fixed
+ * array of counters. Recording is lock-free and never allocates, so any number of threads can record concurrently.
+ */
+public class Histogram {
+    /**
+     * int number of bits of the sub-bucket of a value.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    /**
+     * int number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * int number of values below which every value has its own bucket.
+     */
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKET_COUNT;
+    /**
+     * int number of buckets, enough for Long.MAX_VALUE.
+     */
+    private static final int NUM_OF_BUCKETS = LINEAR_LIMIT + (Long.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    /**
+     * AtomicLongArray with the number of recorded values of every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_OF_BUCKETS);
+    /**
+     * LongAccumulator of the largest recorded value.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Method records a value; a negative value is recorded as 0.
+     * @param value long value to be recorded.
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(recorded));
+        max.accumulate(recorded);
+    }
+
+    /**
+     * Method retrieves the number of recorded values.
+     * @return long number of values.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Method retrieves the largest recorded value.
+     * @return long largest value, 0 if none was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Method retrieves the value below or at which a percentage of the recorded values lie, as the highest value of
+     * its bucket, but never above the largest recorded value.
+     * @param percentile double percentage from 0 to 100.
+     * @return long value at the percentile, 0 if no value was recorded.
+     * @throws IllegalArgumentException if the percentage is out of range.
+     */
+    public long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range.");
+        }
+        long total = getCount();
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < NUM_OF_BUCKETS && total > 0; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Method forgets all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < NUM_OF_BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        max.reset();
+    }
+
+    /**
+     * Method computes the bucket of a value.
+     * @param value long non-negative value.
+     * @return int index of the bucket.
+     */
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Method computes the highest value of a bucket.
+     * @param bucket int index of the bucket.
+     * @return long highest value that falls in the bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,181 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.BinaryCodec;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * LogSegment class is one memory-mapped file of a MappedLogMessageQueue. It holds consecutive records of a length,
+ * a CRC32C checksum and the BinaryCodec frame of a Message. Records are appended sequentially and encoded directly into
+ * the mapped file. Records holding the UTF-8 JSON of a Message, as written by earlier versions, are still read.
+ * Opening an existing segment recovers it by checking the records from the start, and erases a record that was only
+ * partly written.
+ */
+final class LogSegment {
+    /**
+     * Number of bytes in front of every record: its length and its checksum.
+     */
+    static final int HEADER_SIZE = 8;
+    /**
+     * Offset of the first Message in the segment.
+     */
+    private final long baseOffset;
+    /**
+     * Channel of the segment file.
+     */
+    private final FileChannel channel;
+    /**
+     * Mapped content of the segment file.
+     */
+    private final MappedByteBuffer buffer;
+    /**
+     * Position of the next appended record.
+     */
+    private int writePosition;
+    /**
+     * Number of records in the segment.
+     */
+    private int numOfRecords;
+
+    /**
+     * Constructor opens a segment file, creating it with the given size if it does not exist, and recovers it.
+     * @param directory Directory of the segment files.
+     * @param baseOffset Offset of the first Message in the segment.
+     * @param size Size of a new segment file in bytes.
+     * @throws IOException if the file can't be opened or mapped.
+     */
+    LogSegment(Path directory, long baseOffset, int size) throws IOException {
+        this.baseOffset = baseOffset;
+        this.channel = FileChannel.open(directory.resolve(fileName(baseOffset)), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size() == 0 ? size : channel.size();
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        recover();
+    }
+
+    /**
+     * Retrieves the name of the file of a segment.
+     * @param baseOffset Offset of the first Message in the segment.
+     * @return File name.
+     */
+    static String fileName(long baseOffset) {
+        return String.format("%020d.log", baseOffset);
+    }
+
+    /**
+     * Retrieves the offset of the first Message in the segment.
+     * @return Base offset.
+     */
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    /**
+     * Retrieves the number of records in the segment.
+     * @return Number of records.
+     */
+    int getNumOfRecords() {
+        return numOfRecords;
+    }
+
+    /**
+     * Appends a Message as a record, encoding its frame directly into the file.
+     * @param message Appended message.
+     * @return true if the record was appended, false if it does not fit in the rest of the segment.
+     */
+    boolean append(Message message) {
+        int payloadPosition = writePosition + HEADER_SIZE;
+        if (payloadPosition >= buffer.capacity()) {
+            return false;
+        }
+        ByteBuffer payload = buffer.slice(payloadPosition, buffer.capacity() - payloadPosition);
+        if (!BinaryCodec.encode(message, payload)) {
+            return false;
+        }
+        int length = payload.position();
+        buffer.putInt(writePosition + Integer.BYTES, checksum(payloadPosition, length));
+        buffer.putInt(writePosition, length);
+        writePosition = payloadPosition + length;
+        numOfRecords++;
+        return true;
+    }
+
+    /**
+     * Retrieves the length of the record at a position.
+     * @param position Position of the record.
+     * @return Length of the payload of the record.
+     */
+    int getLength(int position) {
+        return buffer.getInt(position);
+    }
+
+    /**
+     * Reads the Message of the record at a position.
+     * @param position Position of the record.
+     * @return Message of the record.
+     */
+    Message read(int position) {
+        ByteBuffer payload = buffer.slice(position + HEADER_SIZE, getLength(position));
+        if (payload.get(0) == '{') {
+            return Message.fromJson(StandardCharsets.UTF_8.decode(payload).toString());
+        }
+        return BinaryCodec.decodeMessage(payload);
+    }
+
+    /**
+     * Forces the content of the segment to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Forces the content of the segment to the storage device and closes its file.
+     * @throws IOException if closing the file fails.
+     */
+    void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * Finds the end of the valid records, and erases the header of a record that was only partly written.
+     */
+    private void recover() {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            int payloadPosition = position + HEADER_SIZE;
+            if (length <= 0 || length > buffer.capacity() - payloadPosition
+                    || buffer.getInt(position + Integer.BYTES) != checksum(payloadPosition, length)) {
+                break;
+            }
+            position = payloadPosition + length;
+            numOfRecords++;
+        }
+        if (position + HEADER_SIZE <= buffer.capacity()) {
+            buffer.putLong(position, 0L);
+        }
+        writePosition = position;
+    }
+
+    /**
+     * Computes the checksum of a payload.
+     * @param position Position of the payload.
+     * @param length Length of the payload.
+     * @return CRC32C checksum.
+     */
+    private int checksum(int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, length));
+        return (int) crc.getValue();
+    }
+}
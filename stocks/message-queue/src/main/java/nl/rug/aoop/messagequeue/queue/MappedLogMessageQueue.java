@@ -0,0 +1,351 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class MappedLogMessageQueue that implements MessageQueue. It is a durable queue that appends every Message to a
+ * write-ahead log of memory-mapped segment files in a directory, and hands them out in the order they were appended.
+ * Every Message gets an offset, its position in the log. Appending writes sequentially into the mapped files without
+ * copying through an intermediate buffer, so it costs no system call; the segment is forced to the storage device
+ * after every fsyncBatchSize Messages, or never if it is 0. A crash of the application loses no appended Message, a
+ * crash of the machine loses at most the last unforced batch.
+ * The consumer records its progress with commit, which durably stores the offset of the next Message as the
+ * checkpoint. Reopening the directory recovers the log and continues from the checkpoint, so the Messages that were
+ * not handled before a restart are delivered again. The segments are retained until truncate deletes the ones that
+ * are no longer needed, so seek can replay older Messages, back to the start offset of the first segment.
+ * Any number of threads can enqueue; Messages are dequeued by one consumer at a time.
+ */
+public class MappedLogMessageQueue implements MessageQueue, Closeable {
+    /**
+     * Default size of a segment file in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    /**
+     * Name of the file holding the checkpoint.
+     */
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    /**
+     * Directory of the log.
+     */
+    @Getter
+    private final Path directory;
+    /**
+     * Size of a new segment file in bytes.
+     */
+    private final int segmentSize;
+    /**
+     * Number of appended Messages after which the segment is forced to the storage device, 0 to never force it.
+     */
+    @Getter
+    private final int fsyncBatchSize;
+    /**
+     * Segments of the log, ordered by offset.
+     */
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+    /**
+     * Offset the next appended Message gets; a Message is visible to the consumer once this passed its offset.
+     */
+    private final AtomicLong endOffset = new AtomicLong();
+    /**
+     * Lock of the producers.
+     */
+    private final Object writeLock = new Object();
+    /**
+     * Lock of the consumers.
+     */
+    private final Object readLock = new Object();
+    /**
+     * Channel of the checkpoint file.
+     */
+    private final FileChannel checkpointChannel;
+    /**
+     * Mapped content of the checkpoint file.
+     */
+    private final MappedByteBuffer checkpoint;
+    /**
+     * Segment the producers append to.
+     */
+    private LogSegment writeSegment;
+    /**
+     * Number of Messages appended since the segment was last forced.
+     */
+    private int numOfUnforced;
+    /**
+     * Index of the segment of the next dequeued Message.
+     */
+    private int readSegment;
+    /**
+     * Position of the next dequeued Message in its segment.
+     */
+    private int readPosition;
+    /**
+     * Offset of the next dequeued Message.
+     */
+    private volatile long readOffset;
+
+    /**
+     * Constructor opens the log in a directory, creating it if needed, recovers its segments and continues from its
+     * checkpoint.
+     * @param directory Directory of the log.
+     * @param segmentSize Size of a new segment file in bytes.
+     * @param fsyncBatchSize Number of appended Messages after which the segment is forced, 0 to never force it.
+     * @throws IOException if the log can't be opened.
+     */
+    public MappedLogMessageQueue(Path directory, int segmentSize, int fsyncBatchSize) throws IOException {
+        this.directory = requireNonNull(directory, "Directory can't be null.");
+        if (segmentSize <= LogSegment.HEADER_SIZE || fsyncBatchSize < 0) {
+            throw new IllegalArgumentException("Segment size or fsync batch size out of range.");
+        }
+        this.segmentSize = segmentSize;
+        this.fsyncBatchSize = fsyncBatchSize;
+        Files.createDirectories(directory);
+        openSegments();
+        checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        seek(Math.min(checkpoint.getLong(0), endOffset.get()));
+    }
+
+    /**
+     * Method appends a Message to the log.
+     * @param message Message to be added.
+     * @throws IllegalArgumentException if the Message does not fit in an empty segment.
+     * @throws UncheckedIOException if a new segment can't be created.
+     */
+    @Override
+    public void enqueue(Message message) throws IllegalArgumentException, UncheckedIOException {
+        requireNonNull(message, "Message can't be null.");
+        synchronized (writeLock) {
+            if (!writeSegment.append(message)) {
+                if (writeSegment.getNumOfRecords() == 0) {
+                    throw new IllegalArgumentException("Message does not fit in a segment.");
+                }
+                rollSegment();
+                if (!writeSegment.append(message)) {
+                    throw new IllegalArgumentException("Message does not fit in a segment.");
+                }
+            }
+            endOffset.incrementAndGet();
+            numOfUnforced++;
+            if (numOfUnforced == fsyncBatchSize) {
+                writeSegment.force();
+                numOfUnforced = 0;
+            }
+        }
+    }
+
+    /**
+     * Method that retrieves the next message from the log.
+     * @return Message to be retrieved from the MessageQueue, or null if every appended Message was retrieved.
+     */
+    @Override
+    public Message dequeue() {
+        synchronized (readLock) {
+            if (readOffset == endOffset.get()) {
+                return null;
+            }
+            while (readSegment + 1 < segments.size() && segments.get(readSegment + 1).getBaseOffset() == readOffset) {
+                readSegment++;
+                readPosition = 0;
+            }
+            LogSegment segment = segments.get(readSegment);
+            Message message = segment.read(readPosition);
+            readPosition += LogSegment.HEADER_SIZE + segment.getLength(readPosition);
+            readOffset++;
+            return message;
+        }
+    }
+
+    /**
+     * Method durably stores the offset of the next Message to be dequeued as the checkpoint, so the log continues
+     * from there after a restart.
+     */
+    @Override
+    public void commit() {
+        synchronized (readLock) {
+            checkpoint.putLong(0, readOffset);
+            checkpoint.force();
+        }
+    }
+
+    /**
+     * Method tells that the log is durable, as its Messages are kept after a restart.
+     * @return boolean true.
+     */
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    /**
+     * Method moves the consumer to an offset, so the Messages from there are dequeued (again).
+     * @param offset Offset of the next Message to be dequeued.
+     * @throws IllegalArgumentException if no Message with the offset was appended and the offset is not the end.
+     */
+    public void seek(long offset) throws IllegalArgumentException {
+        if (offset < 0 || offset > endOffset.get()) {
+            throw new IllegalArgumentException("Offset out of range.");
+        }
+        synchronized (readLock) {
+            readSegment = 0;
+            readPosition = 0;
+            readOffset = segments.get(0).getBaseOffset();
+            while (readSegment + 1 < segments.size() && segments.get(readSegment + 1).getBaseOffset() <= offset) {
+                readSegment++;
+                readOffset = segments.get(readSegment).getBaseOffset();
+            }
+            LogSegment segment = segments.get(readSegment);
+            for (; readOffset < offset; readOffset++) {
+                readPosition += LogSegment.HEADER_SIZE + segment.getLength(readPosition);
+            }
+        }
+    }
+
+    /**
+     * Method forces the appended Messages to the storage device, whatever the fsync batch size.
+     */
+    public void force() {
+        synchronized (writeLock) {
+            writeSegment.force();
+            numOfUnforced = 0;
+        }
+    }
+
+    /**
+     * Method deletes the segments that only hold Messages before an offset, so the log stops growing once its older
+     * Messages are no longer needed. The segment holding the offset and the segment appended to are kept.
+     * @param offset Offset of the oldest Message that has to be kept.
+     * @throws IllegalArgumentException if the offset is past the next Message to be dequeued.
+     * @throws UncheckedIOException if a segment file can't be deleted.
+     */
+    public void truncate(long offset) throws IllegalArgumentException, UncheckedIOException {
+        synchronized (readLock) {
+            if (offset > readOffset) {
+                throw new IllegalArgumentException("Can't truncate Messages that were not dequeued.");
+            }
+            while (segments.size() > 1 && segments.get(1).getBaseOffset() <= offset) {
+                LogSegment segment = segments.remove(0);
+                if (readSegment == 0) {
+                    readPosition = 0;
+                } else {
+                    readSegment--;
+                }
+                try {
+                    segment.close();
+                    Files.delete(directory.resolve(LogSegment.fileName(segment.getBaseOffset())));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to delete log segment.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method retrieves the offset of the next Message to be dequeued.
+     * @return Offset of the consumer.
+     */
+    public long getReadOffset() {
+        return readOffset;
+    }
+
+    /**
+     * Method retrieves the offset of the oldest retained Message.
+     * @return Start offset of the log.
+     */
+    public long getStartOffset() {
+        return segments.get(0).getBaseOffset();
+    }
+
+    /**
+     * Method retrieves the offset the next appended Message gets.
+     * @return End offset of the log.
+     */
+    public long getEndOffset() {
+        return endOffset.get();
+    }
+
+    /**
+     * Method retrieves the last committed offset.
+     * @return Checkpoint offset.
+     */
+    public long getCheckpoint() {
+        synchronized (readLock) {
+            return checkpoint.getLong(0);
+        }
+    }
+
+    /**
+     * Method that gets the number of appended Messages that were not dequeued yet.
+     * @return Integer size of the MessageQueue.
+     */
+    @Override
+    public Integer getSize() {
+        return (int) Math.min(Integer.MAX_VALUE, endOffset.get() - readOffset);
+    }
+
+    /**
+     * Method forces the log and the checkpoint to the storage device and closes their files.
+     * @throws IOException if closing a file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            for (LogSegment segment : segments) {
+                segment.close();
+            }
+            checkpoint.force();
+            checkpointChannel.close();
+        }
+    }
+
+    /**
+     * Method opens and recovers the segment files of the directory in offset order, or creates the first one.
+     * @throws IOException if a segment can't be opened.
+     */
+    private void openSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> names = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".log")).sorted().toList();
+            for (String name : names) {
+                long baseOffset = Long.parseLong(name.substring(0, name.length() - ".log".length()));
+                segments.add(new LogSegment(directory, baseOffset, segmentSize));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(new LogSegment(directory, 0, segmentSize));
+        }
+        writeSegment = segments.get(segments.size() - 1);
+        endOffset.set(writeSegment.getBaseOffset() + writeSegment.getNumOfRecords());
+    }
+
+    /**
+     * Method forces the full segment and starts a new one.
+     * @throws UncheckedIOException if the new segment can't be created.
+     */
+    private void rollSegment() throws UncheckedIOException {
+        writeSegment.force();
+        numOfUnforced = 0;
+        try {
+            writeSegment = new LogSegment(directory, endOffset.get(), segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create log segment.", e);
+        }
+        segments.add(writeSegment);
+    }
+}
@@ -2,8 +2,13 @@ package nl.rug.aoop.messagequeue.queue;
 
 import nl.rug.aoop.messagequeue.message.Message;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
- * Interface MessageQueue with 3 methods: enqueue, dequeue, and getSize.
+ * Interface MessageQueue with 3 methods: enqueue, dequeue, and getSize. Consumers that would rather wait for a
+ * Message than poll an empty MessageQueue use the timed dequeue or take. By default these park between polls;
+ * MessageQueues that can signal consumers override them.
  */
 public interface MessageQueue {
     /**
@@ -18,6 +23,66 @@ public interface MessageQueue {
      */
     Message dequeue();
 
+    /**
+     * Method that retrieves up to a maximum number of messages from the MessageQueue at once, without waiting. By
+     * default this dequeues them one by one; MessageQueues that can hand out several messages at once override it.
+     * @param batch List(Message) the retrieved messages are added to, in dequeue order.
+     * @param maxMessages int maximum number of messages to retrieve.
+     * @return int number of messages added to the batch, 0 if the MessageQueue is empty.
+     */
+    default int drain(List<Message> batch, int maxMessages) {
+        int drained = 0;
+        while (drained < maxMessages) {
+            Message message = dequeue();
+            if (message == null) {
+                break;
+            }
+            batch.add(message);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting up to a timeout while it is empty.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message to be retrieved from the MessageQueue, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    default Message dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return new ParkingWaitStrategy().waitFor(this::dequeue, unit.toNanos(timeout));
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting as long as it is empty.
+     * @return Message to be retrieved from the MessageQueue.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    default Message take() throws InterruptedException {
+        Message message = dequeue(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        while (message == null) {
+            message = dequeue(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return message;
+    }
+
+    /**
+     * Method records that every message retrieved so far was handled, so a durable MessageQueue does not deliver them
+     * again after a restart. By default a MessageQueue keeps no record.
+     */
+    default void commit() {
+    }
+
+    /**
+     * Method tells whether the MessageQueue keeps its Messages after a restart, so a Message that was removed without
+     * being handled would still be delivered again. By default a MessageQueue is not durable.
+     * @return boolean true if the MessageQueue is durable.
+     */
+    default boolean isDurable() {
+        return false;
+    }
+
     /**
      * Method that gets the size of the MessageQueue.
      * @return Integer size of the MessageQueue.
@@ -0,0 +1,134 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class MeteredMessageQueue that implements MessageQueue. It records every enqueued and dequeued Message of another
+ * MessageQueue in QueueMetrics, and otherwise leaves the Messages to the wrapped queue.
+ */
+public class MeteredMessageQueue implements MessageQueue {
+    /**
+     * MessageQueue that stores the Messages.
+     */
+    private final MessageQueue queue;
+    /**
+     * QueueMetrics the Messages are recorded in.
+     */
+    @Getter
+    private final QueueMetrics metrics;
+
+    /**
+     * Constructor for the MeteredMessageQueue.
+     * @param queue MessageQueue that stores the Messages.
+     * @param metrics QueueMetrics the Messages are recorded in.
+     */
+    public MeteredMessageQueue(MessageQueue queue, QueueMetrics metrics) {
+        this.queue = requireNonNull(queue, "MessageQueue can't be null.");
+        this.metrics = requireNonNull(metrics, "QueueMetrics can't be null.");
+    }
+
+    /**
+     * Method adds a message to the MessageQueue and records it.
+     * @param message Message to be added.
+     */
+    @Override
+    public void enqueue(Message message) {
+        requireNonNull(message, "Message can't be null.");
+        int depth = queue.getSize();
+        queue.enqueue(message);
+        metrics.recordEnqueue(message, depth);
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue and records it.
+     * @return Message to be retrieved from the MessageQueue, or null if it is empty.
+     */
+    @Override
+    public Message dequeue() {
+        return record(queue.dequeue());
+    }
+
+    /**
+     * Method that retrieves up to a maximum number of messages from the MessageQueue at once, without waiting, and
+     * records them.
+     * @param batch List(Message) the retrieved messages are added to, in dequeue order.
+     * @param maxMessages int maximum number of messages to retrieve.
+     * @return int number of messages added to the batch, 0 if the MessageQueue is empty.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        int start = batch.size();
+        int drained = queue.drain(batch, maxMessages);
+        for (int i = start; i < batch.size(); i++) {
+            metrics.recordDequeue(batch.get(i));
+        }
+        return drained;
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting as the wrapped queue decides up to a timeout, and
+     * records it.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message to be retrieved from the MessageQueue, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return record(queue.dequeue(timeout, unit));
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting as the wrapped queue decides, and records it.
+     * @return Message to be retrieved from the MessageQueue.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message take() throws InterruptedException {
+        return record(queue.take());
+    }
+
+    /**
+     * Method records in the wrapped queue that every message retrieved so far was handled.
+     */
+    @Override
+    public void commit() {
+        queue.commit();
+    }
+
+    /**
+     * Method tells whether the wrapped queue is durable.
+     * @return boolean true if the wrapped queue is durable.
+     */
+    @Override
+    public boolean isDurable() {
+        return queue.isDurable();
+    }
+
+    /**
+     * Method that gets the size of the MessageQueue.
+     * @return Integer size of the MessageQueue.
+     */
+    @Override
+    public Integer getSize() {
+        return queue.getSize();
+    }
+
+    /**
+     * Method records a dequeued Message.
+     * @param message Dequeued Message, or null if none was dequeued.
+     * @return The dequeued Message.
+     */
+    private Message record(Message message) {
+        if (message != null) {
+            metrics.recordDequeue(message);
+        }
+        return message;
+    }
+}
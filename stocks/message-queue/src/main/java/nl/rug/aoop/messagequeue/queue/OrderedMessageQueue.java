@@ -1,33 +1,75 @@
 package nl.rug.aoop.messagequeue.queue;
 
+import lombok.Getter;
 import nl.rug.aoop.messagequeue.message.Message;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
 
 /**
- * Class OrderedMessageQueue that implements MessageQueue. It orders Messages based on their TimeStamp and supports
- * thread operations because the underlying queue is a PriorityBlockingQueue.
+ * Class OrderedMessageQueue that implements MessageQueue. It supports thread operations because the underlying queue is
+ * a BlockingQueue, which also lets consumers block until a Message arrives. The Ordering of the queue decides the order
+ * of the Messages:
+ * TIMESTAMP orders them on the TimeStamp the client gave them, in a PriorityBlockingQueue. Every enqueue costs
+ * O(log n), and clocks of different clients are trusted.
+ * ARRIVAL orders them on a server-side sequence, in a LinkedBlockingQueue. This gives strict FIFO in O(1), independent
+ * of the clocks of the clients.
+ * Every enqueue stamps the Message with the next number of a monotonically increasing sequence, which orders Messages
+ * with equal TimeStamps in the order they arrived. The stamp stays inside the queue, as the Message is part of the wire
+ * format.
  */
 public class OrderedMessageQueue implements MessageQueue{
     /**
-     * PriorityBlockingQueue that stores the Messages.
+     * BlockingQueue that stores the Messages with their sequence numbers.
+     */
+    private final BlockingQueue<Sequenced> queue;
+    /**
+     * long sequence number of the next enqueued Message, guarded by the OrderedMessageQueue.
+     */
+    private long nextSequence = 0;
+    /**
+     * Ordering of the Messages.
      */
-    private final PriorityBlockingQueue<Message> queue;
+    @Getter
+    private final Ordering ordering;
 
     /**
-     * Constructor for the OrderMessageQueue. It initializes the PriorityBlockingQueue.
+     * Constructor for the OrderMessageQueue that orders Messages on their TimeStamp.
      */
     public OrderedMessageQueue() {
-        queue = new PriorityBlockingQueue<>();
+        this(Ordering.TIMESTAMP);
+    }
+
+    /**
+     * Constructor for the OrderMessageQueue. It initializes the BlockingQueue of the Ordering.
+     * @param ordering Ordering of the Messages.
+     */
+    public OrderedMessageQueue(Ordering ordering) {
+        this.ordering = requireNonNull(ordering, "Ordering can't be null.");
+        if (ordering == Ordering.ARRIVAL) {
+            queue = new LinkedBlockingQueue<>();
+        } else {
+            queue = new PriorityBlockingQueue<>();
+        }
     }
 
     /**
-     * Method adds a Message to the MessageQueue.
+     * Method adds a Message to the MessageQueue, stamped with the next sequence number. The stamp and the add happen
+     * under one lock, so for ARRIVAL the order of the queue is the order of the sequence.
      * @param message Message to be added.
      */
     @Override
     public void enqueue(Message message) {
-        queue.add(message);
+        requireNonNull(message, "Message can't be null.");
+        synchronized (this) {
+            queue.add(new Sequenced(nextSequence++, message));
+        }
     }
 
     /**
@@ -36,7 +78,46 @@ public class OrderedMessageQueue implements MessageQueue{
      */
     @Override
     public Message dequeue() {
-        return queue.poll();
+        return Sequenced.toMessage(queue.poll());
+    }
+
+    /**
+     * Method that retrieves up to a maximum number of messages from the MessageQueue at once, without waiting. The
+     * BlockingQueue hands them out in the order of the queue under a single lock.
+     * @param batch List(Message) the retrieved messages are added to, in dequeue order.
+     * @param maxMessages int maximum number of messages to retrieve.
+     * @return int number of messages added to the batch, 0 if the MessageQueue is empty.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        List<Sequenced> drained = new ArrayList<>();
+        int count = queue.drainTo(drained, maxMessages);
+        for (Sequenced sequenced : drained) {
+            batch.add(sequenced.message());
+        }
+        return count;
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, blocking up to a timeout while it is empty.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message to be retrieved from the MessageQueue, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return Sequenced.toMessage(queue.poll(timeout, unit));
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, blocking as long as it is empty.
+     * @return Message to be retrieved from the MessageQueue.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message take() throws InterruptedException {
+        return queue.take().message();
     }
 
     /**
@@ -47,4 +128,46 @@ public class OrderedMessageQueue implements MessageQueue{
     public Integer getSize() {
         return queue.size();
     }
+
+    /**
+     * Enum Ordering of the Messages of an OrderedMessageQueue.
+     */
+    public enum Ordering {
+        /**
+         * Messages are ordered on their TimeStamp.
+         */
+        TIMESTAMP,
+        /**
+         * Messages are ordered on their arrival at the queue.
+         */
+        ARRIVAL
+    }
+
+    /**
+     * Record Sequenced holds a Message with the sequence number it was stamped with on enqueue. Sequenced Messages are
+     * ordered on the TimeStamp of the Message, and then on the sequence number.
+     * @param sequence long sequence number of the Message.
+     * @param message Message that was enqueued.
+     */
+    private record Sequenced(long sequence, Message message) implements Comparable<Sequenced> {
+        /**
+         * Method compares self and passed Sequenced.
+         * @param o the Sequenced to be compared by its TimeStamp and sequence number.
+         * @return int 1, -1, or 0 depending on the TimeStamp and sequence number.
+         */
+        @Override
+        public int compareTo(Sequenced o) {
+            int byTimestamp = message.compareTo(o.message);
+            return byTimestamp != 0 ? byTimestamp : Long.compare(sequence, o.sequence);
+        }
+
+        /**
+         * Method retrieves the Message of a Sequenced.
+         * @param sequenced Sequenced, or null.
+         * @return Message of the Sequenced, or null.
+         */
+        private static Message toMessage(Sequenced sequenced) {
+            return sequenced == null ? null : sequenced.message();
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import java.util.Locale;
+
+/**
+ * Enum OverloadPolicy decides what a BoundedMessageQueue does with a Message that is enqueued while it is full.
+ */
+public enum OverloadPolicy {
+    /**
+     * The producer blocks until a consumer frees a slot, which throttles the producer to the speed of the consumers.
+     */
+    BLOCK,
+    /**
+     * The Message is rejected with an IllegalStateException, so the producer can report the rejection.
+     */
+    REJECT,
+    /**
+     * The oldest Message is dropped to make room for the new one.
+     */
+    DROP_OLDEST;
+
+    /**
+     * Method retrieves an OverloadPolicy by its case-insensitive name: block, reject or drop_oldest.
+     * @param name String name of the OverloadPolicy, or null for BLOCK.
+     * @return OverloadPolicy with the name.
+     * @throws IllegalArgumentException if there is no OverloadPolicy with the name.
+     */
+    public static OverloadPolicy fromName(String name) throws IllegalArgumentException {
+        return name == null ? BLOCK : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
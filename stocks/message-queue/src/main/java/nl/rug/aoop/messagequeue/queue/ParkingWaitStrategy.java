@@ -0,0 +1,73 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Class ParkingWaitStrategy that implements WaitStrategy. A waiting consumer parks for a fixed period between checks
+ * of the source, so it uses little CPU and needs no signal, and a Message waits at most about one period.
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+    /**
+     * Default park period in nanoseconds.
+     */
+    public static final long DEFAULT_PARK_NANOS = 100_000;
+    /**
+     * long park period in nanoseconds.
+     */
+    @Getter
+    private final long parkNanos;
+
+    /**
+     * Constructor for ParkingWaitStrategy with the default park period.
+     */
+    public ParkingWaitStrategy() {
+        this(DEFAULT_PARK_NANOS);
+    }
+
+    /**
+     * Constructor for ParkingWaitStrategy.
+     * @param parkNanos long park period in nanoseconds.
+     */
+    public ParkingWaitStrategy(long parkNanos) {
+        if (parkNanos <= 0) {
+            throw new IllegalArgumentException("Park period must be positive.");
+        }
+        this.parkNanos = parkNanos;
+    }
+
+    /**
+     * Method takes a Message from a source, parking between checks while the source is empty.
+     * @param source Supplier(Message) that returns the next Message, or null if there is none.
+     * @param timeoutNanos long maximum time to wait in nanoseconds, Long.MAX_VALUE to wait without limit.
+     * @return Message from the source, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message waitFor(Supplier<Message> source, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Message message = source.get();
+        while (message == null) {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return null;
+            }
+            LockSupport.parkNanos(this, Math.min(parkNanos, remainingNanos));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            message = source.get();
+        }
+        return message;
+    }
+
+    /**
+     * Method does nothing, as parked consumers wake up by themselves.
+     */
+    @Override
+    public void signal() {
+    }
+}
@@ -0,0 +1,148 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class PartitionedMessageQueue that implements MessageQueue. It routes every Message first by its header to a topic,
+ * and then by its Partitioner, for example by a key such as the Stock Id, to one of the partitions of the topic. Every
+ * partition is a MessageQueue of its own, meant to be read by its own consumer thread, so different topics and keys
+ * are processed in parallel. Messages routed to the same partition are dequeued in the order of that partition, so a
+ * Partitioner that routes by key keeps the order per key. Headers without a topic of their own go to the default topic.
+ */
+public class PartitionedMessageQueue implements MessageQueue {
+    /**
+     * Topic of the headers without a topic of their own.
+     */
+    private final Topic defaultTopic;
+    /**
+     * Map(String, Topic) with the topic of every header that has one.
+     */
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    /**
+     * List(MessageQueue) with the partitions of all topics.
+     */
+    private final List<MessageQueue> allPartitions = new CopyOnWriteArrayList<>();
+    /**
+     * int index in allPartitions of the partition that is dequeued from first.
+     */
+    private int nextDequeuePartition = 0;
+
+    /**
+     * Constructor for the PartitionedMessageQueue.
+     * @param partitions List(MessageQueue) with the partitions of the default topic, by index.
+     * @param partitioner Partitioner of the default topic.
+     */
+    public PartitionedMessageQueue(List<MessageQueue> partitions, Partitioner partitioner) {
+        this.defaultTopic = new Topic(partitions, partitioner);
+        allPartitions.addAll(defaultTopic.partitions());
+    }
+
+    /**
+     * Method adds a topic for the Messages with a header.
+     * @param header String header of the Messages of the topic.
+     * @param partitions List(MessageQueue) with the partitions of the topic, by index.
+     * @param partitioner Partitioner of the topic.
+     * @throws IllegalArgumentException if the header already has a topic.
+     */
+    public void addTopic(String header, List<MessageQueue> partitions, Partitioner partitioner)
+            throws IllegalArgumentException {
+        Topic topic = new Topic(partitions, partitioner);
+        if (topics.putIfAbsent(requireNonNull(header, "Header can't be null."), topic) != null) {
+            throw new IllegalArgumentException("Header already has a topic: " + header);
+        }
+        allPartitions.addAll(topic.partitions());
+    }
+
+    /**
+     * Method retrieves the partitions of the default topic.
+     * @return List(MessageQueue) with the partitions, by index.
+     */
+    public List<MessageQueue> getPartitions() {
+        return defaultTopic.partitions();
+    }
+
+    /**
+     * Method retrieves the partitions of the topic of a header.
+     * @param header String header of the Messages of the topic.
+     * @return List(MessageQueue) with the partitions, by index.
+     */
+    public List<MessageQueue> getPartitions(String header) {
+        return topics.getOrDefault(header, defaultTopic).partitions();
+    }
+
+    /**
+     * Method adds a Message to the partition its topic routes it to.
+     * @param message Message to be added.
+     * @throws IllegalStateException if the Partitioner returns an index that is not a partition.
+     */
+    @Override
+    public void enqueue(Message message) throws IllegalStateException {
+        requireNonNull(message, "Message can't be null.");
+        Topic topic = message.header() == null ? defaultTopic : topics.getOrDefault(message.header(), defaultTopic);
+        int partition = topic.partitioner().partition(message, topic.partitions().size());
+        if (partition < 0 || partition >= topic.partitions().size()) {
+            throw new IllegalStateException("Partitioner returned partition " + partition + " out of range.");
+        }
+        topic.partitions().get(partition).enqueue(message);
+    }
+
+    /**
+     * Method that retrieves a message from the partitions, taking turns between them. Normally every partition is
+     * dequeued by its own consumer instead.
+     * @return Message to be retrieved from the MessageQueue, or null if all partitions are empty.
+     */
+    @Override
+    public synchronized Message dequeue() {
+        for (int i = 0; i < allPartitions.size(); i++) {
+            nextDequeuePartition = nextDequeuePartition % allPartitions.size();
+            MessageQueue queue = allPartitions.get(nextDequeuePartition);
+            nextDequeuePartition++;
+            Message message = queue.dequeue();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method that gets the size of the MessageQueue.
+     * @return Integer total size of the partitions.
+     */
+    @Override
+    public Integer getSize() {
+        int size = 0;
+        for (MessageQueue queue : allPartitions) {
+            size += queue.getSize();
+        }
+        return size;
+    }
+
+    /**
+     * Topic record holds the partitions of a topic and the Partitioner that routes Messages between them.
+     * @param partitions List(MessageQueue) with the partitions, by index.
+     * @param partitioner Partitioner of the topic.
+     */
+    private record Topic(List<MessageQueue> partitions, Partitioner partitioner) {
+        /**
+         * Constructor checks and copies the partitions.
+         * @param partitions List(MessageQueue) with the partitions, by index.
+         * @param partitioner Partitioner of the topic.
+         */
+        private Topic(List<MessageQueue> partitions, Partitioner partitioner) {
+            this.partitions = List.copyOf(new ArrayList<>(requireNonNull(partitions, "Partitions can't be null.")));
+            this.partitioner = requireNonNull(partitioner, "Partitioner can't be null.");
+            if (this.partitions.isEmpty()) {
+                throw new IllegalArgumentException("A topic needs at least one partition.");
+            }
+        }
+    }
+}
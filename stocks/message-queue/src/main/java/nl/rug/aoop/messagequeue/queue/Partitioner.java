@@ -0,0 +1,34 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.function.Function;
+
+/**
+ * Interface Partitioner decides to which partition of a PartitionedMessageQueue topic a Message is routed. Messages
+ * routed to the same partition keep their order, so a Partitioner that routes all Messages with the same key to the
+ * same partition keeps the order per key.
+ */
+@FunctionalInterface
+public interface Partitioner {
+    /**
+     * Method decides the partition of a Message.
+     * @param message Message to be routed.
+     * @param numOfPartitions int number of partitions of the topic.
+     * @return int index of the partition, from 0 up to numOfPartitions.
+     */
+    int partition(Message message, int numOfPartitions);
+
+    /**
+     * Method creates a Partitioner that routes Messages by the hash of a key, and Messages without a key to the first
+     * partition.
+     * @param keyExtractor Function(Message, String) that retrieves the key of a Message, or null if it has none.
+     * @return New Partitioner.
+     */
+    static Partitioner byKey(Function<Message, String> keyExtractor) {
+        return (message, numOfPartitions) -> {
+            String key = keyExtractor.apply(message);
+            return key == null ? 0 : Math.floorMod(key.hashCode(), numOfPartitions);
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class QueueMetrics holds the metrics of a MessageQueue, recorded by a MeteredMessageQueue: per header the number of
+ * enqueued and dequeued Messages, the resulting depth and a Histogram of the latency of the Messages, and for the whole
+ * queue a Histogram of the depth every Message found when it was enqueued, which shows the depth over time weighted by
+ * the load. The latency of a Message runs from its timestamp, i.e. its creation by the producer, until it is dequeued,
+ * so it includes the network hop from a producer on the same host. Readers may read the metrics at any time.
+ */
+public class QueueMetrics {
+    /**
+     * String header under which Messages without a header are recorded.
+     */
+    public static final String NO_HEADER = "";
+    /**
+     * Clock of the dequeue times.
+     */
+    private final Clock clock;
+    /**
+     * Map(String, HeaderMetrics) with the metrics of every recorded header.
+     */
+    private final Map<String, HeaderMetrics> headerMetrics = new ConcurrentHashMap<>();
+    /**
+     * Histogram of the depth of the queue every Message found when it was enqueued.
+     */
+    @Getter
+    private final Histogram depth = new Histogram();
+
+    /**
+     * Constructor for QueueMetrics with the system clock.
+     */
+    public QueueMetrics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor for QueueMetrics.
+     * @param clock Clock of the dequeue times, in the zone of the Message timestamps.
+     */
+    public QueueMetrics(Clock clock) {
+        this.clock = requireNonNull(clock, "Clock can't be null.");
+    }
+
+    /**
+     * Method records that a Message was enqueued.
+     * @param message Enqueued Message.
+     * @param queueDepth int depth of the queue before the Message was enqueued.
+     */
+    public void recordEnqueue(Message message, int queueDepth) {
+        getHeaderMetrics(message.header()).numOfEnqueued.increment();
+        depth.record(queueDepth);
+    }
+
+    /**
+     * Method records that a Message was dequeued, with its latency.
+     * @param message Dequeued Message.
+     */
+    public void recordDequeue(Message message) {
+        HeaderMetrics metrics = getHeaderMetrics(message.header());
+        metrics.numOfDequeued.increment();
+        if (message.timestamp() != null) {
+            metrics.latency.record(ChronoUnit.NANOS.between(message.timestamp(), LocalDateTime.now(clock)));
+        }
+    }
+
+    /**
+     * Method retrieves the metrics of every recorded header.
+     * @return Map(String, HeaderMetrics) with the metrics by header, NO_HEADER for Messages without one.
+     */
+    public Map<String, HeaderMetrics> getHeaderMetrics() {
+        return Collections.unmodifiableMap(headerMetrics);
+    }
+
+    /**
+     * Method retrieves the metrics of a header, creating them on first use.
+     * @param header String header, or null.
+     * @return HeaderMetrics of the header.
+     */
+    private HeaderMetrics getHeaderMetrics(String header) {
+        String key = header == null ? NO_HEADER : header;
+        HeaderMetrics metrics = headerMetrics.get(key);
+        return metrics != null ? metrics : headerMetrics.computeIfAbsent(key, k -> new HeaderMetrics());
+    }
+
+    /**
+     * HeaderMetrics class holds the metrics of the Messages with one header.
+     */
+    public static final class HeaderMetrics {
+        /**
+         * LongAdder number of enqueued Messages.
+         */
+        private final LongAdder numOfEnqueued = new LongAdder();
+        /**
+         * LongAdder number of dequeued Messages.
+         */
+        private final LongAdder numOfDequeued = new LongAdder();
+        /**
+         * Histogram of the latency in nanoseconds from the creation of a Message until it was dequeued.
+         */
+        @Getter
+        private final Histogram latency = new Histogram();
+
+        /**
+         * Retrieves the number of enqueued Messages.
+         * @return long number of enqueued Messages.
+         */
+        public long getNumOfEnqueued() {
+            return numOfEnqueued.sum();
+        }
+
+        /**
+         * Retrieves the number of dequeued Messages.
+         * @return long number of dequeued Messages.
+         */
+        public long getNumOfDequeued() {
+            return numOfDequeued.sum();
+        }
+
+        /**
+         * Retrieves the number of Messages in the queue.
+         * @return long depth, the enqueued minus the dequeued Messages.
+         */
+        public long getDepth() {
+            return Math.max(0, getNumOfEnqueued() - getNumOfDequeued());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class RingBufferMessageQueue that implements MessageQueue. It orders Messages based on when they arrive and stores
+ * them in a pre-allocated ring of slots, so enqueueing and dequeueing never allocate or lock. Any number of threads
+ * can enqueue concurrently by claiming a sequence number with a compare-and-set; a slot is handed over through its
+ * own sequence number, which makes the written Message visible to the dequeueing thread. A consumer waiting for a
+ * Message waits according to the WaitStrategy of the ring, which every enqueue signals.
+ */
+public class RingBufferMessageQueue implements MessageQueue {
+    /**
+     * Default number of slots of the ring.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    /**
+     * Number of times a producer spins on a full ring before it yields.
+     */
+    private static final int FULL_SPIN_TRIES = 100;
+    /**
+     * Number of times a producer yields on a full ring before it parks.
+     */
+    private static final int FULL_YIELD_TRIES = 100;
+    /**
+     * Period in nanoseconds a producer parks for between attempts on a full ring.
+     */
+    private static final long FULL_PARK_NANOS = 50_000;
+    /**
+     * Slots of the ring holding the Messages.
+     */
+    private final Message[] slots;
+    /**
+     * Sequence number of every slot. A slot is free for the producer of sequence s when it holds s, and holds a
+     * Message for the consumer of sequence s when it holds s + 1.
+     */
+    private final AtomicLongArray slotSequences;
+    /**
+     * Mask that maps a sequence number to its slot.
+     */
+    private final int mask;
+    /**
+     * Sequence number that the next enqueued Message will claim.
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * Sequence number of the next Message to be dequeued.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * int number of slots of the ring.
+     */
+    @Getter
+    private final int capacity;
+    /**
+     * WaitStrategy of the consumers waiting for a Message.
+     */
+    @Getter
+    private final WaitStrategy waitStrategy;
+    /**
+     * Supplier(Message) that dequeues without waiting, handed to the WaitStrategy.
+     */
+    private final Supplier<Message> dequeuer = this::dequeue;
+
+    /**
+     * Constructor for the RingBufferMessageQueue with the default capacity and a BlockingWaitStrategy.
+     */
+    public RingBufferMessageQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for the RingBufferMessageQueue with a BlockingWaitStrategy. It pre-allocates the ring.
+     * @param capacity int minimum number of slots, rounded up to a power of two.
+     */
+    public RingBufferMessageQueue(int capacity) {
+        this(capacity, new BlockingWaitStrategy());
+    }
+
+    /**
+     * Constructor for the RingBufferMessageQueue. It pre-allocates the ring.
+     * @param capacity int minimum number of slots, rounded up to a power of two.
+     * @param waitStrategy WaitStrategy of the consumers waiting for a Message.
+     */
+    public RingBufferMessageQueue(int capacity, WaitStrategy waitStrategy) {
+        this.waitStrategy = requireNonNull(waitStrategy, "Wait strategy can't be null.");
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30.");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        mask = size - 1;
+        slots = new Message[this.capacity];
+        slotSequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            slotSequences.set(i, i);
+        }
+    }
+
+    /**
+     * Method adds a Message to the MessageQueue. If the ring is full, it waits until the consumer frees a slot: it
+     * spins briefly, then yields and finally parks between attempts, so a producer blocked on a slow consumer does not
+     * take the core the consumer needs.
+     * @param message Message to be added.
+     */
+    @Override
+    public void enqueue(Message message) {
+        requireNonNull(message, "Message can't be null.");
+        int tries = 0;
+        while (!offer(message)) {
+            if (tries < FULL_SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (tries < FULL_SPIN_TRIES + FULL_YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            }
+            tries++;
+        }
+    }
+
+    /**
+     * Method adds a Message to the MessageQueue if the ring has a free slot.
+     * @param message Message to be added.
+     * @return true if the Message was added, false if the ring is full.
+     */
+    public boolean offer(Message message) {
+        requireNonNull(message, "Message can't be null.");
+        while (true) {
+            long sequence = tail.get();
+            int index = (int) (sequence & mask);
+            long available = slotSequences.get(index) - sequence;
+            if (available == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    slots[index] = message;
+                    slotSequences.lazySet(index, sequence + 1);
+                    waitStrategy.signal();
+                    return true;
+                }
+            } else if (available < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue.
+     * @return Message to be retrieved from the MessageQueue, or null if it is empty.
+     */
+    @Override
+    public Message dequeue() {
+        while (true) {
+            long sequence = head.get();
+            int index = (int) (sequence & mask);
+            long available = slotSequences.get(index) - (sequence + 1);
+            if (available == 0) {
+                if (head.compareAndSet(sequence, sequence + 1)) {
+                    Message message = slots[index];
+                    slots[index] = null;
+                    slotSequences.lazySet(index, sequence + capacity);
+                    return message;
+                }
+            } else if (available < 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Method that retrieves up to a maximum number of messages from the MessageQueue at once, without waiting. The
+     * consumer counts the published slots from the head and claims all of them with a single compare-and-set, so a
+     * batch costs one contended operation instead of one per message.
+     * @param batch List(Message) the retrieved messages are added to, in dequeue order.
+     * @param maxMessages int maximum number of messages to retrieve.
+     * @return int number of messages added to the batch, 0 if the MessageQueue is empty.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        int limit = Math.min(maxMessages, capacity);
+        while (true) {
+            long sequence = head.get();
+            int available = 0;
+            while (available < limit
+                    && slotSequences.get((int) ((sequence + available) & mask)) == sequence + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(sequence, sequence + available)) {
+                for (long claimed = sequence; claimed < sequence + available; claimed++) {
+                    int index = (int) (claimed & mask);
+                    batch.add(slots[index]);
+                    slots[index] = null;
+                    slotSequences.lazySet(index, claimed + capacity);
+                }
+                return available;
+            }
+        }
+    }
+
+    /**
+     * Method that retrieves a message from the MessageQueue, waiting according to the WaitStrategy up to a timeout
+     * while it is empty.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message to be retrieved from the MessageQueue, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return waitStrategy.waitFor(dequeuer, unit.toNanos(timeout));
+    }
+
+    /**
+     * Method that gets the size of the MessageQueue.
+     * @return Integer size of the MessageQueue.
+     */
+    @Override
+    public Integer getSize() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+}
@@ -0,0 +1,77 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import lombok.Getter;
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.function.Supplier;
+
+/**
+ * Class SpinThenYieldWaitStrategy that implements WaitStrategy. A waiting consumer first busy-spins on the source and
+ * then keeps yielding its core to other threads, which gives the lowest latency but keeps the core busy.
+ */
+public class SpinThenYieldWaitStrategy implements WaitStrategy {
+    /**
+     * Default number of checks spent spinning before yielding.
+     */
+    public static final int DEFAULT_SPIN_TRIES = 1000;
+    /**
+     * int number of checks spent spinning before yielding.
+     */
+    @Getter
+    private final int spinTries;
+
+    /**
+     * Constructor for SpinThenYieldWaitStrategy with the default number of spin tries.
+     */
+    public SpinThenYieldWaitStrategy() {
+        this(DEFAULT_SPIN_TRIES);
+    }
+
+    /**
+     * Constructor for SpinThenYieldWaitStrategy.
+     * @param spinTries int number of checks spent spinning before yielding.
+     */
+    public SpinThenYieldWaitStrategy(int spinTries) {
+        if (spinTries < 0) {
+            throw new IllegalArgumentException("Spin tries can't be negative.");
+        }
+        this.spinTries = spinTries;
+    }
+
+    /**
+     * Method takes a Message from a source, spinning and then yielding between checks while the source is empty.
+     * @param source Supplier(Message) that returns the next Message, or null if there is none.
+     * @param timeoutNanos long maximum time to wait in nanoseconds, Long.MAX_VALUE to wait without limit.
+     * @return Message from the source, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message waitFor(Supplier<Message> source, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int tries = 0;
+        Message message = source.get();
+        while (message == null) {
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (tries < spinTries) {
+                tries++;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            message = source.get();
+        }
+        return message;
+    }
+
+    /**
+     * Method does nothing, as spinning consumers never sleep.
+     */
+    @Override
+    public void signal() {
+    }
+}
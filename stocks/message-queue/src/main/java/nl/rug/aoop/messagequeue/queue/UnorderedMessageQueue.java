@@ -1,54 +1,30 @@
 package nl.rug.aoop.messagequeue.queue;
 
-import nl.rug.aoop.messagequeue.message.Message;
-
-import java.util.LinkedList;
-
-import static java.util.Objects.requireNonNull;
-
 /**
- * Class UnorderedMessageQueue that implements MessageQueue. It orders Messages based on when they arrive.
+ * Class UnorderedMessageQueue that implements MessageQueue. It orders Messages based on when they arrive, not on their
+ * TimeStamp. It is a bounded, lock-free RingBufferMessageQueue, so any number of threads can enqueue concurrently
+ * without locking or allocating a node per Message.
+ * Ordering guarantees: the Messages are dequeued in the order in which their enqueue claimed a slot. Hence the
+ * Messages of one producing thread are dequeued in the order it enqueued them, and a Message whose enqueue returned
+ * before another enqueue started is dequeued first. Messages of concurrent enqueues have no further guaranteed order.
+ * Every Message is dequeued exactly once, also with several consumers. Enqueueing into a full queue waits until a
+ * consumer frees a slot, as RingBufferMessageQueue.enqueue does: it spins briefly, then yields and finally parks
+ * between attempts. Use offer to fail instead of waiting.
  */
-public class UnorderedMessageQueue implements MessageQueue {
-    /**
-     * LinkedList that acts as a queue for the Messages which are ordered based on when they arrive.
-     */
-    private final LinkedList<Message> queue;
+public class UnorderedMessageQueue extends RingBufferMessageQueue {
 
     /**
-     * Constructor that assigns the LinkedList.
+     * Constructor for the UnorderedMessageQueue with the default capacity.
      */
     public UnorderedMessageQueue() {
-        queue = new LinkedList<>();
-    }
-
-    /**
-     * Method adds a message to the MessageQueue.
-     * @param message Message to be added.
-     */
-    @Override
-    public void enqueue(Message message) {
-        queue.add(requireNonNull(message, "Message can't be null."));
-    }
-
-    /**
-     * Method that retrieves a message from the MessageQueue.
-     * @return Message to be retrieved from the MessageQueue.
-     */
-    @Override
-    public Message dequeue() {
-        if (queue.size() > 0) {
-            return queue.remove();
-        }
-        return null;
+        this(DEFAULT_CAPACITY);
     }
 
     /**
-     * Method that gets the size of the MessageQueue.
-     * @return Integer size of the MessageQueue.
+     * Constructor for the UnorderedMessageQueue. It pre-allocates the ring.
+     * @param capacity int minimum number of Messages the queue holds, rounded up to a power of two.
      */
-    @Override
-    public Integer getSize() {
-        return queue.size();
+    public UnorderedMessageQueue(int capacity) {
+        super(capacity);
     }
 }
@@ -0,0 +1,48 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Interface WaitStrategy decides how a consumer waits for a Message while its MessageQueue is empty, trading latency
+ * against CPU use. A MessageQueue that uses a WaitStrategy signals it after every enqueued Message.
+ */
+public interface WaitStrategy {
+    /**
+     * Method repeatedly takes a Message from a source, waiting in between while the source is empty.
+     * @param source Supplier(Message) that returns the next Message, or null if there is none.
+     * @param timeoutNanos long maximum time to wait in nanoseconds, Long.MAX_VALUE to wait without limit.
+     * @return Message from the source, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    Message waitFor(Supplier<Message> source, long timeoutNanos) throws InterruptedException;
+
+    /**
+     * Method signals waiting consumers that a Message was enqueued.
+     */
+    void signal();
+
+    /**
+     * Method creates a WaitStrategy by its name: blocking, parking or spin (spin-then-yield).
+     * @param name String name of the WaitStrategy, or null for the blocking one.
+     * @return New WaitStrategy.
+     * @throws IllegalArgumentException if the name is not recognised.
+     */
+    static WaitStrategy fromName(String name) throws IllegalArgumentException {
+        if (name == null) {
+            return new BlockingWaitStrategy();
+        }
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "blocking":
+                return new BlockingWaitStrategy();
+            case "parking":
+                return new ParkingWaitStrategy();
+            case "spin":
+                return new SpinThenYieldWaitStrategy();
+            default:
+                throw new IllegalArgumentException("Wait strategy not recognised: " + name);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package nl.rug.aoop.messagequeue.message;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestBinaryCodecClass tests the BinaryCodec class.
+ */
+public class TestBinaryCodecClass {
+
+    /**
+     * Method tests that a Message survives a frame, including null fields, unicode and nanoseconds.
+     */
+    @Test
+    void testMessage() {
+        Message message = new Message("résolve", "{\"stockId\":\"AAPL\"}", LocalDateTime.of(2022, 10, 3, 12, 0, 1,
+                123_456_789));
+        assertEquals(message, BinaryCodec.decodeMessage(ByteBuffer.wrap(BinaryCodec.encode(message))));
+        Message nullMessage = new Message(null, null, LocalDateTime.of(1960, 1, 1, 0, 0, 0, 5));
+        assertEquals(nullMessage, BinaryCodec.decodeMessage(ByteBuffer.wrap(BinaryCodec.encode(nullMessage))));
+    }
+
+    /**
+     * Method tests that a Message is written into a buffer only if it fits, and read from a direct buffer.
+     */
+    @Test
+    void testBuffer() {
+        Message message = new Message("header", "body");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        assertTrue(BinaryCodec.encode(message, buffer));
+        assertEquals(BinaryCodec.encode(message).length, buffer.position());
+        assertFalse(BinaryCodec.encode(message, buffer.slice(buffer.position(), 8)));
+        buffer.flip();
+        assertEquals(message, BinaryCodec.decodeMessage(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * Method tests that a frame is much smaller than the nested JSON it replaces.
+     */
+    @Test
+    void testSize() {
+        Message message = new Message("resolveOrder", "{\"stockId\":\"AAPL\",\"price\":12.5,\"amount\":3}");
+        String json = new NetworkMessage("mqPut", message.toJson()).toJson();
+        String binary = WireFormat.BINARY.encode("mqPut", message);
+        assertTrue(binary.length() < json.length());
+        assertTrue(BinaryCodec.encode("mqPut", message).length * 2 < json.length());
+    }
+
+    /**
+     * Method tests that a body that is a frame as text is stored as its raw frame, and that a body that only looks
+     * like one is stored as text, so both are read back unchanged.
+     */
+    @Test
+    void testFrameBody() {
+        String frameBody = BinaryCodec.toText(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        Message message = new Message("resolveOrder", frameBody);
+        byte[] frame = BinaryCodec.encode(message);
+        assertEquals(message, BinaryCodec.decodeMessage(ByteBuffer.wrap(frame)));
+        assertTrue(frame.length < BinaryCodec.encode(new Message("resolveOrder", "x".repeat(12))).length);
+        for (String body : new String[] {"#", "#QQ", "#not base64!"}) {
+            Message textMessage = new Message("header", body);
+            assertEquals(textMessage, BinaryCodec.decodeMessage(ByteBuffer.wrap(BinaryCodec.encode(textMessage))));
+        }
+        Message envelope = (Message) WireFormat.decode(WireFormat.BINARY.encode("mqPut", message)).get(WireFormat.BODY);
+        assertEquals(message, envelope);
+    }
+
+    /**
+     * Method tests that frames of another version or kind, and truncated frames, are refused.
+     */
+    @Test
+    void testIllegalFrame() {
+        byte[] frame = BinaryCodec.encode(new Message("header", "body"));
+        byte[] truncated = new byte[frame.length - 3];
+        System.arraycopy(frame, 0, truncated, 0, truncated.length);
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeMessage(ByteBuffer.wrap(truncated)));
+        frame[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeMessage(ByteBuffer.wrap(frame)));
+        byte[] networkFrame = BinaryCodec.encode(new NetworkMessage("header", "body"));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeMessage(ByteBuffer.wrap(networkFrame)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.decodeMessage(ByteBuffer.allocate(1)));
+    }
+
+    /**
+     * Method tests that a string field whose length is negative or runs past the end of the frame is refused, also
+     * when the array behind the frame goes on after it, and when the frame is in a direct buffer.
+     */
+    @Test
+    void testIllegalStringLength() {
+        for (int length : new int[] {-2, 5, Integer.MAX_VALUE}) {
+            ByteBuffer heapField = ByteBuffer.allocate(16).putInt(length).put(new byte[] {1, 2, 3, 4}).flip();
+            assertThrows(IllegalArgumentException.class, () -> BinaryCodec.getString(heapField));
+            ByteBuffer directField = ByteBuffer.allocateDirect(8).putInt(length).put(new byte[] {1, 2, 3, 4}).flip();
+            assertThrows(IllegalArgumentException.class, () -> BinaryCodec.getString(directField));
+        }
+        ByteBuffer offsetField = ByteBuffer.allocate(12).putInt(0).putInt(4).put(new byte[] {'b', 'o', 'd', 'y'})
+                .flip().position(4).slice();
+        assertEquals("body", BinaryCodec.getString(offsetField));
+        assertFalse(offsetField.hasRemaining());
+    }
+}
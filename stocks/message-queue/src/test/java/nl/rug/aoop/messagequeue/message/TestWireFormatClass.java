@@ -0,0 +1,111 @@
+package nl.rug.aoop.messagequeue.message;
+
+import nl.rug.aoop.networking.Communicator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestWireFormatClass tests the WireFormat enum.
+ */
+public class TestWireFormatClass {
+
+    /**
+     * Method tests that the WireFormats are found by name.
+     */
+    @Test
+    void testFromName() {
+        assertEquals(WireFormat.JSON, WireFormat.fromName(null));
+        assertEquals(WireFormat.BINARY, WireFormat.fromName("binary"));
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.fromName("xml"));
+    }
+
+    /**
+     * Method tests that a NetworkMessage is decoded from the WireFormat it was encoded in.
+     */
+    @Test
+    void testNetworkMessage() {
+        NetworkMessage networkMessage = new NetworkMessage("registerTrader", "bot1\n");
+        for (WireFormat format : WireFormat.values()) {
+            String line = format.encode(networkMessage);
+            assertFalse(line.contains("\n"));
+            Map<String, Object> options = WireFormat.decode(line);
+            assertEquals("registerTrader", options.get(WireFormat.HEADER));
+            assertEquals("bot1\n", options.get(WireFormat.BODY));
+            assertEquals(format, options.get(WireFormat.FORMAT));
+        }
+    }
+
+    /**
+     * Method tests that a Message in the body of a NetworkMessage is decoded from either WireFormat.
+     */
+    @Test
+    void testEnvelope() {
+        Message message = new Message("resolveOrder", "order");
+        Map<String, Object> json = WireFormat.decode(WireFormat.JSON.encode("mqPut", message));
+        Map<String, Object> binary = WireFormat.decode(WireFormat.BINARY.encode("mqPut", message));
+        assertEquals("mqPut", binary.get(WireFormat.HEADER));
+        assertSame(Message.class, binary.get(WireFormat.BODY).getClass());
+        assertEquals(message, WireFormat.toMessage(binary.get(WireFormat.BODY)));
+        assertEquals(message, WireFormat.toMessage(json.get(WireFormat.BODY)));
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.decode("#AQ"));
+    }
+
+    /**
+     * Method tests that the WireFormat attached to a Communicator is the one negotiated on its connection, JSON until
+     * one is attached.
+     */
+    @Test
+    void testAttach() {
+        Communicator communicator = new Communicator() {
+            private Object attachment;
+
+            @Override
+            public void sendMessage(String message) {
+            }
+
+            @Override
+            public Object getAttachment() {
+                return attachment;
+            }
+
+            @Override
+            public void setAttachment(Object attachment) {
+                this.attachment = attachment;
+            }
+
+            @Override
+            public void terminate() {
+            }
+        };
+        assertEquals(WireFormat.JSON, WireFormat.of(communicator));
+        WireFormat.BINARY.attachTo(communicator);
+        assertEquals(WireFormat.BINARY, WireFormat.of(communicator));
+        communicator.setAttachment("other state");
+        assertEquals(WireFormat.JSON, WireFormat.of(communicator));
+    }
+
+    /**
+     * Method tests that a frame is decoded from a buffer, as a raw binary frame or as the text of a line.
+     */
+    @Test
+    void testDecodeBuffer() {
+        Message message = new Message("resolveOrder", "order");
+        byte[] binary = BinaryCodec.encode("mqPut", message);
+        Map<String, Object> raw = WireFormat.decode(ByteBuffer.allocateDirect(binary.length).put(binary).flip());
+        assertEquals("mqPut", raw.get(WireFormat.HEADER));
+        assertEquals(message, raw.get(WireFormat.BODY));
+        assertEquals(WireFormat.BINARY, raw.get(WireFormat.FORMAT));
+        for (WireFormat format : WireFormat.values()) {
+            String line = format.encode("mqPut", message);
+            Map<String, Object> text = WireFormat.decode(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(message, WireFormat.toMessage(text.get(WireFormat.BODY)));
+            assertEquals(format, text.get(WireFormat.FORMAT));
+        }
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.decode(ByteBuffer.wrap(new byte[] {1, 2})));
+    }
+}
@@ -0,0 +1,182 @@
+package nl.rug.aoop.messagequeue.process;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.messagequeue.queue.OrderedMessageQueue;
+import nl.rug.aoop.messagequeue.queue.UnorderedMessageQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Class TestConsumerGroupClass tests the ConsumerGroup class.
+ */
+public class TestConsumerGroupClass {
+    /**
+     * MessageQueue whose Messages are delivered.
+     */
+    private MessageQueue queue;
+    /**
+     * Dead-letter MessageQueue of the group.
+     */
+    private MessageQueue deadLetterQueue;
+    /**
+     * ConsumerGroup used for testing, with a visibility timeout of 50 milliseconds and 2 deliveries.
+     */
+    private ConsumerGroup group;
+
+    /**
+     * Method sets up a ConsumerGroup over an arrival ordered queue.
+     */
+    @BeforeEach
+    void setUp() {
+        queue = new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL);
+        deadLetterQueue = new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL);
+        group = new ConsumerGroup(queue, deadLetterQueue, 50, 2);
+    }
+
+    /**
+     * Method tests that the constructor checks its arguments.
+     */
+    @Test
+    void testConstructor() {
+        assertEquals(ConsumerGroup.DEFAULT_MAX_DELIVERIES,
+                new ConsumerGroup(queue, deadLetterQueue).getMaxDeliveries());
+        assertThrows(NullPointerException.class, () -> new ConsumerGroup(null, deadLetterQueue));
+        assertThrows(NullPointerException.class, () -> new ConsumerGroup(queue, null));
+        assertThrows(IllegalArgumentException.class, () -> new ConsumerGroup(queue, deadLetterQueue, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConsumerGroup(queue, deadLetterQueue, 10, 0));
+    }
+
+    /**
+     * Method tests that an acknowledged Message is not delivered again.
+     */
+    @Test
+    void testAck() {
+        queue.enqueue(new Message("first", "body"));
+        ConsumerGroup.Lease lease = group.lease();
+        assertEquals("first", lease.message().header());
+        assertEquals(1, lease.deliveryCount());
+        assertEquals(1, group.getNumOfInFlight());
+        assertTrue(group.ack(lease));
+        assertFalse(group.ack(lease));
+        assertFalse(group.nack(lease));
+        assertEquals(0, group.getNumOfInFlight());
+        assertNull(group.lease());
+    }
+
+    /**
+     * Method tests that a handed back Message is delivered again before new Messages, and then dead-lettered.
+     */
+    @Test
+    void testNackAndDeadLetter() {
+        queue.enqueue(new Message("first", "body"));
+        queue.enqueue(new Message("second", "body"));
+        ConsumerGroup.Lease lease = group.lease();
+        assertTrue(group.nack(lease));
+        ConsumerGroup.Lease redelivery = group.lease();
+        assertSame(lease.message(), redelivery.message());
+        assertEquals(2, redelivery.deliveryCount());
+        assertTrue(group.nack(redelivery));
+        assertEquals(1, group.getNumOfRedelivered());
+        assertEquals(1, group.getNumOfDeadLettered());
+        assertSame(lease.message(), deadLetterQueue.dequeue());
+        assertEquals("second", group.lease().message().header());
+    }
+
+    /**
+     * Method tests that a Message whose lease expires is delivered again, and that a late ack is ignored.
+     */
+    @Test
+    void testVisibilityTimeout() {
+        queue.enqueue(new Message("first", "body"));
+        ConsumerGroup.Lease lease = group.lease();
+        assertNull(group.lease());
+        await().atMost(1, TimeUnit.SECONDS).until(() -> {
+            ConsumerGroup.Lease redelivery = group.lease();
+            return redelivery != null && redelivery.message() == lease.message();
+        });
+        assertFalse(group.ack(lease));
+        assertEquals(1, group.getNumOfRedelivered());
+        assertEquals(1, group.getNumOfInFlight());
+    }
+
+    /**
+     * Method tests that drain leases the Messages to be delivered again first, and then new ones.
+     */
+    @Test
+    void testDrain() {
+        queue.enqueue(new Message("first", "body"));
+        queue.enqueue(new Message("second", "body"));
+        queue.enqueue(new Message("third", "body"));
+        group.nack(group.lease());
+        List<Message> batch = new ArrayList<>();
+        List<ConsumerGroup.Lease> leases = new ArrayList<>();
+        assertEquals(2, group.drain(batch, leases, 2));
+        assertEquals("first", batch.get(0).header());
+        assertEquals("second", batch.get(1).header());
+        assertEquals(2, leases.get(0).deliveryCount());
+        assertEquals(1, leases.get(1).deliveryCount());
+        assertEquals(2, group.getNumOfInFlight());
+    }
+
+    /**
+     * Method tests that the MessageQueue is only committed while every lease is acknowledged.
+     */
+    @Test
+    void testCommit() {
+        MessageQueue mockQueue = mock(MessageQueue.class);
+        when(mockQueue.dequeue()).thenReturn(new Message("first", "body"));
+        ConsumerGroup mockGroup = new ConsumerGroup(mockQueue, deadLetterQueue);
+        ConsumerGroup.Lease lease = mockGroup.lease();
+        assertFalse(mockGroup.commit());
+        verify(mockQueue, never()).commit();
+        mockGroup.ack(lease);
+        assertTrue(mockGroup.commit());
+        verify(mockQueue).commit();
+    }
+
+    /**
+     * Method tests that the consumers of a group split the Messages, and that every Message is handled once.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    void testConsumersSplitLoad() throws InterruptedException {
+        int numOfMessages = 2000;
+        MessageQueue source = new UnorderedMessageQueue();
+        ConsumerGroup sharedGroup = new ConsumerGroup(source, deadLetterQueue);
+        Set<String> handled = ConcurrentHashMap.newKeySet();
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            GroupConsumer consumer = new GroupConsumer(sharedGroup);
+            consumers.add(new Thread(() -> {
+                while (handled.size() < numOfMessages) {
+                    Message message = consumer.poll();
+                    if (message != null) {
+                        assertTrue(handled.add(message.header()));
+                        consumer.ack(message);
+                    }
+                }
+            }));
+        }
+        consumers.forEach(Thread::start);
+        for (int i = 0; i < numOfMessages; i++) {
+            source.enqueue(new Message(String.valueOf(i), "body"));
+        }
+        for (Thread consumer : consumers) {
+            consumer.join(10_000);
+        }
+        assertEquals(numOfMessages, handled.size());
+        assertEquals(0, sharedGroup.getNumOfInFlight());
+        assertEquals(0, sharedGroup.getNumOfRedelivered());
+    }
+}
@@ -0,0 +1,92 @@
+package nl.rug.aoop.messagequeue.process;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.messagequeue.queue.OrderedMessageQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestGroupConsumerClass tests the GroupConsumer class.
+ */
+public class TestGroupConsumerClass {
+    /**
+     * MessageQueue whose Messages are consumed.
+     */
+    private MessageQueue queue;
+    /**
+     * ConsumerGroup of the consumer.
+     */
+    private ConsumerGroup group;
+    /**
+     * GroupConsumer used for testing.
+     */
+    private GroupConsumer consumer;
+
+    /**
+     * Method sets up a GroupConsumer of a ConsumerGroup over an arrival ordered queue.
+     */
+    @BeforeEach
+    void setUp() {
+        queue = new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL);
+        group = new ConsumerGroup(queue, new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL));
+        consumer = new GroupConsumer(group);
+    }
+
+    /**
+     * Method tests that the constructor checks its argument.
+     */
+    @Test
+    void testConstructor() {
+        assertThrows(NullPointerException.class, () -> new GroupConsumer(null));
+    }
+
+    /**
+     * Method tests that a polled Message stays leased until it is acknowledged.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    void testPollAndAck() throws InterruptedException {
+        Message message = new Message("first", "body");
+        queue.enqueue(message);
+        assertSame(message, consumer.poll(10, TimeUnit.MILLISECONDS));
+        assertEquals(1, consumer.getNumOfLeased());
+        consumer.ack(message);
+        assertEquals(0, consumer.getNumOfLeased());
+        assertEquals(0, group.getNumOfInFlight());
+        consumer.ack(message);
+        assertNull(consumer.poll());
+    }
+
+    /**
+     * Method tests that a handed back Message is polled again.
+     */
+    @Test
+    void testNack() {
+        Message message = new Message("first", "body");
+        queue.enqueue(message);
+        consumer.nack(consumer.poll());
+        assertSame(message, consumer.poll());
+        assertEquals(1, group.getNumOfRedelivered());
+    }
+
+    /**
+     * Method tests that every drained Message is leased.
+     */
+    @Test
+    void testDrain() {
+        queue.enqueue(new Message("first", "body"));
+        queue.enqueue(new Message("second", "body"));
+        List<Message> batch = new ArrayList<>();
+        assertEquals(2, consumer.drain(batch, 10));
+        assertEquals(2, consumer.getNumOfLeased());
+        batch.forEach(consumer::ack);
+        assertEquals(0, group.getNumOfInFlight());
+    }
+}
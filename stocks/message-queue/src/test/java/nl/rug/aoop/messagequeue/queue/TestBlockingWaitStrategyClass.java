@@ -0,0 +1,82 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestBlockingWaitStrategyClass tests the BlockingWaitStrategy class.
+ */
+public class TestBlockingWaitStrategyClass {
+
+    /**
+     * Method tests that a waiting consumer times out on an empty ring and returns a Message without waiting.
+     */
+    @Test
+    void testTimeout() throws InterruptedException {
+        RingBufferMessageQueue queue = new RingBufferMessageQueue(4, new BlockingWaitStrategy());
+        long start = System.nanoTime();
+        assertNull(queue.dequeue(20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertNull(queue.dequeue(0, TimeUnit.MILLISECONDS));
+
+        Message message = new Message("header", "body");
+        queue.enqueue(message);
+        assertEquals(message, queue.dequeue(0, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Method tests that a sleeping consumer is woken by the enqueue of another thread.
+     */
+    @Test
+    void testSignal() throws Exception {
+        RingBufferMessageQueue queue = new RingBufferMessageQueue(4, new BlockingWaitStrategy());
+        CompletableFuture<Message> taken = new CompletableFuture<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.complete(queue.take());
+            } catch (InterruptedException e) {
+                taken.completeExceptionally(e);
+            }
+        });
+        consumer.start();
+        Thread.sleep(20);
+        assertFalse(taken.isDone());
+        Message message = new Message("header", "body");
+        queue.enqueue(message);
+        assertEquals(message, taken.get(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Method tests that many Messages from several producers all reach a consumer that waits for each of them.
+     */
+    @Test
+    void testNoLostSignals() throws Exception {
+        RingBufferMessageQueue queue = new RingBufferMessageQueue(16, new BlockingWaitStrategy());
+        int numOfMessages = 10000;
+        Runnable producer = () -> {
+            for (int i = 0; i < numOfMessages / 2; i++) {
+                queue.enqueue(new Message("header", "body"));
+            }
+        };
+        new Thread(producer).start();
+        new Thread(producer).start();
+        for (int i = 0; i < numOfMessages; i++) {
+            assertNotNull(queue.dequeue(1, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Method tests that an interrupted consumer stops waiting.
+     */
+    @Test
+    void testInterrupt() {
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> new BlockingWaitStrategy().waitFor(() -> null,
+                Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,132 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestBoundedMessageQueueClass tests the BoundedMessageQueue class.
+ */
+public class TestBoundedMessageQueueClass {
+    /**
+     * Directory of the durable queues.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Method creates a BoundedMessageQueue of two Messages around an arrival ordered queue.
+     * @param overloadPolicy OverloadPolicy of the queue.
+     * @return New BoundedMessageQueue holding the Messages first and second.
+     */
+    private BoundedMessageQueue createFullQueue(OverloadPolicy overloadPolicy) {
+        BoundedMessageQueue queue = new BoundedMessageQueue(
+                new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL), 2, overloadPolicy);
+        queue.enqueue(new Message("first", "body"));
+        queue.enqueue(new Message("second", "body"));
+        return queue;
+    }
+
+    /**
+     * Method tests that the constructor checks its arguments.
+     */
+    @Test
+    void testConstructor() {
+        MessageQueue queue = new UnorderedMessageQueue();
+        assertEquals(4, new BoundedMessageQueue(queue, 4, OverloadPolicy.BLOCK).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedMessageQueue(queue, 0, OverloadPolicy.BLOCK));
+        assertThrows(NullPointerException.class, () -> new BoundedMessageQueue(null, 4, OverloadPolicy.BLOCK));
+        assertThrows(NullPointerException.class, () -> new BoundedMessageQueue(queue, 4, null));
+    }
+
+    /**
+     * Method tests that the REJECT policy rejects Messages while the queue is full and counts them.
+     */
+    @Test
+    void testReject() {
+        BoundedMessageQueue queue = createFullQueue(OverloadPolicy.REJECT);
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(new Message("third", "body")));
+        assertEquals(1, queue.getNumOfRejected());
+        assertEquals(2, queue.getSize());
+        assertEquals("first", queue.dequeue().header());
+        queue.enqueue(new Message("third", "body"));
+        assertEquals(2, queue.getSize());
+    }
+
+    /**
+     * Method tests that the DROP_OLDEST policy drops the oldest Message to make room and counts it.
+     */
+    @Test
+    void testDropOldest() {
+        BoundedMessageQueue queue = createFullQueue(OverloadPolicy.DROP_OLDEST);
+        queue.enqueue(new Message("third", "body"));
+        assertEquals(1, queue.getNumOfDropped());
+        assertEquals("second", queue.dequeue().header());
+        assertEquals("third", queue.dequeue().header());
+        assertNull(queue.dequeue());
+    }
+
+    /**
+     * Method tests that the DROP_OLDEST policy is refused over a durable queue, whose dropped Messages would be
+     * delivered again after a restart, while the other policies are accepted.
+     * @throws IOException Thrown if the durable queue can't be opened.
+     */
+    @Test
+    void testDropOldestDurable() throws IOException {
+        try (MappedLogMessageQueue log = new MappedLogMessageQueue(directory, 4096, 0)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BoundedMessageQueue(log, 2, OverloadPolicy.DROP_OLDEST));
+            MessageQueue metered = new MeteredMessageQueue(log, new QueueMetrics());
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BoundedMessageQueue(metered, 2, OverloadPolicy.DROP_OLDEST));
+            assertTrue(new BoundedMessageQueue(log, 2, OverloadPolicy.REJECT).isDurable());
+        }
+    }
+
+    /**
+     * Method tests that the BLOCK policy blocks the producer until a consumer frees a slot.
+     * @throws InterruptedException Thrown if waiting for the producer is interrupted.
+     */
+    @Test
+    void testBlock() throws InterruptedException {
+        BoundedMessageQueue queue = createFullQueue(OverloadPolicy.BLOCK);
+        Thread producer = new Thread(() -> queue.enqueue(new Message("third", "body")));
+        producer.start();
+        await().atMost(1, TimeUnit.SECONDS).until(() -> queue.getNumOfBlocked() == 1);
+        assertEquals(2, queue.getSize());
+        List<Message> batch = new ArrayList<>();
+        assertEquals(2, queue.drain(batch, 5));
+        producer.join(1000);
+        assertFalse(producer.isAlive());
+        assertEquals("third", queue.take().header());
+        assertEquals(0, queue.getNumOfRejected());
+    }
+
+    /**
+     * Method tests that the blocking and timed dequeues free slots as well, and the policies are found by name.
+     * @throws InterruptedException Thrown if waiting for a Message is interrupted.
+     */
+    @Test
+    void testTimedDequeue() throws InterruptedException {
+        BoundedMessageQueue queue = createFullQueue(OverloadPolicy.REJECT);
+        assertEquals("first", queue.dequeue(1, TimeUnit.MILLISECONDS).header());
+        assertEquals("second", queue.take().header());
+        assertNull(queue.dequeue(1, TimeUnit.MILLISECONDS));
+        queue.enqueue(new Message("third", "body"));
+        queue.enqueue(new Message("fourth", "body"));
+        assertEquals(0, queue.getNumOfRejected());
+
+        assertEquals(OverloadPolicy.BLOCK, OverloadPolicy.fromName(null));
+        assertEquals(OverloadPolicy.DROP_OLDEST, OverloadPolicy.fromName("drop_oldest"));
+        assertThrows(IllegalArgumentException.class, () -> OverloadPolicy.fromName("random"));
+    }
+}
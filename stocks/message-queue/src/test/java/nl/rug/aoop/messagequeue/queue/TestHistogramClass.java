@@ -0,0 +1,75 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestHistogramClass tests the Histogram class.
+ */
+public class TestHistogramClass {
+
+    /**
+     * Method tests that every value falls in a bucket whose highest value is within 1/32 above it.
+     */
+    @Test
+    void testBuckets() {
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1_000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (long value : values) {
+            long highest = Histogram.highestValueOf(Histogram.bucketOf(value));
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / 32, "Bucket of " + value + " too wide.");
+        }
+        assertEquals(Histogram.bucketOf(63) + 1, Histogram.bucketOf(64));
+        assertEquals(Histogram.bucketOf(127) + 1, Histogram.bucketOf(128));
+    }
+
+    /**
+     * Method tests the percentiles of a uniform distribution.
+     */
+    @Test
+    void testPercentiles() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-5);
+        assertEquals(10_001, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_000, histogram.getValueAtPercentile(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, histogram.getValueAtPercentile(99), 9_900_000 / 32.0);
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    /**
+     * Method tests that concurrent threads record every value.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    void testConcurrentRecord() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    histogram.record(j);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+}
@@ -0,0 +1,208 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestMappedLogMessageQueueClass tests the MappedLogMessageQueue class.
+ */
+public class TestMappedLogMessageQueueClass {
+    /**
+     * Directory of the tested logs.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Method tests that Messages are dequeued in the order they were appended, with their offsets.
+     * @throws IOException Thrown if the log can't be opened.
+     */
+    @Test
+    void testAppendOrder() throws IOException {
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 4096, 1)) {
+            assertNull(queue.dequeue());
+            Message first = new Message("first", "body");
+            queue.enqueue(first);
+            queue.enqueue(new Message("second", "bódy"));
+            assertEquals(2, queue.getSize());
+            assertEquals(2, queue.getEndOffset());
+            assertEquals(first, queue.dequeue());
+            assertEquals("bódy", queue.dequeue().body());
+            assertEquals(2, queue.getReadOffset());
+            assertNull(queue.dequeue());
+            assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+        }
+    }
+
+    /**
+     * Method tests that a reopened log continues after the last checkpoint, and that older Messages can be replayed.
+     * @throws IOException Thrown if the log can't be opened.
+     */
+    @Test
+    void testReplayFromCheckpoint() throws IOException {
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 4096, 0)) {
+            for (int i = 0; i < 5; i++) {
+                queue.enqueue(new Message("header", String.valueOf(i)));
+            }
+            queue.dequeue();
+            queue.dequeue();
+            queue.commit();
+            queue.dequeue();
+        }
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 4096, 0)) {
+            assertEquals(2, queue.getCheckpoint());
+            assertEquals(3, queue.getSize());
+            assertEquals("2", queue.dequeue().body());
+            queue.enqueue(new Message("header", "5"));
+            queue.seek(0);
+            List<Message> replayed = new ArrayList<>();
+            assertEquals(6, queue.drain(replayed, 10));
+            assertEquals("5", replayed.get(5).body());
+            assertThrows(IllegalArgumentException.class, () -> queue.seek(7));
+        }
+    }
+
+    /**
+     * Method tests that the log rolls over to new segments, and recovers and seeks across them.
+     * @throws IOException Thrown if the log can't be opened.
+     */
+    @Test
+    void testSegments() throws IOException {
+        int numOfMessages = 200;
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 512, 16)) {
+            for (int i = 0; i < numOfMessages; i++) {
+                queue.enqueue(new Message("header", String.valueOf(i)));
+            }
+            assertThrows(IllegalArgumentException.class, () -> queue.enqueue(new Message("header", "x".repeat(600))));
+            for (int i = 0; i < 150; i++) {
+                assertEquals(String.valueOf(i), queue.dequeue().body());
+            }
+            queue.commit();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(path -> path.toString().endsWith(".log")).count() > 1);
+        }
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 512, 16)) {
+            assertEquals(numOfMessages, queue.getEndOffset());
+            for (int i = 150; i < numOfMessages; i++) {
+                assertEquals(String.valueOf(i), queue.dequeue().body());
+            }
+            queue.seek(97);
+            assertEquals("97", queue.dequeue().body());
+            assertEquals(0, queue.getStartOffset());
+            queue.seek(queue.getStartOffset());
+            assertEquals("0", queue.dequeue().body());
+        }
+    }
+
+    /**
+     * Method tests that truncating deletes the segments before an offset only, and that the rest of the log stays
+     * readable before and after it is reopened.
+     * @throws IOException Thrown if the log can't be opened.
+     */
+    @Test
+    void testTruncate() throws IOException {
+        int numOfMessages = 200;
+        long startOffset;
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 512, 16)) {
+            for (int i = 0; i < numOfMessages; i++) {
+                queue.enqueue(new Message("header", String.valueOf(i)));
+            }
+            for (int i = 0; i < 150; i++) {
+                queue.dequeue();
+            }
+            assertThrows(IllegalArgumentException.class, () -> queue.truncate(151));
+            queue.truncate(150);
+            startOffset = queue.getStartOffset();
+            assertTrue(startOffset > 0 && startOffset <= 150);
+            assertEquals("150", queue.dequeue().body());
+            queue.seek(startOffset);
+            assertEquals(String.valueOf(startOffset), queue.dequeue().body());
+            queue.force();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().equals(LogSegment.fileName(0))));
+        }
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 512, 16)) {
+            assertEquals(startOffset, queue.getStartOffset());
+            assertEquals(numOfMessages, queue.getEndOffset());
+            queue.seek(numOfMessages - 1);
+            assertEquals(String.valueOf(numOfMessages - 1), queue.dequeue().body());
+        }
+    }
+
+    /**
+     * Method tests that a partly written record at the end of the log is dropped when the log is reopened.
+     * @throws IOException Thrown if the log can't be opened.
+     */
+    @Test
+    void testTornRecovery() throws IOException {
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 4096, 0)) {
+            queue.enqueue(new Message("header", "kept"));
+            queue.enqueue(new Message("header", "torn"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(LogSegment.fileName(0)).toFile(), "rw")) {
+            int firstLength = file.readInt();
+            file.seek(LogSegment.HEADER_SIZE * 2L + firstLength + 2);
+            file.writeByte('#');
+        }
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 4096, 0)) {
+            assertEquals(1, queue.getEndOffset());
+            assertEquals("kept", queue.dequeue().body());
+            queue.enqueue(new Message("header", "next"));
+            assertEquals("next", queue.dequeue().body());
+        }
+    }
+
+    /**
+     * Method tests that concurrent producers append every Message exactly once.
+     * @throws Exception Thrown if the log can't be opened or waiting for the producers is interrupted.
+     */
+    @Test
+    void testConcurrentProducers() throws Exception {
+        int producers = 8;
+        int messagesPerProducer = 500;
+        try (MappedLogMessageQueue queue = new MappedLogMessageQueue(directory, 8192, 32)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String header = String.valueOf(p);
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < messagesPerProducer; i++) {
+                        queue.enqueue(new Message(header, String.valueOf(i)));
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            int[] nextBody = new int[producers];
+            for (int i = 0; i < producers * messagesPerProducer; i++) {
+                Message message = queue.dequeue();
+                assertEquals(nextBody[Integer.parseInt(message.header())]++, Integer.parseInt(message.body()));
+            }
+            assertNull(queue.dequeue());
+        }
+    }
+
+    /**
+     * Method tests that the constructor checks its arguments.
+     */
+    @Test
+    void testIllegalConstructor() {
+        assertThrows(NullPointerException.class, () -> new MappedLogMessageQueue(null, 4096, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedLogMessageQueue(directory, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedLogMessageQueue(directory, 4096, -1));
+    }
+}
@@ -0,0 +1,101 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestMeteredMessageQueueClass tests the MeteredMessageQueue and QueueMetrics classes.
+ */
+public class TestMeteredMessageQueueClass {
+    /**
+     * LocalDateTime at which the test Messages are created.
+     */
+    private static final LocalDateTime CREATED = LocalDateTime.of(2022, 10, 3, 12, 0);
+    /**
+     * MeteredMessageQueue used for testing, whose clock is 5 milliseconds after the creation of the Messages.
+     */
+    private MeteredMessageQueue queue;
+
+    /**
+     * Method sets up a MeteredMessageQueue over an arrival ordered queue with a fixed clock.
+     */
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(CREATED.plusNanos(5_000_000).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        queue = new MeteredMessageQueue(new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL),
+                new QueueMetrics(clock));
+    }
+
+    /**
+     * Method tests that the constructors check their arguments.
+     */
+    @Test
+    void testConstructor() {
+        assertThrows(NullPointerException.class, () -> new MeteredMessageQueue(null, new QueueMetrics()));
+        assertThrows(NullPointerException.class, () -> new MeteredMessageQueue(new UnorderedMessageQueue(), null));
+        assertThrows(NullPointerException.class, () -> new QueueMetrics(null));
+    }
+
+    /**
+     * Method tests that the Messages are counted, with their depth and latency, per header.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    void testMetrics() throws InterruptedException {
+        queue.enqueue(new Message("order", "body", CREATED));
+        queue.enqueue(new Message("order", "body", CREATED));
+        queue.enqueue(new Message(null, "body", CREATED));
+        assertEquals(3, queue.getSize());
+        assertNotNull(queue.dequeue());
+        assertNotNull(queue.dequeue(1, TimeUnit.MILLISECONDS));
+        QueueMetrics.HeaderMetrics order = queue.getMetrics().getHeaderMetrics().get("order");
+        assertEquals(2, order.getNumOfEnqueued());
+        assertEquals(2, order.getNumOfDequeued());
+        assertEquals(0, order.getDepth());
+        assertEquals(5_000_000, order.getLatency().getMax());
+        QueueMetrics.HeaderMetrics noHeader = queue.getMetrics().getHeaderMetrics().get(QueueMetrics.NO_HEADER);
+        assertEquals(1, noHeader.getDepth());
+        assertEquals(3, queue.getMetrics().getDepth().getCount());
+        assertEquals(2, queue.getMetrics().getDepth().getMax());
+    }
+
+    /**
+     * Method tests that drained Messages are recorded.
+     */
+    @Test
+    void testDrain() {
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(new Message("order", "body", CREATED));
+        }
+        List<Message> batch = new ArrayList<>();
+        batch.add(new Message("other", "body", CREATED));
+        assertEquals(3, queue.drain(batch, 3));
+        QueueMetrics.HeaderMetrics order = queue.getMetrics().getHeaderMetrics().get("order");
+        assertEquals(3, order.getNumOfDequeued());
+        assertEquals(2, order.getDepth());
+        assertNull(queue.getMetrics().getHeaderMetrics().get("other"));
+    }
+
+    /**
+     * Method tests that the latency is measured against the clock of the metrics.
+     */
+    @Test
+    void testLatencyClock() {
+        QueueMetrics metrics = new QueueMetrics(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        metrics.recordDequeue(new Message("order", "body", LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC)));
+        metrics.recordDequeue(new Message("order", "body", null));
+        assertEquals(2, metrics.getHeaderMetrics().get("order").getNumOfDequeued());
+        assertEquals(1, metrics.getHeaderMetrics().get("order").getLatency().getCount());
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -106,4 +109,74 @@ public class TestOrderedMessageQueueClass {
         assertEquals("third", queue.dequeue().header());
     }
 
+    /**
+     * Method tests that the timed dequeue waits for a Message and times out on an empty queue.
+     */
+    @Test
+    void testTimedDequeue() throws InterruptedException {
+        assertNull(queue.dequeue(10, TimeUnit.MILLISECONDS));
+        Message message = new Message("header", "body");
+        new Thread(() -> queue.enqueue(message)).start();
+        assertEquals(message, queue.dequeue(1, TimeUnit.SECONDS));
+        queue.enqueue(message);
+        assertEquals(message, queue.take());
+    }
+
+    /**
+     * Method tests that the TIMESTAMP Ordering dequeues Messages with equal TimeStamps in the order they arrived.
+     */
+    @Test
+    void testEqualTimestamps() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            queue.enqueue(new Message("message" + i, "body", i % 2 == 0 ? now : now.minusSeconds(1)));
+        }
+        List<Message> batch = new ArrayList<>();
+        assertEquals(20, queue.drain(batch, 20));
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i < 20; i += 2) {
+            expected.add("message" + i);
+        }
+        for (int i = 0; i < 20; i += 2) {
+            expected.add("message" + i);
+        }
+        assertEquals(expected, batch.stream().map(Message::header).toList());
+    }
+
+    /**
+     * Method tests that the ARRIVAL Ordering dequeues Messages in the order they arrived, whatever their TimeStamps.
+     */
+    @Test
+    void testArrivalOrdering() {
+        OrderedMessageQueue arrivalQueue = new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL);
+        LocalDateTime now = LocalDateTime.now();
+        arrivalQueue.enqueue(new Message("first", "message", now.plusYears(1)));
+        arrivalQueue.enqueue(new Message("second", "message", now));
+        arrivalQueue.enqueue(new Message("third", "message", now));
+        arrivalQueue.enqueue(new Message("fourth", "message", now));
+        assertEquals("first", arrivalQueue.dequeue().header());
+        List<Message> batch = new ArrayList<>();
+        arrivalQueue.drain(batch, 5);
+        assertEquals(List.of("second", "third", "fourth"), batch.stream().map(Message::header).toList());
+        assertNull(arrivalQueue.dequeue());
+
+        assertEquals(OrderedMessageQueue.Ordering.TIMESTAMP, queue.getOrdering());
+        assertThrows(NullPointerException.class, () -> new OrderedMessageQueue(null));
+    }
+
+    /**
+     * Method tests that a drain takes up to the maximum number of Messages in TimeStamp order.
+     */
+    @Test
+    void testDrain() {
+        LocalDateTime now = LocalDateTime.now();
+        queue.enqueue(new Message("second", "message", now.plusYears(1)));
+        queue.enqueue(new Message("third", "message", now.plusYears(2)));
+        queue.enqueue(new Message("first", "message", now));
+        List<Message> batch = new ArrayList<>();
+        assertEquals(2, queue.drain(batch, 2));
+        assertEquals(List.of("first", "second"), batch.stream().map(Message::header).toList());
+        assertEquals(1, queue.drain(batch, 2));
+        assertEquals(0, queue.drain(batch, 2));
+    }
 }
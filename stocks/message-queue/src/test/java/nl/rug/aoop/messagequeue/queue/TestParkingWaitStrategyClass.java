@@ -0,0 +1,55 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestParkingWaitStrategyClass tests the ParkingWaitStrategy class.
+ */
+public class TestParkingWaitStrategyClass {
+
+    /**
+     * Method tests that invalid park periods are rejected.
+     */
+    @Test
+    void testConstructor() {
+        assertEquals(ParkingWaitStrategy.DEFAULT_PARK_NANOS, new ParkingWaitStrategy().getParkNanos());
+        assertThrows(IllegalArgumentException.class, () -> new ParkingWaitStrategy(0));
+    }
+
+    /**
+     * Method tests that the source is checked again after every park until it returns a Message.
+     */
+    @Test
+    void testWaitFor() throws InterruptedException {
+        Message message = new Message("header", "body");
+        AtomicInteger checks = new AtomicInteger();
+        ParkingWaitStrategy waitStrategy = new ParkingWaitStrategy(1000);
+        assertEquals(message, waitStrategy.waitFor(() -> checks.incrementAndGet() < 3 ? null : message,
+                Long.MAX_VALUE));
+        assertEquals(3, checks.get());
+    }
+
+    /**
+     * Method tests that waiting stops once the timeout elapsed.
+     */
+    @Test
+    void testTimeout() throws InterruptedException {
+        assertNull(new ParkingWaitStrategy().waitFor(() -> null, 1_000_000));
+        assertNull(new ParkingWaitStrategy().waitFor(() -> null, 0));
+    }
+
+    /**
+     * Method tests that an interrupted consumer stops waiting.
+     */
+    @Test
+    void testInterrupt() {
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> new ParkingWaitStrategy().waitFor(() -> null,
+                Long.MAX_VALUE));
+    }
+}
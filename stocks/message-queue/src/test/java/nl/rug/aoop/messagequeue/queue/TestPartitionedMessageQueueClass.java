@@ -0,0 +1,154 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestPartitionedMessageQueueClass tests the PartitionedMessageQueue class.
+ */
+public class TestPartitionedMessageQueueClass {
+    /**
+     * PartitionedMessageQueue used for testing, partitioned by the body of the Messages.
+     */
+    private PartitionedMessageQueue queue;
+    /**
+     * List(MessageQueue) with the partitions of the default topic.
+     */
+    private List<MessageQueue> partitions;
+
+    /**
+     * Method sets up a PartitionedMessageQueue with a default topic of three partitions keyed by the Message body.
+     */
+    @BeforeEach
+    void setUp() {
+        partitions = List.of(new UnorderedMessageQueue(), new UnorderedMessageQueue(), new UnorderedMessageQueue());
+        queue = new PartitionedMessageQueue(partitions, Partitioner.byKey(Message::body));
+    }
+
+    /**
+     * Method tests that the constructor checks its arguments.
+     */
+    @Test
+    void testConstructor() {
+        assertEquals(partitions, queue.getPartitions());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedMessageQueue(new ArrayList<>(), Partitioner.byKey(Message::body)));
+        assertThrows(NullPointerException.class, () -> new PartitionedMessageQueue(partitions, null));
+        assertThrows(NullPointerException.class, () -> new PartitionedMessageQueue(null, (m, n) -> 0));
+    }
+
+    /**
+     * Method tests that Messages with the same key go to the same partition, in the order they were enqueued.
+     */
+    @Test
+    void testKeyRouting() {
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(new Message("order" + i, "A"));
+            queue.enqueue(new Message("order" + i, "B"));
+        }
+        int partition = Math.floorMod("A".hashCode(), partitions.size());
+        MessageQueue partitionA = partitions.get(partition);
+        int numOfA = 0;
+        for (Message message = partitionA.dequeue(); message != null; message = partitionA.dequeue()) {
+            if ("A".equals(message.body())) {
+                assertEquals("order" + numOfA, message.header());
+                numOfA++;
+            }
+        }
+        assertEquals(10, numOfA);
+    }
+
+    /**
+     * Method tests that the Messages of a header with a topic go to the partitions of that topic.
+     */
+    @Test
+    void testHeaderRouting() {
+        List<MessageQueue> topicPartitions = List.of(new UnorderedMessageQueue(), new UnorderedMessageQueue());
+        queue.addTopic("update", topicPartitions, (message, numOfPartitions) -> 1);
+        queue.enqueue(new Message("update", "A"));
+        queue.enqueue(new Message("order", "A"));
+        assertEquals(topicPartitions, queue.getPartitions("update"));
+        assertEquals(partitions, queue.getPartitions("order"));
+        assertEquals(1, topicPartitions.get(1).getSize());
+        assertEquals(0, topicPartitions.get(0).getSize());
+        assertEquals(2, queue.getSize());
+        assertThrows(IllegalArgumentException.class,
+                () -> queue.addTopic("update", topicPartitions, (message, numOfPartitions) -> 0));
+    }
+
+    /**
+     * Method tests that a Partitioner returning an index that is not a partition is reported.
+     */
+    @Test
+    void testIllegalPartition() {
+        queue.addTopic("update", List.of(new UnorderedMessageQueue()), (message, numOfPartitions) -> 1);
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(new Message("update", "A")));
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    /**
+     * Method tests that Messages without a key go to the first partition and that dequeue takes turns between all
+     * partitions.
+     */
+    @Test
+    void testDequeue() {
+        queue.enqueue(new Message("order", null));
+        assertEquals(1, partitions.get(0).getSize());
+        queue.addTopic("update", List.of(new UnorderedMessageQueue()), (message, numOfPartitions) -> 0);
+        queue.enqueue(new Message("update", "A"));
+        assertEquals(2, queue.getSize());
+        assertNotNull(queue.dequeue());
+        assertNotNull(queue.dequeue());
+        assertNull(queue.dequeue());
+        assertEquals(0, queue.getSize());
+    }
+
+    /**
+     * Method tests that a consumer thread per partition receives the Messages of every key in order.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    void testConsumerPerPartition() throws InterruptedException {
+        int numOfMessages = 3000;
+        AtomicInteger numOfConsumed = new AtomicInteger();
+        AtomicBoolean inOrder = new AtomicBoolean(true);
+        List<Thread> consumers = new ArrayList<>();
+        for (MessageQueue partition : partitions) {
+            consumers.add(new Thread(() -> {
+                Map<String, Integer> lastSequences = new HashMap<>();
+                while (numOfConsumed.get() < numOfMessages) {
+                    Message message = partition.dequeue();
+                    if (message == null) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    int sequence = Integer.parseInt(message.header());
+                    if (sequence <= lastSequences.getOrDefault(message.body(), -1)) {
+                        inOrder.set(false);
+                    }
+                    lastSequences.put(message.body(), sequence);
+                    numOfConsumed.incrementAndGet();
+                }
+            }));
+        }
+        consumers.forEach(Thread::start);
+        for (int i = 0; i < numOfMessages; i++) {
+            queue.enqueue(new Message(String.valueOf(i), "key" + i % 7));
+        }
+        for (Thread consumer : consumers) {
+            consumer.join(10_000);
+        }
+        assertEquals(numOfMessages, numOfConsumed.get());
+        assertTrue(inOrder.get());
+    }
+}
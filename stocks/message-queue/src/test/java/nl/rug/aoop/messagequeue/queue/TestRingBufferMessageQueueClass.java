@@ -0,0 +1,207 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestRingBufferMessageQueueClass tests the RingBufferMessageQueue class.
+ */
+public class TestRingBufferMessageQueueClass {
+    /**
+     * RingBufferMessageQueue object used to test it's class.
+     */
+    private RingBufferMessageQueue queue;
+
+    /**
+     * Method initializes the queue.
+     */
+    @BeforeEach
+    public void initQueue() {
+        queue = new RingBufferMessageQueue(4);
+    }
+
+    /**
+     * Method tests that the capacity is rounded up to a power of two and invalid capacities are rejected.
+     */
+    @Test
+    void testCapacity() {
+        assertEquals(4, queue.getCapacity());
+        assertEquals(8, new RingBufferMessageQueue(5).getCapacity());
+        assertEquals(1, new RingBufferMessageQueue(1).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferMessageQueue(0));
+    }
+
+    /**
+     * Method tests that Messages are dequeued in the order they were enqueued, also after wrapping around the ring.
+     */
+    @Test
+    void testArrivalOrder() {
+        for (int round = 0; round < 3; round++) {
+            Message first = new Message("header", "first");
+            Message second = new Message("header", "second");
+            queue.enqueue(first);
+            queue.enqueue(second);
+            assertEquals(2, queue.getSize());
+            assertEquals(first, queue.dequeue());
+            assertEquals(second, queue.dequeue());
+        }
+        assertEquals(0, queue.getSize());
+    }
+
+    /**
+     * Method tests that the RingBufferMessageQueue returns null when it's dequeued while empty.
+     */
+    @Test
+    void testEmptyQueueDequeue() {
+        assertNull(queue.dequeue());
+    }
+
+    /**
+     * Method tests that the RingBufferMessageQueue enqueue method doesn't accept a null.
+     */
+    @Test
+    void testNullArgumentEnqueue() {
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    /**
+     * Method tests that offering to a full ring fails until a slot is freed.
+     */
+    @Test
+    void testOfferFull() {
+        for (int i = 0; i < queue.getCapacity(); i++) {
+            assertTrue(queue.offer(new Message("header", "body")));
+        }
+        assertFalse(queue.offer(new Message("header", "body")));
+        assertEquals(4, queue.getSize());
+        queue.dequeue();
+        assertTrue(queue.offer(new Message("header", "body")));
+    }
+
+    /**
+     * Method tests that a drain takes the waiting Messages in order up to the maximum, also across the end of the ring.
+     */
+    @Test
+    void testDrain() {
+        List<Message> batch = new ArrayList<>();
+        assertEquals(0, queue.drain(batch, 8));
+        queue.enqueue(new Message("header", "skipped"));
+        queue.dequeue();
+        for (int i = 0; i < queue.getCapacity(); i++) {
+            queue.enqueue(new Message("header", String.valueOf(i)));
+        }
+        assertEquals(3, queue.drain(batch, 3));
+        assertEquals(1, queue.drain(batch, 8));
+        assertEquals(List.of("0", "1", "2", "3"), batch.stream().map(Message::body).toList());
+        assertEquals(0, queue.getSize());
+        assertTrue(queue.offer(new Message("header", "body")));
+    }
+
+    /**
+     * Method tests that concurrent draining consumers take every Message of a producer exactly once.
+     * @throws InterruptedException Thrown if waiting for the threads is interrupted.
+     */
+    @Test
+    @Timeout(30)
+    void testConcurrentDrain() throws InterruptedException {
+        queue = new RingBufferMessageQueue(1024);
+        int numOfMessages = 20000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < numOfMessages; i++) {
+                queue.enqueue(new Message("header", String.valueOf(i)));
+            }
+        });
+        AtomicInteger numOfDrained = new AtomicInteger();
+        List<List<Message>> batches = List.of(new ArrayList<>(), new ArrayList<>());
+        List<Thread> consumers = new ArrayList<>();
+        for (List<Message> batch : batches) {
+            consumers.add(new Thread(() -> {
+                while (numOfDrained.get() < numOfMessages) {
+                    numOfDrained.addAndGet(queue.drain(batch, 3));
+                }
+            }));
+        }
+        producer.start();
+        consumers.forEach(Thread::start);
+        producer.join();
+        for (Thread consumer : consumers) {
+            consumer.join(10000);
+        }
+        boolean[] received = new boolean[numOfMessages];
+        for (List<Message> batch : batches) {
+            for (Message message : batch) {
+                int body = Integer.parseInt(message.body());
+                assertFalse(received[body]);
+                received[body] = true;
+            }
+        }
+        assertEquals(numOfMessages, batches.get(0).size() + batches.get(1).size());
+    }
+
+    /**
+     * Method tests that Messages of concurrent producers are all dequeued exactly once and in order per producer.
+     * @throws InterruptedException Thrown if waiting for the producers is interrupted.
+     */
+    @Test
+    @Timeout(30)
+    void testConcurrentProducers() throws InterruptedException {
+        queue = new RingBufferMessageQueue(1024);
+        int producers = 4;
+        int messagesPerProducer = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String header = String.valueOf(p);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < messagesPerProducer; i++) {
+                    queue.enqueue(new Message(header, String.valueOf(i)));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] nextBody = new int[producers];
+        int received = 0;
+        while (received < producers * messagesPerProducer) {
+            Message message = queue.dequeue(100, TimeUnit.MILLISECONDS);
+            if (message != null) {
+                int producer = Integer.parseInt(message.header());
+                assertEquals(nextBody[producer]++, Integer.parseInt(message.body()));
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(queue.dequeue());
+    }
+
+    /**
+     * Method tests that a producer blocked on a full ring resumes once a slot is freed.
+     * @throws InterruptedException Thrown if waiting for the producer is interrupted.
+     */
+    @Test
+    @Timeout(10)
+    void testEnqueueFull() throws InterruptedException {
+        for (int i = 0; i < queue.getCapacity(); i++) {
+            queue.enqueue(new Message("header", String.valueOf(i)));
+        }
+        Thread producer = new Thread(() -> queue.enqueue(new Message("header", "last")));
+        producer.start();
+        producer.join(50);
+        assertTrue(producer.isAlive());
+
+        assertEquals("0", queue.dequeue().body());
+        producer.join();
+        assertEquals(4, queue.getSize());
+    }
+}
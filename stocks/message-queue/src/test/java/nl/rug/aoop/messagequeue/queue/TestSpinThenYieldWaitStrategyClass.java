@@ -0,0 +1,49 @@
+package nl.rug.aoop.messagequeue.queue;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestSpinThenYieldWaitStrategyClass tests the SpinThenYieldWaitStrategy class and the creation of wait
+ * strategies by name.
+ */
+public class TestSpinThenYieldWaitStrategyClass {
+
+    /**
+     * Method tests that the source is checked while spinning and after yielding until it returns a Message.
+     */
+    @Test
+    void testWaitFor() throws InterruptedException {
+        Message message = new Message("header", "body");
+        AtomicInteger checks = new AtomicInteger();
+        SpinThenYieldWaitStrategy waitStrategy = new SpinThenYieldWaitStrategy(5);
+        assertEquals(message, waitStrategy.waitFor(() -> checks.incrementAndGet() < 10 ? null : message,
+                Long.MAX_VALUE));
+        assertEquals(10, checks.get());
+        assertThrows(IllegalArgumentException.class, () -> new SpinThenYieldWaitStrategy(-1));
+    }
+
+    /**
+     * Method tests that waiting stops once the timeout elapsed.
+     */
+    @Test
+    void testTimeout() throws InterruptedException {
+        assertNull(new SpinThenYieldWaitStrategy().waitFor(() -> null, 1_000_000));
+    }
+
+    /**
+     * Method tests that wait strategies are created by their name.
+     */
+    @Test
+    void testFromName() {
+        assertInstanceOf(BlockingWaitStrategy.class, WaitStrategy.fromName(null));
+        assertInstanceOf(BlockingWaitStrategy.class, WaitStrategy.fromName("blocking"));
+        assertInstanceOf(ParkingWaitStrategy.class, WaitStrategy.fromName("Parking"));
+        assertInstanceOf(SpinThenYieldWaitStrategy.class, WaitStrategy.fromName("SPIN"));
+        assertThrows(IllegalArgumentException.class, () -> WaitStrategy.fromName("sleeping"));
+    }
+}
@@ -5,7 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
-import java.util.NoSuchElementException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,4 +99,102 @@ public class TestUnorderedMessageQueueClass {
         assertEquals("third", queue.dequeue().header());
     }
 
+    /**
+     * Method tests that the default timed dequeue returns a waiting Message and times out on an empty queue.
+     */
+    @Test
+    void testTimedDequeue() throws InterruptedException {
+        assertNull(queue.dequeue(1, TimeUnit.MILLISECONDS));
+        Message message = new Message("header", "body");
+        queue.enqueue(message);
+        assertEquals(message, queue.dequeue(1, TimeUnit.MILLISECONDS));
+        queue.enqueue(message);
+        assertEquals(message, queue.take());
+    }
+
+    /**
+     * Method tests that with dozens of producer threads contending for a small queue, every Message is dequeued
+     * exactly once and the Messages of every producer keep their order.
+     * @throws InterruptedException Thrown if waiting for the producers is interrupted.
+     */
+    @Test
+    void testContendedProducers() throws InterruptedException {
+        UnorderedMessageQueue smallQueue = new UnorderedMessageQueue(64);
+        int producers = 48;
+        int messagesPerProducer = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String header = String.valueOf(p);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < messagesPerProducer; i++) {
+                    smallQueue.enqueue(new Message(header, String.valueOf(i)));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+
+        int[] nextBody = new int[producers];
+        for (int received = 0; received < producers * messagesPerProducer; received++) {
+            Message message = smallQueue.take();
+            int producer = Integer.parseInt(message.header());
+            assertEquals(nextBody[producer]++, Integer.parseInt(message.body()));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(smallQueue.dequeue());
+        assertEquals(0, smallQueue.getSize());
+    }
+
+    /**
+     * Method tests that contending producers and consumers together dequeue every Message exactly once.
+     * @throws InterruptedException Thrown if waiting for the threads is interrupted.
+     */
+    @Test
+    void testContendedConsumers() throws InterruptedException {
+        int producers = 24;
+        int consumers = 4;
+        int messagesPerProducer = 1000;
+        int numOfMessages = producers * messagesPerProducer;
+        AtomicInteger[] timesReceived = new AtomicInteger[numOfMessages];
+        for (int i = 0; i < numOfMessages; i++) {
+            timesReceived[i] = new AtomicInteger();
+        }
+        AtomicInteger numOfReceived = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * messagesPerProducer;
+            threads.add(new Thread(() -> {
+                for (int i = first; i < first + messagesPerProducer; i++) {
+                    queue.enqueue(new Message("header", String.valueOf(i)));
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                while (numOfReceived.get() < numOfMessages) {
+                    Message message = queue.dequeue();
+                    if (message != null) {
+                        timesReceived[Integer.parseInt(message.body())].incrementAndGet();
+                        numOfReceived.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+        for (AtomicInteger times : timesReceived) {
+            assertEquals(1, times.get());
+        }
+    }
 }
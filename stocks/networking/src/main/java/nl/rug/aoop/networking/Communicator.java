@@ -10,6 +10,35 @@ public interface Communicator {
      */
     void sendMessage(String message);
 
+    /**
+     * Method sends a String message without waiting for it to be written, so a slow receiver does not hold up the
+     * sending thread. The default implementation sends it synchronously.
+     * @param message String to be sent.
+     * @return boolean true if the message was sent or queued, false if it was dropped.
+     */
+    default boolean sendMessageAsync(String message) {
+        sendMessage(message);
+        return true;
+    }
+
+    /**
+     * Method retrieves the object attached to the connection, like the state a MessageHandler keeps per connection.
+     * The default implementation holds no attachment.
+     * @return Object attached to the connection, or null if there is none.
+     */
+    default Object getAttachment() {
+        return null;
+    }
+
+    /**
+     * Method attaches an object to the connection, replacing the previous one.
+     * @param attachment Object to be attached, or null to detach it.
+     * @throws UnsupportedOperationException if the implementation holds no attachment.
+     */
+    default void setAttachment(Object attachment) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("This Communicator holds no attachment.");
+    }
+
     /**
      * Method terminates the implementation.
      */
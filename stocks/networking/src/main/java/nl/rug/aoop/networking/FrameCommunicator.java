@@ -0,0 +1,15 @@
+package nl.rug.aoop.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface FrameCommunicator that allows sending of frames of bytes besides String messages.
+ */
+public interface FrameCommunicator extends Communicator {
+    /**
+     * Method sends the remaining bytes of a number of buffers as a single frame, with a gather write and without
+     * copying them. The buffers must not be changed until the frame is written.
+     * @param parts ByteBuffer[] parts of the frame, in order.
+     */
+    void sendFrame(ByteBuffer... parts);
+}
@@ -0,0 +1,31 @@
+package nl.rug.aoop.networking;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Interface FrameHandler that handles frames of bytes, the buffer variant of a MessageHandler. A decoder can parse the
+ * frame straight from the buffer, without creating a String for it first.
+ */
+public interface FrameHandler {
+    /**
+     * Method handles a frame.
+     * @param frame ByteBuffer read-only slice holding the frame. It shares the read buffer of the connection, so it is
+     *              only valid until the method returns.
+     * @param out FrameCommunicator that allows a response to be sent back.
+     */
+    void handleFrame(ByteBuffer frame, FrameCommunicator out);
+
+    /**
+     * Method adapts a MessageHandler to a FrameHandler that decodes every frame as a UTF-8 String.
+     * @param messageHandler MessageHandler that handles the Strings.
+     * @return FrameHandler that passes the decoded frames to the MessageHandler.
+     */
+    static FrameHandler of(MessageHandler messageHandler) {
+        requireNonNull(messageHandler, "MessageHandler can't be null.");
+        return (ByteBuffer frame, FrameCommunicator out) ->
+                messageHandler.handleMessage(StandardCharsets.UTF_8.decode(frame).toString(), out);
+    }
+}
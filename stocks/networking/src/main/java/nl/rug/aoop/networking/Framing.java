@@ -0,0 +1,34 @@
+package nl.rug.aoop.networking;
+
+import java.util.Locale;
+
+/**
+ * Enum Framing is the way a NioServer splits the bytes of a connection into messages, called frames.
+ */
+public enum Framing {
+    /**
+     * Every frame is a line ended by a newline, optionally preceded by a carriage return. A frame can't contain a
+     * newline, and an empty line closes the connection.
+     */
+    LINE,
+    /**
+     * Every frame is a four-byte big-endian length followed by that many bytes, so a frame can hold any bytes,
+     * including newlines and binary data. An empty frame closes the connection.
+     */
+    LENGTH_PREFIXED;
+
+    /**
+     * Maximum length of a frame in bytes, in either Framing; a longer frame closes the connection.
+     */
+    public static final int MAX_FRAME_LENGTH = 64 << 20;
+
+    /**
+     * Method retrieves a Framing by its case-insensitive name: line or length_prefixed.
+     * @param name String name of the Framing, or null for LINE.
+     * @return Framing with the name.
+     * @throws IllegalArgumentException if there is no Framing with the name.
+     */
+    public static Framing fromName(String name) throws IllegalArgumentException {
+        return name == null ? LINE : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,205 @@
+package nl.rug.aoop.networking;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.PrintWriter;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class OutboundQueue holds the messages of a connection that were sent asynchronously but not written yet. The
+ * sending thread only queues a message; a thread of the Executor writes every queued message to the PrintWriter and
+ * flushes once per batch, so a burst of messages costs a single write to the socket, and a slow reader only holds up
+ * the writing thread of its own connection. Once the queue holds its high-water mark of unwritten messages, the
+ * SlowConsumerPolicy drops the new message or disconnects the connection.
+ * Messages sent synchronously are written and flushed on the sending thread, possibly before queued ones.
+ */
+@Slf4j
+public class OutboundQueue {
+    /**
+     * Default maximum number of unwritten messages.
+     */
+    public static final int DEFAULT_HIGH_WATER_MARK = 1024;
+    /**
+     * Executor of the writing threads shared by the OutboundQueues that were not given one.
+     */
+    private static final Executor DEFAULT_EXECUTOR = ThreadMode.PLATFORM.newExecutor("outbound");
+    /**
+     * PrintWriter of the connection; it is also the lock that keeps the written messages whole.
+     */
+    private final PrintWriter out;
+    /**
+     * Communicator of the connection, which is terminated if it consumes too slowly or writing fails.
+     */
+    private final Communicator connection;
+    /**
+     * Executor that runs the writes.
+     */
+    private final Executor executor;
+    /**
+     * int maximum number of unwritten messages.
+     */
+    @Getter
+    private final int highWaterMark;
+    /**
+     * SlowConsumerPolicy applied to a message that is sent while the queue is at its high-water mark.
+     */
+    @Getter
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    /**
+     * Queue of the messages that were not written yet.
+     */
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    /**
+     * AtomicInteger number of unwritten messages, including the batch being written.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * AtomicBoolean shows whether a write is scheduled on the Executor.
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    /**
+     * LongAdder number of dropped messages.
+     */
+    private final LongAdder numOfDropped = new LongAdder();
+    /**
+     * LongAdder number of flushed batches.
+     */
+    private final LongAdder numOfBatches = new LongAdder();
+    /**
+     * boolean shows whether the OutboundQueue is closed.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor for the OutboundQueue with the shared Executor, the default high-water mark, and DISCONNECT.
+     * @param out PrintWriter of the connection, without automatic flushing.
+     * @param connection Communicator of the connection.
+     */
+    public OutboundQueue(PrintWriter out, Communicator connection) {
+        this(out, connection, DEFAULT_EXECUTOR, DEFAULT_HIGH_WATER_MARK, SlowConsumerPolicy.DISCONNECT);
+    }
+
+    /**
+     * Constructor for the OutboundQueue.
+     * @param out PrintWriter of the connection, without automatic flushing.
+     * @param connection Communicator of the connection.
+     * @param executor Executor that runs the writes.
+     * @param highWaterMark int maximum number of unwritten messages.
+     * @param slowConsumerPolicy SlowConsumerPolicy applied to a message sent while the queue is full.
+     */
+    public OutboundQueue(PrintWriter out, Communicator connection, Executor executor, int highWaterMark,
+                         SlowConsumerPolicy slowConsumerPolicy) {
+        this.out = requireNonNull(out, "PrintWriter can't be null.");
+        this.connection = requireNonNull(connection, "Communicator can't be null.");
+        this.executor = requireNonNull(executor, "Executor can't be null.");
+        this.slowConsumerPolicy = requireNonNull(slowConsumerPolicy, "Slow consumer policy can't be null.");
+        if (highWaterMark <= 0) {
+            throw new IllegalArgumentException("High-water mark must be positive.");
+        }
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * Method writes and flushes a message on the calling thread.
+     * @param message String to be sent.
+     */
+    public void send(String message) {
+        synchronized (out) {
+            out.println(message);
+            out.flush();
+        }
+    }
+
+    /**
+     * Method queues a message to be written by the Executor, applying the SlowConsumerPolicy if the queue is at its
+     * high-water mark.
+     * @param message String to be sent.
+     * @return boolean true if the message was queued, false if it was dropped or the OutboundQueue is closed.
+     */
+    public boolean offer(String message) {
+        if (closed) {
+            return false;
+        }
+        if (size.incrementAndGet() > highWaterMark) {
+            size.decrementAndGet();
+            numOfDropped.increment();
+            if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+                log.warn("Disconnecting a slow consumer with " + highWaterMark + " unwritten messages.");
+                connection.terminate();
+            }
+            return false;
+        }
+        pending.add(message);
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Method closes the OutboundQueue, dropping the unwritten messages.
+     */
+    public void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    /**
+     * Method retrieves the number of unwritten messages.
+     * @return int number of unwritten messages.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Method retrieves the number of messages dropped because the queue was at its high-water mark.
+     * @return long number of dropped messages.
+     */
+    public long getNumOfDropped() {
+        return numOfDropped.sum();
+    }
+
+    /**
+     * Method retrieves the number of batches that were written and flushed.
+     * @return long number of batches.
+     */
+    public long getNumOfBatches() {
+        return numOfBatches.sum();
+    }
+
+    /**
+     * Method writes every queued message and flushes them at once, on the Executor. It terminates the connection if
+     * writing failed.
+     */
+    private void flush() {
+        int written = 0;
+        synchronized (out) {
+            String message = pending.poll();
+            while (message != null) {
+                out.println(message);
+                written++;
+                message = pending.poll();
+            }
+            out.flush();
+        }
+        size.addAndGet(-written);
+        numOfBatches.increment();
+        if (out.checkError() && !closed) {
+            log.error("Failed to write to the connection, disconnecting it.");
+            connection.terminate();
+        }
+        flushScheduled.set(false);
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+}
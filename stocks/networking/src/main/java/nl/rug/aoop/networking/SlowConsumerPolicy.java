@@ -0,0 +1,28 @@
+package nl.rug.aoop.networking;
+
+import java.util.Locale;
+
+/**
+ * Enum SlowConsumerPolicy decides what an OutboundQueue, or a connection of a NioServer, does with a message that is
+ * sent while it holds its high-water mark of unwritten messages, because the other side reads too slowly.
+ */
+public enum SlowConsumerPolicy {
+    /**
+     * The message is dropped, and the connection stays open.
+     */
+    DROP,
+    /**
+     * The connection is closed, which drops the message and every unwritten message before it.
+     */
+    DISCONNECT;
+
+    /**
+     * Method retrieves a SlowConsumerPolicy by its case-insensitive name: drop or disconnect.
+     * @param name String name of the SlowConsumerPolicy, or null for DISCONNECT.
+     * @return SlowConsumerPolicy with the name.
+     * @throws IllegalArgumentException if there is no SlowConsumerPolicy with the name.
+     */
+    public static SlowConsumerPolicy fromName(String name) throws IllegalArgumentException {
+        return name == null ? DISCONNECT : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
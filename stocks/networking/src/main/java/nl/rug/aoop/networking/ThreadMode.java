@@ -0,0 +1,95 @@
+package nl.rug.aoop.networking;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enum ThreadMode decides on which threads the blocking connection loops, of a ClientHandler or a Client, run.
+ * Platform threads are pooled, so the threads of closed connections are reused. Virtual threads are cheap enough to
+ * run tens of thousands of blocking connections at once; they are created through reflection, as they need JDK 21
+ * while the application is built for JDK 17, and an older runtime falls back to platform threads.
+ */
+@Slf4j
+public enum ThreadMode {
+    /**
+     * Every task runs on a pooled platform thread.
+     */
+    PLATFORM,
+    /**
+     * Every task runs on a new virtual thread, or on a pooled platform thread if the runtime has none.
+     */
+    VIRTUAL;
+
+    /**
+     * Method retrieves a ThreadMode by its case-insensitive name: platform or virtual.
+     * @param name String name of the ThreadMode, or null for PLATFORM.
+     * @return ThreadMode with the name.
+     * @throws IllegalArgumentException if there is no ThreadMode with the name.
+     */
+    public static ThreadMode fromName(String name) throws IllegalArgumentException {
+        return name == null ? PLATFORM : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Method checks whether the runtime supports virtual threads.
+     * @return true if virtual threads can be created.
+     */
+    public static boolean isVirtualSupported() {
+        return newVirtualThreadFactory("probe-") != null;
+    }
+
+    /**
+     * Method creates an ExecutorService that runs every task on a thread of the ThreadMode. The threads are named
+     * after a prefix and a counter.
+     * @param name String prefix of the names of the threads.
+     * @return New ExecutorService.
+     */
+    public ExecutorService newExecutor(String name) {
+        if (this == VIRTUAL) {
+            ThreadFactory factory = newVirtualThreadFactory(name + "-");
+            if (factory != null) {
+                return newThreadPerTaskExecutor(factory);
+            }
+            log.warn("Virtual threads are not supported by this runtime, falling back to platform threads.");
+        }
+        AtomicInteger numOfThreads = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> new Thread(task, name + "-" + numOfThreads.getAndIncrement()));
+    }
+
+    /**
+     * Method creates a ThreadFactory of virtual threads through Thread.ofVirtual.
+     * @param prefix String prefix of the names of the threads.
+     * @return ThreadFactory of virtual threads, or null if the runtime does not support them.
+     */
+    private static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Method creates an ExecutorService that starts a new thread of a ThreadFactory for every task, through
+     * Executors.newThreadPerTaskExecutor.
+     * @param factory ThreadFactory of the threads.
+     * @return New ExecutorService.
+     * @throws IllegalStateException if the runtime does not support it.
+     */
+    private static ExecutorService newThreadPerTaskExecutor(ThreadFactory factory) throws IllegalStateException {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create a thread-per-task executor.", e);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package nl.rug.aoop.networking.client;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.networking.Communicator;
 import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.networking.OutboundQueue;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -16,6 +18,7 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Class Client that implements Runnable and Communicator. It communicates to the Server, or rather, it's ClientHandler.
+ * Messages sent asynchronously go through an OutboundQueue, which writes them in batches on another thread.
  */
 @Slf4j
 public class Client implements Runnable, Communicator {
@@ -28,6 +31,11 @@ public class Client implements Runnable, Communicator {
      * PrintWriter that wraps the Client's Socket's outputStream.
      */
     private PrintWriter out;
+    /**
+     * OutboundQueue of the messages sent asynchronously.
+     */
+    @Getter
+    private OutboundQueue outboundQueue;
     /**
      * BufferedReader that wraps the Client's Socket's inputStream.
      */
@@ -50,6 +58,12 @@ public class Client implements Runnable, Communicator {
      */
     @Getter
     private boolean connected = false;
+    /**
+     * Object attached to the connection, like the WireFormat negotiated on it.
+     */
+    @Getter
+    @Setter
+    private volatile Object attachment;
 
     /**
      * Constructor for Client.
@@ -72,7 +86,8 @@ public class Client implements Runnable, Communicator {
         socket.connect(address, TIMEOUT);
 
         in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        out = new PrintWriter(socket.getOutputStream(), true);
+        out = new PrintWriter(socket.getOutputStream());
+        outboundQueue = new OutboundQueue(out, this);
 
         if (!socket.isConnected()) {
             throw new IOException("Socket not connected.");
@@ -91,7 +106,21 @@ public class Client implements Runnable, Communicator {
         if (message == null || message.equals("")) {
             throw new IllegalArgumentException("Attempting to send an invalid message.");
         }
-        out.println(message);
+        outboundQueue.send(message);
+    }
+
+    /**
+     * Method queues a String message to be sent to the Server by the OutboundQueue.
+     * @param message String to be sent.
+     * @return boolean true if the message was queued, false if it was dropped.
+     * @throws IllegalArgumentException Thrown if the message to be sent is invalid.
+     */
+    @Override
+    public boolean sendMessageAsync(String message) throws IllegalArgumentException {
+        if (message == null || message.equals("")) {
+            throw new IllegalArgumentException("Attempting to send an invalid message.");
+        }
+        return outboundQueue.offer(message);
     }
 
     /**
@@ -121,6 +150,7 @@ public class Client implements Runnable, Communicator {
     public void terminate() {
         log.info("Attempting to terminate Client.");
         running = false;
+        outboundQueue.close();
         try {
             socket.close();
             log.info("Client has been terminated.");
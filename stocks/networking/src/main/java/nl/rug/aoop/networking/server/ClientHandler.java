@@ -1,18 +1,31 @@
 package nl.rug.aoop.networking.server;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.networking.Communicator;
 import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.networking.OutboundQueue;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Class ClientHandler that implements Runnable and Communicator and that handles a single Client.
+ * Messages sent asynchronously go through an OutboundQueue, which writes them in batches on another thread and
+ * protects the sender from a Client that reads too slowly.
+ * It reads the next message only once the MessageHandler handled the previous one. A MessageHandler that blocks, for
+ * example on a full message queue, therefore stops the ClientHandler from reading, and TCP flow control then throttles
+ * the Client.
+ * A ClientHandler terminates once its Client disconnects, reading fails, or the Socket's read timeout expires because
+ * the Client was idle, and then notifies its owner, for example a ClientRegistry, exactly once.
  */
 @Slf4j
 public class ClientHandler implements Runnable, Communicator {
@@ -25,6 +38,11 @@ public class ClientHandler implements Runnable, Communicator {
      * PrintWriter that wraps the Socket's outputStream.
      */
     private final PrintWriter out;
+    /**
+     * OutboundQueue of the messages sent asynchronously.
+     */
+    @Getter
+    private final OutboundQueue outboundQueue;
     /**
      * BufferedReader that wraps the Socket's inputStream.
      */
@@ -34,16 +52,40 @@ public class ClientHandler implements Runnable, Communicator {
      */
     @Getter
     private final MessageHandler messageHandler;
+    /**
+     * long id of the connection.
+     */
+    @Getter
+    private final long id;
+    /**
+     * Runnable run once the ClientHandler terminates.
+     */
+    private final Runnable onTerminate;
+    /**
+     * AtomicBoolean that shows if the ClientHandler has terminated.
+     */
+    private final AtomicBoolean terminated = new AtomicBoolean();
     /**
      * boolean that shows if the ClientHandler is running or not.
      */
     @Getter
-    private boolean running = false;
+    private volatile boolean running = false;
     /**
      * boolean that shows if the ClientHandler is connected or not.
      */
     @Getter
-    private boolean connected = false;
+    private volatile boolean connected = false;
+    /**
+     * boolean that shows if the ClientHandler terminated because the Client was idle.
+     */
+    @Getter
+    private volatile boolean idleTimedOut = false;
+    /**
+     * Object attached to the connection, like the WireFormat negotiated on it.
+     */
+    @Getter
+    @Setter
+    private volatile Object attachment;
 
     /**
      * Constructor for ClientHandler.
@@ -53,31 +95,43 @@ public class ClientHandler implements Runnable, Communicator {
      * @throws IOException Thrown if connecting the Socket fails.
      */
     public ClientHandler(Socket socket, MessageHandler messageHandler) throws IOException {
+        this(socket, messageHandler, 0, () -> { });
+    }
+
+    /**
+     * Constructor for ClientHandler with an id and a Runnable run once it terminates.
+     *
+     * @param socket         Socket through which the ClientHandler communicates with the Client.
+     * @param messageHandler MessageHandler that handles incoming Messages.
+     * @param id             long id of the connection.
+     * @param onTerminate    Runnable run once the ClientHandler terminates.
+     * @throws IOException Thrown if connecting the Socket fails.
+     */
+    public ClientHandler(Socket socket, MessageHandler messageHandler, long id, Runnable onTerminate)
+            throws IOException {
         this.socket = socket;
         this.messageHandler = messageHandler;
-        out = new PrintWriter(socket.getOutputStream(), true);
+        this.id = id;
+        this.onTerminate = requireNonNull(onTerminate, "Termination callback can't be null.");
+        out = new PrintWriter(socket.getOutputStream());
+        outboundQueue = new OutboundQueue(out, this);
         in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
         connected = true;
     }
 
     /**
-     * Method starts the ClientHandler.
+     * Method starts the ClientHandler. It terminates the ClientHandler when it returns, also if the MessageHandler
+     * throws.
      */
     @Override
     public void run() {
         running = true;
-        while (running) {
-            try {
-                String clientMessage = in.readLine();
-                if (clientMessage == null || clientMessage.equals("")) {
-                    terminate();
-                    break;
-                }
-                //log.info("Handling message: " + clientMessage);
-                messageHandler.handleMessage(clientMessage, this);
-            } catch (IOException e) {
-                log.error("Anq error has occurred while trying to accept a client connection.", e);
+        try {
+            while (running) {
+                handleNextMessage();
             }
+        } finally {
+            terminate();
         }
     }
 
@@ -92,21 +146,67 @@ public class ClientHandler implements Runnable, Communicator {
         if (message == null || message.equals("")) {
             throw new IllegalArgumentException("Attempting to send an invalid message.");
         }
-        out.println(message);
+        outboundQueue.send(message);
     }
 
     /**
-     * Method terminates the ClientHandler.
+     * Method queues a String message to be sent to the Client by the OutboundQueue.
+     *
+     * @param message String to be sent.
+     * @return boolean true if the message was queued, false if it was dropped.
+     * @throws IllegalArgumentException Thrown if message to be sent is invalid.
+     */
+    @Override
+    public boolean sendMessageAsync(String message) throws IllegalArgumentException {
+        if (message == null || message.equals("")) {
+            throw new IllegalArgumentException("Attempting to send an invalid message.");
+        }
+        return outboundQueue.offer(message);
+    }
+
+    /**
+     * Method terminates the ClientHandler, unless it terminated already.
      */
     @Override
     public void terminate() {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
         log.info("Attempting to terminate ClientHandler.");
         running = false;
+        connected = false;
+        outboundQueue.close();
         try {
             socket.close();
             log.info("ClientHandler has been terminated.");
         } catch (IOException e) {
             log.error("Cannot close the Socket.", e);
         }
+        onTerminate.run();
+    }
+
+    /**
+     * Method reads the next message and passes it to the MessageHandler, or stops the ClientHandler if the Client
+     * disconnected or was idle for longer than the read timeout of the Socket.
+     */
+    private void handleNextMessage() {
+        try {
+            String clientMessage = in.readLine();
+            if (clientMessage == null || clientMessage.equals("")) {
+                running = false;
+                return;
+            }
+            //log.info("Handling message: " + clientMessage);
+            messageHandler.handleMessage(clientMessage, this);
+        } catch (SocketTimeoutException e) {
+            log.info("Closing idle connection " + id + ".");
+            idleTimedOut = true;
+            running = false;
+        } catch (IOException e) {
+            if (running) {
+                log.error("An error has occurred while reading from the client.", e);
+                running = false;
+            }
+        }
     }
 }
@@ -0,0 +1,131 @@
+package nl.rug.aoop.networking.server;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.networking.MessageHandler;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class ClientRegistry holds the ClientHandlers of the connected Clients of a Server by their connection id. Every
+ * ClientHandler removes itself from the registry once it terminates, whether the Client disconnected, was idle for too
+ * long or the Server shut down, so the registry only references open connections however many come and go. It counts
+ * the accepted and disconnected connections and the idle timeouts. It is safe to use from any thread.
+ */
+@Slf4j
+public class ClientRegistry {
+    /**
+     * Map(Long, ClientHandler) of the ClientHandlers of the open connections by their id.
+     */
+    private final Map<Long, ClientHandler> clientHandlers = new ConcurrentHashMap<>();
+    /**
+     * AtomicLong id of the last registered connection.
+     */
+    private final AtomicLong lastId = new AtomicLong();
+    /**
+     * LongAdder number of registered connections.
+     */
+    private final LongAdder numOfAccepted = new LongAdder();
+    /**
+     * LongAdder number of connections that were closed.
+     */
+    private final LongAdder numOfDisconnected = new LongAdder();
+    /**
+     * LongAdder number of connections that were closed because they were idle.
+     */
+    private final LongAdder numOfIdleTimeouts = new LongAdder();
+
+    /**
+     * Method creates a ClientHandler for a connection with a new id and registers it until it terminates.
+     * @param socket Socket of the connection.
+     * @param messageHandler MessageHandler that handles incoming Messages.
+     * @return ClientHandler of the connection.
+     * @throws IOException Thrown if connecting the Socket fails.
+     */
+    public ClientHandler register(Socket socket, MessageHandler messageHandler) throws IOException {
+        long id = lastId.incrementAndGet();
+        ClientHandler clientHandler = new ClientHandler(socket, messageHandler, id, () -> unregister(id));
+        clientHandlers.put(id, clientHandler);
+        numOfAccepted.increment();
+        return clientHandler;
+    }
+
+    /**
+     * Method retrieves the ClientHandler of an open connection.
+     * @param id long id of the connection.
+     * @return ClientHandler of the connection, or null if it is not open.
+     */
+    public ClientHandler get(long id) {
+        return clientHandlers.get(id);
+    }
+
+    /**
+     * Method retrieves the ClientHandlers of the open connections.
+     * @return Collection(ClientHandler) unmodifiable live view of the ClientHandlers.
+     */
+    public Collection<ClientHandler> getClientHandlers() {
+        return Collections.unmodifiableCollection(clientHandlers.values());
+    }
+
+    /**
+     * Method retrieves the number of open connections.
+     * @return int number of open connections.
+     */
+    public int getNumOfConnected() {
+        return clientHandlers.size();
+    }
+
+    /**
+     * Method retrieves the number of connections that were registered.
+     * @return long number of accepted connections.
+     */
+    public long getNumOfAccepted() {
+        return numOfAccepted.sum();
+    }
+
+    /**
+     * Method retrieves the number of connections that were closed.
+     * @return long number of closed connections.
+     */
+    public long getNumOfDisconnected() {
+        return numOfDisconnected.sum();
+    }
+
+    /**
+     * Method retrieves the number of connections that were closed because they were idle.
+     * @return long number of idle timeouts.
+     */
+    public long getNumOfIdleTimeouts() {
+        return numOfIdleTimeouts.sum();
+    }
+
+    /**
+     * Method terminates the ClientHandlers of all open connections, which removes them from the registry.
+     */
+    public void terminateAll() {
+        log.info("Terminating " + clientHandlers.size() + " ClientHandlers.");
+        for (ClientHandler clientHandler : clientHandlers.values()) {
+            clientHandler.terminate();
+        }
+    }
+
+    /**
+     * Method removes the ClientHandler of a connection that terminated.
+     * @param id long id of the connection.
+     */
+    private void unregister(long id) {
+        ClientHandler clientHandler = clientHandlers.remove(id);
+        if (clientHandler != null) {
+            numOfDisconnected.increment();
+            if (clientHandler.isIdleTimedOut()) {
+                numOfIdleTimeouts.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package nl.rug.aoop.networking.server;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.networking.FrameHandler;
+import nl.rug.aoop.networking.Framing;
+import nl.rug.aoop.networking.SlowConsumerPolicy;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class EventLoop that implements Runnable. It owns a Selector and handles the reads and writes of every
+ * NioConnection registered with it on its own thread. Other threads hand work to the EventLoop as a task, which it
+ * runs on its thread after waking up its Selector, so the Selector and the SelectionKeys are only touched by the
+ * EventLoop.
+ */
+@Slf4j
+final class EventLoop implements Runnable {
+    /**
+     * Selector that multiplexes the connections.
+     */
+    private final Selector selector;
+    /**
+     * FrameHandler that handles incoming frames.
+     */
+    private final FrameHandler frameHandler;
+    /**
+     * Framing of the connections.
+     */
+    private final Framing framing;
+    /**
+     * int maximum number of unwritten frames of a connection.
+     */
+    private final int highWaterMark;
+    /**
+     * SlowConsumerPolicy applied to a frame that is sent while a connection is at its high-water mark.
+     */
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    /**
+     * Queue of tasks to be run on the EventLoop.
+     */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /**
+     * AtomicInteger number of open connections.
+     */
+    private final AtomicInteger numOfConnections = new AtomicInteger();
+    /**
+     * boolean shows whether the EventLoop is running or not.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Constructor for the EventLoop.
+     * @param frameHandler FrameHandler that handles incoming frames.
+     * @param framing Framing of the connections.
+     * @param highWaterMark int maximum number of unwritten frames of a connection.
+     * @param slowConsumerPolicy SlowConsumerPolicy applied to a frame sent while a connection is full.
+     * @throws IOException Thrown if opening the Selector fails.
+     */
+    EventLoop(FrameHandler frameHandler, Framing framing, int highWaterMark, SlowConsumerPolicy slowConsumerPolicy)
+            throws IOException {
+        this.frameHandler = frameHandler;
+        this.framing = framing;
+        this.highWaterMark = highWaterMark;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Method selects the ready connections and handles them until the EventLoop is terminated, then closes them.
+     */
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                handleSelectedKeys();
+            }
+        } catch (IOException e) {
+            log.error("An error has occurred while selecting connections.", e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Method registers a connected, non-blocking SocketChannel with the EventLoop.
+     * @param channel SocketChannel of the connection.
+     */
+    void register(SocketChannel channel) {
+        execute(() -> {
+            try {
+                NioConnection connection = new NioConnection(channel, this);
+                connection.setKey(channel.register(selector, SelectionKey.OP_READ, connection));
+                numOfConnections.incrementAndGet();
+            } catch (IOException e) {
+                log.error("Cannot register the connection.", e);
+            }
+        });
+    }
+
+    /**
+     * Method runs a task on the EventLoop.
+     * @param task Runnable to be run.
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Method retrieves the FrameHandler of the EventLoop.
+     * @return FrameHandler that handles incoming frames.
+     */
+    FrameHandler getFrameHandler() {
+        return frameHandler;
+    }
+
+    /**
+     * Method retrieves the Framing of the connections of the EventLoop.
+     * @return Framing of the connections.
+     */
+    Framing getFraming() {
+        return framing;
+    }
+
+    /**
+     * Method retrieves the maximum number of unwritten frames of a connection of the EventLoop.
+     * @return int high-water mark of the connections.
+     */
+    int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Method retrieves the SlowConsumerPolicy of the connections of the EventLoop.
+     * @return SlowConsumerPolicy of the connections.
+     */
+    SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
+    }
+
+    /**
+     * Method retrieves the number of open connections of the EventLoop.
+     * @return int number of open connections.
+     */
+    int getNumOfConnections() {
+        return numOfConnections.get();
+    }
+
+    /**
+     * Method records that a connection of the EventLoop was closed.
+     */
+    void connectionClosed() {
+        numOfConnections.decrementAndGet();
+    }
+
+    /**
+     * Method terminates the EventLoop, which closes all its connections.
+     */
+    void terminate() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Method runs the tasks handed to the EventLoop.
+     */
+    private void runTasks() {
+        Runnable task = tasks.poll();
+        while (task != null) {
+            task.run();
+            task = tasks.poll();
+        }
+    }
+
+    /**
+     * Method reads and writes the connections that are ready.
+     */
+    private void handleSelectedKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            NioConnection connection = (NioConnection) key.attachment();
+            if (key.isValid() && key.isReadable()) {
+                connection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+        }
+    }
+
+    /**
+     * Method closes all connections and the Selector.
+     */
+    private void close() {
+        for (SelectionKey key : selector.keys()) {
+            ((NioConnection) key.attachment()).terminate();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.error("Cannot close the Selector.", e);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package nl.rug.aoop.networking.server;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.networking.FrameCommunicator;
+import nl.rug.aoop.networking.Framing;
+import nl.rug.aoop.networking.SlowConsumerPolicy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class NioConnection that implements FrameCommunicator and that handles a single Client of a NioServer on an
+ * EventLoop. It reads into a reusable direct buffer, splits the bytes into frames as its Framing decides, and passes
+ * every frame to the FrameHandler in order as a slice of that buffer, so no bytes are copied or decoded on the way.
+ * Any thread can send a frame: it is queued, and the EventLoop writes the queued frames with gather writes until the
+ * socket accepts no more, then waits until the socket is writable again. Like an OutboundQueue, it holds at most
+ * the high-water mark of its EventLoop of unwritten frames; a frame sent beyond it is dropped, and with the
+ * DISCONNECT SlowConsumerPolicy the connection is closed, so a Client that reads too slowly can't exhaust the memory.
+ * An empty frame or a frame the FrameHandler fails on closes the connection, as it stops a ClientHandler.
+ */
+@Slf4j
+final class NioConnection implements FrameCommunicator {
+    /**
+     * Initial size of the read buffer in bytes; it grows to fit longer frames.
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * Maximum number of queued frames written with a single gather write.
+     */
+    private static final int MAX_BATCH = 64;
+    /**
+     * ByteBuffer holding the newline that ends a frame with LINE framing.
+     */
+    private static final ByteBuffer NEWLINE = ByteBuffer.wrap(new byte[] {'\n'}).asReadOnlyBuffer();
+    /**
+     * SocketChannel of the connection.
+     */
+    private final SocketChannel channel;
+    /**
+     * EventLoop that handles the connection.
+     */
+    private final EventLoop eventLoop;
+    /**
+     * Framing of the connection.
+     */
+    private final Framing framing;
+    /**
+     * Queue of the frames, as their buffers, that were not written yet.
+     */
+    private final Queue<ByteBuffer[]> pendingWrites = new ConcurrentLinkedQueue<>();
+    /**
+     * AtomicInteger number of unwritten frames, including the batch being written.
+     */
+    private final AtomicInteger numOfPending = new AtomicInteger();
+    /**
+     * LongAdder number of frames dropped because the connection was at its high-water mark.
+     */
+    private final LongAdder numOfDropped = new LongAdder();
+    /**
+     * AtomicBoolean shows whether a flush is scheduled on, or waiting for the socket in, the EventLoop.
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    /**
+     * AtomicBoolean shows whether the connection is closed.
+     */
+    private final AtomicBoolean closed = new AtomicBoolean();
+    /**
+     * SelectionKey of the connection in the Selector of the EventLoop.
+     */
+    private SelectionKey key;
+    /**
+     * Direct ByteBuffer holding the bytes read but not handled yet, in write mode.
+     */
+    private ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /**
+     * Read-only view of the read buffer from which the frames are sliced.
+     */
+    private ByteBuffer readView = readBuffer.asReadOnlyBuffer();
+    /**
+     * Buffers of the frames being written by the EventLoop.
+     */
+    private ByteBuffer[] writeBatch = new ByteBuffer[0];
+    /**
+     * int number of frames in the batch being written.
+     */
+    private int writeBatchFrames = 0;
+    /**
+     * Object attached to the connection, like the WireFormat negotiated on it.
+     */
+    @Getter
+    @Setter
+    private volatile Object attachment;
+
+    /**
+     * Constructor for the NioConnection.
+     * @param channel SocketChannel of the connection.
+     * @param eventLoop EventLoop that handles the connection.
+     */
+    NioConnection(SocketChannel channel, EventLoop eventLoop) {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.framing = eventLoop.getFraming();
+    }
+
+    /**
+     * Method sets the SelectionKey of the connection once it is registered.
+     * @param key SelectionKey of the connection.
+     */
+    void setKey(SelectionKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Method queues a String message to be sent to the Client as a UTF-8 frame. It can be called from any thread.
+     * @param message String to be sent.
+     * @throws IllegalArgumentException Thrown if message to be sent is invalid.
+     */
+    @Override
+    public void sendMessage(String message) throws IllegalArgumentException {
+        sendMessageAsync(message);
+    }
+
+    /**
+     * Method queues a String message to be sent to the Client as a UTF-8 frame, as sendMessage does.
+     * @param message String to be sent.
+     * @return boolean true if the message was queued, false if it was dropped or the connection is closed.
+     * @throws IllegalArgumentException Thrown if message to be sent is invalid.
+     */
+    @Override
+    public boolean sendMessageAsync(String message) throws IllegalArgumentException {
+        if (message == null || message.equals("")) {
+            throw new IllegalArgumentException("Attempting to send an invalid message.");
+        }
+        return offer(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Method queues a frame to be sent to the Client, framed as the Framing of the connection. It can be called from
+     * any thread.
+     * @param parts ByteBuffer[] parts of the frame, in order.
+     */
+    @Override
+    public void sendFrame(ByteBuffer... parts) {
+        offer(parts);
+    }
+
+    /**
+     * Method retrieves the number of frames dropped because the connection was at its high-water mark.
+     * @return long number of dropped frames.
+     */
+    long getNumOfDropped() {
+        return numOfDropped.sum();
+    }
+
+    /**
+     * Method queues a frame to be written by the EventLoop, applying the SlowConsumerPolicy if the connection is at
+     * its high-water mark.
+     * @param parts ByteBuffer[] parts of the frame, in order.
+     * @return boolean true if the frame was queued, false if it was dropped or the connection is closed.
+     */
+    private boolean offer(ByteBuffer... parts) {
+        if (closed.get()) {
+            return false;
+        }
+        if (numOfPending.incrementAndGet() > eventLoop.getHighWaterMark()) {
+            numOfPending.decrementAndGet();
+            numOfDropped.increment();
+            if (eventLoop.getSlowConsumerPolicy() == SlowConsumerPolicy.DISCONNECT) {
+                log.warn("Disconnecting a slow consumer with " + eventLoop.getHighWaterMark() + " unwritten frames.");
+                terminate();
+            }
+            return false;
+        }
+        ByteBuffer[] frame = new ByteBuffer[parts.length + 1];
+        if (framing == Framing.LENGTH_PREFIXED) {
+            int length = 0;
+            for (ByteBuffer part : parts) {
+                length += part.remaining();
+            }
+            frame[0] = ByteBuffer.allocate(Integer.BYTES).putInt(0, length);
+            System.arraycopy(parts, 0, frame, 1, parts.length);
+        } else {
+            System.arraycopy(parts, 0, frame, 0, parts.length);
+            frame[parts.length] = NEWLINE.duplicate();
+        }
+        pendingWrites.add(frame);
+        scheduleFlush();
+        return true;
+    }
+
+    /**
+     * Method closes the connection. It can be called from any thread.
+     */
+    @Override
+    public void terminate() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        eventLoop.connectionClosed();
+        try {
+            channel.close();
+            log.info("NioConnection has been terminated.");
+        } catch (IOException e) {
+            log.error("Cannot close the SocketChannel.", e);
+        }
+    }
+
+    /**
+     * Method reads the available bytes and handles every complete frame among them, on the EventLoop.
+     */
+    void read() {
+        try {
+            if (channel.read(readBuffer) < 0) {
+                terminate();
+                return;
+            }
+        } catch (IOException e) {
+            log.error("An error has occurred while reading from the client.", e);
+            terminate();
+            return;
+        }
+        readBuffer.flip();
+        int needed = framing == Framing.LENGTH_PREFIXED ? handleLengthPrefixedFrames() : handleLines();
+        readBuffer.compact();
+        if (needed > readBuffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(needed, readBuffer.capacity() * 2));
+            readBuffer.flip();
+            readBuffer = larger.put(readBuffer);
+            readView = readBuffer.asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * Method writes the queued frames until the queue is empty or the socket accepts no more, on the EventLoop. A
+     * closed connection drops them.
+     */
+    void flush() {
+        try {
+            if (!hasRemaining(writeBatch)) {
+                writeBatch = nextBatch();
+            }
+            while (writeBatch.length > 0) {
+                channel.write(writeBatch);
+                if (hasRemaining(writeBatch)) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                writeBatch = nextBatch();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        } catch (CancelledKeyException e) {
+            return;
+        } catch (IOException e) {
+            log.error("An error has occurred while writing to the client.", e);
+            terminate();
+            return;
+        }
+        flushScheduled.set(false);
+        if (!pendingWrites.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Method schedules a flush on the EventLoop, unless one is scheduled already.
+     */
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(this::flush);
+        }
+    }
+
+    /**
+     * Method takes the buffers of up to MAX_BATCH queued frames, to be written at once, once the previous batch is
+     * written.
+     * @return ByteBuffer[] buffers of the frames, empty if no frame is queued.
+     */
+    private ByteBuffer[] nextBatch() {
+        numOfPending.addAndGet(-writeBatchFrames);
+        List<ByteBuffer> batch = new ArrayList<>();
+        writeBatchFrames = 0;
+        ByteBuffer[] frame = pendingWrites.poll();
+        while (frame != null) {
+            batch.addAll(List.of(frame));
+            writeBatchFrames++;
+            frame = writeBatchFrames < MAX_BATCH ? pendingWrites.poll() : null;
+        }
+        return batch.toArray(new ByteBuffer[0]);
+    }
+
+    /**
+     * Method checks whether any of a number of buffers has bytes left to be written.
+     * @param buffers ByteBuffer[] buffers to be checked.
+     * @return boolean true if a buffer has remaining bytes.
+     */
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method handles every complete line in the read buffer, which is in read mode, and leaves the buffer positioned
+     * at the start of the incomplete rest. A line longer than Framing.MAX_FRAME_LENGTH closes the connection, also
+     * before its newline arrives, so a Client that never ends its line can't grow the read buffer without bound.
+     * @return int number of bytes the read buffer must hold to complete the next frame.
+     */
+    private int handleLines() {
+        int start = readBuffer.position();
+        for (int i = start; i < readBuffer.limit() && !closed.get(); i++) {
+            if (readBuffer.get(i) == '\n') {
+                int end = i > start && readBuffer.get(i - 1) == '\r' ? i - 1 : i;
+                if (!checkLineLength(end - start)) {
+                    return 0;
+                }
+                handleFrame(start, end - start);
+                start = i + 1;
+            }
+        }
+        readBuffer.position(start);
+        if (!checkLineLength(readBuffer.remaining())) {
+            return 0;
+        }
+        return readBuffer.remaining() + 1;
+    }
+
+    /**
+     * Method closes the connection if a line is longer than Framing.MAX_FRAME_LENGTH.
+     * @param length int length of the line, or of the part of it received so far.
+     * @return boolean true if the line is not too long, false if the connection was closed.
+     */
+    private boolean checkLineLength(int length) {
+        if (length > Framing.MAX_FRAME_LENGTH) {
+            log.error("Received a line longer than " + Framing.MAX_FRAME_LENGTH + " bytes, closing the connection.");
+            terminate();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method handles every complete length-prefixed frame in the read buffer, which is in read mode, and leaves the
+     * buffer positioned at the start of the incomplete rest.
+     * @return int number of bytes the read buffer must hold to complete the next frame.
+     */
+    private int handleLengthPrefixedFrames() {
+        while (readBuffer.remaining() >= Integer.BYTES && !closed.get()) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length < 0 || length > Framing.MAX_FRAME_LENGTH) {
+                log.error("Received a frame of invalid length " + length + ", closing the connection.");
+                terminate();
+                return 0;
+            }
+            if (readBuffer.remaining() < Integer.BYTES + length) {
+                return Integer.BYTES + length;
+            }
+            handleFrame(readBuffer.position() + Integer.BYTES, length);
+            readBuffer.position(readBuffer.position() + Integer.BYTES + length);
+        }
+        return Integer.BYTES;
+    }
+
+    /**
+     * Method passes a single frame to the FrameHandler, closing the connection on an empty frame or a failure.
+     * @param position int position of the frame in the read buffer.
+     * @param length int length of the frame.
+     */
+    private void handleFrame(int position, int length) {
+        if (length == 0) {
+            terminate();
+            return;
+        }
+        try {
+            eventLoop.getFrameHandler().handleFrame(readView.slice(position, length), this);
+        } catch (IllegalArgumentException | IllegalStateException | ClassCastException e) {
+            log.error("Failed to handle a message, closing the connection.", e);
+            terminate();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package nl.rug.aoop.networking.server;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.networking.FrameHandler;
+import nl.rug.aoop.networking.Framing;
+import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.networking.OutboundQueue;
+import nl.rug.aoop.networking.SlowConsumerPolicy;
+import nl.rug.aoop.networking.ThreadMode;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class NioServer that implements Runnable. It is the non-blocking counterpart of the Server: instead of a thread per
+ * Client, a small, fixed pool of EventLoops multiplexes all connections with a Selector each. The NioServer accepts the
+ * incoming connections and hands them out to the EventLoops in turn, which read, frame and write them.
+ * With a MessageHandler, the NioServer speaks the same newline-delimited protocol as the Server, and passes every
+ * message to the MessageHandler with a Communicator for the response, so a MessageHandler works unchanged with either
+ * server. With a FrameHandler, it passes every frame as a slice of the read buffer instead, and the Framing may be
+ * LENGTH_PREFIXED, so frames can hold newlines and binary data.
+ * The EventLoops run on threads of a ThreadMode, platform threads by default.
+ * Every connection holds at most a high-water mark of unwritten frames, like an OutboundQueue, and applies a
+ * SlowConsumerPolicy to a frame sent beyond it: by default OutboundQueue.DEFAULT_HIGH_WATER_MARK and DISCONNECT.
+ * The handler is called on the EventLoop of the connection. A MessageHandler that blocks, for example on a full
+ * message queue, therefore stops its EventLoop from reading all of its connections, which throttles those Clients.
+ */
+@Slf4j
+public class NioServer implements Runnable {
+    /**
+     * Default number of EventLoops: half the number of processors, at least one.
+     */
+    public static final int DEFAULT_NUM_OF_EVENT_LOOPS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * ServerSocketChannel that receives incoming connections.
+     */
+    private final ServerSocketChannel serverChannel;
+    /**
+     * Port on which the ServerSocketChannel is listening to.
+     */
+    @Getter
+    private final int port;
+    /**
+     * EventLoops that handle the connections.
+     */
+    private final List<EventLoop> eventLoops;
+    /**
+     * ExecutorService that runs the EventLoops.
+     */
+    private final ExecutorService eventLoopExecutor;
+    /**
+     * AtomicInteger total number of Clients that connected.
+     */
+    private final AtomicInteger numOfClients = new AtomicInteger();
+    /**
+     * boolean shows whether the NioServer is running or not.
+     */
+    @Getter
+    private volatile boolean running = false;
+    /**
+     * boolean shows whether the NioServer is initialized or not.
+     */
+    @Getter
+    private boolean initialized = false;
+
+    /**
+     * Constructor for the NioServer with the default number of EventLoops.
+     * @param port Port to which the ServerSocketChannel is bound.
+     * @param messageHandler MessageHandler that handles incoming Messages.
+     * @throws IOException Thrown if opening the ServerSocketChannel or a Selector fails.
+     */
+    public NioServer(int port, MessageHandler messageHandler) throws IOException {
+        this(port, messageHandler, DEFAULT_NUM_OF_EVENT_LOOPS);
+    }
+
+    /**
+     * Constructor for the NioServer.
+     * @param port Port to which the ServerSocketChannel is bound.
+     * @param messageHandler MessageHandler that handles incoming Messages.
+     * @param numOfEventLoops int number of EventLoops that handle the connections.
+     * @throws IOException Thrown if opening the ServerSocketChannel or a Selector fails.
+     */
+    public NioServer(int port, MessageHandler messageHandler, int numOfEventLoops) throws IOException {
+        this(port, FrameHandler.of(messageHandler), numOfEventLoops, Framing.LINE);
+    }
+
+    /**
+     * Constructor for the NioServer that passes frames to a FrameHandler.
+     * @param port Port to which the ServerSocketChannel is bound.
+     * @param frameHandler FrameHandler that handles incoming frames.
+     * @param numOfEventLoops int number of EventLoops that handle the connections.
+     * @param framing Framing of the connections.
+     * @throws IOException Thrown if opening the ServerSocketChannel or a Selector fails.
+     */
+    public NioServer(int port, FrameHandler frameHandler, int numOfEventLoops, Framing framing) throws IOException {
+        this(port, frameHandler, numOfEventLoops, framing, ThreadMode.PLATFORM);
+    }
+
+    /**
+     * Constructor for the NioServer that passes frames to a FrameHandler and runs its EventLoops on threads of a
+     * ThreadMode.
+     * @param port Port to which the ServerSocketChannel is bound.
+     * @param frameHandler FrameHandler that handles incoming frames.
+     * @param numOfEventLoops int number of EventLoops that handle the connections.
+     * @param framing Framing of the connections.
+     * @param threadMode ThreadMode of the threads that run the EventLoops.
+     * @throws IOException Thrown if opening the ServerSocketChannel or a Selector fails.
+     */
+    public NioServer(int port, FrameHandler frameHandler, int numOfEventLoops, Framing framing, ThreadMode threadMode)
+            throws IOException {
+        this(port, frameHandler, numOfEventLoops, framing, threadMode, OutboundQueue.DEFAULT_HIGH_WATER_MARK,
+                SlowConsumerPolicy.DISCONNECT);
+    }
+
+    /**
+     * Constructor for the NioServer that passes frames to a FrameHandler, runs its EventLoops on threads of a
+     * ThreadMode, and limits the unwritten frames of every connection.
+     * @param port Port to which the ServerSocketChannel is bound.
+     * @param frameHandler FrameHandler that handles incoming frames.
+     * @param numOfEventLoops int number of EventLoops that handle the connections.
+     * @param framing Framing of the connections.
+     * @param threadMode ThreadMode of the threads that run the EventLoops.
+     * @param highWaterMark int maximum number of unwritten frames of a connection.
+     * @param slowConsumerPolicy SlowConsumerPolicy applied to a frame sent while a connection is full.
+     * @throws IOException Thrown if opening the ServerSocketChannel or a Selector fails.
+     */
+    public NioServer(int port, FrameHandler frameHandler, int numOfEventLoops, Framing framing, ThreadMode threadMode,
+                     int highWaterMark, SlowConsumerPolicy slowConsumerPolicy) throws IOException {
+        requireNonNull(frameHandler, "FrameHandler can't be null.");
+        requireNonNull(framing, "Framing can't be null.");
+        requireNonNull(threadMode, "ThreadMode can't be null.");
+        requireNonNull(slowConsumerPolicy, "Slow consumer policy can't be null.");
+        if (numOfEventLoops <= 0) {
+            throw new IllegalArgumentException("Number of event loops must be positive.");
+        }
+        if (highWaterMark <= 0) {
+            throw new IllegalArgumentException("High-water mark must be positive.");
+        }
+        InetSocketAddress address = new InetSocketAddress(port);
+        List<EventLoop> loops = new ArrayList<>(numOfEventLoops);
+        for (int i = 0; i < numOfEventLoops; i++) {
+            loops.add(new EventLoop(frameHandler, framing, highWaterMark, slowConsumerPolicy));
+        }
+        this.eventLoops = Collections.unmodifiableList(loops);
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        this.port = serverChannel.socket().getLocalPort();
+        this.eventLoopExecutor = threadMode.newExecutor("nio-event-loop");
+        initialized = true;
+    }
+
+    /**
+     * Method starts the EventLoops and accepts connections until the NioServer is terminated.
+     */
+    @Override
+    public void run() {
+        log.info("NioServer started on port: " + port + " with " + eventLoops.size() + " event loops.");
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoopExecutor.execute(eventLoop);
+        }
+        running = true;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                eventLoops.get(numOfClients.getAndIncrement() % eventLoops.size()).register(channel);
+            } catch (ClosedChannelException e) {
+                running = false;
+            } catch (IOException e) {
+                log.error("An error has occurred while trying to accept a client connection.", e);
+            }
+        }
+    }
+
+    /**
+     * Method retrieves the total number of Clients that connected.
+     * @return int number of Clients.
+     */
+    public int getNumOfClients() {
+        return numOfClients.get();
+    }
+
+    /**
+     * Method retrieves the number of connections that are currently open.
+     * @return int number of open connections.
+     */
+    public int getNumOfConnections() {
+        int connections = 0;
+        for (EventLoop eventLoop : eventLoops) {
+            connections += eventLoop.getNumOfConnections();
+        }
+        return connections;
+    }
+
+    /**
+     * Method terminates the NioServer, closing all connections.
+     */
+    public void terminate() {
+        log.info("Attempting to terminate NioServer.");
+        running = false;
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.terminate();
+        }
+        eventLoopExecutor.shutdown();
+        try {
+            serverChannel.close();
+            log.info("NioServer has been terminated.");
+        } catch (IOException e) {
+            log.error("Cannot close ServerSocketChannel.", e);
+        }
+    }
+}
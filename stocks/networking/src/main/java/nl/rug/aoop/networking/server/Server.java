@@ -3,17 +3,24 @@ package nl.rug.aoop.networking.server;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.networking.ThreadMode;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Class Server that implements Runnable. It receives incoming Client connections and assigns each a ClientHandler.
+ * Class Server that implements Runnable. It receives incoming Client connections and assigns each a ClientHandler,
+ * which runs on a thread of its ExecutorService. With an ExecutorService of ThreadMode.VIRTUAL every ClientHandler
+ * runs on its own virtual thread, so the Server can hold many more blocking connections than with platform threads.
+ * The open connections are kept in a ClientRegistry, which forgets a ClientHandler once it terminates, so the memory
+ * of the Server stays steady while Clients reconnect. A Client that sends nothing for the idle timeout is
+ * disconnected.
  */
 @Slf4j
 public class Server implements Runnable{
@@ -31,20 +38,24 @@ public class Server implements Runnable{
      */
     private final MessageHandler messageHandler;
     /**
-     * List that holds the ClientHandlers that were created.
+     * ExecutorService that runs the ClientHandlers.
+     */
+    private final ExecutorService executor;
+    /**
+     * ClientRegistry that holds the ClientHandlers of the open connections.
      */
     @Getter
-    private List<ClientHandler> clientHandlers;
+    private final ClientRegistry clientRegistry = new ClientRegistry();
     /**
-     * int shows the total number of Clients that connected.
+     * int milliseconds a Client may be idle before it is disconnected, 0 to never disconnect it.
      */
     @Getter
-    private int numOfClients;
+    private final int idleTimeoutMillis;
     /**
      * boolean shows whether the Sever is running or not.
      */
     @Getter
-    private boolean running = false;
+    private volatile boolean running = false;
     /**
      * boolean shows whether the Sever is initialized or ot.
      */
@@ -52,17 +63,45 @@ public class Server implements Runnable{
     private boolean initialized = false;
 
     /**
-     * Constructor for Server.
+     * Constructor for Server that runs the ClientHandlers on pooled platform threads.
      * @param port Port to which the ServerSocket is bounded to.
      * @param messageHandler MessageHandler that handles incoming Messages.
      * @throws IOException Thrown if initializing the ServerSocket fails.
      */
     public Server(int port, MessageHandler messageHandler) throws IOException {
+        this(port, messageHandler, ThreadMode.PLATFORM.newExecutor("client-handler"));
+    }
+
+    /**
+     * Constructor for Server. The Server shuts the ExecutorService down when it is terminated.
+     * @param port Port to which the ServerSocket is bounded to.
+     * @param messageHandler MessageHandler that handles incoming Messages.
+     * @param executor ExecutorService that runs the ClientHandlers.
+     * @throws IOException Thrown if initializing the ServerSocket fails.
+     */
+    public Server(int port, MessageHandler messageHandler, ExecutorService executor) throws IOException {
+        this(port, messageHandler, executor, 0);
+    }
+
+    /**
+     * Constructor for Server that disconnects idle Clients. The Server shuts the ExecutorService down when it is
+     * terminated.
+     * @param port Port to which the ServerSocket is bounded to.
+     * @param messageHandler MessageHandler that handles incoming Messages.
+     * @param executor ExecutorService that runs the ClientHandlers.
+     * @param idleTimeoutMillis int milliseconds a Client may be idle before it is disconnected, 0 to never disconnect.
+     * @throws IOException Thrown if initializing the ServerSocket fails.
+     */
+    public Server(int port, MessageHandler messageHandler, ExecutorService executor, int idleTimeoutMillis)
+            throws IOException {
+        if (idleTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Idle timeout can't be negative.");
+        }
         this.serverSocket = new ServerSocket(port);
         this.port = serverSocket.getLocalPort();
         this.messageHandler = requireNonNull(messageHandler, "MessageHandler can't be null.");
-        this.clientHandlers = new ArrayList<>();
-        this.numOfClients = 0;
+        this.executor = requireNonNull(executor, "ExecutorService can't be null.");
+        this.idleTimeoutMillis = idleTimeoutMillis;
         initialized = true;
     }
 
@@ -76,32 +115,64 @@ public class Server implements Runnable{
         while (running) {
             try {
                 Socket socket = serverSocket.accept();
-                log.info("Spawning thread for Client: " + numOfClients);
-                ClientHandler clientHandler = new ClientHandler(socket, messageHandler);
-                clientHandlers.add(clientHandler);
-                new Thread(clientHandler).start();
-                numOfClients++;
+                socket.setSoTimeout(idleTimeoutMillis);
+                ClientHandler clientHandler = clientRegistry.register(socket, messageHandler);
+                log.info("Starting ClientHandler for Client: " + clientHandler.getId());
+                if (!running) {
+                    clientHandler.terminate();
+                    break;
+                }
+                executor.execute(clientHandler);
             } catch (IOException e) {
-                log.error("An error has occurred while trying to spawn a ClientHandler.", e);
+                if (running) {
+                    log.error("An error has occurred while trying to spawn a ClientHandler.", e);
+                }
             }
         }
     }
 
     /**
-     * Method terminates the Server.
+     * Method retrieves the ClientHandlers of the open connections.
+     * @return Collection(ClientHandler) unmodifiable live view of the ClientHandlers.
+     */
+    public Collection<ClientHandler> getClientHandlers() {
+        return clientRegistry.getClientHandlers();
+    }
+
+    /**
+     * Method retrieves the number of connected Clients.
+     * @return int number of open connections.
+     */
+    public int getNumOfClients() {
+        return clientRegistry.getNumOfConnected();
+    }
+
+    /**
+     * Method terminates the Server: it stops accepting connections, terminates every ClientHandler and shuts the
+     * ExecutorService down.
      */
     public void terminate(){
         log.info("Attempting to terminate Server.");
         running = false;
         try {
-            for (ClientHandler clientHandler: clientHandlers) {
-                clientHandler.terminate();
-            }
             serverSocket.close();
-            log.info("Server has been terminated.");
         } catch (IOException e) {
             log.error("Cannot close ServerSocket.", e);
         }
+        clientRegistry.terminateAll();
+        executor.shutdown();
+        log.info("Server has been terminated.");
+    }
+
+    /**
+     * Method waits until every ClientHandler of a terminated Server has returned.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return boolean true if every ClientHandler returned, false if the timeout elapsed first.
+     * @throws InterruptedException Thrown if the waiting thread is interrupted.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
     }
 
 }
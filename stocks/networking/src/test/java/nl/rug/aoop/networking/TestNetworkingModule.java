@@ -13,6 +13,7 @@ import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -79,6 +80,7 @@ public class TestNetworkingModule {
 
         String clientMessage = "client message";
         client.sendMessage(clientMessage);
-        verify(mockServerMessageHandler).handleMessage(eq(clientMessage), any(Communicator.class));
+        verify(mockServerMessageHandler, timeout(TIMEOUT * 1000))
+                .handleMessage(eq(clientMessage), any(Communicator.class));
     }
 }
@@ -0,0 +1,143 @@
+package nl.rug.aoop.networking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Class TestOutboundQueueClass tests the OutboundQueue class.
+ */
+public class TestOutboundQueueClass {
+    /**
+     * Line separator of the PrintWriter.
+     */
+    private static final String NEWLINE = System.lineSeparator();
+    /**
+     * Tasks handed to the Executor, run by the test.
+     */
+    private final List<Runnable> tasks = new ArrayList<>();
+    /**
+     * Executor that collects the tasks.
+     */
+    private final Executor executor = tasks::add;
+    /**
+     * StringWriter that receives the written messages.
+     */
+    private StringWriter written;
+    /**
+     * PrintWriter of the connection.
+     */
+    private PrintWriter out;
+    /**
+     * Communicator (mocked) of the connection.
+     */
+    private Communicator connection;
+
+    /**
+     * Creates the PrintWriter and the connection before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        written = new StringWriter();
+        out = new PrintWriter(written);
+        connection = mock(Communicator.class);
+    }
+
+    /**
+     * Method tests the constructor of OutboundQueue with illegal parameters.
+     */
+    @Test
+    void testIllegalConstructor() {
+        assertThrows(NullPointerException.class, () -> new OutboundQueue(null, connection));
+        assertThrows(NullPointerException.class, () -> new OutboundQueue(out, null));
+        assertThrows(NullPointerException.class,
+                () -> new OutboundQueue(out, connection, executor, 1, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OutboundQueue(out, connection, executor, 0, SlowConsumerPolicy.DROP));
+    }
+
+    /**
+     * Method tests if a message sent synchronously is written and flushed at once.
+     */
+    @Test
+    void testSend() {
+        OutboundQueue queue = new OutboundQueue(out, connection, executor, 4, SlowConsumerPolicy.DROP);
+        queue.send("now");
+
+        assertEquals("now" + NEWLINE, written.toString());
+        assertTrue(tasks.isEmpty());
+    }
+
+    /**
+     * Method tests if the queued messages are written together in a single batch.
+     */
+    @Test
+    void testOfferBatch() {
+        OutboundQueue queue = new OutboundQueue(out, connection, executor, 4, SlowConsumerPolicy.DROP);
+        assertTrue(queue.offer("first"));
+        assertTrue(queue.offer("second"));
+        assertTrue(queue.offer("third"));
+
+        assertEquals("", written.toString());
+        assertEquals(3, queue.getSize());
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals("first" + NEWLINE + "second" + NEWLINE + "third" + NEWLINE, written.toString());
+        assertEquals(0, queue.getSize());
+        assertEquals(1, queue.getNumOfBatches());
+        assertTrue(tasks.isEmpty());
+    }
+
+    /**
+     * Method tests if DROP drops the messages sent at the high-water mark and keeps the connection.
+     */
+    @Test
+    void testHighWaterMarkDrop() {
+        OutboundQueue queue = new OutboundQueue(out, connection, executor, 2, SlowConsumerPolicy.DROP);
+        assertTrue(queue.offer("first"));
+        assertTrue(queue.offer("second"));
+        assertFalse(queue.offer("third"));
+
+        assertEquals(1, queue.getNumOfDropped());
+        verify(connection, never()).terminate();
+        tasks.remove(0).run();
+        assertTrue(queue.offer("fourth"));
+        assertEquals("first" + NEWLINE + "second" + NEWLINE, written.toString());
+    }
+
+    /**
+     * Method tests if DISCONNECT terminates the connection at the high-water mark.
+     */
+    @Test
+    void testHighWaterMarkDisconnect() {
+        OutboundQueue queue = new OutboundQueue(out, connection, executor, 1, SlowConsumerPolicy.DISCONNECT);
+        assertTrue(queue.offer("first"));
+        assertFalse(queue.offer("second"));
+
+        verify(connection).terminate();
+    }
+
+    /**
+     * Method tests if a closed OutboundQueue drops its messages.
+     */
+    @Test
+    void testClose() {
+        OutboundQueue queue = new OutboundQueue(out, connection, executor, 4, SlowConsumerPolicy.DROP);
+        assertTrue(queue.offer("first"));
+        queue.close();
+        tasks.remove(0).run();
+
+        assertFalse(queue.offer("second"));
+        assertEquals("", written.toString());
+    }
+}
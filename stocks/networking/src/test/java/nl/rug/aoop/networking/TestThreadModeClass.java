@@ -0,0 +1,56 @@
+package nl.rug.aoop.networking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class TestThreadModeClass tests the ThreadMode enum.
+ */
+public class TestThreadModeClass {
+
+    /**
+     * Method tests retrieving a ThreadMode by its name.
+     */
+    @Test
+    void testFromName() {
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromName(null));
+        assertEquals(ThreadMode.PLATFORM, ThreadMode.fromName("platform"));
+        assertEquals(ThreadMode.VIRTUAL, ThreadMode.fromName("Virtual"));
+        assertThrows(IllegalArgumentException.class, () -> ThreadMode.fromName("green"));
+    }
+
+    /**
+     * Method tests if the platform executor runs tasks on named platform threads.
+     * @throws Exception Thrown if the task fails or the test is interrupted.
+     */
+    @Test
+    void testPlatformExecutor() throws Exception {
+        ExecutorService executor = ThreadMode.PLATFORM.newExecutor("test");
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+
+        assertEquals("test-0", name.get(1, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Method tests if the virtual executor runs tasks, on virtual threads if the runtime supports them and on
+     * platform threads otherwise.
+     * @throws Exception Thrown if the task fails or the test is interrupted.
+     */
+    @Test
+    void testVirtualExecutor() throws Exception {
+        ExecutorService executor = ThreadMode.VIRTUAL.newExecutor("test");
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+
+        assertEquals("test-0", name.get(1, TimeUnit.SECONDS));
+        assertEquals(Runtime.version().feature() >= 21, ThreadMode.isVirtualSupported());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
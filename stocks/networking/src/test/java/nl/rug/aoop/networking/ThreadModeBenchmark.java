@@ -0,0 +1,121 @@
+package nl.rug.aoop.networking;
+
+import nl.rug.aoop.networking.server.Server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class ThreadModeBenchmark compares the ThreadModes of the Server. For every ThreadMode it opens a number of
+ * concurrent connections to an echoing Server, whose ClientHandlers and Clients run on threads of that ThreadMode, and
+ * lets every connection make a number of round trips. It reports the time to connect, the round trips per second and
+ * the number of live platform threads while all connections are busy. It is not run as a test; run it with the test
+ * class path, for example: java -cp networking/target/classes:networking/target/test-classes:(dependencies)
+ * nl.rug.aoop.networking.ThreadModeBenchmark (connections) (round trips). Virtual threads need JDK 21; older runtimes
+ * measure platform threads twice. Many connections may need a higher limit of open files.
+ */
+public final class ThreadModeBenchmark {
+    /**
+     * Default number of concurrent connections.
+     */
+    private static final int DEFAULT_CONNECTIONS = 2_000;
+    /**
+     * Default number of round trips per connection.
+     */
+    private static final int DEFAULT_ROUND_TRIPS = 50;
+
+    /**
+     * Private constructor, as the benchmark is only run through main.
+     */
+    private ThreadModeBenchmark() {
+    }
+
+    /**
+     * Method runs the benchmark.
+     * @param args String[] optional number of connections and number of round trips per connection.
+     * @throws IOException Thrown if the Server can't be started.
+     * @throws InterruptedException Thrown if the benchmark is interrupted.
+     * @throws ExecutionException Thrown if a connection fails.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CONNECTIONS;
+        int roundTrips = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUND_TRIPS;
+        System.out.println("Virtual threads supported: " + ThreadMode.isVirtualSupported());
+        for (ThreadMode threadMode : ThreadMode.values()) {
+            run(threadMode, connections, roundTrips);
+        }
+    }
+
+    /**
+     * Method measures a single ThreadMode.
+     * @param threadMode ThreadMode of the Server and the Clients.
+     * @param connections int number of concurrent connections.
+     * @param roundTrips int number of round trips per connection.
+     * @throws IOException Thrown if the Server can't be started.
+     * @throws InterruptedException Thrown if the benchmark is interrupted.
+     * @throws ExecutionException Thrown if a connection fails.
+     */
+    private static void run(ThreadMode threadMode, int connections, int roundTrips)
+            throws IOException, InterruptedException, ExecutionException {
+        Server server = new Server(0, (String message, Communicator out) -> out.sendMessage(message),
+                threadMode.newExecutor("benchmark-server"));
+        ExecutorService clients = threadMode.newExecutor("benchmark-client");
+        new Thread(server).start();
+        long start = System.nanoTime();
+        List<Socket> sockets = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            Socket socket = new Socket();
+            socket.connect(new InetSocketAddress("localhost", server.getPort()));
+            sockets.add(socket);
+        }
+        long connected = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>(connections);
+        for (Socket socket : sockets) {
+            results.add(clients.submit(() -> roundTrips(socket, roundTrips)));
+        }
+        int platformThreads = Thread.activeCount();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        long finished = System.nanoTime();
+        System.out.printf("%s: %d connections in %d ms, %.0f round trips/s, platform threads %d%n", threadMode,
+                connections, TimeUnit.NANOSECONDS.toMillis(connected - start),
+                (double) connections * roundTrips / (finished - connected) * TimeUnit.SECONDS.toNanos(1),
+                platformThreads);
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        clients.shutdown();
+        server.terminate();
+    }
+
+    /**
+     * Method makes round trips over a connection, sending a line and waiting for its echo.
+     * @param socket Socket of the connection.
+     * @param roundTrips int number of round trips.
+     * @throws UncheckedIOException Thrown if the connection fails.
+     */
+    private static void roundTrips(Socket socket, int roundTrips) throws UncheckedIOException {
+        try {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            for (int i = 0; i < roundTrips; i++) {
+                out.println("ping");
+                in.readLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
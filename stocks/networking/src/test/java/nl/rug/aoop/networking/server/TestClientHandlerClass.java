@@ -125,7 +125,8 @@ public class TestClientHandlerClass {
      */
     @Test
     void testIllegalConstructor() {
-        assertThrows(NullPointerException.class, () -> clientHandler = new ClientHandler(null, mock(MessageHandler.class)));
+        assertThrows(NullPointerException.class,
+                () -> clientHandler = new ClientHandler(null, mock(MessageHandler.class)));
         assertThrows(NullPointerException.class, () -> clientHandler = new ClientHandler(mock(Socket.class), null));
     }
 
@@ -142,6 +143,21 @@ public class TestClientHandlerClass {
         assertEquals(message, clientIn.readLine());
     }
 
+    /**
+     * Method tests if the ClientHandler sends legal messages asynchronously, in order.
+     * @throws IOException Thrown if Socket fails to connect or IO fails.
+     */
+    @Test
+    public void testLegalSendMessageAsync() throws IOException {
+        startNetwork();
+
+        assertTrue(clientHandler.sendMessageAsync("First message"));
+        assertTrue(clientHandler.sendMessageAsync("Second message"));
+        assertEquals("First message", clientIn.readLine());
+        assertEquals("Second message", clientIn.readLine());
+        assertThrows(IllegalArgumentException.class, () -> clientHandler.sendMessageAsync(""));
+    }
+
     /**
      * Method tests if the ClientHandler will throw an appropriate exception if an illegal message is sent.
      * @throws IOException Thrown if Socket failed to connect.
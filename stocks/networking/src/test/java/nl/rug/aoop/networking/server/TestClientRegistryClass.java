@@ -0,0 +1,110 @@
+package nl.rug.aoop.networking.server;
+
+import nl.rug.aoop.networking.MessageHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Class TestClientRegistryClass tests the ClientRegistry class.
+ */
+public class TestClientRegistryClass {
+    /**
+     * ClientRegistry that is used to test the ClientRegistry class.
+     */
+    private ClientRegistry clientRegistry;
+
+    /**
+     * Creates the ClientRegistry before every test.
+     */
+    @BeforeEach
+    void setUp() {
+        clientRegistry = new ClientRegistry();
+    }
+
+    /**
+     * Creates a mocked Socket with empty streams.
+     * @return Socket (mocked) of a connection.
+     * @throws IOException Thrown if mocking the streams fails.
+     */
+    private Socket mockSocket() throws IOException {
+        Socket socket = mock(Socket.class);
+        when(socket.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        when(socket.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        return socket;
+    }
+
+    /**
+     * Method tests if registered ClientHandlers get distinct ids and can be retrieved by them.
+     * @throws IOException Thrown if creating a ClientHandler fails.
+     */
+    @Test
+    void testRegister() throws IOException {
+        ClientHandler first = clientRegistry.register(mockSocket(), mock(MessageHandler.class));
+        ClientHandler second = clientRegistry.register(mockSocket(), mock(MessageHandler.class));
+
+        assertNotEquals(first.getId(), second.getId());
+        assertSame(first, clientRegistry.get(first.getId()));
+        assertSame(second, clientRegistry.get(second.getId()));
+        assertEquals(2, clientRegistry.getNumOfConnected());
+        assertEquals(2, clientRegistry.getClientHandlers().size());
+        assertEquals(2, clientRegistry.getNumOfAccepted());
+    }
+
+    /**
+     * Method tests if a ClientHandler is removed once, however often it is terminated.
+     * @throws IOException Thrown if creating a ClientHandler fails.
+     */
+    @Test
+    void testRemoveOnTerminate() throws IOException {
+        Socket socket = mockSocket();
+        ClientHandler clientHandler = clientRegistry.register(socket, mock(MessageHandler.class));
+        clientHandler.terminate();
+        clientHandler.terminate();
+
+        assertNull(clientRegistry.get(clientHandler.getId()));
+        assertEquals(0, clientRegistry.getNumOfConnected());
+        assertEquals(1, clientRegistry.getNumOfDisconnected());
+        assertEquals(0, clientRegistry.getNumOfIdleTimeouts());
+        verify(socket).close();
+    }
+
+    /**
+     * Method tests if a ClientHandler whose Client disconnects removes itself when it stops running.
+     * @throws IOException Thrown if creating a ClientHandler fails.
+     */
+    @Test
+    void testRemoveOnDisconnect() throws IOException {
+        ClientHandler clientHandler = clientRegistry.register(mockSocket(), mock(MessageHandler.class));
+        clientHandler.run();
+
+        assertFalse(clientHandler.isRunning());
+        assertEquals(0, clientRegistry.getNumOfConnected());
+        assertEquals(1, clientRegistry.getNumOfDisconnected());
+    }
+
+    /**
+     * Method tests if terminating all ClientHandlers empties the ClientRegistry.
+     * @throws IOException Thrown if creating a ClientHandler fails.
+     */
+    @Test
+    void testTerminateAll() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            clientRegistry.register(mockSocket(), mock(MessageHandler.class));
+        }
+        clientRegistry.terminateAll();
+
+        assertTrue(clientRegistry.getClientHandlers().isEmpty());
+        assertEquals(3, clientRegistry.getNumOfAccepted());
+        assertEquals(3, clientRegistry.getNumOfDisconnected());
+    }
+}
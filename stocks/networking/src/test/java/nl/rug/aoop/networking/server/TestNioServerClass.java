@@ -0,0 +1,359 @@
+package nl.rug.aoop.networking.server;
+
+import nl.rug.aoop.networking.Communicator;
+import nl.rug.aoop.networking.FrameCommunicator;
+import nl.rug.aoop.networking.FrameHandler;
+import nl.rug.aoop.networking.Framing;
+import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.networking.SlowConsumerPolicy;
+import nl.rug.aoop.networking.ThreadMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Class TestNioServerClass tests the NioServer class.
+ */
+public class TestNioServerClass {
+    /**
+     * int value of timeout in seconds.
+     */
+    private final int TIMEOUT = 1;
+    /**
+     * Messages received by the echoing MessageHandler.
+     */
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    /**
+     * NioServer that is used to test the NioServer class.
+     */
+    private NioServer server;
+
+    /**
+     * Starts a NioServer with two event loops whose MessageHandler records every message and echoes it back.
+     * @throws IOException Thrown if the NioServer fails to initialize.
+     */
+    void startServer() throws IOException {
+        MessageHandler echoHandler = (String message, Communicator out) -> {
+            received.add(message);
+            out.sendMessage(message);
+        };
+        server = new NioServer(0, echoHandler, 2);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+    }
+
+    /**
+     * Starts an impromptu Client.
+     * @return Socket of the Client.
+     * @throws IOException Thrown if the Socket fails to connect.
+     */
+    Socket startClient() throws IOException {
+        Socket clientSocket = new Socket();
+        clientSocket.connect(new InetSocketAddress("localhost", server.getPort()), 1000);
+        return clientSocket;
+    }
+
+    /**
+     * Terminates the NioServer after every test.
+     */
+    @AfterEach
+    void terminateServer() {
+        if (server != null) {
+            server.terminate();
+        }
+    }
+
+    /**
+     * Method tests the constructor of NioServer with valid parameters.
+     * @throws IOException Thrown if the NioServer fails to initialize.
+     */
+    @Test
+    void testLegalConstructor() throws IOException {
+        startServer();
+
+        assertTrue(server.isInitialized());
+        assertNotEquals(0, server.getPort());
+    }
+
+    /**
+     * Method tests the constructor of NioServer with illegal parameters.
+     */
+    @Test
+    void testIllegalConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new NioServer(-1, mock(MessageHandler.class)));
+        assertThrows(NullPointerException.class, () -> new NioServer(0, null));
+        assertThrows(IllegalArgumentException.class, () -> new NioServer(0, mock(MessageHandler.class), 0));
+    }
+
+    /**
+     * Method tests if the NioServer passes a message to the MessageHandler and sends the response back.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testEcho() throws IOException {
+        startServer();
+        try (Socket clientSocket = startClient()) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+            clientSocket.getOutputStream().write("hello\n".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals("hello", in.readLine());
+            assertEquals(1, server.getNumOfClients());
+        }
+    }
+
+    /**
+     * Method tests if the NioServer runs its event loops on threads of its ThreadMode, named after the event loops.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testThreadMode() throws IOException {
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        MessageHandler namingHandler = (String message, Communicator out) -> {
+            threadNames.add(Thread.currentThread().getName());
+            out.sendMessage(message);
+        };
+        server = new NioServer(0, FrameHandler.of(namingHandler), 1, Framing.LINE, ThreadMode.VIRTUAL);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        try (Socket clientSocket = startClient()) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+            clientSocket.getOutputStream().write("hello\n".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals("hello", in.readLine());
+            assertTrue(threadNames.get(0).startsWith("nio-event-loop-"));
+        }
+        assertThrows(NullPointerException.class,
+                () -> new NioServer(0, mock(FrameHandler.class), 1, Framing.LINE, null));
+    }
+
+    /**
+     * Method tests if the NioServer frames messages that arrive split over several writes, or several in one write.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testFraming() throws IOException {
+        startServer();
+        try (Socket clientSocket = startClient()) {
+            OutputStream out = clientSocket.getOutputStream();
+            out.write("fir".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            await().pollDelay(50, TimeUnit.MILLISECONDS).atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> true);
+            out.write("st\r\nsecond\nthi".getBytes(StandardCharsets.UTF_8));
+            out.write("rd\n".getBytes(StandardCharsets.UTF_8));
+
+            await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> received.size() == 3);
+            assertEquals(List.of("first", "second", "third"), received);
+        }
+    }
+
+    /**
+     * Method tests if the NioServer frames a message longer than its initial read buffer.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testLongMessage() throws IOException {
+        startServer();
+        String message = "x".repeat(100_000);
+        try (Socket clientSocket = startClient()) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+            clientSocket.getOutputStream().write((message + "\n").getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(message, in.readLine());
+        }
+    }
+
+    /**
+     * Method tests if the NioServer closes a connection whose line grows past Framing.MAX_FRAME_LENGTH without a
+     * newline.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testLineTooLong() throws IOException {
+        startServer();
+        byte[] chunk = "x".repeat(1 << 20).getBytes(StandardCharsets.UTF_8);
+        try (Socket clientSocket = startClient()) {
+            for (int written = 0; written <= Framing.MAX_FRAME_LENGTH; written += chunk.length) {
+                clientSocket.getOutputStream().write(chunk);
+            }
+
+            assertEquals(-1, clientSocket.getInputStream().read());
+            assertTrue(received.isEmpty());
+        }
+    }
+
+    /**
+     * Method tests if the NioServer serves several Clients at once and closes a connection on an empty line.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testMultipleClients() throws IOException {
+        startServer();
+        try (Socket first = startClient(); Socket second = startClient(); Socket third = startClient()) {
+            await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfConnections() == 3);
+            first.getOutputStream().write("\n".getBytes(StandardCharsets.UTF_8));
+
+            await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfConnections() == 2);
+            assertEquals(-1, first.getInputStream().read());
+            assertEquals(3, server.getNumOfClients());
+        }
+    }
+
+    /**
+     * Method tests if a length-prefixed NioServer passes frames, which may hold newlines and span several reads, to its
+     * FrameHandler, and sends gathered frames back.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testLengthPrefixedFraming() throws IOException {
+        FrameHandler echoHandler = (ByteBuffer frame, FrameCommunicator out) -> {
+            received.add(StandardCharsets.UTF_8.decode(frame.duplicate()).toString());
+            ByteBuffer copy = ByteBuffer.allocate(frame.remaining()).put(frame).flip();
+            out.sendFrame(ByteBuffer.wrap("echo:".getBytes(StandardCharsets.UTF_8)), copy);
+        };
+        server = new NioServer(0, echoHandler, 1, Framing.LENGTH_PREFIXED);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        String large = "y".repeat(20_000);
+        try (Socket clientSocket = startClient()) {
+            DataOutputStream out = new DataOutputStream(clientSocket.getOutputStream());
+            DataInputStream in = new DataInputStream(clientSocket.getInputStream());
+            writeFrame(out, "two\nlines");
+            writeFrame(out, large);
+
+            assertEquals("echo:two\nlines", readFrame(in));
+            assertEquals("echo:" + large, readFrame(in));
+            assertEquals(List.of("two\nlines", large), received);
+            out.writeInt(0);
+            assertEquals(-1, in.read());
+        }
+    }
+
+    /**
+     * Method tests if a length-prefixed NioServer closes a connection that sends a frame of an invalid length.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testInvalidFrameLength() throws IOException {
+        server = new NioServer(0, mock(FrameHandler.class), 1, Framing.LENGTH_PREFIXED);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        try (Socket clientSocket = startClient()) {
+            new DataOutputStream(clientSocket.getOutputStream()).writeInt(-5);
+
+            assertEquals(-1, clientSocket.getInputStream().read());
+        }
+    }
+
+    /**
+     * Method tests if a connection holds at most its high-water mark of unwritten frames, and drops the frames sent
+     * beyond it with the DROP SlowConsumerPolicy while staying open.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testSlowConsumerDrop() throws IOException {
+        List<Boolean> queued = new CopyOnWriteArrayList<>();
+        MessageHandler burstHandler = (String message, Communicator out) -> {
+            for (int i = 0; i < 10; i++) {
+                queued.add(out.sendMessageAsync(message + i));
+            }
+        };
+        server = new NioServer(0, FrameHandler.of(burstHandler), 1, Framing.LINE, ThreadMode.PLATFORM, 4,
+                SlowConsumerPolicy.DROP);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        try (Socket clientSocket = startClient()) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+            clientSocket.getOutputStream().write("burst\n".getBytes(StandardCharsets.UTF_8));
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals("burst" + i, in.readLine());
+            }
+            assertEquals(List.of(true, true, true, true, false, false, false, false, false, false), queued);
+            assertEquals(1, server.getNumOfConnections());
+        }
+    }
+
+    /**
+     * Method tests if a connection is closed once a frame is sent beyond its high-water mark with the DISCONNECT
+     * SlowConsumerPolicy, and if the NioServer refuses a high-water mark that is not positive.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testSlowConsumerDisconnect() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new NioServer(0, mock(FrameHandler.class), 1,
+                Framing.LINE, ThreadMode.PLATFORM, 0, SlowConsumerPolicy.DROP));
+        MessageHandler burstHandler = (String message, Communicator out) -> {
+            for (int i = 0; i < 10; i++) {
+                out.sendMessage(message + i);
+            }
+        };
+        server = new NioServer(0, FrameHandler.of(burstHandler), 1, Framing.LINE, ThreadMode.PLATFORM, 4,
+                SlowConsumerPolicy.DISCONNECT);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        try (Socket clientSocket = startClient()) {
+            clientSocket.getOutputStream().write("burst\n".getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(-1, clientSocket.getInputStream().read());
+            assertEquals(0, server.getNumOfConnections());
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 frame.
+     * @param out DataOutputStream of the connection.
+     * @param frame String content of the frame.
+     * @throws IOException Thrown if writing fails.
+     */
+    private void writeFrame(DataOutputStream out, String frame) throws IOException {
+        byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 frame.
+     * @param in DataInputStream of the connection.
+     * @return String content of the frame.
+     * @throws IOException Thrown if reading fails.
+     */
+    private String readFrame(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method tests if the NioServer terminates and closes its connections.
+     * @throws IOException Thrown if the Socket fails.
+     */
+    @Test
+    void testTerminate() throws IOException {
+        startServer();
+        try (Socket clientSocket = startClient()) {
+            await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfConnections() == 1);
+            server.terminate();
+
+            assertFalse(server.isRunning());
+            assertEquals(-1, clientSocket.getInputStream().read());
+        }
+    }
+}
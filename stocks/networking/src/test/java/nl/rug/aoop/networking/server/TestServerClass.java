@@ -2,6 +2,7 @@ package nl.rug.aoop.networking.server;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.networking.ThreadMode;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
@@ -9,6 +10,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
@@ -89,6 +91,79 @@ public class TestServerClass {
         assertEquals(1, server.getNumOfClients());
     }
 
+    /**
+     * Method tests if the Server runs its ClientHandlers on its ExecutorService and shuts it down on termination.
+     * @throws IOException Thrown if Socket fails to connect.
+     */
+    @Test
+    void testExecutor() throws IOException {
+        ExecutorService executor = ThreadMode.VIRTUAL.newExecutor("test-handler");
+        server = new Server(0, mock(MessageHandler.class), executor);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        startClient();
+
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getClientHandlers().size() == 1);
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server.getClientHandlers().iterator().next()::isRunning);
+        server.terminate();
+        assertTrue(executor.isShutdown());
+        assertThrows(NullPointerException.class, () -> new Server(0, mock(MessageHandler.class), null));
+    }
+
+    /**
+     * Method tests if a Client that disconnects is removed from the ClientRegistry and no longer counted.
+     * @throws IOException Thrown if Socket fails.
+     */
+    @Test
+    void testDisconnect() throws IOException {
+        startServer();
+        startClient();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfClients() == 1);
+
+        clientSocket.close();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfClients() == 0);
+        assertTrue(server.getClientHandlers().isEmpty());
+        assertEquals(1, server.getClientRegistry().getNumOfAccepted());
+        assertEquals(1, server.getClientRegistry().getNumOfDisconnected());
+    }
+
+    /**
+     * Method tests if the Server disconnects a Client that is idle for longer than the idle timeout.
+     * @throws IOException Thrown if Socket fails.
+     */
+    @Test
+    void testIdleTimeout() throws IOException {
+        server = new Server(0, mock(MessageHandler.class), ThreadMode.PLATFORM.newExecutor("test-handler"), 100);
+        new Thread(server).start();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(server::isRunning);
+        startClient();
+
+        assertEquals(-1, clientSocket.getInputStream().read());
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfClients() == 0);
+        assertEquals(1, server.getClientRegistry().getNumOfIdleTimeouts());
+        assertThrows(IllegalArgumentException.class,
+                () -> new Server(0, mock(MessageHandler.class), ThreadMode.PLATFORM.newExecutor("test"), -1));
+    }
+
+    /**
+     * Method tests if the Server terminates every ClientHandler and their threads when it is terminated.
+     * @throws IOException Thrown if Socket fails.
+     * @throws InterruptedException Thrown if the test is interrupted.
+     */
+    @Test
+    void testTerminateClientHandlers() throws IOException, InterruptedException {
+        startServer();
+        startClient();
+        Socket first = clientSocket;
+        startClient();
+        await().atMost(TIMEOUT, TimeUnit.SECONDS).until(() -> server.getNumOfClients() == 2);
+
+        server.terminate();
+        assertTrue(server.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(0, server.getNumOfClients());
+        assertEquals(-1, first.getInputStream().read());
+        assertEquals(-1, clientSocket.getInputStream().read());
+    }
 
     /**
      * Method tests if the Server terminates.
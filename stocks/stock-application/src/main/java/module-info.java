@@ -9,4 +9,7 @@ module stock.application {
     requires stock.market.ui;
     requires awaitility;
     requires com.fasterxml.jackson.core;
+    requires com.fasterxml.jackson.databind;
+    opens nl.rug.aoop.stockapplication.stock to com.fasterxml.jackson.databind;
+    requires jdk.httpserver;
 }
\ No newline at end of file
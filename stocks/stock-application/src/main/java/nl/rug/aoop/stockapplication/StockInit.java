@@ -2,17 +2,37 @@ package nl.rug.aoop.stockapplication;
 
 import nl.rug.aoop.command.CommandHandler;
 import nl.rug.aoop.initialization.SimpleViewFactory;
+import nl.rug.aoop.messagequeue.process.ConsumerGroup;
+import nl.rug.aoop.messagequeue.process.GroupConsumer;
+import nl.rug.aoop.messagequeue.queue.BoundedMessageQueue;
+import nl.rug.aoop.messagequeue.queue.MappedLogMessageQueue;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.messagequeue.queue.MeteredMessageQueue;
 import nl.rug.aoop.messagequeue.queue.OrderedMessageQueue;
-import nl.rug.aoop.networking.MessageHandler;
+import nl.rug.aoop.messagequeue.queue.OverloadPolicy;
+import nl.rug.aoop.messagequeue.queue.QueueMetrics;
+import nl.rug.aoop.messagequeue.queue.RingBufferMessageQueue;
+import nl.rug.aoop.messagequeue.queue.WaitStrategy;
+import nl.rug.aoop.networking.Framing;
+import nl.rug.aoop.networking.ThreadMode;
+import nl.rug.aoop.networking.server.NioServer;
 import nl.rug.aoop.networking.server.Server;
-import nl.rug.aoop.stockapplication.command.SimpleConsumer;
+import nl.rug.aoop.stockapplication.command.CheckpointedMessageQueue;
+import nl.rug.aoop.stockapplication.command.ShardedMessageQueue;
 import nl.rug.aoop.stockapplication.command.StockFactory;
 import nl.rug.aoop.stockapplication.command.StockPoller;
+import nl.rug.aoop.stockapplication.network.MetricsServer;
 import nl.rug.aoop.stockapplication.network.ServerMessageHandler;
 import nl.rug.aoop.stockapplication.stock.*;
 import nl.rug.aoop.stockapplication.view.StockExchangeData;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * StockInit class used to initialize the stock application.
@@ -27,13 +47,21 @@ public class StockInit {
      */
     private TraderManager traderManager;
     /**
-     * Stock application order manager.
+     * Stock application stock exchange, sharded by stock.
      */
-    private OrderManager orderManager;
+    private ShardedStockExchange stockExchange;
     /**
-     * Stock application stock exchange.
+     * Stock application dead-letter queue of the Messages that failed to execute too often.
      */
-    private StockExchange stockExchange;
+    private final MessageQueue deadLetterQueue = new OrderedMessageQueue(OrderedMessageQueue.Ordering.ARRIVAL);
+    /**
+     * Stock application queues of the shards, by name, whose metrics are published.
+     */
+    private final Map<String, MeteredMessageQueue> meteredQueues = new LinkedHashMap<>();
+    /**
+     * Stock application platform threads of the long-running services: the server, the updater and the matching.
+     */
+    private final ExecutorService services = ThreadMode.PLATFORM.newExecutor("stock-service");
     /**
      * Initializes the application.
      */
@@ -43,10 +71,16 @@ public class StockInit {
         stockManager.loadStocks();
         traderManager = new TraderManager();
         traderManager.loadTraders();
-        orderManager = new OrderManager();
         OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
         orderMatcherHandler.registerOrderMatcher("LimitOrder", new LimitOrderMatcher());
-        stockExchange = new StockExchange(stockManager, traderManager, orderManager, orderMatcherHandler);
+        orderMatcherHandler.registerOrderMatcher("MarketOrder", new MarketOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("ImmediateOrCancelOrder", new ImmediateOrCancelOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("FillOrKillOrder", new FillOrKillOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("StopOrder", new StopOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("StopLimitOrder", new StopLimitOrderMatcher());
+        stockExchange = new ShardedStockExchange(stockManager, traderManager, orderMatcherHandler, getNumOfShards(),
+                Boolean.parseBoolean(System.getenv("STOCK_OFF_HEAP_BOOKS")));
+        stockExchange.publishSnapshot();
 
         initializeServer();
         initializeView();
@@ -56,15 +90,13 @@ public class StockInit {
      * Method initializes the server.
      */
     private void initializeServer() {
-        OrderedMessageQueue messageQueue = new OrderedMessageQueue();
         PeriodicUpdater periodicUpdater = new PeriodicUpdater(stockExchange);
-        StockFactory stockFactory = new StockFactory(stockExchange, messageQueue, periodicUpdater);
-        CommandHandler stockCommandHandler = stockFactory.create(StockFactory.Types.STOCK.toString());
-        SimpleConsumer simpleConsumer = new SimpleConsumer(messageQueue);
-        StockPoller stockPoller = new StockPoller(simpleConsumer, stockCommandHandler);
-
+        List<MessageQueue> shardQueues = initializeShards(periodicUpdater);
+        initializeMetrics();
+        ShardedMessageQueue messageQueue = new ShardedMessageQueue(shardQueues, stockExchange);
+        StockFactory stockFactory = new StockFactory(stockExchange.getShards().get(0), messageQueue, periodicUpdater);
         CommandHandler networkCommandHandler = stockFactory.create(StockFactory.Types.NETWORK.toString());
-        MessageHandler networkMessageHandler = new ServerMessageHandler(networkCommandHandler);
+        ServerMessageHandler networkMessageHandler = new ServerMessageHandler(networkCommandHandler);
 
         Integer port = null;
         try {
@@ -72,16 +104,170 @@ public class StockInit {
         } catch (NumberFormatException e) {
             port = 8080;
         }
-        Server server = null;
+        services.execute(createServer(port, networkMessageHandler));
+        services.execute(periodicUpdater);
+    }
+
+    /**
+     * Method creates the server of the traders: a NioServer that multiplexes the connections on a few event loops if
+     * the STOCK_SERVER_MODE environment variable is nio, otherwise a Server with a thread per connection. The
+     * NioServer frames the connections as the STOCK_FRAMING environment variable decides (line or length_prefixed).
+     * The threads of either server are platform or virtual threads, as the STOCK_THREAD_MODE environment variable
+     * decides. The Server disconnects a trader that sends nothing for STOCK_IDLE_TIMEOUT_MILLIS milliseconds, if set.
+     * @param port int port of the server.
+     * @param messageHandler ServerMessageHandler that handles the incoming messages.
+     * @return Runnable server to be started.
+     */
+    private Runnable createServer(int port, ServerMessageHandler messageHandler) {
         try {
-            server = new Server(port, networkMessageHandler);
+            ThreadMode threadMode = ThreadMode.fromName(System.getenv("STOCK_THREAD_MODE"));
+            if ("nio".equalsIgnoreCase(System.getenv("STOCK_SERVER_MODE"))) {
+                return new NioServer(port, messageHandler, NioServer.DEFAULT_NUM_OF_EVENT_LOOPS,
+                        Framing.fromName(System.getenv("STOCK_FRAMING")), threadMode);
+            }
+            return new Server(port, messageHandler, threadMode.newExecutor("client-handler"), getIdleTimeoutMillis());
         } catch (IOException e) {
             throw new RuntimeException("Failed to start Server");
         }
+    }
+
+    /**
+     * Method starts a matching thread for every shard of the stock exchange, each reading from its own queue. The
+     * queue is bounded to the ring capacity with the OverloadPolicy from the STOCK_OVERLOAD_POLICY environment variable
+     * (block, reject or drop_oldest), blocking the network threads by default; drop_oldest is refused over the
+     * durable journal. The matching thread consumes its queue through a ConsumerGroup, so a Message whose Command
+     * fails is delivered again, and dead-lettered after ConsumerGroup.DEFAULT_MAX_DELIVERIES attempts. Every
+     * queue is metered under the name shard-i.
+     * @param periodicUpdater PeriodicUpdater of the application.
+     * @return List(MessageQueue) with the bounded queue of every shard, by shard index.
+     */
+    private List<MessageQueue> initializeShards(PeriodicUpdater periodicUpdater) {
+        List<MessageQueue> shardQueues = new ArrayList<>();
+        OverloadPolicy overloadPolicy = OverloadPolicy.fromName(System.getenv("STOCK_OVERLOAD_POLICY"));
+        for (StockExchange shard : stockExchange.getShards()) {
+            MessageQueue queue = createShardQueue(shard, shardQueues.size());
+            MeteredMessageQueue shardQueue = new MeteredMessageQueue(new BoundedMessageQueue(queue, getRingCapacity(),
+                    overloadPolicy), new QueueMetrics());
+            meteredQueues.put("shard-" + shardQueues.size(), shardQueue);
+            StockFactory stockFactory = new StockFactory(shard, shardQueue, periodicUpdater);
+            CommandHandler stockCommandHandler = stockFactory.create(StockFactory.Types.STOCK.toString());
+            ConsumerGroup consumerGroup = new ConsumerGroup(shardQueue, deadLetterQueue);
+            StockPoller stockPoller = new StockPoller(new GroupConsumer(consumerGroup), stockCommandHandler,
+                    stockExchange, shard);
+            services.execute(stockPoller);
+            shardQueues.add(shardQueue);
+        }
+        return shardQueues;
+    }
+
+    /**
+     * Method publishes the metrics of the shard queues on a local HTTP endpoint if the STOCK_METRICS_PORT environment
+     * variable is set.
+     */
+    private void initializeMetrics() {
+        String metricsPort = System.getenv("STOCK_METRICS_PORT");
+        if (metricsPort == null) {
+            return;
+        }
+        try {
+            new MetricsServer(Integer.parseInt(metricsPort), meteredQueues).start();
+        } catch (IOException | NumberFormatException e) {
+            throw new RuntimeException("Failed to start metrics server");
+        }
+    }
+
+    /**
+     * Method creates the queue of a shard: a ring, or a durable MappedLogMessageQueue in a sub-directory of the
+     * STOCK_JOURNAL_DIR environment variable if it is set. The journal is forced every STOCK_JOURNAL_FSYNC_BATCH
+     * Messages, and checkpointed with the state of the shard every STOCK_CHECKPOINT_INTERVAL Messages. After a restart
+     * the shard is restored from its last checkpoint, which is published right away, and the matching thread replays
+     * the journal from there. Until the replayed Messages are drained the bounded queue counts them, so the network
+     * threads are held back meanwhile. A checkpoint holds the Traders, which all shards share, so the journal is
+     * refused if there is more than one shard.
+     * @param shard StockExchange of the shard.
+     * @param shardIndex int index of the shard.
+     * @return MessageQueue of the shard.
+     * @throws IllegalStateException if the journal is enabled with more than one shard.
+     */
+    private MessageQueue createShardQueue(StockExchange shard, int shardIndex) throws IllegalStateException {
+        String journalDirectory = System.getenv("STOCK_JOURNAL_DIR");
+        if (journalDirectory == null) {
+            return new RingBufferMessageQueue(getRingCapacity(),
+                    WaitStrategy.fromName(System.getenv("STOCK_WAIT_STRATEGY")));
+        }
+        if (stockExchange.getShards().size() > 1) {
+            throw new IllegalStateException("The message journal needs STOCK_SHARDS=1.");
+        }
+        try {
+            MappedLogMessageQueue journal = new MappedLogMessageQueue(Path.of(journalDirectory, "shard-" + shardIndex),
+                    MappedLogMessageQueue.DEFAULT_SEGMENT_SIZE, getJournalFsyncBatchSize());
+            CheckpointedMessageQueue queue = new CheckpointedMessageQueue(journal, shard, getCheckpointInterval());
+            shard.publishDepths();
+            stockExchange.publishSnapshot();
+            return queue;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open message journal");
+        }
+    }
+
+    /**
+     * Method gets the number of Messages after which a journal is forced to the storage device.
+     * @return int batch size from the STOCK_JOURNAL_FSYNC_BATCH environment variable, or 64.
+     */
+    private int getJournalFsyncBatchSize() {
+        try {
+            return Integer.parseInt(System.getenv("STOCK_JOURNAL_FSYNC_BATCH"));
+        } catch (NumberFormatException e) {
+            return 64;
+        }
+    }
+
+    /**
+     * Method gets the number of Messages after which the state of a shard is checkpointed.
+     * @return int interval from the STOCK_CHECKPOINT_INTERVAL environment variable, or the default interval.
+     */
+    private int getCheckpointInterval() {
+        try {
+            return Integer.parseInt(System.getenv("STOCK_CHECKPOINT_INTERVAL"));
+        } catch (NumberFormatException e) {
+            return CheckpointedMessageQueue.DEFAULT_CHECKPOINT_INTERVAL;
+        }
+    }
+
+    /**
+     * Method gets the time after which the server disconnects an idle trader.
+     * @return int milliseconds from the STOCK_IDLE_TIMEOUT_MILLIS environment variable, or 0 to never disconnect.
+     */
+    private int getIdleTimeoutMillis() {
+        try {
+            return Integer.parseInt(System.getenv("STOCK_IDLE_TIMEOUT_MILLIS"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Method gets the number of shards, i.e. matching threads, of the stock exchange.
+     * @return int number of shards from the STOCK_SHARDS environment variable, or the number of available cores.
+     */
+    private int getNumOfShards() {
+        try {
+            return Integer.parseInt(System.getenv("STOCK_SHARDS"));
+        } catch (NumberFormatException e) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+    }
 
-        new Thread(server).start();
-        new Thread(stockPoller).start();
-        new Thread(periodicUpdater).start();
+    /**
+     * Method gets the capacity of the rings through which the network threads pass Messages to the matching threads.
+     * @return int capacity from the STOCK_RING_CAPACITY environment variable, or the default capacity.
+     */
+    private int getRingCapacity() {
+        try {
+            return Integer.parseInt(System.getenv("STOCK_RING_CAPACITY"));
+        } catch (NumberFormatException e) {
+            return RingBufferMessageQueue.DEFAULT_CAPACITY;
+        }
     }
 
     /**
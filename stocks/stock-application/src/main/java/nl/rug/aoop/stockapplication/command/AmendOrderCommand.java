@@ -0,0 +1,49 @@
+package nl.rug.aoop.stockapplication.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.Command;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
+
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class AmendOrderCommand that implements Command. It amends the amount of a stored Order in the contained
+ * StockExchange.
+ */
+@Slf4j
+public class AmendOrderCommand implements Command {
+    /**
+     * StockExchange that should amend the Order.
+     */
+    private final StockExchange stockExchange;
+
+    /**
+     * Constructor for AmendOrderCommand.
+     * @param stockExchange StockExchange that should amend the Order.
+     */
+    public AmendOrderCommand(StockExchange stockExchange) {
+        this.stockExchange = requireNonNull(stockExchange);
+    }
+
+    /**
+     * Method executes the Command with given Map of Objects available to use.
+     *
+     * @param options Map(String, Object) with Objects for the Command to use.
+     */
+    @Override
+    public void execute(Map<String, Object> options) {
+        try {
+            String orderUpdateString = (String) options.get("Body");
+            OrderUpdate orderUpdate = OrderUpdate.fromString(orderUpdateString);
+            if (!stockExchange.amendOrder(orderUpdate)) {
+                log.info("Failed to amend order: " + orderUpdate.getOrderId());
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize order update.");
+        }
+    }
+}
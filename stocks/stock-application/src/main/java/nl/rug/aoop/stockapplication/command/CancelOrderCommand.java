@@ -0,0 +1,48 @@
+package nl.rug.aoop.stockapplication.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.Command;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
+
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class CancelOrderCommand that implements Command. It cancels a stored Order in the contained StockExchange.
+ */
+@Slf4j
+public class CancelOrderCommand implements Command {
+    /**
+     * StockExchange that should cancel the Order.
+     */
+    private final StockExchange stockExchange;
+
+    /**
+     * Constructor for CancelOrderCommand.
+     * @param stockExchange StockExchange that should cancel the Order.
+     */
+    public CancelOrderCommand(StockExchange stockExchange) {
+        this.stockExchange = requireNonNull(stockExchange);
+    }
+
+    /**
+     * Method executes the Command with given Map of Objects available to use.
+     *
+     * @param options Map(String, Object) with Objects for the Command to use.
+     */
+    @Override
+    public void execute(Map<String, Object> options) {
+        try {
+            String orderUpdateString = (String) options.get("Body");
+            OrderUpdate orderUpdate = OrderUpdate.fromString(orderUpdateString);
+            if (!stockExchange.cancelOrder(orderUpdate)) {
+                log.info("Failed to cancel order: " + orderUpdate.getOrderId());
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize order update.");
+        }
+    }
+}
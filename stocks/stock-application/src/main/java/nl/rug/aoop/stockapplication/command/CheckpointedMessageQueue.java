@@ -0,0 +1,186 @@
+package nl.rug.aoop.stockapplication.command;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MappedLogMessageQueue;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
+import nl.rug.aoop.stockapplication.stock.StockExchangeCheckpoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class CheckpointedMessageQueue that implements MessageQueue. It hands the Messages of a journal, a
+ * MappedLogMessageQueue, to the matching thread of a StockExchange, and checkpoints the StockExchange so a restart
+ * neither loses its OrderBooks, pending Orders and reservations, nor replays the whole journal. When the matching
+ * thread commits and at least checkpointInterval Messages were applied since the last checkpoint, the journal is
+ * forced and a StockExchangeCheckpoint of the StockExchange at the read offset is written. Only then the checkpoint
+ * of the journal advances to that offset and the segments before it are deleted. Opening the queue restores the last
+ * StockExchangeCheckpoint into the freshly loaded StockExchange and replays the journal from its offset.
+ * The StockExchange must not share its Traders or Stocks with StockExchanges on other threads, as its checkpoint
+ * holds all of them.
+ */
+@Slf4j
+public class CheckpointedMessageQueue implements MessageQueue {
+    /**
+     * Default number of applied Messages after which a new checkpoint is written.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+    /**
+     * Name of the file holding the StockExchangeCheckpoint in the directory of the journal.
+     */
+    public static final String CHECKPOINT_FILE = "exchange-checkpoint.json";
+    /**
+     * MappedLogMessageQueue journal of the Messages.
+     */
+    @Getter
+    private final MappedLogMessageQueue journal;
+    /**
+     * StockExchange whose state is checkpointed.
+     */
+    private final StockExchange stockExchange;
+    /**
+     * int number of applied Messages after which a new checkpoint is written.
+     */
+    private final int checkpointInterval;
+    /**
+     * Path of the file holding the StockExchangeCheckpoint.
+     */
+    private final Path checkpointFile;
+    /**
+     * long offset of the last checkpoint.
+     */
+    @Getter
+    private long checkpointOffset;
+
+    /**
+     * Constructor restores the last StockExchangeCheckpoint of the journal, if any, into the StockExchange, and moves
+     * the journal to its offset. Without one the journal is replayed from its first Message.
+     * @param journal MappedLogMessageQueue journal of the Messages.
+     * @param stockExchange Freshly loaded StockExchange that has not applied any event yet.
+     * @param checkpointInterval int number of applied Messages after which a new checkpoint is written.
+     * @throws IOException if the StockExchangeCheckpoint can't be read.
+     */
+    public CheckpointedMessageQueue(MappedLogMessageQueue journal, StockExchange stockExchange,
+                                    int checkpointInterval) throws IOException {
+        this.journal = requireNonNull(journal, "Journal can't be null.");
+        this.stockExchange = requireNonNull(stockExchange, "Stock exchange can't be null.");
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointFile = journal.getDirectory().resolve(CHECKPOINT_FILE);
+        StockExchangeCheckpoint checkpoint = StockExchangeCheckpoint.read(checkpointFile);
+        if (checkpoint == null) {
+            checkpointOffset = journal.getStartOffset();
+        } else {
+            checkpoint.restore(stockExchange);
+            checkpointOffset = checkpoint.getOffset();
+            log.info("Restored checkpoint at offset {}.", checkpointOffset);
+        }
+        journal.seek(checkpointOffset);
+    }
+
+    /**
+     * Method appends a Message to the journal.
+     * @param message Message to be added.
+     */
+    @Override
+    public void enqueue(Message message) {
+        journal.enqueue(message);
+    }
+
+    /**
+     * Method that retrieves the next message from the journal.
+     * @return Message to be retrieved, or null if every appended Message was retrieved.
+     */
+    @Override
+    public Message dequeue() {
+        return journal.dequeue();
+    }
+
+    /**
+     * Method that retrieves up to a maximum number of messages from the journal at once, without waiting.
+     * @param batch List(Message) the retrieved messages are added to, in dequeue order.
+     * @param maxMessages int maximum number of messages to retrieve.
+     * @return int number of messages added to the batch, 0 if the journal is drained.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        return journal.drain(batch, maxMessages);
+    }
+
+    /**
+     * Method that retrieves a message from the journal, waiting up to a timeout.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message to be retrieved, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message dequeue(long timeout, TimeUnit unit) throws InterruptedException {
+        return journal.dequeue(timeout, unit);
+    }
+
+    /**
+     * Method that retrieves a message from the journal, waiting as long as it is drained.
+     * @return Message to be retrieved.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message take() throws InterruptedException {
+        return journal.take();
+    }
+
+    /**
+     * Method writes a new checkpoint if enough Messages were applied since the last one. It is called by the matching
+     * thread once every Message retrieved so far is applied. A checkpoint that can't be written is logged and tried
+     * again at the next commit, the previous one stays valid.
+     */
+    @Override
+    public void commit() {
+        long offset = journal.getReadOffset();
+        if (offset - checkpointOffset < checkpointInterval) {
+            return;
+        }
+        try {
+            journal.force();
+            StockExchangeCheckpoint.capture(stockExchange, offset).write(checkpointFile);
+        } catch (IOException e) {
+            log.error("Failed to write checkpoint at offset " + offset + ".", e);
+            return;
+        }
+        journal.commit();
+        checkpointOffset = offset;
+        try {
+            journal.truncate(offset);
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to delete the journal before offset " + offset + ".", e);
+        }
+    }
+
+    /**
+     * Method tells whether the journal is durable.
+     * @return boolean true if the journal is durable.
+     */
+    @Override
+    public boolean isDurable() {
+        return journal.isDurable();
+    }
+
+    /**
+     * Method that gets the number of appended Messages that were not retrieved yet.
+     * @return Integer size of the journal.
+     */
+    @Override
+    public Integer getSize() {
+        return journal.getSize();
+    }
+}
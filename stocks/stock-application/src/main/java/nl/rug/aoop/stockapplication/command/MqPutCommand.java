@@ -4,7 +4,9 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.command.Command;
 import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.networking.Communicator;
 
 import java.util.Map;
 
@@ -12,11 +14,16 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Class MqPutCommand that implements Command.
- * It puts a received Message in the given MessageQueue.
+ * It puts a received Message, sent as JSON or in a binary envelope, in the given MessageQueue. If a full MessageQueue
+ * rejects the Message, the Message is sent back to the Communicator it came from under the messageRejected header, in
+ * the WireFormat negotiated on its connection.
  */
 @Slf4j
 public class MqPutCommand implements Command {
-
+    /**
+     * String header of the reply that returns a rejected Message.
+     */
+    public static final String REJECTED_HEADER = "messageRejected";
     /**
      * MessageQueue in which the Command can put Messages.
      */
@@ -38,11 +45,26 @@ public class MqPutCommand implements Command {
     @Override
     public void execute(Map<String, Object> options) {
         try {
-            String messageString = (String) options.get("Body");
-            Message message = Message.fromJson(messageString);
-            messageQueue.enqueue(message);
+            Message message = WireFormat.toMessage(options.get("Body"));
+            enqueue(message, (Communicator) options.get("Communicator"));
         } catch (ClassCastException e) {
             log.error("Error while casting received parameters.", e);
         }
     }
+
+    /**
+     * Method puts a Message in the MessageQueue and returns it to its sender if the MessageQueue rejects it.
+     * @param message Message to be put in the MessageQueue.
+     * @param sender Communicator the Message came from, or null if it can't be replied to.
+     */
+    private void enqueue(Message message, Communicator sender) {
+        try {
+            messageQueue.enqueue(message);
+        } catch (IllegalStateException e) {
+            log.warn("Rejected message: {}", e.getMessage());
+            if (sender != null) {
+                sender.sendMessage(WireFormat.of(sender).encode(REJECTED_HEADER, message));
+            }
+        }
+    }
 }
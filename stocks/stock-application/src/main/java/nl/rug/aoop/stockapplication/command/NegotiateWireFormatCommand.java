@@ -0,0 +1,45 @@
+package nl.rug.aoop.stockapplication.command;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.Command;
+import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.networking.Communicator;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Class NegotiateWireFormatCommand that implements Command. It answers a Client that asks to send its Messages in a
+ * WireFormat with the WireFormat the stock application accepts: the requested one if it is known, and JSON otherwise.
+ * The answer is always JSON, so a Client that does not know the accepted WireFormat can read it. The accepted
+ * WireFormat is then attached to the Communicator of the Client, so the replies and updates it receives afterwards are
+ * encoded in it.
+ */
+@Slf4j
+public class NegotiateWireFormatCommand implements Command {
+    /**
+     * String header of the request and of the answer.
+     */
+    public static final String HEADER = "wireFormat";
+
+    /**
+     * Method answers the requested WireFormat in the Body with the accepted WireFormat.
+     * @param options Map(String, Object) with the requested WireFormat name and the Communicator of the Client.
+     */
+    @Override
+    public void execute(Map<String, Object> options) {
+        WireFormat accepted;
+        try {
+            accepted = WireFormat.fromName((String) options.get("Body"));
+        } catch (IllegalArgumentException | ClassCastException e) {
+            accepted = WireFormat.JSON;
+        }
+        Communicator communicator = (Communicator) options.get("Communicator");
+        if (communicator != null) {
+            communicator.sendMessage(new NetworkMessage(HEADER, accepted.name().toLowerCase(Locale.ROOT)).toJson());
+            accepted.attachTo(communicator);
+            log.info("Negotiated wire format {}.", accepted);
+        }
+    }
+}
@@ -2,17 +2,21 @@ package nl.rug.aoop.stockapplication.command;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.BatchResult;
 import nl.rug.aoop.command.Command;
 import nl.rug.aoop.core.order.Order;
 import nl.rug.aoop.core.order.OrderSerializer;
 import nl.rug.aoop.stockapplication.stock.StockExchange;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Class ResolveOrderCommand that implements Command. It executes an Order in the contained StockExchange.
+ * Class ResolveOrderCommand that implements Command. It executes an Order in the contained StockExchange. A batch of
+ * Orders is deserialized at once before its Orders are executed in the order they arrived.
  */
 @Slf4j
 public class ResolveOrderCommand implements Command {
@@ -44,4 +48,31 @@ public class ResolveOrderCommand implements Command {
             log.error("Failed to deserialize order.");
         }
     }
+
+    /**
+     * Method executes the Command for a batch of Maps of Objects. All Orders of the batch are deserialized with one
+     * reader first, and then executed in order. An Order the StockExchange fails to resolve is recorded in the
+     * BatchResult and does not stop the Orders after it.
+     *
+     * @param optionsBatch List(Map(String, Object)) with the Objects for every execution of the Command.
+     * @return BatchResult with the outcome of every Order, by its index in the batch.
+     */
+    @Override
+    public BatchResult executeBatch(List<Map<String, Object>> optionsBatch) {
+        List<String> orderStrings = new ArrayList<>(optionsBatch.size());
+        for (Map<String, Object> options : optionsBatch) {
+            orderStrings.add((String) options.get("Body"));
+        }
+        List<Order> orders = OrderSerializer.deserialize(orderStrings);
+        BatchResult result = new BatchResult(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            if (order == null) {
+                log.error("Failed to deserialize order.");
+            } else {
+                result.run(i, () -> stockExchange.resolveOrder(order));
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,91 @@
+package nl.rug.aoop.stockapplication.command;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.messagequeue.queue.PartitionedMessageQueue;
+import nl.rug.aoop.messagequeue.queue.Partitioner;
+import nl.rug.aoop.stockapplication.stock.ShardedStockExchange;
+
+import java.io.IOException;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class ShardedMessageQueue that extends PartitionedMessageQueue. Its partitions are the MessageQueues of the
+ * ShardedStockExchange shards, and it routes every Message to the shard that owns the Stock of the Message, so each
+ * shard's matching thread only receives its own Orders, in the order they were enqueued per Stock. The Stock Id is
+ * read from the top-level stockId field of the Message body (an Order or OrderUpdate) without deserializing the whole
+ * body. Messages without a Stock Id go to the first shard.
+ */
+@Slf4j
+public class ShardedMessageQueue extends PartitionedMessageQueue {
+    /**
+     * JsonFactory that creates the parsers reading the Stock Ids.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Constructor for ShardedMessageQueue.
+     * @param shardQueues List(MessageQueue) with the MessageQueue of every shard, by shard index.
+     * @param stockExchange ShardedStockExchange that decides which shard owns a Stock.
+     */
+    public ShardedMessageQueue(List<MessageQueue> shardQueues, ShardedStockExchange stockExchange) {
+        super(shardQueues, createPartitioner(stockExchange));
+        if (getPartitions().size() != stockExchange.getShards().size()) {
+            throw new IllegalArgumentException("Every shard needs exactly one message queue.");
+        }
+    }
+
+    /**
+     * Method retrieves the MessageQueue of every shard.
+     * @return List(MessageQueue) with the MessageQueue of every shard, by shard index.
+     */
+    public List<MessageQueue> getShardQueues() {
+        return getPartitions();
+    }
+
+    /**
+     * Method creates the Partitioner that routes a Message to the shard that owns its Stock.
+     * @param stockExchange ShardedStockExchange that decides which shard owns a Stock.
+     * @return Partitioner by Stock Id.
+     */
+    private static Partitioner createPartitioner(ShardedStockExchange stockExchange) {
+        requireNonNull(stockExchange);
+        return (message, numOfPartitions) -> {
+            String stockId = getStockId(message);
+            return stockId == null ? 0 : stockExchange.getShardIndex(stockId);
+        };
+    }
+
+    /**
+     * Method reads the Stock Id from the top-level stockId field of the Message body.
+     * @param message Message of which the Stock Id is read.
+     * @return String of the Stock Id, or null if the body has none.
+     */
+    private static String getStockId(Message message) {
+        if (message.body() == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(message.body())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("stockId".equals(fieldName) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.error("Failed to read stock id of message.", e);
+        }
+        return null;
+    }
+}
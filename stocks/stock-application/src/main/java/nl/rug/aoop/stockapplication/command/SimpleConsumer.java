@@ -4,6 +4,9 @@ import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.process.MQConsumer;
 import nl.rug.aoop.messagequeue.queue.MessageQueue;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -30,4 +33,45 @@ public class SimpleConsumer implements MQConsumer {
     public Message poll() {
         return queue.dequeue();
     }
+
+    /**
+     * Method drains up to a maximum number of Messages from the MessageQueue at once, without waiting.
+     * @param batch List(Message) the drained Messages are added to, in the order they are dequeued.
+     * @param maxMessages int maximum number of Messages to drain.
+     * @return int number of Messages added to the batch, 0 if the MessageQueue is empty.
+     */
+    @Override
+    public int drain(List<Message> batch, int maxMessages) {
+        return queue.drain(batch, maxMessages);
+    }
+
+    /**
+     * Method records in the MessageQueue that every Message polled so far was handled.
+     */
+    @Override
+    public void commit() {
+        queue.commit();
+    }
+
+    /**
+     * Method polls a Message from the MessageQueue, waiting up to a timeout as the MessageQueue decides.
+     * @param timeout long maximum time to wait.
+     * @param unit TimeUnit of the timeout.
+     * @return Message that is polled, or null if the timeout elapsed first.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.dequeue(timeout, unit);
+    }
+
+    /**
+     * Method takes a Message from the MessageQueue, waiting as the MessageQueue decides.
+     * @return Message that is taken.
+     * @throws InterruptedException if the waiting thread is interrupted.
+     */
+    @Override
+    public Message take() throws InterruptedException {
+        return queue.take();
+    }
 }
@@ -11,7 +11,7 @@ import nl.rug.aoop.stockapplication.stock.StockExchange;
  */
 public class StockFactory implements CommandHandlerFactory {
     /**
-     * StockExchange needed for ResolveOrderCommand.
+     * StockExchange needed for ResolveOrderCommand, CancelOrderCommand and AmendOrderCommand.
      */
     private final StockExchange stockExchange;
     /**
@@ -48,11 +48,14 @@ public class StockFactory implements CommandHandlerFactory {
         if (type.equals(Types.STOCK.toString())) {
             CommandHandler stockCommandHandler = new CommandHandler();
             stockCommandHandler.registerCommand("resolveOrder", new ResolveOrderCommand(stockExchange));
+            stockCommandHandler.registerCommand("cancelOrder", new CancelOrderCommand(stockExchange));
+            stockCommandHandler.registerCommand("amendOrder", new AmendOrderCommand(stockExchange));
             return stockCommandHandler;
         } else if (type.equals(Types.NETWORK.toString())) {
             CommandHandler serverCommandHandler = new CommandHandler();
             serverCommandHandler.registerCommand("mqPut", new MqPutCommand(messageQueue));
             serverCommandHandler.registerCommand("registerTrader", new RegisterTraderCommand(periodicUpdater));
+            serverCommandHandler.registerCommand(NegotiateWireFormatCommand.HEADER, new NegotiateWireFormatCommand());
             return serverCommandHandler;
         } else {
             throw new IllegalArgumentException("Command handler type not recognised.");
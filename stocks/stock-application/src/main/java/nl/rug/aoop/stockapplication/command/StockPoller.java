@@ -2,21 +2,53 @@ package nl.rug.aoop.stockapplication.command;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.BatchResult;
 import nl.rug.aoop.command.CommandHandler;
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.process.MQConsumer;
+import nl.rug.aoop.stockapplication.stock.SnapshotPublisher;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Class StockPoller that implements Runnable. It gets new Messages (mostly Orders) from the MQConsumer and calls the
- * CommandHandler with the map from the converted Message string.
+ * Class StockPoller that implements Runnable. It drains batches of new Messages (mostly Orders) from the MQConsumer
+ * and calls the CommandHandler with the maps from the converted Message strings. Consecutive Messages with the same
+ * header are handed to their Command as one batch. The maps are reused for every batch, so Commands must not keep them.
+ * It is the single matching thread of the StockExchange: it applies every event in order and, once the MQConsumer
+ * is drained or enough events have been applied, publishes a snapshot for the other threads to read. The matching
+ * thread of a shard first publishes the BookDepths of its shard, as only it may read the shard's OrderBooks.
+ * Every Message is settled with the MQConsumer on its own, by the outcome its Command reports for it in the
+ * BatchResult, so a failing Message never affects the ones around it: an executed Message is acknowledged, and a
+ * Message its Command rejected is handed back, so an at-least-once MQConsumer delivers it again or dead-letters it
+ * instead of losing it. A Message that failed halfway is acknowledged, as delivering it again would apply its first
+ * half twice.
+ * Once a snapshot is published the applied Messages are committed, so a durable MessageQueue records how far it was
+ * applied.
+ * While the MQConsumer is empty the StockPoller waits for a Message as the MQConsumer decides (see WaitStrategy), with
+ * a timeout so it notices being terminated, instead of spinning.
  */
 @Slf4j
 public class StockPoller implements Runnable {
+    /**
+     * int maximum number of events applied before a snapshot is published, even if more Messages are waiting.
+     */
+    public static final int MAX_UNPUBLISHED_EVENTS = 1024;
+    /**
+     * int maximum number of Messages drained from the MQConsumer at once.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+    /**
+     * long maximum number of milliseconds the StockPoller waits for a Message before checking whether it still runs.
+     */
+    public static final long IDLE_TIMEOUT_MILLIS = 100;
     /**
      * MQConsumer from which the StockPoller will receive Messages.
      */
@@ -25,11 +57,32 @@ public class StockPoller implements Runnable {
      * CommandHandler that the StockPoller will call execute on.
      */
     private final CommandHandler stockCommandHandler;
+    /**
+     * SnapshotPublisher (StockExchange) whose snapshots the StockPoller publishes, or null if it publishes none.
+     */
+    private final SnapshotPublisher stockExchange;
+    /**
+     * StockExchange shard whose BookDepths the StockPoller publishes, or null if it publishes none.
+     */
+    private final StockExchange shard;
     /**
      * boolean signaling whether the StockPoller is running or not.
      */
     @Getter
-    private boolean running = false;
+    private volatile boolean running = false;
+    /**
+     * int number of events applied since the last published snapshot.
+     */
+    private int unpublishedEvents = 0;
+    /**
+     * List(Message) batch of drained Messages, reused for every batch.
+     */
+    private final List<Message> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    /**
+     * List(Map(String, Object)) maps handed to the CommandHandler, one per Message of a batch and reused for every
+     * batch.
+     */
+    private final List<Map<String, Object>> optionsBatch = new ArrayList<>(MAX_BATCH_SIZE);
 
     /**
      * Constructor for StockPoller.
@@ -39,24 +92,162 @@ public class StockPoller implements Runnable {
     public StockPoller(MQConsumer consumer, CommandHandler stockCommandHandler) {
         this.consumer = requireNonNull(consumer);
         this.stockCommandHandler = requireNonNull(stockCommandHandler);
+        this.stockExchange = null;
+        this.shard = null;
+    }
+
+    /**
+     * Constructor for StockPoller that publishes the snapshots of a StockExchange.
+     * @param consumer MQConsumer from which the StockPoller will receive Messages.
+     * @param stockCommandHandler CommandHandler that the StockPoller will call execute on.
+     * @param stockExchange SnapshotPublisher (StockExchange) whose snapshots the StockPoller publishes.
+     */
+    public StockPoller(MQConsumer consumer, CommandHandler stockCommandHandler, SnapshotPublisher stockExchange) {
+        this.consumer = requireNonNull(consumer);
+        this.stockCommandHandler = requireNonNull(stockCommandHandler);
+        this.stockExchange = requireNonNull(stockExchange);
+        this.shard = null;
+    }
+
+    /**
+     * Constructor for StockPoller that runs the matching thread of a shard. It publishes the BookDepths of the shard
+     * and then the snapshots of the ShardedStockExchange.
+     * @param consumer MQConsumer from which the StockPoller will receive Messages.
+     * @param stockCommandHandler CommandHandler that the StockPoller will call execute on.
+     * @param stockExchange SnapshotPublisher (ShardedStockExchange) whose snapshots the StockPoller publishes.
+     * @param shard StockExchange shard whose BookDepths the StockPoller publishes.
+     */
+    public StockPoller(MQConsumer consumer, CommandHandler stockCommandHandler, SnapshotPublisher stockExchange,
+                       StockExchange shard) {
+        this.consumer = requireNonNull(consumer);
+        this.stockCommandHandler = requireNonNull(stockCommandHandler);
+        this.stockExchange = requireNonNull(stockExchange);
+        this.shard = requireNonNull(shard);
     }
 
     /**
-     * Method that will continuously get Messages and from the MQConsumer and execute the CommandHandler with them.
+     * Method that will continuously drain batches of Messages from the MQConsumer and execute the CommandHandler with
+     * them. A snapshot is published whenever the MQConsumer is drained or MAX_UNPUBLISHED_EVENTS events were applied.
+     * Once drained, the StockPoller waits for the next Message.
      */
     @Override
     public void run() {
         running = true;
         log.info("StockPoller is running.");
         while (running) {
-            Message message = consumer.poll();
-            if (message != null) {
-                Map<String, Object> map = new HashMap<>();
-                map.put("Header", message.header());
-                map.put("Body", message.body());
-                stockCommandHandler.executeCommand(message.header(), map);
+            if (consumer.drain(batch, MAX_BATCH_SIZE) == 0) {
+                publishSnapshot();
+                Message message = waitForMessage();
+                if (message != null) {
+                    batch.add(message);
+                }
             }
+            if (!batch.isEmpty()) {
+                executeBatch();
+                unpublishedEvents += batch.size();
+                batch.clear();
+                if (unpublishedEvents >= MAX_UNPUBLISHED_EVENTS) {
+                    publishSnapshot();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method waits up to IDLE_TIMEOUT_MILLIS for a Message. An interrupt terminates the StockPoller.
+     * @return Message from the MQConsumer, or null if none arrived in time.
+     */
+    private Message waitForMessage() {
+        try {
+            return consumer.poll(IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminate();
+            return null;
+        }
+    }
+
+    /**
+     * Method executes the CommandHandler with the maps from the drained batch of Messages, in order. Every run of
+     * consecutive Messages with the same header is executed as one batch of that Command.
+     */
+    private void executeBatch() {
+        for (int i = 0; i < batch.size(); i++) {
+            if (optionsBatch.size() == i) {
+                optionsBatch.add(new HashMap<>());
+            }
+            Map<String, Object> options = optionsBatch.get(i);
+            options.put("Header", batch.get(i).header());
+            options.put("Body", batch.get(i).body());
+        }
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            String header = batch.get(i).header();
+            if (i + 1 == batch.size() || !Objects.equals(header, batch.get(i + 1).header())) {
+                executeRun(header, start, i + 1);
+                start = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Method executes a run of Messages with the same header as one batch of their Command, and then settles every
+     * Message by its outcome in the BatchResult. If the batch itself fails, every Message of the run is settled with
+     * that failure.
+     * @param header String header of the Messages.
+     * @param start int index in the batch of the first Message of the run.
+     * @param end int index in the batch after the last Message of the run.
+     */
+    private void executeRun(String header, int start, int end) {
+        BatchResult result = null;
+        RuntimeException batchFailure = null;
+        try {
+            result = stockCommandHandler.executeBatch(header, optionsBatch.subList(start, end));
+        } catch (RuntimeException e) {
+            batchFailure = e;
+        }
+        for (int i = start; i < end; i++) {
+            settle(batch.get(i), result == null ? batchFailure : result.getFailure(i - start));
+        }
+    }
+
+    /**
+     * Method settles an executed Message with the MQConsumer. A Command rejects a Message it can't apply with a
+     * ClassCastException, IllegalArgumentException or IllegalStateException before changing anything, so such a
+     * Message is handed back. Any other failure may have applied part of the Message, so it is logged and the Message
+     * is acknowledged. The StockPoller keeps running either way.
+     * @param message Message that was executed.
+     * @param failure RuntimeException the execution of the Message failed with, or null if it succeeded.
+     */
+    private void settle(Message message, RuntimeException failure) {
+        if (failure == null) {
+            consumer.ack(message);
+        } else if (failure instanceof ClassCastException || failure instanceof IllegalArgumentException
+                || failure instanceof IllegalStateException) {
+            log.error("Rejected " + message.header() + " message.", failure);
+            consumer.nack(message);
+        } else {
+            log.error("Failed to execute " + message.header() + " message, it may be partly applied.", failure);
+            consumer.ack(message);
+        }
+    }
+
+    /**
+     * Method publishes the BookDepths of the shard and a snapshot of the StockExchange if events were applied since
+     * the last one, and then commits the applied Messages to the MQConsumer.
+     */
+    private void publishSnapshot() {
+        if (unpublishedEvents == 0) {
+            return;
+        }
+        if (shard != null) {
+            shard.publishDepths();
+        }
+        if (stockExchange != null) {
+            stockExchange.publishSnapshot();
         }
+        consumer.commit();
+        unpublishedEvents = 0;
     }
 
     /**
@@ -0,0 +1,137 @@
+package nl.rug.aoop.stockapplication.network;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.messagequeue.queue.Histogram;
+import nl.rug.aoop.messagequeue.queue.MeteredMessageQueue;
+import nl.rug.aoop.messagequeue.queue.QueueMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class MetricsServer publishes the QueueMetrics of MeteredMessageQueues on a local HTTP endpoint, /metrics, in the
+ * Prometheus text format: per queue and header the enqueued and dequeued Messages, the depth and the latency
+ * percentiles in nanoseconds, and per queue its current depth and the percentiles of the depth found by enqueued
+ * Messages. The metrics are rendered when they are requested, so an idle endpoint costs nothing.
+ */
+@Slf4j
+public class MetricsServer {
+    /**
+     * Percentiles of the latency and depth Histograms that are published.
+     */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+    /**
+     * Map(String, MeteredMessageQueue) with the published queues by name.
+     */
+    private final Map<String, MeteredMessageQueue> queues;
+    /**
+     * HttpServer of the endpoint.
+     */
+    private final HttpServer server;
+
+    /**
+     * Constructor for the MetricsServer, which binds to a port on the loopback address.
+     * @param port int port of the endpoint, 0 for any free port.
+     * @param queues Map(String, MeteredMessageQueue) with the published queues by name.
+     * @throws IOException if the port can't be bound.
+     */
+    public MetricsServer(int port, Map<String, MeteredMessageQueue> queues) throws IOException {
+        this.queues = new LinkedHashMap<>(requireNonNull(queues, "Queues can't be null."));
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/metrics", this::handle);
+    }
+
+    /**
+     * Method starts serving the endpoint on a background thread.
+     */
+    public void start() {
+        server.start();
+        log.info("Publishing queue metrics on port " + getPort() + ".");
+    }
+
+    /**
+     * Method stops serving the endpoint.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Method retrieves the port of the endpoint.
+     * @return int bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Method renders the metrics of all queues in the Prometheus text format.
+     * @return String with a line per metric.
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, MeteredMessageQueue> entry : queues.entrySet()) {
+            String queueLabel = "queue=\"" + entry.getKey() + "\"";
+            QueueMetrics metrics = entry.getValue().getMetrics();
+            appendLine(text, "mq_queue_depth", queueLabel, entry.getValue().getSize());
+            appendPercentiles(text, "mq_queue_depth_at_enqueue", queueLabel, metrics.getDepth());
+            for (Map.Entry<String, QueueMetrics.HeaderMetrics> header : metrics.getHeaderMetrics().entrySet()) {
+                String labels = queueLabel + ",header=\"" + header.getKey() + "\"";
+                QueueMetrics.HeaderMetrics headerMetrics = header.getValue();
+                appendLine(text, "mq_enqueued_total", labels, headerMetrics.getNumOfEnqueued());
+                appendLine(text, "mq_dequeued_total", labels, headerMetrics.getNumOfDequeued());
+                appendLine(text, "mq_depth", labels, headerMetrics.getDepth());
+                appendPercentiles(text, "mq_latency_nanos", labels, headerMetrics.getLatency());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Method answers a request for the endpoint with the rendered metrics.
+     * @param exchange HttpExchange of the request.
+     * @throws IOException if the answer can't be sent.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body = render().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Method appends the percentiles and the count of a Histogram.
+     * @param text StringBuilder the lines are appended to.
+     * @param name String name of the metric.
+     * @param labels String labels of the metric.
+     * @param histogram Histogram of the metric.
+     */
+    private void appendPercentiles(StringBuilder text, String name, String labels, Histogram histogram) {
+        for (double percentile : PERCENTILES) {
+            appendLine(text, name, labels + ",quantile=\"" + percentile / 100 + "\"",
+                    histogram.getValueAtPercentile(percentile));
+        }
+        appendLine(text, name + "_count", labels, histogram.getCount());
+    }
+
+    /**
+     * Method appends the line of a metric.
+     * @param text StringBuilder the line is appended to.
+     * @param name String name of the metric.
+     * @param labels String labels of the metric.
+     * @param value long value of the metric.
+     */
+    private void appendLine(StringBuilder text, String name, String labels, long value) {
+        text.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+}
@@ -1,19 +1,22 @@
 package nl.rug.aoop.stockapplication.network;
 
 import nl.rug.aoop.command.CommandHandler;
-import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.Communicator;
+import nl.rug.aoop.networking.FrameCommunicator;
+import nl.rug.aoop.networking.FrameHandler;
 import nl.rug.aoop.networking.MessageHandler;
 
-import java.util.HashMap;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * ServerMessageHandler handles all the incoming messages. Implements the MessageHandler Interface.
+ * ServerMessageHandler handles all the incoming messages. Implements the MessageHandler Interface, and the
+ * FrameHandler Interface for framed connections, whose frames may also be raw binary NetworkMessages.
  */
-public class ServerMessageHandler implements MessageHandler {
+public class ServerMessageHandler implements MessageHandler, FrameHandler {
     /**
      * CommandHandler which will execute the commands handled by the ServerMessageHandler.
      */
@@ -28,17 +31,34 @@ public class ServerMessageHandler implements MessageHandler {
     }
 
     /**
-     * Handles the incoming message by calling upon the CommandHandler to execute a command.
+     * Handles the incoming message by calling upon the CommandHandler to execute a command. The message is a JSON or
+     * a binary NetworkMessage, as the sender negotiated.
      * @param jsonMessage String to be handled.
      * @param out Communicator that allows a response to be sent back.
      */
     @Override
     public void handleMessage(String jsonMessage, Communicator out) {
-        NetworkMessage networkMessage = NetworkMessage.fromJson(jsonMessage);
-        Map<String, Object> map = new HashMap<>();
-        map.put("Header", networkMessage.header());
-        map.put("Body", networkMessage.body());
+        execute(WireFormat.decode(jsonMessage), out);
+    }
+
+    /**
+     * Handles an incoming frame by calling upon the CommandHandler to execute a command. The frame is a JSON, a
+     * binary text or a raw binary NetworkMessage, and is decoded straight from the buffer.
+     * @param frame ByteBuffer holding the frame.
+     * @param out FrameCommunicator that allows a response to be sent back.
+     */
+    @Override
+    public void handleFrame(ByteBuffer frame, FrameCommunicator out) {
+        execute(WireFormat.decode(frame), out);
+    }
+
+    /**
+     * Executes the command of a decoded NetworkMessage.
+     * @param map Map(String, Object) with the options of the NetworkMessage.
+     * @param out Communicator that allows a response to be sent back.
+     */
+    private void execute(Map<String, Object> map, Communicator out) {
         map.put("Communicator", out);
-        serverCommandHandler.executeCommand(networkMessage.header(), map);
+        serverCommandHandler.executeCommand((String) map.get(WireFormat.HEADER), map);
     }
 }
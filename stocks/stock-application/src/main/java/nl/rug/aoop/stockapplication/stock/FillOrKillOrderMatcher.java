@@ -0,0 +1,47 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+
+import java.util.Iterator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * FillOrKillOrderMatcher that extends OrderMatcher. It matches a given FillOrKillOrder with the resting Orders of an
+ * OrderBook that cross its price, but only if they can resolve it in full. Otherwise the FillOrKillOrder is
+ * cancelled as a whole.
+ */
+public class FillOrKillOrderMatcher extends OrderMatcher {
+    /**
+     * Method matches the given FillOrKillOrder with the resting Orders of the given OrderBook. The crossing Orders are
+     * counted first, without changing the OrderBook.
+     * @param order FillOrKillOrder to be matched.
+     * @param orderBook OrderBook of the FillOrKillOrder's Stock.
+     * @return Iterator over the Orders that can be matched with the given FillOrKillOrder, or null if they can't
+     *     resolve it in full.
+     */
+    @Override
+    public Iterator<Order> matchOrder(Order order, OrderBook orderBook) {
+        requireNonNull(order);
+        requireNonNull(orderBook);
+        Iterator<Order> matchingOrders = getMatchingOrders(order, orderBook, order.getPriceTicks());
+        long matchableQuantity = 0;
+        while (matchingOrders != null && matchingOrders.hasNext() && matchableQuantity < order.getQuantity()) {
+            matchableQuantity += matchingOrders.next().getQuantity();
+        }
+        if (matchableQuantity < order.getQuantity()) {
+            return null;
+        }
+        return getMatchingOrders(order, orderBook, order.getPriceTicks());
+    }
+
+    /**
+     * Method checks if the unresolved amount of a FillOrKillOrder is cancelled instead of stored.
+     * @return true, a FillOrKillOrder is never stored.
+     */
+    @Override
+    public boolean cancelsRemainder() {
+        return true;
+    }
+}
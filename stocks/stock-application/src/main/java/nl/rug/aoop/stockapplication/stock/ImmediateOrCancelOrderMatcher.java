@@ -0,0 +1,37 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+
+import java.util.Iterator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * ImmediateOrCancelOrderMatcher that extends OrderMatcher. It matches a given ImmediateOrCancelOrder with the resting
+ * Orders of an OrderBook that cross its price. The unresolved amount of an ImmediateOrCancelOrder is cancelled.
+ */
+public class ImmediateOrCancelOrderMatcher extends OrderMatcher {
+    /**
+     * Method matches the given ImmediateOrCancelOrder with the resting Orders of the given OrderBook.
+     * @param order ImmediateOrCancelOrder to be matched.
+     * @param orderBook OrderBook of the ImmediateOrCancelOrder's Stock.
+     * @return Iterator over the Orders that can be matched with the given ImmediateOrCancelOrder, or null if there
+     *     are none.
+     */
+    @Override
+    public Iterator<Order> matchOrder(Order order, OrderBook orderBook) {
+        requireNonNull(order);
+        requireNonNull(orderBook);
+        return getMatchingOrders(order, orderBook, order.getPriceTicks());
+    }
+
+    /**
+     * Method checks if the unresolved amount of an ImmediateOrCancelOrder is cancelled instead of stored.
+     * @return true, an ImmediateOrCancelOrder is never stored.
+     */
+    @Override
+    public boolean cancelsRemainder() {
+        return true;
+    }
+}
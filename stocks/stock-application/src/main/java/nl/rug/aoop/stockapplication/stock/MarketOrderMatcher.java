@@ -0,0 +1,41 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+
+import java.util.Iterator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * MarketOrderMatcher that extends OrderMatcher. It matches a given MarketOrder with all resting Orders of the opposite
+ * side of an OrderBook, whatever their price. The unresolved amount of a MarketOrder is cancelled.
+ */
+public class MarketOrderMatcher extends OrderMatcher {
+    /**
+     * Method matches the given MarketOrder with the resting Orders of the given OrderBook. The price of a buy
+     * MarketOrder is set to the highest ask, the worst price it can be resolved at, so that its funds can be
+     * reserved.
+     * @param order MarketOrder to be matched.
+     * @param orderBook OrderBook of the MarketOrder's Stock.
+     * @return Iterator over the Orders that can be matched with the given MarketOrder, or null if there are none.
+     */
+    @Override
+    public Iterator<Order> matchOrder(Order order, OrderBook orderBook) {
+        requireNonNull(order);
+        requireNonNull(orderBook);
+        if (order.getSide() == Order.BUY) {
+            order.setPriceTicks(orderBook.getWorstAskPrice());
+        }
+        return getMatchingOrders(order, orderBook, Order.NO_PRICE);
+    }
+
+    /**
+     * Method checks if the unresolved amount of a MarketOrder is cancelled instead of stored.
+     * @return true, a MarketOrder is never stored.
+     */
+    @Override
+    public boolean cancelsRemainder() {
+        return true;
+    }
+}
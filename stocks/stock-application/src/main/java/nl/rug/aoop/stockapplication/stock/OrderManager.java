@@ -1,73 +1,164 @@
 package nl.rug.aoop.stockapplication.stock;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.core.order.HeapOrderBook;
+import nl.rug.aoop.core.order.OffHeapOrderBook;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.OrderRecordStore;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Class OrderManager that contains OrderCollections: asks, bids and provides methods to operate on them.
+ * Class OrderManager that contains an OrderBook per Stock and provides methods to operate on them. The OrderBooks
+ * either keep their Orders on the heap, or, if the OrderManager has an OrderRecordStore, as records in off-heap memory
+ * shared by all its OrderBooks.
  */
 @Getter
 @Slf4j
 public class OrderManager {
     /**
-     * OrderCollection asks containing Orders of Sell operation.
+     * Map(String, OrderBook) holds the OrderBooks based on their Stock Id.
      */
-    private final OrderCollection asks;
+    private final Map<String, OrderBook> orderBooks;
     /**
-     * OrderCollection bids containing Orders of Buy operation.
+     * long holds the difference between consecutive Order Ids.
      */
-    private final OrderCollection bids;
+    private final long orderIdStep;
+    /**
+     * long holds the Id that will be assigned to the next Order.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private long nextOrderId;
+    /**
+     * OrderRecordStore that holds the Orders of the OrderBooks off-heap, or null if they are kept on the heap.
+     */
+    private final OrderRecordStore recordStore;
 
     /**
-     * Constructor for OrderManage that initializes the contained OrderCollections.
+     * Constructor for OrderManager that initializes the Map of OrderBooks. Order Ids start at 1.
      */
     public OrderManager() {
-        asks = new OrderCollection();
-        bids = new OrderCollection();
+        this(1, 1);
+    }
+
+    /**
+     * Constructor for OrderManager that initializes the Map of OrderBooks and generates Order Ids from a given
+     * arithmetic sequence. OrderManagers of different shards use interleaved sequences, so their Ids never collide.
+     * @param firstOrderId long Id of the first Order.
+     * @param orderIdStep long difference between consecutive Order Ids.
+     */
+    public OrderManager(long firstOrderId, long orderIdStep) {
+        this(firstOrderId, orderIdStep, null);
+    }
+
+    /**
+     * Constructor for OrderManager that generates Order Ids from a given arithmetic sequence and keeps the Orders of
+     * its OrderBooks in an OrderRecordStore.
+     * @param firstOrderId long Id of the first Order.
+     * @param orderIdStep long difference between consecutive Order Ids.
+     * @param recordStore OrderRecordStore that holds the Orders off-heap, or null to keep them on the heap.
+     */
+    public OrderManager(long firstOrderId, long orderIdStep, OrderRecordStore recordStore) {
+        if (orderIdStep <= 0) {
+            throw new IllegalArgumentException("Order id step must be positive.");
+        }
+        orderBooks = new HashMap<>();
+        this.nextOrderId = firstOrderId;
+        this.orderIdStep = orderIdStep;
+        this.recordStore = recordStore;
+    }
+
+    /**
+     * Method gets the OrderBook of a Stock, creating an empty one if the Stock has no OrderBook yet.
+     * @param stockId String of the Stock's Id.
+     * @return OrderBook of the Stock.
+     */
+    public OrderBook getOrderBook(String stockId) {
+        requireNonNull(stockId);
+        return orderBooks.computeIfAbsent(stockId, this::createOrderBook);
     }
 
     /**
-     * Method gets the OrderCollections in a Map.
-     * @return Map(String, OrderCollection) of contained OrderCollections.
+     * Method generates a new unique Order Id.
+     * @return long of the new Order Id.
      */
-    public Map<String, OrderCollection> getOrderCollectionMap() {
-        return Map.of(
-                "Asks", asks,
-                "Bids", bids
-        );
+    public long generateOrderId() {
+        long orderId = nextOrderId;
+        nextOrderId += orderIdStep;
+        return orderId;
     }
 
     /**
-     * Method stores an Order in the corresponding contained OrderCollection.
+     * Method gets a stored Order based on its Stock Id and Order Id.
+     * @param stockId String of the Order's Stock Id.
+     * @param orderId Long of the Order's Id.
+     * @return Stored Order, or null if there is no such Order.
+     */
+    public Order getOrder(String stockId, Long orderId) {
+        OrderBook orderBook = orderBooks.get(stockId);
+        return orderBook == null || orderId == null ? null : orderBook.getOrder(orderId);
+    }
+
+    /**
+     * Method stores an Order in the OrderBook of its Stock. An Order without an Id is assigned a new one.
      * @param order Order that should be stored.
      */
     public void storeOrder(Order order) {
         requireNonNull(order);
-        if (Objects.equals(order.getOperation(), "BUY")) {
-            bids.addOrder(order);
-        } else if (Objects.equals(order.getOperation(), "SELL")) {
-            asks.addOrder(order);
+        if (order.getOrderId() == Order.NO_ID) {
+            order.setOrderId(generateOrderId());
         }
+        getOrderBook(order.getStockId()).addOrder(order);
     }
 
     /**
-     * Method removes an Order from the corresponding contained OrderCollection.
+     * Method removes an Order from the OrderBook of its Stock.
      * @param order Order that should be removed.
      */
     public void removeOrder(Order order) {
         requireNonNull(order);
-        if (Objects.equals(order.getOperation(), "BUY")) {
-            bids.removeOrder(order);
-        } else if (Objects.equals(order.getOperation(), "SELL")) {
-            asks.removeOrder(order);
+        OrderBook orderBook = orderBooks.get(order.getStockId());
+        if (orderBook != null) {
+            orderBook.removeOrder(order);
         }
     }
 
+    /**
+     * Method changes the amount of a stored Order. An amount of zero or less removes the Order.
+     * @param order Order that should be amended.
+     * @param amount Integer of the new amount.
+     */
+    public void amendOrder(Order order, Integer amount) {
+        requireNonNull(order);
+        requireNonNull(amount);
+        getOrderBook(order.getStockId()).amendOrder(order.getOrderId(), amount);
+    }
+
+    /**
+     * Method creates the OrderBook of a Stock.
+     * @param stockId String of the Stock's Id.
+     * @return New OrderBook, off-heap if the OrderManager has an OrderRecordStore.
+     */
+    private OrderBook createOrderBook(String stockId) {
+        return recordStore == null ? new HeapOrderBook(stockId) : new OffHeapOrderBook(stockId, recordStore);
+    }
+
+    /**
+     * Method gets the total number of stored Orders over all OrderBooks.
+     * @return int number of stored Orders.
+     */
+    public int getSize() {
+        int size = 0;
+        for (OrderBook orderBook : orderBooks.values()) {
+            size += orderBook.getSize();
+        }
+        return size;
+    }
 }
@@ -2,20 +2,81 @@ package nl.rug.aoop.stockapplication.stock;
 
 import lombok.Getter;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.stock.Stock;
 
-import java.util.Map;
+import java.util.Iterator;
 
 /**
- * Abstract class OrderMatcher that matches a given Order with the given Map of OrderCollections.
+ * Abstract class OrderMatcher that matches a given Order with the resting Orders of an OrderBook. It also decides if
+ * an Order of its type is valid, if it is active yet, and if the unresolved amount of such an Order is stored or
+ * cancelled.
  */
 @Getter
 public abstract class OrderMatcher {
     /**
-     * Method matches the given Order with the given Map of OrderCollections.
+     * Method matches the given Order with the resting Orders of the given OrderBook.
      * @param order Order to be matched.
-     * @param orderCollectionMap Map(String, OrderCollection) to be matched.
-     * @return OrderCollection containing Orders that can be matched with the given Order.
+     * @param orderBook OrderBook of the Order's Stock.
+     * @return Iterator over the matchable Orders in price-time priority, or null if there are none.
      */
-    public abstract OrderCollection matchOrder(Order order, Map<String, OrderCollection> orderCollectionMap);
+    public abstract Iterator<Order> matchOrder(Order order, OrderBook orderBook);
+
+    /**
+     * Method checks that the given Order can be resolved, so an invalid Order is rejected before it changes anything.
+     * By default an Order needs a recognised operation, and a price if its unresolved amount is stored.
+     * @param order Order that is checked.
+     * @throws IllegalArgumentException if the Order can't be resolved.
+     */
+    public void validateOrder(Order order) throws IllegalArgumentException {
+        if (order.getSide() == Order.NO_SIDE) {
+            throw new IllegalArgumentException("Order operation not recognised.");
+        }
+        if (!cancelsRemainder() && order.getPriceTicks() == Order.NO_PRICE) {
+            throw new IllegalArgumentException("Order price can't be null.");
+        }
+    }
+
+    /**
+     * Method gets the Order that is matched for the given Order. Orders are active right away by default.
+     * @param order Order that is checked.
+     * @param stock Stock of the Order.
+     * @return Order to be matched, or null if the Order has to wait.
+     */
+    public Order activateOrder(Order order, Stock stock) {
+        return order;
+    }
+
+    /**
+     * Method checks if the unresolved amount of an Order of this type is cancelled instead of stored. Orders are
+     * stored by default.
+     * @return true if the unresolved amount is cancelled, false if it is stored.
+     */
+    public boolean cancelsRemainder() {
+        return false;
+    }
+
+    /**
+     * Method gets the resting Orders of the opposite side of the OrderBook that cross the given price limit.
+     * @param order Order to be matched.
+     * @param orderBook OrderBook of the Order's Stock.
+     * @param limit int of the highest price to buy at or lowest price to sell at, or Order.NO_PRICE for no limit.
+     * @return Iterator over the matchable Orders in price-time priority, or null if there are none.
+     */
+    protected Iterator<Order> getMatchingOrders(Order order, OrderBook orderBook, int limit) {
+        Iterator<Order> matchingOrders;
+        if (order.getSide() == Order.BUY) {
+            matchingOrders = orderBook.getMatchingAsks(limit);
+        } else if (order.getSide() == Order.SELL) {
+            matchingOrders = orderBook.getMatchingBids(limit);
+        } else {
+            throw new IllegalArgumentException("Order operation not recognised.");
+        }
+
+        if (matchingOrders.hasNext()) {
+            return matchingOrders;
+        } else {
+            return null;
+        }
+    }
 }
@@ -2,9 +2,11 @@ package nl.rug.aoop.stockapplication.stock;
 
 import lombok.Getter;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.stock.Stock;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
@@ -38,14 +40,52 @@ public class OrderMatcherHandler {
     }
 
     /**
-     * Method matches the given Order with the given Map of OrderCollections by calling the appropriate OrderMatcher.
+     * Method matches the given Order with the resting Orders of the given OrderBook by calling the appropriate
+     * OrderMatcher.
      * @param order Order to be matched.
-     * @param orderCollectionMap Map(String, OrderCollection) to be matched.
-     * @return OrderCollection containing Orders that can be matched with the given Order.
+     * @param orderBook OrderBook of the Order's Stock.
+     * @return Iterator over the matchable Orders in price-time priority, or null if there are none.
      */
-    public OrderCollection matchOrder(Order order, Map<String, OrderCollection> orderCollectionMap) {
+    public Iterator<Order> matchOrder(Order order, OrderBook orderBook) {
         requireNonNull(order);
-        requireNonNull(orderCollectionMap);
-        return orderMatcherMap.get(order.getType()).matchOrder(order, orderCollectionMap);
+        requireNonNull(orderBook);
+        return orderMatcherMap.get(order.getType()).matchOrder(order, orderBook);
+    }
+
+    /**
+     * Method checks that the given Order can be resolved by calling the appropriate OrderMatcher.
+     * @param order Order that is checked.
+     * @throws IllegalArgumentException if no OrderMatcher is registered for the Order type or the Order can't be
+     *      resolved.
+     */
+    public void validateOrder(Order order) throws IllegalArgumentException {
+        requireNonNull(order);
+        OrderMatcher orderMatcher = orderMatcherMap.get(order.getType());
+        if (orderMatcher == null) {
+            throw new IllegalArgumentException("Order type not recognised: " + order.getType());
+        }
+        orderMatcher.validateOrder(order);
+    }
+
+    /**
+     * Method gets the Order that is matched for the given Order by calling the appropriate OrderMatcher.
+     * @param order Order that is checked.
+     * @param stock Stock of the Order.
+     * @return Order to be matched, or null if the Order has to wait.
+     */
+    public Order activateOrder(Order order, Stock stock) {
+        requireNonNull(order);
+        return orderMatcherMap.get(order.getType()).activateOrder(order, stock);
+    }
+
+    /**
+     * Method checks if the unresolved amount of the given Order is cancelled instead of stored by calling the
+     * appropriate OrderMatcher.
+     * @param order Order that is checked.
+     * @return true if the unresolved amount is cancelled, false if it is stored.
+     */
+    public boolean cancelsRemainder(Order order) {
+        requireNonNull(order);
+        return orderMatcherMap.get(order.getType()).cancelsRemainder();
     }
 }
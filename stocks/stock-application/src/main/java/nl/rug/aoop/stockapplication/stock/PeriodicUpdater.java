@@ -3,29 +3,34 @@ package nl.rug.aoop.stockapplication.stock;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.core.order.BookDepthCollection;
 import nl.rug.aoop.core.stock.StockCollection;
 import nl.rug.aoop.core.trader.Trader;
 import nl.rug.aoop.messagequeue.message.Message;
-import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.Communicator;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.Thread.sleep;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Class PeriodicUpdater that implements Runnable. It sends periodic updates to the registered
- * Trader(Bot) Communicators about the StockExchange.
+ * Trader(Bot) Communicators about the StockExchange. The updates are read from the last published
+ * StockExchangeSnapshot, never from the state owned by the matching thread. Besides the Stock and Trader updates, the
+ * Traders receive the depth of the OrderBooks once the snapshot holds any.
+ * The updates are encoded in the WireFormat negotiated on the connection of each Trader(Bot), and sent
+ * asynchronously, so a Trader(Bot) that reads slowly does not delay the updates of the others.
  */
 @Getter
 @Slf4j
 public class PeriodicUpdater implements Runnable {
     /**
-     * StockExchange from which the updates are sourced.
+     * SnapshotPublisher (StockExchange) from which the updates are sourced.
      */
-    private final StockExchange stockExchange;
+    private final SnapshotPublisher stockExchange;
     /**
      * Map(String, Communicator) holds the Communicators of the registered Trader(Bot)s.
      */
@@ -33,15 +38,15 @@ public class PeriodicUpdater implements Runnable {
     /**
      * boolean signaling whether the PeriodicUpdater is running.
      */
-    private boolean running;
+    private volatile boolean running;
 
     /**
      * Constructor for PeriodicUpdater that initializes the Map, running to false, and the given StockExchange.
-     * @param stockExchange StockExchange from which the updates are sourced.
+     * @param stockExchange SnapshotPublisher (StockExchange) from which the updates are sourced.
      */
-    public PeriodicUpdater(StockExchange stockExchange) {
+    public PeriodicUpdater(SnapshotPublisher stockExchange) {
         this.stockExchange = requireNonNull(stockExchange);
-        traderCommunicators = new HashMap<>();
+        traderCommunicators = new ConcurrentHashMap<>();
         running = false;
     }
 
@@ -87,48 +92,109 @@ public class PeriodicUpdater implements Runnable {
     public void sendUpdates() {
         log.info("Sending StockExchange updates to Trader(Bot)s.");
         if(traderCommunicators.size() != 0) {
-            for (String traderId : traderCommunicators.keySet()) {
-                if (stockExchange.getTraderManager().getTrader(traderId) != null
-                        && stockExchange.getStockManager().getSize() != 0) {
-                    traderCommunicators.get(traderId).sendMessage(getStockUpdate(traderId));
-                    traderCommunicators.get(traderId).sendMessage(getTraderUpdate(traderId));
+            StockExchangeSnapshot snapshot = stockExchange.getSnapshot();
+            for (Map.Entry<String, Communicator> entry : traderCommunicators.entrySet()) {
+                if (snapshot.getTraderCollection().getTrader(entry.getKey()) != null
+                        && snapshot.getStockCollection().getSize() != 0) {
+                    sendUpdates(entry.getKey(), entry.getValue(), snapshot);
                 }
             }
         }
     }
 
     /**
-     * Method gets the update about the Stocks from the StockExchange.
+     * Method gets the update about the Stocks from the last published StockExchangeSnapshot.
      * @param traderId String of Trader(Bot)'s Id to send the update to.
      * @return String of NetworkMessage with Header as updateStocks command String and as Body a Message;
      * the Message contains the traderId as Header and the updated StockCollection String as Body.
      */
     public String getStockUpdate(String traderId) {
+        return getStockUpdate(traderId, stockExchange.getSnapshot(), WireFormat.JSON);
+    }
+
+    /**
+     * Method gets the update about the Trader from the last published StockExchangeSnapshot.
+     * @param traderId String of Trader(Bot)'s Id to send the update to.
+     * @return String of NetworkMessage with Header as updateTrader command String and as Body a Message;
+     * the Message contains the traderId as Header and the updated Trader String as Body.
+     */
+    public String getTraderUpdate(String traderId) {
+        return getTraderUpdate(traderId, stockExchange.getSnapshot(), WireFormat.JSON);
+    }
+
+    /**
+     * Method gets the update about the OrderBook depths from the last published StockExchangeSnapshot.
+     * @param traderId String of Trader(Bot)'s Id to send the update to.
+     * @return String of NetworkMessage with Header as updateDepth command String and as Body a Message;
+     * the Message contains the traderId as Header and the BookDepthCollection String as Body.
+     */
+    public String getDepthUpdate(String traderId) {
+        return getDepthUpdate(traderId, stockExchange.getSnapshot(), WireFormat.JSON);
+    }
+
+    /**
+     * Method sends the updates to a Trader(Bot), in the WireFormat negotiated on its connection. The update about the
+     * OrderBook depths is only sent if the StockExchangeSnapshot holds any.
+     * @param traderId String of Trader(Bot)'s Id to send the updates to.
+     * @param communicator Communicator of the Trader(Bot).
+     * @param snapshot StockExchangeSnapshot from which the updates are sourced.
+     */
+    private void sendUpdates(String traderId, Communicator communicator, StockExchangeSnapshot snapshot) {
+        WireFormat format = WireFormat.of(communicator);
+        communicator.sendMessageAsync(getStockUpdate(traderId, snapshot, format));
+        communicator.sendMessageAsync(getTraderUpdate(traderId, snapshot, format));
+        if (snapshot.getBookDepthCollection().getSize() != 0) {
+            communicator.sendMessageAsync(getDepthUpdate(traderId, snapshot, format));
+        }
+    }
+
+    /**
+     * Method gets the update about the Stocks from a StockExchangeSnapshot.
+     * @param traderId String of Trader(Bot)'s Id to send the update to.
+     * @param snapshot StockExchangeSnapshot from which the update is sourced.
+     * @param format WireFormat in which the update is encoded.
+     * @return String of NetworkMessage with Header as updateStocks command String and as Body a Message.
+     */
+    private String getStockUpdate(String traderId, StockExchangeSnapshot snapshot, WireFormat format) {
         try {
-            StockCollection stockCollection = stockExchange.getStockManager().getStockCollection();
-            Message message = new Message(traderId, StockCollection.toString(stockCollection));
-            NetworkMessage networkMessage = new NetworkMessage("updateStocks", message.toJson());
-            return networkMessage.toJson();
+            Message message = new Message(traderId, StockCollection.toString(snapshot.getStockCollection()));
+            return format.encode("updateStocks", message);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to convert stock collection to string.");
         }
     }
 
     /**
-     * Method gets the update about the Trader from the StockExchange.
+     * Method gets the update about the Trader from a StockExchangeSnapshot.
      * @param traderId String of Trader(Bot)'s Id to send the update to.
-     * @return String of NetworkMessage with Header as updateTrader command String and as Body a Message;
-     * the Message contains the traderId as Header and the updated Trader String as Body.
+     * @param snapshot StockExchangeSnapshot from which the update is sourced.
+     * @param format WireFormat in which the update is encoded.
+     * @return String of NetworkMessage with Header as updateTrader command String and as Body a Message.
      */
-    public String getTraderUpdate(String traderId) {
+    private String getTraderUpdate(String traderId, StockExchangeSnapshot snapshot, WireFormat format) {
         try {
-            Trader trader = stockExchange.getTraderManager().getTrader(traderId);
+            Trader trader = snapshot.getTraderCollection().getTrader(traderId);
             Message message = new Message(traderId, Trader.toString(trader));
-            NetworkMessage networkMessage = new NetworkMessage("updateTrader", message.toJson());
-            return networkMessage.toJson();
+            return format.encode("updateTrader", message);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to convert stock collection to string.");
         }
     }
 
+    /**
+     * Method gets the update about the OrderBook depths from a StockExchangeSnapshot.
+     * @param traderId String of Trader(Bot)'s Id to send the update to.
+     * @param snapshot StockExchangeSnapshot from which the update is sourced.
+     * @param format WireFormat in which the update is encoded.
+     * @return String of NetworkMessage with Header as updateDepth command String and as Body a Message.
+     */
+    private String getDepthUpdate(String traderId, StockExchangeSnapshot snapshot, WireFormat format) {
+        try {
+            Message message = new Message(traderId, BookDepthCollection.toString(snapshot.getBookDepthCollection()));
+            return format.encode("updateDepth", message);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to convert book depth collection to string.");
+        }
+    }
+
 }
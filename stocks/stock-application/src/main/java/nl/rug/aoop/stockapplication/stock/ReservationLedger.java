@@ -0,0 +1,239 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.trader.Trader;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class ReservationLedger that keeps track of the funds and stock amounts the Traders have committed to their stored
+ * Orders. When an Order is accepted, the funds (for a buy Order, at the Order's price) or the stock amount (for a sell
+ * Order) it needs are reserved, and they are released when the Order is resolved, amended or cancelled. An Order is
+ * only accepted if the Trader has enough unreserved resources, so stored Orders can always be resolved and matching
+ * never has to check the Traders' accounts. The ledger is shared by all shards; a Trader's reservations are only read
+ * or changed while holding the Trader's lock. The reservations of a Trader are primitive fields, with the Stock
+ * amounts indexed by the interned Stock Id, so reserving, releasing and settling don't box or allocate.
+ */
+@Getter
+@Slf4j
+public class ReservationLedger {
+    /**
+     * TraderManager that manages the Traders.
+     */
+    private final TraderManager traderManager;
+    /**
+     * SymbolTable that interns the Stock Ids as indices into the reserved stock amounts.
+     */
+    private final SymbolTable stockSymbols = new SymbolTable();
+    /**
+     * Map(String, Account) holds the reservations of every Trader based on the Trader Id.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for ReservationLedger.
+     * @param traderManager TraderManager that manages the Traders.
+     */
+    public ReservationLedger(TraderManager traderManager) {
+        this.traderManager = requireNonNull(traderManager);
+    }
+
+    /**
+     * Method reserves the resources a new Order needs, if its Trader has enough unreserved resources.
+     * @param order Order for which the resources are reserved.
+     * @return true if the resources were reserved, false if the Order can't be accepted.
+     */
+    public boolean reserve(Order order) {
+        requireNonNull(order);
+        Trader trader = traderManager.getTrader(order.getTraderId());
+        if (trader == null || order.getQuantity() <= 0) {
+            return false;
+        }
+        synchronized (trader) {
+            return reserve(trader, order, order.getQuantity());
+        }
+    }
+
+    /**
+     * Method changes the reservation of a stored Order to a new amount. A higher amount is only reserved if the
+     * Trader has enough unreserved resources, a lower amount releases the difference.
+     * @param order Stored Order whose amount changes.
+     * @param newAmount Integer new amount of the Order.
+     * @return true if the reservation was changed, false if the Trader lacks the resources for the higher amount.
+     */
+    public boolean amend(Order order, Integer newAmount) {
+        requireNonNull(order);
+        requireNonNull(newAmount);
+        long difference = max(newAmount, 0) - order.getQuantity();
+        if (difference <= 0) {
+            release(order, -difference);
+            return true;
+        }
+        Trader trader = traderManager.getTrader(order.getTraderId());
+        synchronized (trader) {
+            return reserve(trader, order, difference);
+        }
+    }
+
+    /**
+     * Method releases the reservation of a part of an Order that is no longer stored, for instance after it is
+     * cancelled. A reservation never drops below zero.
+     * @param order Order whose reservation is released.
+     * @param amount long amount of the Order that is released.
+     */
+    public void release(Order order, long amount) {
+        requireNonNull(order);
+        Trader trader = traderManager.getTrader(order.getTraderId());
+        synchronized (trader) {
+            Account account = getAccount(trader.getId());
+            if (order.getSide() == Order.BUY) {
+                account.reservedFunds -= min(amount * order.getPriceTicks(), account.reservedFunds);
+            } else if (order.getSide() == Order.SELL) {
+                int stock = stockSymbols.intern(order.getStockId());
+                account.addReservedStockAmount(stock, -min(amount, account.getReservedStockAmount(stock)));
+            }
+        }
+    }
+
+    /**
+     * Method settles a (partial) resolution of an Order: it releases the reservation of the resolved amount and
+     * transfers the stock amount and funds of the resolution to or from the Order's Trader.
+     * @param order Order that was (partially) resolved.
+     * @param amount long resolved stock amount.
+     * @param value long funds paid for the resolved stock amount.
+     */
+    public void settle(Order order, long amount, long value) {
+        requireNonNull(order);
+        Trader trader = traderManager.getTrader(order.getTraderId());
+        synchronized (trader) {
+            release(order, amount);
+            long sign;
+            if (order.getSide() == Order.BUY) {
+                sign = 1;
+            } else if (order.getSide() == Order.SELL) {
+                sign = -1;
+            } else {
+                return;
+            }
+            trader.setStockAmount(order.getStockId(), trader.getStockAmount(order.getStockId()) + sign * amount);
+            trader.setFunds(trader.getFunds() - sign * value);
+        }
+    }
+
+    /**
+     * Method gets the funds a Trader has reserved for its stored buy Orders.
+     * @param traderId String of the Trader's Id.
+     * @return long reserved funds.
+     */
+    public long getReservedFunds(String traderId) {
+        Trader trader = traderManager.getTrader(traderId);
+        Account account = accounts.get(traderId);
+        if (trader == null || account == null) {
+            return 0L;
+        }
+        synchronized (trader) {
+            return account.reservedFunds;
+        }
+    }
+
+    /**
+     * Method gets the amount of a Stock a Trader has reserved for its stored sell Orders.
+     * @param traderId String of the Trader's Id.
+     * @param stockId String of the Stock's Id.
+     * @return long reserved stock amount.
+     */
+    public long getReservedStockAmount(String traderId, String stockId) {
+        Trader trader = traderManager.getTrader(traderId);
+        Account account = accounts.get(traderId);
+        int stock = stockSymbols.getIndex(stockId);
+        if (trader == null || account == null || stock < 0) {
+            return 0L;
+        }
+        synchronized (trader) {
+            return account.getReservedStockAmount(stock);
+        }
+    }
+
+    /**
+     * Method reserves the resources for an amount of an Order if the Trader has enough unreserved resources.
+     * The caller holds the Trader's lock.
+     * @param trader Trader of the Order.
+     * @param order Order for which the resources are reserved.
+     * @param amount long amount of the Order that is reserved.
+     * @return true if the resources were reserved, false otherwise.
+     */
+    private boolean reserve(Trader trader, Order order, long amount) {
+        Account account = getAccount(trader.getId());
+        if (order.getSide() == Order.BUY && order.getPriceTicks() != Order.NO_PRICE) {
+            long funds = amount * order.getPriceTicks();
+            if (trader.getFunds() - account.reservedFunds < funds) {
+                return false;
+            }
+            account.reservedFunds += funds;
+            return true;
+        } else if (order.getSide() == Order.SELL) {
+            int stock = stockSymbols.intern(order.getStockId());
+            if (trader.getStockAmount(order.getStockId()) - account.getReservedStockAmount(stock) < amount) {
+                return false;
+            }
+            account.addReservedStockAmount(stock, amount);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Method gets the Account of a Trader, creating an empty one for a Trader without reservations.
+     * @param traderId String of the Trader's Id.
+     * @return Account of the Trader.
+     */
+    private Account getAccount(String traderId) {
+        return accounts.computeIfAbsent(traderId, id -> new Account());
+    }
+
+    /**
+     * Class Account that holds the reservations of one Trader. It is only read or changed while holding the Trader's
+     * lock.
+     */
+    private static final class Account {
+        /**
+         * long holds the reserved funds.
+         */
+        private long reservedFunds;
+        /**
+         * long[] holds the reserved stock amounts by Stock index.
+         */
+        private long[] reservedStockAmounts = new long[0];
+
+        /**
+         * Method gets the reserved amount of a Stock.
+         * @param stock int index of the Stock.
+         * @return long reserved stock amount.
+         */
+        private long getReservedStockAmount(int stock) {
+            return stock < reservedStockAmounts.length ? reservedStockAmounts[stock] : 0L;
+        }
+
+        /**
+         * Method changes the reserved amount of a Stock.
+         * @param stock int index of the Stock.
+         * @param delta long change of the reserved stock amount.
+         */
+        private void addReservedStockAmount(int stock, long delta) {
+            if (stock >= reservedStockAmounts.length) {
+                reservedStockAmounts = Arrays.copyOf(reservedStockAmounts, stock + 1);
+            }
+            reservedStockAmounts[stock] += delta;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.core.order.BookDepth;
+import nl.rug.aoop.core.order.OrderRecordStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class ShardedStockExchange that implements SnapshotPublisher. It partitions the StockExchange by Stock Id into
+ * shards, each with its own OrderManager and matching thread, so Orders of unrelated Stocks are matched in parallel.
+ * All shards share the StockManager, TraderManager and ReservationLedger; a Stock is only changed by the shard it
+ * belongs to, and Traders are locked by the shard that changes them. The shards publish one shared
+ * StockExchangeSnapshot. Every shard publishes the BookDepths of its own OrderBooks on its matching thread, and the
+ * shared StockExchangeSnapshot holds the BookDepths last published by each shard.
+ */
+@Getter
+@Slf4j
+public class ShardedStockExchange implements SnapshotPublisher {
+    /**
+     * StockManager shared by the shards.
+     */
+    private final StockManager stockManager;
+    /**
+     * TraderManager shared by the shards.
+     */
+    private final TraderManager traderManager;
+    /**
+     * ReservationLedger shared by the shards.
+     */
+    private final ReservationLedger reservationLedger;
+    /**
+     * List(StockExchange) of the shards.
+     */
+    private final List<StockExchange> shards;
+    /**
+     * StockExchangeSnapshot last published by any shard.
+     */
+    private volatile StockExchangeSnapshot snapshot;
+    /**
+     * AtomicBoolean signaling that a shard applied events that are not in a snapshot yet.
+     */
+    private final AtomicBoolean snapshotRequested = new AtomicBoolean();
+    /**
+     * ReentrantLock held by the shard that is building a snapshot.
+     */
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /**
+     * Constructor for ShardedStockExchange that creates the shards.
+     * @param stockManager StockManager shared by the shards.
+     * @param traderManager TraderManager shared by the shards.
+     * @param orderMatcherHandler OrderMatcherHandler shared by the shards.
+     * @param numOfShards int number of shards.
+     */
+    public ShardedStockExchange(StockManager stockManager, TraderManager traderManager,
+                                OrderMatcherHandler orderMatcherHandler, int numOfShards) {
+        this(stockManager, traderManager, orderMatcherHandler, numOfShards, false);
+    }
+
+    /**
+     * Constructor for ShardedStockExchange that creates the shards, optionally with off-heap OrderBooks. Every shard
+     * then keeps its Orders in its own OrderRecordStore, which only its matching thread uses.
+     * @param stockManager StockManager shared by the shards.
+     * @param traderManager TraderManager shared by the shards.
+     * @param orderMatcherHandler OrderMatcherHandler shared by the shards.
+     * @param numOfShards int number of shards.
+     * @param offHeapOrderBooks boolean whether the shards keep their Orders off-heap.
+     */
+    public ShardedStockExchange(StockManager stockManager, TraderManager traderManager,
+                                OrderMatcherHandler orderMatcherHandler, int numOfShards, boolean offHeapOrderBooks) {
+        this.stockManager = requireNonNull(stockManager);
+        this.traderManager = requireNonNull(traderManager);
+        requireNonNull(orderMatcherHandler);
+        reservationLedger = new ReservationLedger(traderManager);
+        if (numOfShards <= 0) {
+            throw new IllegalArgumentException("Number of shards must be positive.");
+        }
+        List<StockExchange> stockExchanges = new ArrayList<>();
+        for (int i = 0; i < numOfShards; i++) {
+            OrderManager orderManager = new OrderManager(i + 1, numOfShards,
+                    offHeapOrderBooks ? new OrderRecordStore() : null);
+            stockExchanges.add(new StockExchange(stockManager, traderManager, orderManager, orderMatcherHandler,
+                    reservationLedger));
+        }
+        shards = Collections.unmodifiableList(stockExchanges);
+        snapshot = shards.get(0).getSnapshot();
+    }
+
+    /**
+     * Method gets the index of the shard that matches the Orders of a Stock.
+     * @param stockId String of the Stock's Id.
+     * @return int index of the shard.
+     */
+    public int getShardIndex(String stockId) {
+        requireNonNull(stockId);
+        return Math.floorMod(stockId.hashCode(), shards.size());
+    }
+
+    /**
+     * Method gets the shard that matches the Orders of a Stock.
+     * @param stockId String of the Stock's Id.
+     * @return StockExchange of the shard.
+     */
+    public StockExchange getShard(String stockId) {
+        return shards.get(getShardIndex(stockId));
+    }
+
+    /**
+     * Method publishes a new StockExchangeSnapshot of all Stocks and Traders. It can be called by any shard; if
+     * another shard is already building a snapshot, that shard builds one more afterwards instead.
+     * The sequence number of the snapshot is the total number of events applied by all shards.
+     */
+    @Override
+    public void publishSnapshot() {
+        snapshotRequested.set(true);
+        while (snapshotRequested.get() && snapshotLock.tryLock()) {
+            try {
+                while (snapshotRequested.getAndSet(false)) {
+                    snapshot = new StockExchangeSnapshot(getSequence(), stockManager.getStockCollection(),
+                            traderManager.getTraderCollection(), getBookDepths());
+                }
+            } finally {
+                snapshotLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Method gets the last published BookDepth of a Stock from the shard that owns it.
+     * @param stockId String of the Stock's Id.
+     * @return BookDepth of the Stock, without levels if none was published.
+     */
+    public BookDepth getBookDepth(String stockId) {
+        return getShard(stockId).getBookDepth(stockId);
+    }
+
+    /**
+     * Method gets the last published BookDepths of all shards.
+     * @return List(BookDepth) of the BookDepths.
+     */
+    public List<BookDepth> getBookDepths() {
+        List<BookDepth> bookDepths = new ArrayList<>();
+        for (StockExchange shard : shards) {
+            bookDepths.addAll(shard.getBookDepths());
+        }
+        return bookDepths;
+    }
+
+    /**
+     * Method gets the total number of events applied by all shards.
+     * @return long sum of the sequence numbers of the shards.
+     */
+    public long getSequence() {
+        long sequence = 0;
+        for (StockExchange shard : shards) {
+            sequence += shard.getSequence();
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,18 @@
+package nl.rug.aoop.stockapplication.stock;
+
+/**
+ * Interface SnapshotPublisher for the matching side of the stock application, which publishes StockExchangeSnapshots
+ * that other threads can safely read.
+ */
+public interface SnapshotPublisher {
+    /**
+     * Method publishes a new StockExchangeSnapshot including all events applied so far.
+     */
+    void publishSnapshot();
+
+    /**
+     * Method gets the last published StockExchangeSnapshot.
+     * @return Last published StockExchangeSnapshot.
+     */
+    StockExchangeSnapshot getSnapshot();
+}
@@ -1,22 +1,52 @@
 package nl.rug.aoop.stockapplication.stock;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.core.order.BookDepth;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.stock.StockCollection;
+import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.core.trader.TraderCollection;
 import nl.rug.aoop.core.trader.Transaction;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Class StockExchange that holds the Orders, Stocks, Trader managers. It resolves new Orders by matching them
  * with old Orders (obtained from the OrderMatcherHandler) and resolving them if possible.
+ * The OrderManager is owned by a single matching thread, which numbers every event it applies. Other threads only read
+ * the StockExchangeSnapshot that the matching thread last published. A new Order is only accepted if the
+ * ReservationLedger can reserve its resources, so stored Orders can always be resolved without checking the Traders'
+ * accounts. Traders can be shared with StockExchanges of other Stocks running on other threads, so a Trader is only
+ * read or changed while holding its lock.
+ * The OrderBooks keep the total quantity of every price level up to date as Orders are stored, filled and removed, so
+ * the matching thread publishes the depth of an OrderBook it changed in time linear in the number of levels.
  */
 @Getter
 @Slf4j
-public class StockExchange {
+public class StockExchange implements SnapshotPublisher {
+    /**
+     * int number of price levels per side in a published BookDepth.
+     */
+    public static final int DEPTH_LEVELS = 10;
     /**
      * StockManager that manages the Stocks.
      */
@@ -33,6 +63,34 @@ public class StockExchange {
      * OrderMatcherHandler that handles the OrderMatchers.
      */
     private final OrderMatcherHandler orderMatcherHandler;
+    /**
+     * ReservationLedger that holds the resources reserved for the stored Orders.
+     */
+    private final ReservationLedger reservationLedger;
+    /**
+     * Map(String, Map(Long, Order)) holds the pending Orders that wait for activation, based on their Stock Id and
+     * Id, in the order they arrived.
+     */
+    private final Map<String, Map<Long, Order>> pendingOrders = new HashMap<>();
+    /**
+     * Set(String) holds the Stock Ids of the OrderBooks changed since their depth was last published.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final Set<String> changedOrderBooks = new HashSet<>();
+    /**
+     * Map(String, BookDepth) holds the last published BookDepth of every OrderBook, based on its Stock Id.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, BookDepth> bookDepths = new ConcurrentHashMap<>();
+    /**
+     * long sequence number of the last applied event.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private volatile long sequence;
+    /**
+     * StockExchangeSnapshot last published by the matching thread.
+     */
+    private volatile StockExchangeSnapshot snapshot;
 
     /**
      * Constructor for StockExchange that initializes the given StockManager, TraderManager,
@@ -44,117 +102,296 @@ public class StockExchange {
      */
     public StockExchange(StockManager stockManager, TraderManager traderManager, OrderManager orderManager,
                          OrderMatcherHandler orderMatcherHandler) {
+        this(stockManager, traderManager, orderManager, orderMatcherHandler,
+                new ReservationLedger(requireNonNull(traderManager)));
+    }
+
+    /**
+     * Constructor for StockExchange that initializes the given StockManager, TraderManager,
+     * OrderManager, OrderMatcherHandler, and a ReservationLedger that may be shared with other StockExchanges.
+     * @param stockManager StockManager that manages the Stocks.
+     * @param traderManager TraderManager that manages the Traders.
+     * @param orderManager OrderManager that manages the Orders.
+     * @param orderMatcherHandler OrderMatcherHandler that handles the OrderMatchers.
+     * @param reservationLedger ReservationLedger that holds the resources reserved for the stored Orders.
+     */
+    public StockExchange(StockManager stockManager, TraderManager traderManager, OrderManager orderManager,
+                         OrderMatcherHandler orderMatcherHandler, ReservationLedger reservationLedger) {
         this.stockManager = requireNonNull(stockManager);
         this.traderManager = requireNonNull(traderManager);
         this.orderManager = requireNonNull(orderManager);
         this.orderMatcherHandler = requireNonNull(orderMatcherHandler);
+        this.reservationLedger = requireNonNull(reservationLedger);
+        snapshot = new StockExchangeSnapshot(0, new StockCollection(), new TraderCollection());
+    }
+
+    /**
+     * Method publishes a new StockExchangeSnapshot of the Stocks, Traders and OrderBook depths, including all events
+     * applied so far. It should only be called by the matching thread.
+     */
+    @Override
+    public void publishSnapshot() {
+        publishDepths();
+        snapshot = new StockExchangeSnapshot(sequence, stockManager.getStockCollection(),
+                traderManager.getTraderCollection(), getBookDepths());
+    }
+
+    /**
+     * Method publishes the BookDepth of every OrderBook changed since its depth was last published. It should only be
+     * called by the matching thread.
+     */
+    public void publishDepths() {
+        for (String stockId : changedOrderBooks) {
+            bookDepths.put(stockId, orderManager.getOrderBook(stockId).getDepth(DEPTH_LEVELS));
+        }
+        changedOrderBooks.clear();
+    }
+
+    /**
+     * Method gets the last published BookDepth of a Stock. It can be called by any thread.
+     * @param stockId String of the Stock's Id.
+     * @return BookDepth of the Stock, without levels if none was published.
+     */
+    public BookDepth getBookDepth(String stockId) {
+        requireNonNull(stockId);
+        BookDepth bookDepth = bookDepths.get(stockId);
+        return bookDepth == null ? new BookDepth(stockId, List.of(), List.of()) : bookDepth;
+    }
+
+    /**
+     * Method gets the last published BookDepths of all Stocks. It can be called by any thread.
+     * @return Collection(BookDepth) unmodifiable view of the BookDepths.
+     */
+    public Collection<BookDepth> getBookDepths() {
+        return Collections.unmodifiableCollection(bookDepths.values());
     }
 
     /**
-     * Method resolves a new Order with matchable orders from the OrderMatcher. If there are no matchable Orders,
-     * the Order is stored. Otherwise, each the new and old Order pairs will be attempted to be (partially) resolved.
+     * Method resolves a new Order. The Order is first validated by its OrderMatcher, so an invalid Order is rejected
+     * before it changes anything, and then assigned a unique Id. If its OrderMatcher doesn't activate it yet (a stop
+     * Order), it waits until a change of the Stock price activates it. Otherwise the active Order is matched and
+     * resolved.
      * @param newOrder Order that will be (attempted to be) resolved.
+     * @return List of the Transactions made for the new Order, in execution order.
+     * @throws IllegalArgumentException if the Order can't be resolved.
      */
-    public void resolveOrder(Order newOrder) {
+    public List<Transaction> resolveOrder(Order newOrder) throws IllegalArgumentException {
         requireNonNull(newOrder);
-        OrderCollection matchingOrderCollection = orderMatcherHandler.matchOrder(newOrder,
-                orderManager.getOrderCollectionMap());
+        orderMatcherHandler.validateOrder(newOrder);
+        sequence++;
+        newOrder.setOrderId(orderManager.generateOrderId());
+        Order activeOrder = orderMatcherHandler.activateOrder(newOrder, stockManager.getStock(newOrder.getStockId()));
+        if (activeOrder == null) {
+            pendingOrders.computeIfAbsent(newOrder.getStockId(), stockId -> new LinkedHashMap<>())
+                    .put(newOrder.getId(), newOrder);
+            log.info("Stored pending order: {}", newOrder.getId());
+            return List.of();
+        }
+        return matchOrder(activeOrder);
+    }
+
+    /**
+     * Method resolves an active Order with matchable orders from the OrderMatcher, which walks the OrderBook of the
+     * Order's Stock in price-time priority. The Order is rejected if the resources it needs can't be reserved for its
+     * Trader. The Order keeps being (partially) resolved with successive old Orders, across price levels, until it is
+     * fully resolved or no old Order crosses anymore. A remaining amount is stored, or cancelled if the OrderMatcher
+     * says so; such Orders never reach the OrderManager. The resulting Transactions are settled as one batch, with a
+     * single Stock price update, after which the pending Orders of the Stock are checked for activation. Matching works
+     * on the primitive form of the Orders and reuses the OrderBook's iterator, so walking the book allocates nothing
+     * but the Transactions and their List. Activating pending Orders collects them in a new List, and an off-heap
+     * OrderBook creates a new view for every Order it looks up, removes or amends outside its iterator.
+     * @param newOrder Order that will be (attempted to be) resolved.
+     * @return List of the Transactions made, in execution order.
+     */
+    private List<Transaction> matchOrder(Order newOrder) {
+        changedOrderBooks.add(newOrder.getStockId());
+        Iterator<Order> matchingOrders = orderMatcherHandler.matchOrder(newOrder,
+                orderManager.getOrderBook(newOrder.getStockId()));
+        boolean cancelsRemainder = orderMatcherHandler.cancelsRemainder(newOrder);
+        if (matchingOrders == null && cancelsRemainder) {
+            log.debug("Cancelled unmatched order: {}", newOrder.getId());
+            return List.of();
+        }
+        if (!reservationLedger.reserve(newOrder)) {
+            log.info("Rejected order of trader: {} for lack of resources.", newOrder.getTraderId());
+            return List.of();
+        }
+        List<Transaction> transactions = List.of();
+        while (matchingOrders != null && newOrder.getQuantity() > 0 && matchingOrders.hasNext()) {
+            if (transactions.isEmpty()) {
+                transactions = new ArrayList<>();
+            }
+            transactions.add(resolvePair(newOrder, matchingOrders.next(), matchingOrders));
+        }
+        if (newOrder.getQuantity() > 0) {
+            storeRemainder(newOrder, cancelsRemainder);
+        }
+        if (!transactions.isEmpty()) {
+            settleTransactions(newOrder, transactions);
+            activatePendingOrders(newOrder.getStockId());
+        }
+        return transactions;
+    }
+
+    /**
+     * Method stores the unresolved amount of an Order, or cancels it and releases its reservation.
+     * @param order Order with an unresolved amount.
+     * @param cancelsRemainder boolean whether the unresolved amount is cancelled instead of stored.
+     */
+    private void storeRemainder(Order order, boolean cancelsRemainder) {
+        if (cancelsRemainder) {
+            reservationLedger.release(order, order.getQuantity());
+            log.debug("Cancelled remaining amount of order: {}", order.getId());
+        } else {
+            orderManager.storeOrder(order);
+        }
+    }
 
-        if(matchingOrderCollection == null) {
-            orderManager.storeOrder(newOrder);
+    /**
+     * Method activates the pending Orders of a Stock whose OrderMatcher activates them at the current Stock price,
+     * and resolves them in the order they arrived. Resolving them can activate further pending Orders.
+     * @param stockId String of the Stock's Id.
+     */
+    private void activatePendingOrders(String stockId) {
+        Map<Long, Order> stockPendingOrders = pendingOrders.get(stockId);
+        if (stockPendingOrders == null || stockPendingOrders.isEmpty()) {
             return;
         }
-        for (Order oldOrder : matchingOrderCollection.getOrders()) {
-            if (attemptResolvePair(newOrder, oldOrder)) {
-                return;
+        Stock stock = stockManager.getStock(stockId);
+        List<Order> activeOrders = new ArrayList<>();
+        Iterator<Order> iterator = stockPendingOrders.values().iterator();
+        while (iterator.hasNext()) {
+            Order activeOrder = orderMatcherHandler.activateOrder(iterator.next(), stock);
+            if (activeOrder != null) {
+                iterator.remove();
+                activeOrders.add(activeOrder);
             }
         }
-        orderManager.storeOrder(newOrder);
+        for (Order activeOrder : activeOrders) {
+            log.info("Activated pending order: {}", activeOrder.getId());
+            matchOrder(activeOrder);
+        }
+    }
+
+    /**
+     * Method cancels a stored Order and releases its reservation, or cancels a pending Order. Only the Trader that
+     * placed the Order can cancel it.
+     * @param orderUpdate OrderUpdate identifying the Order and its Trader.
+     * @return true if the Order was cancelled, false otherwise.
+     */
+    public boolean cancelOrder(OrderUpdate orderUpdate) {
+        requireNonNull(orderUpdate);
+        sequence++;
+        Order order = getTraderOrder(orderUpdate);
+        if (order == null) {
+            return cancelPendingOrder(orderUpdate);
+        }
+        orderManager.removeOrder(order);
+        changedOrderBooks.add(order.getStockId());
+        reservationLedger.release(order, order.getQuantity());
+        log.info("Cancelled order: {}", order.getId());
+        return true;
     }
 
     /**
-     * Method attempts to resolve a pair of Orders and return true if the pair was resolved.
-     * If either of Traders of the two Orders does not have the resources for their Order,
-     * the resolving fails. Otherwise, the Order pair is (partially) resolved.
-     * @param newOrder Order that will be attempted to be resolved with the old Order.
-     * @param oldOrder Order with which the new Order will be attempted to be resolved.
-     * @return true if the pair was resolved, false otherwise.
+     * Method cancels a pending Order. Pending Orders hold no reservation.
+     * @param orderUpdate OrderUpdate identifying the Order and its Trader.
+     * @return true if the Order was cancelled, false if there is no such pending Order of the Trader.
      */
-    private boolean attemptResolvePair(Order newOrder, Order oldOrder) {
-        if(!validTraderResources(newOrder, oldOrder) || !(validTraderResources(oldOrder, oldOrder))) {
+    private boolean cancelPendingOrder(OrderUpdate orderUpdate) {
+        Map<Long, Order> stockPendingOrders = pendingOrders.get(orderUpdate.getStockId());
+        Order order = stockPendingOrders == null ? null : stockPendingOrders.get(orderUpdate.getOrderId());
+        if (order == null || !Objects.equals(order.getTraderId(), orderUpdate.getTraderId())) {
             return false;
-        } else {
-            resolvePair(newOrder, oldOrder);
-            return true;
         }
+        stockPendingOrders.remove(order.getId());
+        log.info("Cancelled pending order: {}", order.getId());
+        return true;
     }
 
     /**
-     * Method checks that the Trader of the first Order (either the new or old Order) has the resources
-     * (funds for a buy Order, stock amount for a sell Order) to resolve it. The second Order is always the old Order
-     * (just to determine the price).
-     * @param firstOrder Order for which the Trader resources are checked (new or old Order).
-     * @param secondOrder Order that determines the price of the Transaction (only old Order).
-     * @return true if the Trader has the resources, false otherwise.
+     * Method changes the amount of a stored Order. Only the Trader that placed the Order can amend it.
+     * A lower amount keeps the Order's time priority, a higher amount moves it to the back of its price level and is
+     * only accepted if the additional resources can be reserved. Pending Orders can't be amended.
+     * @param orderUpdate OrderUpdate identifying the Order and its Trader, and holding the new amount.
+     * @return true if the Order was amended, false otherwise.
      */
-    private boolean validTraderResources(Order firstOrder, Order secondOrder) {
-        if (Objects.equals(firstOrder.getOperation(), "BUY")) {
-            return traderManager.getTrader(firstOrder.getTraderId()).getFunds() >= ((long) firstOrder.getAmount()
-                    * secondOrder.getPrice());
-        } else if (Objects.equals(firstOrder.getOperation(), "SELL")) {
-            return traderManager.getTrader(firstOrder.getTraderId())
-                    .hasStockAmount(firstOrder.getStockId(), firstOrder.getAmount());
-        } else {
+    public boolean amendOrder(OrderUpdate orderUpdate) {
+        requireNonNull(orderUpdate);
+        sequence++;
+        Order order = getTraderOrder(orderUpdate);
+        if (order == null || orderUpdate.getAmount() == null
+                || !reservationLedger.amend(order, orderUpdate.getAmount())) {
             return false;
         }
+        orderManager.amendOrder(order, orderUpdate.getAmount());
+        changedOrderBooks.add(order.getStockId());
+        log.info("Amended order: {}", order.getId());
+        return true;
+    }
+
+    /**
+     * Method gets the stored Order an OrderUpdate refers to, if it belongs to the Trader of the OrderUpdate.
+     * @param orderUpdate OrderUpdate identifying the Order and its Trader.
+     * @return Stored Order, or null if there is no such Order of the Trader.
+     */
+    private Order getTraderOrder(OrderUpdate orderUpdate) {
+        Order order = orderManager.getOrder(orderUpdate.getStockId(), orderUpdate.getOrderId());
+        if (order == null || !Objects.equals(order.getTraderId(), orderUpdate.getTraderId())) {
+            return null;
+        }
+        return order;
     }
 
     /**
-     * Method (partially) resolves a pair of Orders. The non-fully resolved Order(s) are stored with updated amounts,
-     * while the fully resolved Orders are removed. The Transaction is made and the Stock price, Trader stock amounts,
-     * and Trader Transaction history are updated.
+     * Method (partially) resolves a pair of Orders at the price of the old Order. Both amounts are reduced by the
+     * resolved amount, and a fully resolved old Order is removed through the matching Iterator. The old Order's Trader
+     * is settled right away, the new Order's Trader is settled once all pairs are resolved.
      * @param newOrder Order that will be (partially) resolved with the old Order.
      * @param oldOrder Order with which the new Order will be (partially) resolved.
+     * @param matchingOrders Iterator that returned the old Order.
+     * @return Transaction of the resolved pair.
      */
-    private void resolvePair(Order newOrder, Order oldOrder) {
-        Transaction transaction;
-        if (newOrder.getAmount() > oldOrder.getAmount()) {
-            transaction = new Transaction(newOrder.getStockId(), oldOrder.getAmount(), oldOrder.getPrice());
-            newOrder.setAmount(newOrder.getAmount() - oldOrder.getAmount());
-            orderManager.storeOrder(newOrder);
-            orderManager.removeOrder(oldOrder);
-        } else if (newOrder.getAmount() < oldOrder.getAmount()) {
-            transaction = new Transaction(newOrder.getStockId(), newOrder.getAmount(), oldOrder.getPrice());
-            oldOrder.setAmount(oldOrder.getAmount() - newOrder.getAmount());
+    private Transaction resolvePair(Order newOrder, Order oldOrder, Iterator<Order> matchingOrders) {
+        long amount = min(newOrder.getQuantity(), oldOrder.getQuantity());
+        int price = oldOrder.getPriceTicks();
+        Transaction transaction = new Transaction(newOrder.getStockId(), (int) amount, price);
+        newOrder.setQuantity(newOrder.getQuantity() - amount);
+        if (amount == oldOrder.getQuantity()) {
+            matchingOrders.remove();
         } else {
-            transaction = new Transaction(newOrder.getStockId(), newOrder.getAmount(), oldOrder.getPrice());
-            orderManager.removeOrder(oldOrder);
+            oldOrder.setQuantity(oldOrder.getQuantity() - amount);
         }
-        traderManager.getTrader(newOrder.getTraderId()).addTransaction(transaction);
-        updateTraderOwnedStocks(newOrder, transaction);
-        updateTraderOwnedStocks(oldOrder, transaction);
-        stockManager.getStock(newOrder.getStockId()).updatePrice(Double.valueOf(transaction.stockPrice()));
-        log.info("Resolved order for stock: " + newOrder.getStockId());
+        reservationLedger.settle(oldOrder, amount, amount * price);
+        return transaction;
     }
 
     /**
-     * Method updates the Transaction history of a Trader based on the resolveOrder and the Transaction.
-     * @param resolvedOrder Order that was resolved and whose Trader needs to be updated.
-     * @param transaction Transaction holding the resolved price and amount.
+     * Method settles a batch of Transactions of a new Order. The Transactions are added to the history of the new
+     * Order's Trader, it is settled once with the total amount and funds, and the Stock price is set to the
+     * price of the last Transaction. The Trader and the Stock are locked while they are changed.
+     * @param newOrder Order that was (partially) resolved.
+     * @param transactions List of the Transactions of the new Order, in execution order.
      */
-    private void updateTraderOwnedStocks(Order resolvedOrder, Transaction transaction) {
-        Long currentTraderStockAmount = traderManager.getTrader(resolvedOrder.getTraderId())
-                .getStockAmount(resolvedOrder.getStockId());
-        long newTraderStockAmount;
-        if (Objects.equals(resolvedOrder.getOperation(), "BUY")) {
-            newTraderStockAmount = currentTraderStockAmount + transaction.stockAmount();
-        } else if (Objects.equals(resolvedOrder.getOperation(), "SELL")) {
-            newTraderStockAmount = currentTraderStockAmount - transaction.stockAmount();
-        } else {
-            return;
+    private void settleTransactions(Order newOrder, List<Transaction> transactions) {
+        Trader trader = traderManager.getTrader(newOrder.getTraderId());
+        synchronized (trader) {
+            long totalAmount = 0;
+            long totalValue = 0;
+            for (Transaction transaction : transactions) {
+                trader.addTransaction(transaction);
+                totalAmount += transaction.stockAmount();
+                totalValue += (long) transaction.stockAmount() * transaction.stockPrice();
+            }
+            reservationLedger.settle(newOrder, totalAmount, totalValue);
+        }
+        Transaction lastTransaction = transactions.get(transactions.size() - 1);
+        Stock stock = stockManager.getStock(newOrder.getStockId());
+        synchronized (stock) {
+            stock.updatePrice(Double.valueOf(lastTransaction.stockPrice()));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Resolved order for stock: {} in {} transaction(s).", newOrder.getStockId(), transactions.size());
         }
-        traderManager.getTrader(resolvedOrder.getTraderId())
-                .setStockAmount(resolvedOrder.getStockId(), newTraderStockAmount);
     }
-
 }
@@ -0,0 +1,175 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.OrderSerializer;
+import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.stock.StockCollection;
+import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.core.trader.TraderCollection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class StockExchangeCheckpoint that holds the state of a StockExchange after the Messages before an offset of its
+ * journal were applied: the Stocks, the Traders, the stored Orders in price-time priority, the pending Orders in the
+ * order they arrived, and the counters of the matching thread. The reservations are not held, as the stored Orders
+ * determine them. Restoring a checkpoint into a freshly loaded StockExchange and replaying the journal from the offset
+ * rebuilds the state the StockExchange had. It is captured and restored by the matching thread, and written as JSON.
+ */
+@Getter
+@Setter
+@Slf4j
+public class StockExchangeCheckpoint {
+    /**
+     * long offset of the first journal Message that is not applied to the state.
+     */
+    private long offset;
+    /**
+     * long sequence number of the last applied event.
+     */
+    private long sequence;
+    /**
+     * long Id that will be assigned to the next Order.
+     */
+    private long nextOrderId;
+    /**
+     * StockCollection holding the Stocks.
+     */
+    private StockCollection stockCollection = new StockCollection();
+    /**
+     * TraderCollection holding the Traders.
+     */
+    private TraderCollection traderCollection = new TraderCollection();
+    /**
+     * List(Order) holds the stored Orders of every OrderBook, each side in price-time priority.
+     */
+    private List<Order> storedOrders = new ArrayList<>();
+    /**
+     * List(Order) holds the pending Orders of every Stock, in the order they arrived.
+     */
+    private List<Order> pendingOrders = new ArrayList<>();
+
+    /**
+     * Method captures the state of a StockExchange. It should only be called by the matching thread.
+     * @param stockExchange StockExchange whose state is captured.
+     * @param offset long offset of the first journal Message that is not applied to the state.
+     * @return New StockExchangeCheckpoint of the StockExchange.
+     */
+    public static StockExchangeCheckpoint capture(StockExchange stockExchange, long offset) {
+        requireNonNull(stockExchange);
+        StockExchangeCheckpoint checkpoint = new StockExchangeCheckpoint();
+        checkpoint.offset = offset;
+        checkpoint.sequence = stockExchange.getSequence();
+        checkpoint.nextOrderId = stockExchange.getOrderManager().getNextOrderId();
+        checkpoint.stockCollection = stockExchange.getStockManager().getStockCollection();
+        checkpoint.traderCollection = stockExchange.getTraderManager().getTraderCollection();
+        for (OrderBook orderBook : stockExchange.getOrderManager().getOrderBooks().values()) {
+            checkpoint.addStoredOrders(orderBook.getMatchingBids(Order.NO_PRICE));
+            checkpoint.addStoredOrders(orderBook.getMatchingAsks(Order.NO_PRICE));
+        }
+        for (Map<Long, Order> stockPendingOrders : stockExchange.getPendingOrders().values()) {
+            checkpoint.pendingOrders.addAll(stockPendingOrders.values());
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Method reads a StockExchangeCheckpoint from a file. Derived properties the collections write, such as their
+     * sizes, are skipped.
+     * @param file Path of the file.
+     * @return StockExchangeCheckpoint read from the file, or null if there is no such file.
+     * @throws IOException if the file can't be read.
+     */
+    public static StockExchangeCheckpoint read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return OrderSerializer.createMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(file.toFile(), StockExchangeCheckpoint.class);
+    }
+
+    /**
+     * Method durably writes the StockExchangeCheckpoint to a file. It is written to a temporary file first, which then
+     * replaces the file at once, so a crash leaves either the previous or the new StockExchangeCheckpoint.
+     * @param file Path of the file.
+     * @throws IOException if the file can't be written.
+     */
+    public void write(Path file) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer content = ByteBuffer.wrap(OrderSerializer.createMapper().writeValueAsBytes(this));
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Method restores the state into a freshly loaded StockExchange that has not applied any event yet. The
+     * resources of the stored Orders are reserved again. It should only be called by the matching thread.
+     * @param stockExchange StockExchange the state is restored into.
+     */
+    public void restore(StockExchange stockExchange) {
+        requireNonNull(stockExchange);
+        for (Stock stock : stockCollection.getStocks().values()) {
+            stockExchange.getStockManager().getStockCollection().updateStock(stock);
+        }
+        for (Trader trader : traderCollection.getTraders().values()) {
+            stockExchange.getTraderManager().getTraderCollection().updateTrader(trader);
+        }
+        for (Order order : storedOrders) {
+            stockExchange.getOrderManager().storeOrder(order);
+            stockExchange.getChangedOrderBooks().add(order.getStockId());
+            if (!stockExchange.getReservationLedger().reserve(order)) {
+                log.warn("Failed to reserve the resources of restored order: {}", order.getId());
+            }
+        }
+        for (Order order : pendingOrders) {
+            stockExchange.getPendingOrders().computeIfAbsent(order.getStockId(), stockId -> new LinkedHashMap<>())
+                    .put(order.getId(), order);
+        }
+        stockExchange.getOrderManager().setNextOrderId(nextOrderId);
+        stockExchange.setSequence(sequence);
+    }
+
+    /**
+     * Method adds copies of the stored Orders of one side of an OrderBook, as the OrderBook may hand out views.
+     * @param orders Iterator over the stored Orders in price-time priority.
+     */
+    private void addStoredOrders(Iterator<Order> orders) {
+        while (orders.hasNext()) {
+            Order order = orders.next();
+            storedOrders.add(LimitOrder.newBuilder()
+                    .setId(order.getId())
+                    .setTraderId(order.getTraderId())
+                    .setStockId(order.getStockId())
+                    .setOperation(order.getOperation())
+                    .setPrice(order.getPrice())
+                    .setAmount(order.getAmount())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import lombok.Getter;
+import nl.rug.aoop.core.order.BookDepth;
+import nl.rug.aoop.core.order.BookDepthCollection;
+import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.stock.StockCollection;
+import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.core.trader.TraderCollection;
+
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class StockExchangeSnapshot that holds copies of the Stocks and Traders of the StockExchange as they were after a
+ * given event sequence number, and the depth of its OrderBooks. It is created by the matching thread and only read by
+ * other threads (the PeriodicUpdater and the view), so they never touch the state the matching thread is changing.
+ * Every Stock and Trader is copied while holding its lock. BookDepths are immutable and shared. A snapshot must not be
+ * modified after it is published.
+ */
+@Getter
+public class StockExchangeSnapshot {
+    /**
+     * long sequence number of the last event included in the snapshot.
+     */
+    private final long sequence;
+    /**
+     * StockCollection holding copies of the Stocks.
+     */
+    private final StockCollection stockCollection = new StockCollection();
+    /**
+     * TraderCollection holding copies of the Traders.
+     */
+    private final TraderCollection traderCollection = new TraderCollection();
+    /**
+     * BookDepthCollection holding the BookDepths of the OrderBooks.
+     */
+    private final BookDepthCollection bookDepthCollection = new BookDepthCollection();
+
+    /**
+     * Constructor for StockExchangeSnapshot that copies the given Stocks and Traders.
+     * @param sequence long sequence number of the last event included in the snapshot.
+     * @param stockCollection StockCollection of which the Stocks are copied.
+     * @param traderCollection TraderCollection of which the Traders are copied.
+     */
+    public StockExchangeSnapshot(long sequence, StockCollection stockCollection, TraderCollection traderCollection) {
+        this(sequence, stockCollection, traderCollection, List.of());
+    }
+
+    /**
+     * Constructor for StockExchangeSnapshot that copies the given Stocks and Traders and holds the given BookDepths.
+     * @param sequence long sequence number of the last event included in the snapshot.
+     * @param stockCollection StockCollection of which the Stocks are copied.
+     * @param traderCollection TraderCollection of which the Traders are copied.
+     * @param bookDepths Collection(BookDepth) of the OrderBooks.
+     */
+    public StockExchangeSnapshot(long sequence, StockCollection stockCollection, TraderCollection traderCollection,
+                                 Collection<BookDepth> bookDepths) {
+        requireNonNull(stockCollection);
+        requireNonNull(traderCollection);
+        this.sequence = sequence;
+        for (Stock stock : stockCollection.getStocks().values()) {
+            synchronized (stock) {
+                this.stockCollection.updateStock(new Stock(stock));
+            }
+        }
+        for (Trader trader : traderCollection.getTraders().values()) {
+            synchronized (trader) {
+                this.traderCollection.updateTrader(new Trader(trader));
+            }
+        }
+        for (BookDepth bookDepth : requireNonNull(bookDepths)) {
+            bookDepthCollection.updateBookDepth(bookDepth);
+        }
+    }
+}
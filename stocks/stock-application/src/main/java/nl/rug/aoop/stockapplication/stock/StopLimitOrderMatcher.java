@@ -0,0 +1,41 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.StopOrder;
+
+/**
+ * StopLimitOrderMatcher that extends StopOrderMatcher. It activates a given StopLimitOrder as a LimitOrder at the
+ * StopLimitOrder's price once the Stock price has reached its stop price.
+ */
+public class StopLimitOrderMatcher extends StopOrderMatcher {
+    /**
+     * Method checks that the given StopLimitOrder can be resolved: besides a recognised operation and a stop price it
+     * needs the price its LimitOrder rests at.
+     * @param order StopLimitOrder that is checked.
+     * @throws IllegalArgumentException if the StopLimitOrder can't be resolved.
+     */
+    @Override
+    public void validateOrder(Order order) throws IllegalArgumentException {
+        super.validateOrder(order);
+        if (order.getPriceTicks() == Order.NO_PRICE) {
+            throw new IllegalArgumentException("Order price can't be null.");
+        }
+    }
+
+    /**
+     * Method creates the Order a triggered StopLimitOrder is activated as.
+     * @param stopOrder StopLimitOrder that is triggered.
+     * @return New LimitOrder for the price and amount of the StopLimitOrder.
+     */
+    @Override
+    protected Order createActiveOrder(StopOrder stopOrder) {
+        return LimitOrder.newBuilder()
+                .setTraderId(stopOrder.getTraderId())
+                .setStockId(stopOrder.getStockId())
+                .setOperation(stopOrder.getOperation())
+                .setPrice(stopOrder.getPrice())
+                .setAmount(stopOrder.getAmount())
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.MarketOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.StopOrder;
+import nl.rug.aoop.core.stock.Stock;
+
+import java.util.Iterator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * StopOrderMatcher that extends OrderMatcher. It activates a given StopOrder as a MarketOrder once the Stock price has
+ * reached its stop price: a buy StopOrder when the price rises to it, a sell StopOrder when the price falls to it.
+ * StopOrders themselves are never matched.
+ */
+public class StopOrderMatcher extends OrderMatcher {
+    /**
+     * Method refuses to match a StopOrder, only the Order it is activated as is matched.
+     * @param order StopOrder to be matched.
+     * @param orderBook OrderBook of the StopOrder's Stock.
+     * @return Never returns.
+     * @throws IllegalArgumentException Always, a StopOrder has to be activated first.
+     */
+    @Override
+    public Iterator<Order> matchOrder(Order order, OrderBook orderBook) {
+        throw new IllegalArgumentException("Stop orders are only matched once activated.");
+    }
+
+    /**
+     * Method checks that the given StopOrder can be resolved: it needs a recognised operation and a stop price.
+     * @param order StopOrder that is checked.
+     * @throws IllegalArgumentException if the StopOrder can't be resolved.
+     */
+    @Override
+    public void validateOrder(Order order) throws IllegalArgumentException {
+        if (order.getSide() == Order.NO_SIDE) {
+            throw new IllegalArgumentException("Order operation not recognised.");
+        }
+        if (((StopOrder) order).getStopPrice() == null) {
+            throw new IllegalArgumentException("Stop price can't be null.");
+        }
+    }
+
+    /**
+     * Method activates the given StopOrder if the price of its Stock has reached the stop price.
+     * @param order StopOrder that is checked.
+     * @param stock Stock of the StopOrder.
+     * @return Order the StopOrder is activated as, with the same Id, or null if the stop price isn't reached.
+     */
+    @Override
+    public Order activateOrder(Order order, Stock stock) {
+        requireNonNull(order);
+        StopOrder stopOrder = (StopOrder) order;
+        if (stock == null || stock.getPrice() == null || !isTriggered(stopOrder, stock.getPrice())) {
+            return null;
+        }
+        Order activeOrder = createActiveOrder(stopOrder);
+        activeOrder.setOrderId(stopOrder.getOrderId());
+        return activeOrder;
+    }
+
+    /**
+     * Method creates the Order a triggered StopOrder is activated as.
+     * @param stopOrder StopOrder that is triggered.
+     * @return New MarketOrder for the amount of the StopOrder.
+     */
+    protected Order createActiveOrder(StopOrder stopOrder) {
+        return MarketOrder.newBuilder()
+                .setTraderId(stopOrder.getTraderId())
+                .setStockId(stopOrder.getStockId())
+                .setOperation(stopOrder.getOperation())
+                .setAmount(stopOrder.getAmount())
+                .build();
+    }
+
+    /**
+     * Method checks if the price of a Stock has reached the stop price of a StopOrder.
+     * @param stopOrder StopOrder that is checked.
+     * @param price Double of the Stock price.
+     * @return true if the stop price is reached, false otherwise.
+     */
+    private boolean isTriggered(StopOrder stopOrder, Double price) {
+        if (stopOrder.getSide() == Order.BUY) {
+            return price >= stopOrder.getStopPrice();
+        } else if (stopOrder.getSide() == Order.SELL) {
+            return price <= stopOrder.getStopPrice();
+        } else {
+            throw new IllegalArgumentException("Order operation not recognised.");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Class SymbolTable that interns symbols, such as Stock Ids, as dense int indices. A symbol keeps its index forever,
+ * so the index can be used to address primitive arrays instead of looking the symbol up in a Map on every access.
+ * Interning a known symbol doesn't allocate. The table is thread-safe.
+ */
+public class SymbolTable {
+    /**
+     * Map(String, Integer) holds the index of every interned symbol.
+     */
+    private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+
+    /**
+     * Method gets the index of a symbol, assigning the next free index if the symbol is new.
+     * @param symbol String of the symbol.
+     * @return int index of the symbol.
+     */
+    public int intern(String symbol) {
+        requireNonNull(symbol);
+        Integer index = indices.get(symbol);
+        if (index != null) {
+            return index;
+        }
+        synchronized (indices) {
+            return indices.computeIfAbsent(symbol, newSymbol -> indices.size());
+        }
+    }
+
+    /**
+     * Method gets the index of a symbol without interning it.
+     * @param symbol String of the symbol.
+     * @return int index of the symbol, or -1 if the symbol was never interned.
+     */
+    public int getIndex(String symbol) {
+        Integer index = indices.get(symbol);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Method gets the number of interned symbols.
+     * @return int number of symbols.
+     */
+    public int getSize() {
+        return indices.size();
+    }
+}
@@ -1,17 +1,13 @@
 package nl.rug.aoop.stockapplication.view;
 
 import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.stock.StockCollection;
 import nl.rug.aoop.model.StockDataModel;
-import nl.rug.aoop.stockapplication.stock.StockManager;
 
 /**
  * StockData class allows the view to retrieve information about stocks.
  */
 public class StockData implements StockDataModel {
-    /**
-     * StockManager containing information on the stocks.
-     */
-    private StockManager stockManager;
     /**
      * Current stock.
      */
@@ -19,12 +15,11 @@ public class StockData implements StockDataModel {
 
     /**
      * Constructor creates the class.
-     * @param stockManager StockManager containing information on the stocks.
+     * @param stockCollection StockCollection containing information on the stocks.
      * @param index Index of a stock.
      */
-    public StockData(StockManager stockManager, int index) {
-        this.stockManager = stockManager;
-        stock = stockManager.getStockCollection().getStocks().values().stream().toList().get(index);
+    public StockData(StockCollection stockCollection, int index) {
+        stock = stockCollection.getStocks().values().stream().toList().get(index);
     }
 
     /**
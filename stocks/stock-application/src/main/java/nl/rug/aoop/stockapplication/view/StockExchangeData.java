@@ -3,22 +3,23 @@ package nl.rug.aoop.stockapplication.view;
 import nl.rug.aoop.model.StockDataModel;
 import nl.rug.aoop.model.StockExchangeDataModel;
 import nl.rug.aoop.model.TraderDataModel;
-import nl.rug.aoop.stockapplication.stock.StockExchange;
+import nl.rug.aoop.stockapplication.stock.SnapshotPublisher;
 
 /**
- * StockExchangeData class allows the view to retrieve information from the stock exchange.
+ * StockExchangeData class allows the view to retrieve information from the stock exchange. All information is read
+ * from the last published snapshot of the stock exchange.
  */
 public class StockExchangeData implements StockExchangeDataModel {
     /**
      * The stock exchange the data model will draw from.
      */
-    private StockExchange stockExchange;
+    private SnapshotPublisher stockExchange;
 
     /**
      * Constructor creates the data model.
      * @param stockExchange The stock exchange the data model will draw from.
      */
-    public StockExchangeData(StockExchange stockExchange) {
+    public StockExchangeData(SnapshotPublisher stockExchange) {
         this.stockExchange = stockExchange;
     }
 
@@ -30,7 +31,7 @@ public class StockExchangeData implements StockExchangeDataModel {
      */
     @Override
     public StockDataModel getStockByIndex(int index) {
-        return new StockData(stockExchange.getStockManager(), index);
+        return new StockData(stockExchange.getSnapshot().getStockCollection(), index);
     }
 
     /**
@@ -41,7 +42,7 @@ public class StockExchangeData implements StockExchangeDataModel {
      */
     @Override
     public int getNumberOfStocks() {
-        return stockExchange.getStockManager().getSize();
+        return stockExchange.getSnapshot().getStockCollection().getSize();
     }
 
     /**
@@ -52,7 +53,7 @@ public class StockExchangeData implements StockExchangeDataModel {
      */
     @Override
     public TraderDataModel getTraderByIndex(int index) {
-        return new TraderData(stockExchange.getTraderManager(), index);
+        return new TraderData(stockExchange.getSnapshot().getTraderCollection(), index);
     }
 
     /**
@@ -62,6 +63,6 @@ public class StockExchangeData implements StockExchangeDataModel {
      */
     @Override
     public int getNumberOfTraders() {
-        return stockExchange.getTraderManager().getSize();
+        return stockExchange.getSnapshot().getTraderCollection().getSize();
     }
 }
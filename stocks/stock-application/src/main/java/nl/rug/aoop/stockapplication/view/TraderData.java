@@ -2,8 +2,8 @@ package nl.rug.aoop.stockapplication.view;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.core.trader.TraderCollection;
 import nl.rug.aoop.model.TraderDataModel;
-import nl.rug.aoop.stockapplication.stock.TraderManager;
 
 import java.util.List;
 
@@ -12,10 +12,6 @@ import java.util.List;
  */
 @Slf4j
 public class TraderData implements TraderDataModel {
-    /**
-     * TraderManager contains all information regarding traders.
-     */
-    private TraderManager traderManager;
     /**
      * Current trader.
      */
@@ -23,13 +19,12 @@ public class TraderData implements TraderDataModel {
 
     /**
      * Constructor creates the class.
-     * @param traderManager TraderManager contains all information regarding traders.
+     * @param traderCollection TraderCollection contains all information regarding traders.
      * @param index Index of current trader.
      */
-    public TraderData(TraderManager traderManager, int index) {
+    public TraderData(TraderCollection traderCollection, int index) {
         //log.info("accessing trader at index: " + String.valueOf(index));
-        this.traderManager = traderManager;
-        this.trader = traderManager.getTraderCollection().getTraders().values().stream().toList().get(index);
+        this.trader = traderCollection.getTraders().values().stream().toList().get(index);
     }
 
     /**
@@ -0,0 +1,55 @@
+package nl.rug.aoop.stockapplication.comand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.stockapplication.command.AmendOrderCommand;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * TestAmendOrderCommandClass class that tests the AmendOrderCommand class.
+ */
+public class TestAmendOrderCommandClass {
+
+    /**
+     * Tests that the AmendOrderCommand constructor creates a non-null AmendOrderCommand.
+     */
+    @Test
+    void testConstructor() {
+        AmendOrderCommand amendOrderCommand = new AmendOrderCommand(mock(StockExchange.class));
+        assertNotNull(amendOrderCommand);
+    }
+
+    /**
+     * Tests that the AmendOrderCommand constructor throws an exception when passing a null argument.
+     */
+    @Test
+    void testNullArgConstructor() {
+        assertThrows(NullPointerException.class, () -> new AmendOrderCommand(null));
+    }
+
+    /**
+     * Tests that AmendOrderCommand execute method correctly calls the amendOrder method of the StockExchange.
+     * @throws JsonProcessingException Thrown if Json string conversion of OrderUpdate fails.
+     */
+    @Test
+    void testExecute() throws JsonProcessingException {
+        OrderUpdate orderUpdate = new OrderUpdate(1L, "Trader", "Stock", 4);
+        Map<String, Object> options = Map.of(
+                "Header", "amendOrder",
+                "Body", OrderUpdate.toString(orderUpdate)
+        );
+        StockExchange mockStockExchange = mock(StockExchange.class);
+        AmendOrderCommand amendOrderCommand = new AmendOrderCommand(mockStockExchange);
+        amendOrderCommand.execute(options);
+        verify(mockStockExchange).amendOrder(orderUpdate);
+    }
+
+}
@@ -0,0 +1,55 @@
+package nl.rug.aoop.stockapplication.comand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.stockapplication.command.CancelOrderCommand;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * TestCancelOrderCommandClass class that tests the CancelOrderCommand class.
+ */
+public class TestCancelOrderCommandClass {
+
+    /**
+     * Tests that the CancelOrderCommand constructor creates a non-null CancelOrderCommand.
+     */
+    @Test
+    void testConstructor() {
+        CancelOrderCommand cancelOrderCommand = new CancelOrderCommand(mock(StockExchange.class));
+        assertNotNull(cancelOrderCommand);
+    }
+
+    /**
+     * Tests that the CancelOrderCommand constructor throws an exception when passing a null argument.
+     */
+    @Test
+    void testNullArgConstructor() {
+        assertThrows(NullPointerException.class, () -> new CancelOrderCommand(null));
+    }
+
+    /**
+     * Tests that CancelOrderCommand execute method correctly calls the cancelOrder method of the StockExchange.
+     * @throws JsonProcessingException Thrown if Json string conversion of OrderUpdate fails.
+     */
+    @Test
+    void testExecute() throws JsonProcessingException {
+        OrderUpdate orderUpdate = new OrderUpdate(1L, "Trader", "Stock", null);
+        Map<String, Object> options = Map.of(
+                "Header", "cancelOrder",
+                "Body", OrderUpdate.toString(orderUpdate)
+        );
+        StockExchange mockStockExchange = mock(StockExchange.class);
+        CancelOrderCommand cancelOrderCommand = new CancelOrderCommand(mockStockExchange);
+        cancelOrderCommand.execute(options);
+        verify(mockStockExchange).cancelOrder(orderUpdate);
+    }
+
+}
@@ -0,0 +1,178 @@
+package nl.rug.aoop.stockapplication.comand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.command.CommandHandler;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.OrderSerializer;
+import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MappedLogMessageQueue;
+import nl.rug.aoop.stockapplication.command.CheckpointedMessageQueue;
+import nl.rug.aoop.stockapplication.command.SimpleConsumer;
+import nl.rug.aoop.stockapplication.command.StockFactory;
+import nl.rug.aoop.stockapplication.command.StockPoller;
+import nl.rug.aoop.stockapplication.stock.LimitOrderMatcher;
+import nl.rug.aoop.stockapplication.stock.OrderManager;
+import nl.rug.aoop.stockapplication.stock.OrderMatcherHandler;
+import nl.rug.aoop.stockapplication.stock.PeriodicUpdater;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
+import nl.rug.aoop.stockapplication.stock.StockManager;
+import nl.rug.aoop.stockapplication.stock.TraderManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * TestCheckpointedMessageQueueClass class tests the CheckpointedMessageQueue class.
+ */
+public class TestCheckpointedMessageQueueClass {
+    /**
+     * Size of the journal segments, small enough for a few Orders to fill several segments.
+     */
+    private static final int SEGMENT_SIZE = 512;
+    /**
+     * Directory of the journal.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Creates a Message that places a LimitOrder for the Stock.
+     * @param traderId String id of the Trader.
+     * @param operation String operation of the LimitOrder.
+     * @param price int price of the LimitOrder.
+     * @param amount int amount of the LimitOrder.
+     * @return Message of the LimitOrder.
+     * @throws JsonProcessingException Thrown if Json string conversion of the LimitOrder fails.
+     */
+    private Message createOrderMessage(String traderId, String operation, int price, int amount)
+            throws JsonProcessingException {
+        return new Message("resolveOrder", OrderSerializer.serialize(new LimitOrder.Builder().setTraderId(traderId)
+                .setStockId("Stock").setOperation(operation).setPrice(price).setAmount(amount).build()));
+    }
+
+    /**
+     * Creates a freshly loaded StockExchange with the Stock, a Trader with funds and a Trader with shares.
+     * @return New StockExchange.
+     */
+    private StockExchange createStockExchange() {
+        StockManager stockManager = new StockManager();
+        stockManager.getStockCollection().updateStock(new Stock("Stock", "Stock", 100L, 10.0, 1000.0));
+        TraderManager traderManager = new TraderManager();
+        Trader seller = new Trader("Seller", "Seller", 0L);
+        seller.setStockAmount("Stock", 10L);
+        traderManager.getTraderCollection().updateTrader(seller);
+        traderManager.getTraderCollection().updateTrader(new Trader("Buyer", "Buyer", 1000L));
+        OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
+        orderMatcherHandler.registerOrderMatcher("LimitOrder", new LimitOrderMatcher());
+        return new StockExchange(stockManager, traderManager, new OrderManager(), orderMatcherHandler);
+    }
+
+    /**
+     * Matches the Messages of a CheckpointedMessageQueue with a StockPoller until it published the snapshot of an
+     * event, and then stops the StockPoller.
+     * @param queue CheckpointedMessageQueue of the Messages.
+     * @param stockExchange StockExchange the Messages are matched on.
+     * @param sequence long sequence number of the event.
+     * @throws InterruptedException Thrown if waiting for the StockPoller to stop is interrupted.
+     */
+    private void runUntil(CheckpointedMessageQueue queue, StockExchange stockExchange, long sequence)
+            throws InterruptedException {
+        CommandHandler commandHandler = new StockFactory(stockExchange, queue, mock(PeriodicUpdater.class))
+                .create(StockFactory.Types.STOCK.toString());
+        StockPoller stockPoller = new StockPoller(new SimpleConsumer(queue), commandHandler, stockExchange);
+        Thread thread = new Thread(stockPoller);
+        thread.start();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stockExchange.getSnapshot().getSequence() == sequence);
+        stockPoller.terminate();
+        thread.join();
+    }
+
+    /**
+     * Tests that the Orders resting in the OrderBook before a restart rest in it again with their reservations, when
+     * the StockExchange is restored from its checkpoint and only the Message after the checkpoint is replayed. The
+     * journal segments before the checkpoint are deleted.
+     * @throws IOException Thrown if the journal can't be opened.
+     * @throws InterruptedException Thrown if waiting for a StockPoller to stop is interrupted.
+     */
+    @Test
+    void testRestartRestoresRestingOrders() throws IOException, InterruptedException {
+        try (MappedLogMessageQueue journal = new MappedLogMessageQueue(directory, SEGMENT_SIZE, 0)) {
+            StockExchange stockExchange = createStockExchange();
+            CheckpointedMessageQueue queue = new CheckpointedMessageQueue(journal, stockExchange, 2);
+            for (int i = 0; i < 4; i++) {
+                queue.enqueue(createOrderMessage("Buyer", "BUY", 10, 1));
+            }
+            runUntil(queue, stockExchange, 4);
+            queue.enqueue(createOrderMessage("Seller", "SELL", 12, 3));
+            assertEquals(4, queue.getCheckpointOffset());
+            assertEquals(4, journal.getCheckpoint());
+            assertTrue(journal.getStartOffset() > 0);
+        }
+        assertTrue(Files.exists(directory.resolve(CheckpointedMessageQueue.CHECKPOINT_FILE)));
+        try (MappedLogMessageQueue journal = new MappedLogMessageQueue(directory, SEGMENT_SIZE, 0)) {
+            StockExchange stockExchange = createStockExchange();
+            CheckpointedMessageQueue queue = new CheckpointedMessageQueue(journal, stockExchange, 2);
+            OrderBook orderBook = stockExchange.getOrderManager().getOrderBook("Stock");
+            assertEquals(4, orderBook.getSize());
+            assertEquals(4, stockExchange.getSequence());
+            assertEquals(40, stockExchange.getReservationLedger().getReservedFunds("Buyer"));
+            assertEquals(1, queue.getSize());
+
+            runUntil(queue, stockExchange, 5);
+            assertEquals(5, orderBook.getSize());
+            assertEquals(10, orderBook.getBestBid());
+            assertEquals(12, orderBook.getBestAsk());
+            assertEquals(3, orderBook.getOrder(5).getAmount());
+            assertEquals(3, stockExchange.getReservationLedger().getReservedStockAmount("Seller", "Stock"));
+        }
+    }
+
+    /**
+     * Tests that the CheckpointedMessageQueue only writes a checkpoint once enough Messages were applied.
+     * @throws IOException Thrown if the journal can't be opened.
+     */
+    @Test
+    void testCheckpointInterval() throws IOException {
+        try (MappedLogMessageQueue journal = new MappedLogMessageQueue(directory, 4096, 0)) {
+            CheckpointedMessageQueue queue = new CheckpointedMessageQueue(journal, createStockExchange(), 3);
+            for (int i = 0; i < 2; i++) {
+                queue.enqueue(new Message("header", "body"));
+                assertNotNull(queue.dequeue());
+            }
+            queue.commit();
+            assertEquals(0, queue.getCheckpointOffset());
+            assertFalse(Files.exists(directory.resolve(CheckpointedMessageQueue.CHECKPOINT_FILE)));
+            queue.enqueue(new Message("header", "body"));
+            assertNotNull(queue.dequeue());
+            queue.commit();
+            assertEquals(3, queue.getCheckpointOffset());
+            assertEquals(3, journal.getCheckpoint());
+        }
+    }
+
+    /**
+     * Tests that the CheckpointedMessageQueue constructor throws an exception when passing an illegal argument.
+     * @throws IOException Thrown if the journal can't be opened.
+     */
+    @Test
+    void testIllegalConstructor() throws IOException {
+        try (MappedLogMessageQueue journal = new MappedLogMessageQueue(directory, 4096, 0)) {
+            assertThrows(NullPointerException.class,
+                    () -> new CheckpointedMessageQueue(null, createStockExchange(), 1));
+            assertThrows(NullPointerException.class, () -> new CheckpointedMessageQueue(journal, null, 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new CheckpointedMessageQueue(journal, createStockExchange(), 0));
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package nl.rug.aoop.stockapplication.comand;
 
 import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.messagequeue.queue.BoundedMessageQueue;
 import nl.rug.aoop.messagequeue.queue.MessageQueue;
 import nl.rug.aoop.messagequeue.queue.OrderedMessageQueue;
+import nl.rug.aoop.messagequeue.queue.OverloadPolicy;
+import nl.rug.aoop.networking.Communicator;
 import nl.rug.aoop.stockapplication.command.MqPutCommand;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -12,6 +17,9 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Class TestMqPutCommandClass tests the MqPutCommand class.
@@ -68,4 +76,44 @@ public class TestMqPutCommandClass {
         command.execute(map);
         Assertions.assertEquals(1, queue.getSize());
     }
+
+    /**
+     * Tests that a Message rejected by a full MessageQueue is sent back to the Communicator it came from.
+     */
+    @Test
+    void testRejectedReply() {
+        queue = new BoundedMessageQueue(new OrderedMessageQueue(), 1, OverloadPolicy.REJECT);
+        command = new MqPutCommand(queue);
+        queue.enqueue(new Message("header", "body"));
+        Message message = new Message("resolveOrder", "order");
+        Communicator mockCommunicator = mock(Communicator.class);
+        Map<String, Object> map = new HashMap<>();
+        map.put("Body", message.toJson());
+        map.put("Communicator", mockCommunicator);
+        command.execute(map);
+        assertEquals(1, queue.getSize());
+        verify(mockCommunicator).sendMessage(
+                new NetworkMessage(MqPutCommand.REJECTED_HEADER, message.toJson()).toJson());
+    }
+
+    /**
+     * Tests that a Message of a binary envelope is put in the MessageQueue as is, and returned in a binary envelope
+     * when it is rejected from a connection that negotiated BINARY.
+     */
+    @Test
+    void testBinaryExecute() {
+        queue = new BoundedMessageQueue(new OrderedMessageQueue(), 1, OverloadPolicy.REJECT);
+        command = new MqPutCommand(queue);
+        Message message = new Message("resolveOrder", "order");
+        Communicator mockCommunicator = mock(Communicator.class);
+        Map<String, Object> map = new HashMap<>();
+        map.put("Body", message);
+        map.put("Communicator", mockCommunicator);
+        when(mockCommunicator.getAttachment()).thenReturn(WireFormat.BINARY);
+        command.execute(map);
+        assertEquals(message, queue.dequeue());
+        queue.enqueue(new Message("header", "body"));
+        command.execute(map);
+        verify(mockCommunicator).sendMessage(WireFormat.BINARY.encode(MqPutCommand.REJECTED_HEADER, message));
+    }
 }
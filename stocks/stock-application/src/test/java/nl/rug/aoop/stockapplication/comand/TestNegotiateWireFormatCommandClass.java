@@ -0,0 +1,40 @@
+package nl.rug.aoop.stockapplication.comand;
+
+import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.networking.Communicator;
+import nl.rug.aoop.stockapplication.command.NegotiateWireFormatCommand;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Class TestNegotiateWireFormatCommandClass tests the NegotiateWireFormatCommand class.
+ */
+public class TestNegotiateWireFormatCommandClass {
+
+    /**
+     * Tests that a known WireFormat is accepted and attached to the Communicator.
+     */
+    @Test
+    void testAcceptBinary() {
+        Communicator mockCommunicator = mock(Communicator.class);
+        new NegotiateWireFormatCommand().execute(Map.of("Body", "BINARY", "Communicator", mockCommunicator));
+        verify(mockCommunicator).sendMessage(new NetworkMessage(NegotiateWireFormatCommand.HEADER, "binary").toJson());
+        verify(mockCommunicator).setAttachment(WireFormat.BINARY);
+    }
+
+    /**
+     * Tests that an unknown WireFormat is answered with JSON.
+     */
+    @Test
+    void testFallBackToJson() {
+        Communicator mockCommunicator = mock(Communicator.class);
+        new NegotiateWireFormatCommand().execute(Map.of("Body", "protobuf", "Communicator", mockCommunicator));
+        verify(mockCommunicator).sendMessage(new NetworkMessage(NegotiateWireFormatCommand.HEADER, "json").toJson());
+        verify(mockCommunicator).setAttachment(WireFormat.JSON);
+    }
+}
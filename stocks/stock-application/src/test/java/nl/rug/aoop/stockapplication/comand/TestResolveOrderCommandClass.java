@@ -1,18 +1,27 @@
 package nl.rug.aoop.stockapplication.comand;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.command.BatchResult;
 import nl.rug.aoop.core.order.LimitOrder;
 import nl.rug.aoop.core.order.Order;
 import nl.rug.aoop.core.order.OrderSerializer;
 import nl.rug.aoop.stockapplication.command.ResolveOrderCommand;
 import nl.rug.aoop.stockapplication.stock.StockExchange;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -60,4 +69,31 @@ public class TestResolveOrderCommandClass {
         verify(mockStockExchange).resolveOrder(order);
     }
 
+    /**
+     * Tests that ResolveOrderCommand executeBatch method resolves the Orders of a batch in order, skips a body that is
+     * no Order, and reports an Order the StockExchange rejects without stopping the Orders after it.
+     * @throws JsonProcessingException Thrown if Json string conversion of Order fails.
+     */
+    @Test
+    void testExecuteBatch() throws JsonProcessingException {
+        Order buyOrder = new LimitOrder.Builder().setTraderId("Trader").setStockId("Stock").setOperation("BUY")
+                .setPrice(1).setAmount(1).build();
+        Order sellOrder = new LimitOrder.Builder().setTraderId("Trader").setStockId("Stock").setOperation("SELL")
+                .setPrice(2).setAmount(1).build();
+        List<Map<String, Object>> optionsBatch = List.of(
+                Map.of("Header", "resolveOrder", "Body", OrderSerializer.serialize(buyOrder)),
+                Map.of("Header", "resolveOrder", "Body", "not an order"),
+                Map.of("Header", "resolveOrder", "Body", OrderSerializer.serialize(sellOrder)));
+        StockExchange mockStockExchange = mock(StockExchange.class);
+        doThrow(new IllegalArgumentException("rejected order")).when(mockStockExchange).resolveOrder(buyOrder);
+        BatchResult result = new ResolveOrderCommand(mockStockExchange).executeBatch(optionsBatch);
+        InOrder inOrder = inOrder(mockStockExchange);
+        inOrder.verify(mockStockExchange).resolveOrder(buyOrder);
+        inOrder.verify(mockStockExchange).resolveOrder(sellOrder);
+        verify(mockStockExchange, times(2)).resolveOrder(any());
+        assertEquals(IllegalArgumentException.class, result.getFailure(0).getClass());
+        assertNull(result.getFailure(1));
+        assertNull(result.getFailure(2));
+    }
+
 }
@@ -0,0 +1,107 @@
+package nl.rug.aoop.stockapplication.comand;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.OrderSerializer;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.messagequeue.queue.RingBufferMessageQueue;
+import nl.rug.aoop.stockapplication.command.ShardedMessageQueue;
+import nl.rug.aoop.stockapplication.stock.OrderMatcherHandler;
+import nl.rug.aoop.stockapplication.stock.ShardedStockExchange;
+import nl.rug.aoop.stockapplication.stock.StockManager;
+import nl.rug.aoop.stockapplication.stock.TraderManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestShardedMessageQueueClass class that tests the ShardedMessageQueue class.
+ */
+public class TestShardedMessageQueueClass {
+    /**
+     * MessageQueues of the two shards.
+     */
+    private List<MessageQueue> shardQueues;
+    /**
+     * ShardedMessageQueue used for testing.
+     */
+    private ShardedMessageQueue queue;
+
+    /**
+     * Method sets up a ShardedMessageQueue over two shards. Stock "A" belongs to shard 1 and Stock "B" to shard 0.
+     */
+    @BeforeEach
+    void setupQueue() {
+        ShardedStockExchange stockExchange = new ShardedStockExchange(new StockManager(), new TraderManager(),
+                new OrderMatcherHandler(), 2);
+        shardQueues = List.of(new RingBufferMessageQueue(16), new RingBufferMessageQueue(16));
+        queue = new ShardedMessageQueue(shardQueues, stockExchange);
+    }
+
+    /**
+     * Tests that the ShardedMessageQueue constructor rejects a number of queues that doesn't match the shards.
+     */
+    @Test
+    void testConstructor() {
+        ShardedStockExchange stockExchange = new ShardedStockExchange(new StockManager(), new TraderManager(),
+                new OrderMatcherHandler(), 2);
+        assertThrows(IllegalArgumentException.class, () -> new ShardedMessageQueue(
+                List.of(new RingBufferMessageQueue(16)), stockExchange));
+        assertThrows(NullPointerException.class, () -> new ShardedMessageQueue(shardQueues, null));
+    }
+
+    /**
+     * Tests that Orders and OrderUpdates are routed to the shard of their Stock.
+     * @throws JsonProcessingException Thrown if Json string conversion fails.
+     */
+    @Test
+    void testRouting() throws JsonProcessingException {
+        Message order = new Message("resolveOrder", OrderSerializer.serialize(new LimitOrder.Builder()
+                .setTraderId("Trader")
+                .setStockId("A")
+                .setOperation("BUY")
+                .setPrice(1)
+                .setAmount(1)
+                .build()));
+        Message cancel = new Message("cancelOrder", OrderUpdate.toString(new OrderUpdate(1L, "Trader", "B", null)));
+        queue.enqueue(order);
+        queue.enqueue(cancel);
+
+        assertEquals(2, queue.getSize());
+        assertEquals(order, shardQueues.get(1).dequeue());
+        assertEquals(cancel, shardQueues.get(0).dequeue());
+    }
+
+    /**
+     * Tests that Messages without a Stock Id go to the first shard.
+     */
+    @Test
+    void testRoutingWithoutStockId() {
+        Message notJson = new Message("header", "body");
+        Message noStockId = new Message("header", "{\"traderId\":\"Trader\",\"nested\":{\"stockId\":\"A\"}}");
+        queue.enqueue(notJson);
+        queue.enqueue(noStockId);
+        assertEquals(notJson, shardQueues.get(0).dequeue());
+        assertEquals(noStockId, shardQueues.get(0).dequeue());
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    /**
+     * Tests that dequeueing takes turns between the shard queues.
+     */
+    @Test
+    void testDequeue() {
+        Message first = new Message("header", "first");
+        Message second = new Message("header", "second");
+        shardQueues.get(0).enqueue(first);
+        shardQueues.get(1).enqueue(second);
+        assertEquals(first, queue.dequeue());
+        assertEquals(second, queue.dequeue());
+        assertNull(queue.dequeue());
+    }
+}
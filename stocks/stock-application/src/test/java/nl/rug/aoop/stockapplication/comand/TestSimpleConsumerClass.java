@@ -6,8 +6,12 @@ import nl.rug.aoop.messagequeue.queue.OrderedMessageQueue;
 import nl.rug.aoop.stockapplication.command.SimpleConsumer;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.*;
 
 /**
  * Class TestSimpleConsumerClass tests the SimpleConsumer class.
@@ -45,4 +49,34 @@ public class TestSimpleConsumerClass {
         consumer.poll();
         assertEquals(oldSize - 1, q.getSize());
     }
+
+    /**
+     * Tests that waiting for a Message is left to the MessageQueue.
+     */
+    @Test
+    void testWaitingPoll() throws InterruptedException {
+        MessageQueue mockQueue = mock(MessageQueue.class);
+        Message message = new Message("Hello", "Simple message");
+        when(mockQueue.dequeue(5, TimeUnit.MILLISECONDS)).thenReturn(message);
+        when(mockQueue.take()).thenReturn(message);
+        SimpleConsumer consumer = new SimpleConsumer(mockQueue);
+        assertEquals(message, consumer.poll(5, TimeUnit.MILLISECONDS));
+        assertEquals(message, consumer.take());
+        verify(mockQueue, never()).dequeue();
+    }
+
+    /**
+     * Tests that draining a batch of Messages is left to the MessageQueue.
+     */
+    @Test
+    void testDrain() {
+        OrderedMessageQueue q = new OrderedMessageQueue();
+        q.enqueue(new Message("Hello", "first"));
+        q.enqueue(new Message("Hello", "second"));
+        SimpleConsumer consumer = new SimpleConsumer(q);
+        List<Message> batch = new ArrayList<>();
+        assertEquals(2, consumer.drain(batch, 5));
+        assertEquals(2, batch.size());
+        assertEquals(0, q.getSize());
+    }
 }
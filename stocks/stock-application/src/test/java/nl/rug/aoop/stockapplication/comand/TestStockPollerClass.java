@@ -1,12 +1,20 @@
 package nl.rug.aoop.stockapplication.comand;
 
+import nl.rug.aoop.command.Command;
 import nl.rug.aoop.command.CommandHandler;
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.process.MQConsumer;
+import nl.rug.aoop.messagequeue.queue.MessageQueue;
+import nl.rug.aoop.messagequeue.queue.RingBufferMessageQueue;
+import nl.rug.aoop.stockapplication.command.SimpleConsumer;
 import nl.rug.aoop.stockapplication.command.StockPoller;
+import nl.rug.aoop.stockapplication.stock.StockExchange;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +43,8 @@ public class TestStockPollerClass {
     void testNullArgConstructor() {
         assertThrows(NullPointerException.class, () -> new StockPoller(null, mock(CommandHandler.class)));
         assertThrows(NullPointerException.class, () -> new StockPoller(mock(MQConsumer.class), null));
+        assertThrows(NullPointerException.class, () -> new StockPoller(mock(MQConsumer.class),
+                mock(CommandHandler.class), null));
     }
 
     /**
@@ -42,7 +52,7 @@ public class TestStockPollerClass {
      */
     @Test
     void testRun() {
-        MQConsumer mockMqConsumer = mock(MQConsumer.class);
+        MQConsumer mockMqConsumer = mock(MQConsumer.class, CALLS_REAL_METHODS);
         CommandHandler mockCommandHandler = mock(CommandHandler.class);
 
         StockPoller stockPoller = new StockPoller(mockMqConsumer, mockCommandHandler);
@@ -52,7 +62,18 @@ public class TestStockPollerClass {
     }
 
     /**
-     * Tests that the StockPoller execute method correctly calls the executeCommand method of the CommandHandler.
+     * Creates a CommandHandler with Commands registered under their names.
+     * @param commands Map(String, Command) of the Commands by name.
+     * @return New CommandHandler.
+     */
+    private CommandHandler createCommandHandler(Map<String, Command> commands) {
+        CommandHandler commandHandler = new CommandHandler();
+        commands.forEach(commandHandler::registerCommand);
+        return commandHandler;
+    }
+
+    /**
+     * Tests that the StockPoller hands every drained Message to the Command of its header.
      */
     @Test
     void testExecute() {
@@ -60,14 +81,41 @@ public class TestStockPollerClass {
         Map<String, Object> map = new HashMap<>();
         map.put("Header", message.header());
         map.put("Body", message.body());
-        MQConsumer mockMqConsumer = mock(MQConsumer.class);
+        MQConsumer mockMqConsumer = mock(MQConsumer.class, CALLS_REAL_METHODS);
         when(mockMqConsumer.poll()).thenReturn(message);
-        CommandHandler mockCommandHandler = mock(CommandHandler.class);
+        Command mockCommand = mock(Command.class, CALLS_REAL_METHODS);
 
-        StockPoller stockPoller = new StockPoller(mockMqConsumer, mockCommandHandler);
+        StockPoller stockPoller = new StockPoller(mockMqConsumer, createCommandHandler(Map.of("header", mockCommand)));
         new Thread(stockPoller).start();
-        await().atMost(1, TimeUnit.SECONDS).until(stockPoller::isRunning);
-        verify(mockCommandHandler, atLeastOnce()).executeCommand(message.header(), map);
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() ->
+                verify(mockCommand, atLeast(StockPoller.MAX_BATCH_SIZE)).execute(map));
+        stockPoller.terminate();
+    }
+
+    /**
+     * Tests that the StockPoller executes the Messages of a drained batch in order, handing every run of Messages
+     * with the same header to their Command as one batch.
+     */
+    @Test
+    void testExecuteInOrder() {
+        MessageQueue queue = new RingBufferMessageQueue(8);
+        for (String header : List.of("first", "first", "second", "first")) {
+            queue.enqueue(new Message(header, "body"));
+        }
+        Command first = mock(Command.class, CALLS_REAL_METHODS);
+        Command second = mock(Command.class, CALLS_REAL_METHODS);
+        CommandHandler commandHandler = createCommandHandler(Map.of("first", first, "second", second));
+
+        StockPoller stockPoller = new StockPoller(new SimpleConsumer(queue), commandHandler);
+        new Thread(stockPoller).start();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> verify(first, times(3)).execute(any()));
+        stockPoller.terminate();
+        verify(first, times(2)).executeBatch(any());
+        verify(second, times(1)).executeBatch(any());
+        InOrder inOrder = inOrder(first, second);
+        inOrder.verify(first, times(2)).execute(any());
+        inOrder.verify(second).execute(any());
+        inOrder.verify(first).execute(any());
     }
 
     /**
@@ -79,7 +127,7 @@ public class TestStockPollerClass {
         Map<String, Object> map = new HashMap<>();
         map.put("Header", message.header());
         map.put("Body", message.body());
-        MQConsumer mockMqConsumer = mock(MQConsumer.class);
+        MQConsumer mockMqConsumer = mock(MQConsumer.class, CALLS_REAL_METHODS);
         when(mockMqConsumer.poll()).thenReturn(message);
         CommandHandler mockCommandHandler = mock(CommandHandler.class);
 
@@ -88,4 +136,110 @@ public class TestStockPollerClass {
         stockPoller.terminate();
         assertFalse(stockPoller.isRunning());
     }
+
+    /**
+     * Tests that the StockPoller publishes a StockExchange snapshot and commits the applied Messages once they are
+     * drained, and not while nothing new was applied.
+     */
+    @Test
+    void testPublishSnapshot() {
+        Message message = new Message("header", "body");
+        MQConsumer mockMqConsumer = mock(MQConsumer.class, CALLS_REAL_METHODS);
+        when(mockMqConsumer.poll()).thenReturn(message, message, null);
+        Command mockCommand = mock(Command.class, CALLS_REAL_METHODS);
+        StockExchange mockStockExchange = mock(StockExchange.class);
+
+        StockPoller stockPoller = new StockPoller(mockMqConsumer, createCommandHandler(Map.of("header", mockCommand)),
+                mockStockExchange);
+        new Thread(stockPoller).start();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> verify(mockStockExchange).publishSnapshot());
+        verify(mockCommand, times(2)).execute(any());
+        stockPoller.terminate();
+        verify(mockStockExchange, times(1)).publishSnapshot();
+        verify(mockMqConsumer, times(1)).commit();
+    }
+
+    /**
+     * Tests that the StockPoller acknowledges executed Messages and hands back a Message its Command rejects, as well
+     * as the Messages of a header without a Command.
+     */
+    @Test
+    void testAckAndNack() {
+        Message good = new Message("good", "body");
+        Message bad = new Message("bad", "body");
+        Message unknown = new Message("unknown", "body");
+        MQConsumer mockMqConsumer = mock(MQConsumer.class, CALLS_REAL_METHODS);
+        when(mockMqConsumer.poll()).thenReturn(good, bad, unknown, null);
+        Command goodCommand = mock(Command.class, CALLS_REAL_METHODS);
+        Command badCommand = mock(Command.class, CALLS_REAL_METHODS);
+        doThrow(new ClassCastException("bad order")).when(badCommand).execute(any());
+
+        StockPoller stockPoller = new StockPoller(mockMqConsumer,
+                createCommandHandler(Map.of("good", goodCommand, "bad", badCommand)));
+        new Thread(stockPoller).start();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> verify(mockMqConsumer).nack(unknown));
+        assertTrue(stockPoller.isRunning());
+        stockPoller.terminate();
+        verify(mockMqConsumer).ack(good);
+        verify(mockMqConsumer).nack(bad);
+        verify(mockMqConsumer, never()).ack(bad);
+        verify(mockMqConsumer, never()).ack(unknown);
+    }
+
+    /**
+     * Tests that a failure in the middle of a batch of Messages with the same header only settles the failing Message
+     * differently: the Messages around it are executed once and acknowledged, a rejected Message is handed back, and a
+     * Message that fails otherwise is acknowledged without stopping the StockPoller.
+     */
+    @Test
+    void testFailureInBatch() {
+        MessageQueue queue = new RingBufferMessageQueue(8);
+        List<Message> messages = new ArrayList<>();
+        for (String body : List.of("first", "rejected", "second", "broken", "third")) {
+            messages.add(new Message("order", body));
+            queue.enqueue(messages.get(messages.size() - 1));
+        }
+        MQConsumer consumer = spy(new SimpleConsumer(queue));
+        Command mockCommand = mock(Command.class, CALLS_REAL_METHODS);
+        doThrow(new IllegalArgumentException("rejected order")).when(mockCommand)
+                .execute(argThat(options -> "rejected".equals(options.get("Body"))));
+        doThrow(new NullPointerException("broken order")).when(mockCommand)
+                .execute(argThat(options -> "broken".equals(options.get("Body"))));
+
+        StockPoller stockPoller = new StockPoller(consumer, createCommandHandler(Map.of("order", mockCommand)));
+        new Thread(stockPoller).start();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> verify(consumer).ack(messages.get(4)));
+        assertTrue(stockPoller.isRunning());
+        stockPoller.terminate();
+        verify(mockCommand, times(1)).executeBatch(any());
+        verify(mockCommand, times(5)).execute(any());
+        verify(consumer).ack(messages.get(0));
+        verify(consumer).nack(messages.get(1));
+        verify(consumer, never()).ack(messages.get(1));
+        verify(consumer).ack(messages.get(2));
+        verify(consumer).ack(messages.get(3));
+        verify(consumer, never()).nack(messages.get(3));
+    }
+
+    /**
+     * Tests that the StockPoller of a shard publishes the BookDepths of the shard before the shared snapshot.
+     */
+    @Test
+    void testPublishShardDepths() {
+        Message message = new Message("header", "body");
+        MQConsumer mockMqConsumer = mock(MQConsumer.class, CALLS_REAL_METHODS);
+        when(mockMqConsumer.poll()).thenReturn(message, (Message) null);
+        StockExchange mockStockExchange = mock(StockExchange.class);
+        StockExchange mockShard = mock(StockExchange.class);
+
+        StockPoller stockPoller = new StockPoller(mockMqConsumer, mock(CommandHandler.class), mockStockExchange,
+                mockShard);
+        new Thread(stockPoller).start();
+        await().atMost(1, TimeUnit.SECONDS).untilAsserted(() -> verify(mockStockExchange).publishSnapshot());
+        stockPoller.terminate();
+        InOrder inOrder = inOrder(mockShard, mockStockExchange);
+        inOrder.verify(mockShard).publishDepths();
+        inOrder.verify(mockStockExchange).publishSnapshot();
+        verify(mockShard, never()).publishSnapshot();
+    }
 }
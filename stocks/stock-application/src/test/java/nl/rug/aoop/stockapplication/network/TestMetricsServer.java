@@ -0,0 +1,54 @@
+package nl.rug.aoop.stockapplication.network;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.queue.MeteredMessageQueue;
+import nl.rug.aoop.messagequeue.queue.QueueMetrics;
+import nl.rug.aoop.messagequeue.queue.UnorderedMessageQueue;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class TestMetricsServer tests the MetricsServer class.
+ */
+public class TestMetricsServer {
+
+    /**
+     * Tests that the constructor checks its arguments.
+     */
+    @Test
+    void testConstructor() {
+        assertThrows(NullPointerException.class, () -> new MetricsServer(0, null));
+    }
+
+    /**
+     * Tests that the metrics of every queue and header are rendered and served.
+     * @throws IOException if the endpoint can't be read.
+     */
+    @Test
+    void testServeMetrics() throws IOException {
+        MeteredMessageQueue queue = new MeteredMessageQueue(new UnorderedMessageQueue(), new QueueMetrics());
+        queue.enqueue(new Message("resolveOrder", "order"));
+        queue.enqueue(new Message("resolveOrder", "order"));
+        queue.dequeue();
+        MetricsServer metricsServer = new MetricsServer(0, Map.of("shard-0", queue));
+        String rendered = metricsServer.render();
+        assertTrue(rendered.contains("mq_queue_depth{queue=\"shard-0\"} 1\n"));
+        assertTrue(rendered.contains("mq_enqueued_total{queue=\"shard-0\",header=\"resolveOrder\"} 2\n"));
+        assertTrue(rendered.contains("mq_latency_nanos{queue=\"shard-0\",header=\"resolveOrder\",quantile=\"0.99\"}"));
+        metricsServer.start();
+        try (InputStream in = new URL("http://localhost:" + metricsServer.getPort() + "/metrics").openStream()) {
+            String served = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(served.contains("mq_dequeued_total{queue=\"shard-0\",header=\"resolveOrder\"} 1\n"));
+        } finally {
+            metricsServer.stop();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package nl.rug.aoop.stockapplication.network;
 
 import nl.rug.aoop.command.CommandHandler;
+import nl.rug.aoop.messagequeue.message.BinaryCodec;
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.Communicator;
+import nl.rug.aoop.networking.FrameCommunicator;
 import nl.rug.aoop.networking.MessageHandler;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -66,6 +71,7 @@ public class TestServerMessageHandler {
         map.put("Body", networkMessage.body());
         Communicator mockCommunicator = mock(Communicator.class);
         map.put("Communicator", mockCommunicator);
+        map.put(WireFormat.FORMAT, WireFormat.JSON);
         String networkMessageJsonString = networkMessage.toJson();
 
         setupServerMessageHandler();
@@ -74,6 +80,40 @@ public class TestServerMessageHandler {
         verify(mockCommandHandler, atLeastOnce()).executeCommand(networkMessage.header(), map);
     }
 
+    /**
+     * Tests that a binary envelope is handled with the Message itself as its Body.
+     */
+    @Test
+    void testBinaryHandleMessage() {
+        Message message = new Message("Message header", "Message body");
+        Communicator mockCommunicator = mock(Communicator.class);
+        setupServerMessageHandler();
+
+        serverMessageHandler.handleMessage(WireFormat.BINARY.encode("mqPut", message), mockCommunicator);
+        verify(mockCommandHandler).executeCommand(eq("mqPut"), argThat(map -> message.equals(map.get("Body"))
+                && map.get(WireFormat.FORMAT) == WireFormat.BINARY && map.get("Communicator") == mockCommunicator));
+    }
+
+    /**
+     * Tests that a raw binary frame and a JSON frame are handled straight from a direct buffer.
+     */
+    @Test
+    void testHandleFrame() {
+        Message message = new Message("Message header", "Message body");
+        FrameCommunicator mockCommunicator = mock(FrameCommunicator.class);
+        mockCommandHandler = mock(CommandHandler.class);
+        ServerMessageHandler frameHandler = new ServerMessageHandler(mockCommandHandler);
+        byte[] binary = BinaryCodec.encode("mqPut", message);
+        byte[] json = new NetworkMessage("registerTrader", "bot1").toJson().getBytes(StandardCharsets.UTF_8);
+
+        frameHandler.handleFrame(ByteBuffer.allocateDirect(binary.length).put(binary).flip(), mockCommunicator);
+        frameHandler.handleFrame(ByteBuffer.allocateDirect(json.length).put(json).flip(), mockCommunicator);
+        verify(mockCommandHandler).executeCommand(eq("mqPut"), argThat(map -> message.equals(map.get("Body"))
+                && map.get(WireFormat.FORMAT) == WireFormat.BINARY && map.get("Communicator") == mockCommunicator));
+        verify(mockCommandHandler).executeCommand(eq("registerTrader"), argThat(map -> "bot1".equals(map.get("Body"))
+                && map.get(WireFormat.FORMAT) == WireFormat.JSON));
+    }
+
     /**
      * Tests that given null input or empty message, the handleMessage() method will throw the correct exception.
      */
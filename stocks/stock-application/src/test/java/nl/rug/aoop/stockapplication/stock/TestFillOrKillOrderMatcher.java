@@ -0,0 +1,78 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.FillOrKillOrder;
+import nl.rug.aoop.core.order.HeapOrderBook;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestFillOrKillOrderMatcher class tests the FillOrKillOrderMatcher class.
+ */
+public class TestFillOrKillOrderMatcher {
+    /**
+     * Method creates an OrderBook with two bids of 2 units, at prices 6 and 4.
+     * @return New OrderBook.
+     */
+    private OrderBook createOrderBook() {
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        for (int price : new int[] {6, 4}) {
+            orderBook.addOrder(new LimitOrder.Builder()
+                    .setId((long) price)
+                    .setTraderId("Trader")
+                    .setStockId("Stock")
+                    .setOperation("BUY")
+                    .setPrice(price)
+                    .setAmount(2)
+                    .build());
+        }
+        return orderBook;
+    }
+
+    /**
+     * Method creates a sell FillOrKillOrder.
+     * @param price Integer of the FillOrKillOrder's price.
+     * @param amount Integer of the FillOrKillOrder's amount.
+     * @return New FillOrKillOrder.
+     */
+    private Order createFillOrKillOrder(Integer price, Integer amount) {
+        return FillOrKillOrder.newBuilder()
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation("SELL")
+                .setPrice(price)
+                .setAmount(amount)
+                .build();
+    }
+
+    /**
+     * Tests that a FillOrKillOrder is matched if the crossing Orders can resolve it in full.
+     */
+    @Test
+    void testMatchFillableOrder() {
+        OrderBook orderBook = createOrderBook();
+        Iterator<Order> matchingOrders = new FillOrKillOrderMatcher().matchOrder(createFillOrKillOrder(4, 3),
+                orderBook);
+        assertEquals(6, matchingOrders.next().getPrice());
+        assertEquals(4, matchingOrders.next().getPrice());
+        assertEquals(2, orderBook.getNumOfBids());
+    }
+
+    /**
+     * Tests that a FillOrKillOrder is not matched if the crossing Orders can't resolve it in full.
+     */
+    @Test
+    void testMatchUnfillableOrder() {
+        OrderBook orderBook = createOrderBook();
+        FillOrKillOrderMatcher matcher = new FillOrKillOrderMatcher();
+        assertNull(matcher.matchOrder(createFillOrKillOrder(5, 3), orderBook));
+        assertNull(matcher.matchOrder(createFillOrKillOrder(1, 5), orderBook));
+        assertNull(matcher.matchOrder(createFillOrKillOrder(7, 1), orderBook));
+        assertTrue(matcher.cancelsRemainder());
+    }
+}
@@ -0,0 +1,45 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.HeapOrderBook;
+import nl.rug.aoop.core.order.ImmediateOrCancelOrder;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestImmediateOrCancelOrderMatcher class tests the ImmediateOrCancelOrderMatcher class.
+ */
+public class TestImmediateOrCancelOrderMatcher {
+    /**
+     * Tests that an ImmediateOrCancelOrder only matches the Orders that cross its price, and is never stored.
+     */
+    @Test
+    void testMatchOrder() {
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        Order ask = new LimitOrder.Builder()
+                .setId(1L)
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation("SELL")
+                .setPrice(5)
+                .setAmount(1)
+                .build();
+        orderBook.addOrder(ask);
+        ImmediateOrCancelOrderMatcher matcher = new ImmediateOrCancelOrderMatcher();
+
+        Iterator<Order> matchingOrders = matcher.matchOrder(ImmediateOrCancelOrder.newBuilder()
+                .setTraderId("Trader").setStockId("Stock").setOperation("BUY").setPrice(5).setAmount(3).build(),
+                orderBook);
+        assertEquals(ask, matchingOrders.next());
+        assertFalse(matchingOrders.hasNext());
+        assertNull(matcher.matchOrder(ImmediateOrCancelOrder.newBuilder()
+                .setTraderId("Trader").setStockId("Stock").setOperation("BUY").setPrice(4).setAmount(3).build(),
+                orderBook));
+        assertTrue(matcher.cancelsRemainder());
+    }
+}
@@ -1,11 +1,17 @@
 package nl.rug.aoop.stockapplication.stock;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.core.order.HeapOrderBook;
 import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.MarketOrder;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.OrderSerializer;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -14,6 +20,21 @@ import static org.mockito.Mockito.mock;
  * TestLimitOrderMatcher class tests the LimitOrderMatcher class.
  */
 public class TestLimitOrderMatcher {
+    /**
+     * Id of the next created Order.
+     */
+    private long nextOrderId = 1;
+
+    /**
+     * Method collects the Orders of an Iterator in a List.
+     * @param iterator Iterator to be collected.
+     * @return List of the iterated Orders.
+     */
+    private List<Order> collect(Iterator<Order> iterator) {
+        List<Order> orders = new ArrayList<>();
+        iterator.forEachRemaining(orders::add);
+        return orders;
+    }
 
     /**
      * Tests that the LimitOrderMatcher constructor creates a non-null LimitOrderMatcher.
@@ -30,6 +51,7 @@ public class TestLimitOrderMatcher {
     @Test
     void testMatchMatchableBuyOrder() {
         Order incomingOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader1")
                 .setStockId("Stock")
                 .setOperation("BUY")
@@ -38,6 +60,7 @@ public class TestLimitOrderMatcher {
                 .build();
 
         Order goodOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader2")
                 .setStockId("Stock")
                 .setOperation("SELL")
@@ -45,6 +68,7 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
         Order bestOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader3")
                 .setStockId("Stock")
                 .setOperation("SELL")
@@ -52,6 +76,7 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
         Order wrongStockOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader4")
                 .setStockId("NotStock")
                 .setOperation("SELL")
@@ -59,6 +84,7 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
         Order tooExpensiveOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader5")
                 .setStockId("Stock")
                 .setOperation("SELL")
@@ -66,22 +92,15 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
 
-        OrderCollection originalOrderCollection = new OrderCollection();
-        originalOrderCollection.addOrder(goodOrder);
-        originalOrderCollection.addOrder(bestOrder);
-        originalOrderCollection.addOrder(wrongStockOrder);
-        originalOrderCollection.addOrder(tooExpensiveOrder);
-        Map<String, OrderCollection> orderCollectionMap = Map.of(
-                "Asks", originalOrderCollection
-        );
-
-
-        OrderCollection matchedOrderCollection = new OrderCollection();
-        matchedOrderCollection.addOrder(bestOrder);
-        matchedOrderCollection.addOrder(goodOrder);
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        orderBook.addOrder(goodOrder);
+        orderBook.addOrder(bestOrder);
+        orderBook.addOrder(tooExpensiveOrder);
+        OrderBook otherOrderBook = new HeapOrderBook("NotStock");
+        otherOrderBook.addOrder(wrongStockOrder);
 
         LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
-        assertEquals(matchedOrderCollection, limitOrderMatcher.matchOrder(incomingOrder, orderCollectionMap));
+        assertEquals(List.of(bestOrder, goodOrder), collect(limitOrderMatcher.matchOrder(incomingOrder, orderBook)));
     }
 
     /**
@@ -90,6 +109,7 @@ public class TestLimitOrderMatcher {
     @Test
     void testMatchNonMatchableBuyOrder() {
         Order incomingOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader1")
                 .setStockId("Stock")
                 .setOperation("BUY")
@@ -98,6 +118,7 @@ public class TestLimitOrderMatcher {
                 .build();
 
         Order tooExpensiveOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader5")
                 .setStockId("Stock")
                 .setOperation("SELL")
@@ -106,15 +127,11 @@ public class TestLimitOrderMatcher {
                 .build();
 
 
-        OrderCollection originalOrderCollection = new OrderCollection();
-        originalOrderCollection.addOrder(tooExpensiveOrder);
-        Map<String, OrderCollection> orderCollectionMap = Map.of(
-                "Asks", originalOrderCollection
-        );
-
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        orderBook.addOrder(tooExpensiveOrder);
 
         LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
-        assertNull(limitOrderMatcher.matchOrder(incomingOrder, orderCollectionMap));
+        assertNull(limitOrderMatcher.matchOrder(incomingOrder, orderBook));
 
     }
 
@@ -124,6 +141,7 @@ public class TestLimitOrderMatcher {
     @Test
     void testMatchMatchableSellOrder() {
         Order incomingOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader1")
                 .setStockId("Stock")
                 .setOperation("SELL")
@@ -132,6 +150,7 @@ public class TestLimitOrderMatcher {
                 .build();
 
         Order goodOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader2")
                 .setStockId("Stock")
                 .setOperation("BUY")
@@ -139,6 +158,7 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
         Order bestOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader3")
                 .setStockId("Stock")
                 .setOperation("BUY")
@@ -146,6 +166,7 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
         Order wrongStockOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader4")
                 .setStockId("NotStock")
                 .setOperation("BUY")
@@ -153,6 +174,7 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
         Order tooCheapOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader5")
                 .setStockId("Stock")
                 .setOperation("BUY")
@@ -160,22 +182,15 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
 
-        OrderCollection originalOrderCollection = new OrderCollection();
-        originalOrderCollection.addOrder(goodOrder);
-        originalOrderCollection.addOrder(bestOrder);
-        originalOrderCollection.addOrder(wrongStockOrder);
-        originalOrderCollection.addOrder(tooCheapOrder);
-        Map<String, OrderCollection> orderCollectionMap = Map.of(
-                "Bids", originalOrderCollection
-        );
-
-
-        OrderCollection matchedOrderCollection = new OrderCollection();
-        matchedOrderCollection.addOrder(bestOrder);
-        matchedOrderCollection.addOrder(goodOrder);
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        orderBook.addOrder(goodOrder);
+        orderBook.addOrder(bestOrder);
+        orderBook.addOrder(tooCheapOrder);
+        OrderBook otherOrderBook = new HeapOrderBook("NotStock");
+        otherOrderBook.addOrder(wrongStockOrder);
 
         LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
-        assertEquals(matchedOrderCollection, limitOrderMatcher.matchOrder(incomingOrder, orderCollectionMap));
+        assertEquals(List.of(bestOrder, goodOrder), collect(limitOrderMatcher.matchOrder(incomingOrder, orderBook)));
     }
 
     /**
@@ -184,6 +199,7 @@ public class TestLimitOrderMatcher {
     @Test
     void testMatchNonMatchableSellOrder() {
         Order incomingOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader1")
                 .setStockId("Stock")
                 .setOperation("SELL")
@@ -192,6 +208,7 @@ public class TestLimitOrderMatcher {
                 .build();
 
         Order tooCheapOrder = new LimitOrder.Builder()
+                .setId(nextOrderId++)
                 .setTraderId("Trader5")
                 .setStockId("Stock")
                 .setOperation("BUY")
@@ -199,14 +216,11 @@ public class TestLimitOrderMatcher {
                 .setAmount(1)
                 .build();
 
-        OrderCollection originalOrderCollection = new OrderCollection();
-        originalOrderCollection.addOrder(tooCheapOrder);
-        Map<String, OrderCollection> orderCollectionMap = Map.of(
-                "Bids", originalOrderCollection
-        );
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        orderBook.addOrder(tooCheapOrder);
 
         LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
-        assertNull(limitOrderMatcher.matchOrder(incomingOrder, orderCollectionMap));
+        assertNull(limitOrderMatcher.matchOrder(incomingOrder, orderBook));
     }
 
     /**
@@ -216,7 +230,60 @@ public class TestLimitOrderMatcher {
     void testNullArgMatchOrder() {
         LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
         assertThrows(NullPointerException.class, () -> limitOrderMatcher.matchOrder(mock(Order.class), null));
-        assertThrows(NullPointerException.class, () -> limitOrderMatcher.matchOrder(null, Map.of("Asks", new OrderCollection())));
+        assertThrows(NullPointerException.class, () -> limitOrderMatcher.matchOrder(null, new HeapOrderBook("Stock")));
+    }
+
+    /**
+     * Tests that the LimitOrderMatcher validateOrder method rejects an Order without a recognised operation or a price,
+     * and that an Order whose remainder is cancelled needs no price.
+     */
+    @Test
+    void testValidateOrder() {
+        LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
+        limitOrderMatcher.validateOrder(new LimitOrder.Builder().setOperation("SELL").setPrice(5).setAmount(1).build());
+
+        assertThrows(IllegalArgumentException.class, () -> limitOrderMatcher.validateOrder(new LimitOrder.Builder()
+                .setOperation("HOLD").setPrice(5).setAmount(1).build()));
+        assertThrows(IllegalArgumentException.class, () -> limitOrderMatcher.validateOrder(new LimitOrder.Builder()
+                .setOperation("SELL").setAmount(1).build()));
+        new MarketOrderMatcher().validateOrder(MarketOrder.newBuilder().setOperation("SELL").setAmount(1).build());
     }
 
+    /**
+     * Tests that the LimitOrderMatcher validateOrder method rejects a deserialized LimitOrder whose limit is not its
+     * price, so it is never matched beyond the price its resources are reserved at.
+     * @throws JsonProcessingException Thrown if Json string conversion of the LimitOrder fails.
+     */
+    @Test
+    void testValidateDeserializedLimit() throws JsonProcessingException {
+        LimitOrderMatcher limitOrderMatcher = new LimitOrderMatcher();
+        LimitOrder order = (LimitOrder) new LimitOrder.Builder().setTraderId("Trader").setStockId("Stock")
+                .setOperation("BUY").setPrice(5).setAmount(1).build();
+        String json = OrderSerializer.serialize(order);
+        limitOrderMatcher.validateOrder(OrderSerializer.deserialize(json));
+
+        order.setLimit(8);
+        Order higherLimit = OrderSerializer.deserialize(OrderSerializer.serialize(order));
+        assertEquals(8, ((LimitOrder) higherLimit).getLimit());
+        assertThrows(IllegalArgumentException.class, () -> limitOrderMatcher.validateOrder(higherLimit));
+        order.setLimit(null);
+        Order noLimit = OrderSerializer.deserialize(OrderSerializer.serialize(order));
+        assertThrows(IllegalArgumentException.class, () -> limitOrderMatcher.validateOrder(noLimit));
+    }
+
+    /**
+     * Tests that the LimitOrderMatcher matchOrder method matches within the price of a LimitOrder, even if its limit
+     * is higher.
+     */
+    @Test
+    void testMatchWithinPrice() {
+        LimitOrder incomingOrder = (LimitOrder) new LimitOrder.Builder().setId(nextOrderId++).setTraderId("Trader1")
+                .setStockId("Stock").setOperation("BUY").setPrice(5).setAmount(1).build();
+        incomingOrder.setLimit(8);
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        orderBook.addOrder(new LimitOrder.Builder().setId(nextOrderId++).setTraderId("Trader2").setStockId("Stock")
+                .setOperation("SELL").setPrice(7).setAmount(1).build());
+
+        assertNull(new LimitOrderMatcher().matchOrder(incomingOrder, orderBook));
+    }
 }
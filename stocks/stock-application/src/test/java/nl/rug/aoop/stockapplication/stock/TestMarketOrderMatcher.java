@@ -0,0 +1,102 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.HeapOrderBook;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.MarketOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestMarketOrderMatcher class tests the MarketOrderMatcher class.
+ */
+public class TestMarketOrderMatcher {
+    /**
+     * Id of the next created Order.
+     */
+    private long nextOrderId = 1;
+
+    /**
+     * Method creates a LimitOrder and adds it to an OrderBook.
+     * @param orderBook OrderBook the LimitOrder is added to.
+     * @param operation String of the LimitOrder's operation.
+     * @param price Integer of the LimitOrder's price.
+     * @return New LimitOrder.
+     */
+    private Order addLimitOrder(OrderBook orderBook, String operation, Integer price) {
+        Order order = new LimitOrder.Builder()
+                .setId(nextOrderId++)
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setPrice(price)
+                .setAmount(1)
+                .build();
+        orderBook.addOrder(order);
+        return order;
+    }
+
+    /**
+     * Method creates a MarketOrder.
+     * @param operation String of the MarketOrder's operation.
+     * @return New MarketOrder.
+     */
+    private Order createMarketOrder(String operation) {
+        return MarketOrder.newBuilder()
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setAmount(5)
+                .build();
+    }
+
+    /**
+     * Method collects the Orders of an Iterator in a List.
+     * @param iterator Iterator to be collected.
+     * @return List of the iterated Orders.
+     */
+    private List<Order> collect(Iterator<Order> iterator) {
+        List<Order> orders = new ArrayList<>();
+        iterator.forEachRemaining(orders::add);
+        return orders;
+    }
+
+    /**
+     * Tests that a buy MarketOrder matches all asks and is priced at the worst ask.
+     */
+    @Test
+    void testMatchBuyOrder() {
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        Order cheapAsk = addLimitOrder(orderBook, "SELL", 5);
+        Order expensiveAsk = addLimitOrder(orderBook, "SELL", 50);
+        addLimitOrder(orderBook, "BUY", 4);
+        Order marketOrder = createMarketOrder("BUY");
+
+        assertEquals(List.of(cheapAsk, expensiveAsk), collect(new MarketOrderMatcher().matchOrder(marketOrder,
+                orderBook)));
+        assertEquals(50, marketOrder.getPrice());
+    }
+
+    /**
+     * Tests that a sell MarketOrder matches all bids, and nothing if there are none.
+     */
+    @Test
+    void testMatchSellOrder() {
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        MarketOrderMatcher marketOrderMatcher = new MarketOrderMatcher();
+        assertNull(marketOrderMatcher.matchOrder(createMarketOrder("SELL"), orderBook));
+        Order highBid = addLimitOrder(orderBook, "BUY", 5);
+        Order lowBid = addLimitOrder(orderBook, "BUY", 1);
+
+        assertEquals(List.of(highBid, lowBid), collect(marketOrderMatcher.matchOrder(createMarketOrder("SELL"),
+                orderBook)));
+        assertTrue(marketOrderMatcher.cancelsRemainder());
+        assertThrows(NullPointerException.class, () -> marketOrderMatcher.matchOrder(null, orderBook));
+    }
+}
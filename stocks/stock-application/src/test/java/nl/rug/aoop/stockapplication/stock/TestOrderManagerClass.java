@@ -1,12 +1,12 @@
 package nl.rug.aoop.stockapplication.stock;
 
 import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.OffHeapOrderBook;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.OrderRecordStore;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -24,16 +24,16 @@ public class TestOrderManagerClass {
     }
 
     /**
-     * Tests that the OrderManager getOrderCollectionMap method returns the correct map of OrderCollections.
+     * Tests that the OrderManager getOrderBook method returns one OrderBook per Stock.
      */
     @Test
-    void getOrderCollectionMap() {
+    void testGetOrderBook() {
         OrderManager orderManager = new OrderManager();
-        Map<String, OrderCollection> map = Map.of(
-                "Asks", orderManager.getAsks(),
-                "Bids", orderManager.getBids()
-        );
-        assertEquals(map, orderManager.getOrderCollectionMap());
+        OrderBook orderBook = orderManager.getOrderBook("Stock");
+        assertEquals("Stock", orderBook.getStockId());
+        assertSame(orderBook, orderManager.getOrderBook("Stock"));
+        assertNotSame(orderBook, orderManager.getOrderBook("OtherStock"));
+        assertThrows(NullPointerException.class, () -> orderManager.getOrderBook(null));
     }
 
     /**
@@ -42,7 +42,7 @@ public class TestOrderManagerClass {
     @Test
     void testStoreBuyOrder() {
         OrderManager orderManager = new OrderManager();
-        assertEquals(0, orderManager.getBids().getSize());
+        assertEquals(0, orderManager.getOrderBook("Stock").getNumOfBids());
         Order buyOrder = new LimitOrder.Builder()
                 .setTraderId("Trader1")
                 .setStockId("Stock")
@@ -51,7 +51,7 @@ public class TestOrderManagerClass {
                 .setAmount(1)
                 .build();
         orderManager.storeOrder(buyOrder);
-        assertEquals(1, orderManager.getBids().getSize());
+        assertEquals(1, orderManager.getOrderBook("Stock").getNumOfBids());
     }
 
     /**
@@ -60,7 +60,7 @@ public class TestOrderManagerClass {
     @Test
     void testStoreSellOrder() {
         OrderManager orderManager = new OrderManager();
-        assertEquals(0, orderManager.getAsks().getSize());
+        assertEquals(0, orderManager.getOrderBook("Stock").getNumOfAsks());
         Order sellOrder = new LimitOrder.Builder()
                 .setTraderId("Trader1")
                 .setStockId("Stock")
@@ -69,7 +69,31 @@ public class TestOrderManagerClass {
                 .setAmount(1)
                 .build();
         orderManager.storeOrder(sellOrder);
-        assertEquals(1, orderManager.getAsks().getSize());
+        assertEquals(1, orderManager.getOrderBook("Stock").getNumOfAsks());
+    }
+
+    /**
+     * Tests that the OrderManager getSize method counts the stored Orders over all OrderBooks.
+     */
+    @Test
+    void testGetSize() {
+        OrderManager orderManager = new OrderManager();
+        assertEquals(0, orderManager.getSize());
+        orderManager.storeOrder(new LimitOrder.Builder()
+                .setTraderId("Trader1")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(1)
+                .build());
+        orderManager.storeOrder(new LimitOrder.Builder()
+                .setTraderId("Trader1")
+                .setStockId("OtherStock")
+                .setOperation("SELL")
+                .setPrice(5)
+                .setAmount(1)
+                .build());
+        assertEquals(2, orderManager.getSize());
     }
 
     /**
@@ -95,9 +119,9 @@ public class TestOrderManagerClass {
                 .setAmount(1)
                 .build();
         orderManager.storeOrder(buyOrder);
-        assertEquals(1, orderManager.getBids().getSize());
+        assertEquals(1, orderManager.getOrderBook("Stock").getNumOfBids());
         orderManager.removeOrder(buyOrder);
-        assertEquals(0, orderManager.getBids().getSize());
+        assertEquals(0, orderManager.getOrderBook("Stock").getNumOfBids());
     }
 
     /**
@@ -114,9 +138,9 @@ public class TestOrderManagerClass {
                 .setAmount(1)
                 .build();
         orderManager.storeOrder(sellOrder);
-        assertEquals(1, orderManager.getAsks().getSize());
+        assertEquals(1, orderManager.getOrderBook("Stock").getNumOfAsks());
         orderManager.removeOrder(sellOrder);
-        assertEquals(0, orderManager.getAsks().getSize());
+        assertEquals(0, orderManager.getOrderBook("Stock").getNumOfAsks());
     }
 
     /**
@@ -127,4 +151,92 @@ public class TestOrderManagerClass {
         OrderManager orderManager = new OrderManager();
         assertThrows(NullPointerException.class, () -> orderManager.removeOrder(null));
     }
+
+    /**
+     * Tests that the OrderManager assigns unique Ids to stored Orders and finds them by Id.
+     */
+    @Test
+    void testGetOrder() {
+        OrderManager orderManager = new OrderManager();
+        Order firstOrder = new LimitOrder.Builder()
+                .setTraderId("Trader1")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(1)
+                .build();
+        Order secondOrder = new LimitOrder.Builder()
+                .setTraderId("Trader1")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(1)
+                .build();
+        orderManager.storeOrder(firstOrder);
+        orderManager.storeOrder(secondOrder);
+        assertNotNull(firstOrder.getId());
+        assertNotEquals(firstOrder.getId(), secondOrder.getId());
+        assertSame(secondOrder, orderManager.getOrder("Stock", secondOrder.getId()));
+        assertNull(orderManager.getOrder("OtherStock", secondOrder.getId()));
+    }
+
+    /**
+     * Tests that the OrderManager amendOrder method changes the amount of a stored Order and removes it at zero.
+     */
+    @Test
+    void testAmendOrder() {
+        OrderManager orderManager = new OrderManager();
+        Order order = new LimitOrder.Builder()
+                .setTraderId("Trader1")
+                .setStockId("Stock")
+                .setOperation("SELL")
+                .setPrice(5)
+                .setAmount(3)
+                .build();
+        orderManager.storeOrder(order);
+        orderManager.amendOrder(order, 2);
+        assertEquals(2, orderManager.getOrder("Stock", order.getId()).getAmount());
+        orderManager.amendOrder(order, 0);
+        assertEquals(0, orderManager.getSize());
+        assertThrows(NullPointerException.class, () -> orderManager.amendOrder(null, 1));
+    }
+
+    /**
+     * Tests that the OrderManager generates Order Ids from the given arithmetic sequence.
+     */
+    @Test
+    void testInterleavedOrderIds() {
+        OrderManager orderManager = new OrderManager(2, 3);
+        assertEquals(2L, orderManager.generateOrderId());
+        assertEquals(5L, orderManager.generateOrderId());
+        assertThrows(IllegalArgumentException.class, () -> new OrderManager(1, 0));
+    }
+
+    /**
+     * Tests that an OrderManager with an OrderRecordStore keeps the Orders of all its OrderBooks in the store.
+     */
+    @Test
+    void testOffHeapOrderBooks() {
+        OrderRecordStore recordStore = new OrderRecordStore();
+        OrderManager orderManager = new OrderManager(1, 1, recordStore);
+        assertInstanceOf(OffHeapOrderBook.class, orderManager.getOrderBook("Stock"));
+        for (String stockId : new String[] {"Stock", "OtherStock"}) {
+            orderManager.storeOrder(new LimitOrder.Builder()
+                    .setTraderId("Trader1")
+                    .setStockId(stockId)
+                    .setOperation("SELL")
+                    .setPrice(5)
+                    .setAmount(3)
+                    .build());
+        }
+        assertEquals(2, recordStore.getSize());
+        assertEquals(2, orderManager.getSize());
+        Order order = orderManager.getOrder("OtherStock", 2L);
+        assertEquals("OtherStock", order.getStockId());
+        assertNull(orderManager.getOrder("Stock", 2L));
+        orderManager.amendOrder(order, 1);
+        assertEquals(1, orderManager.getOrder("OtherStock", 2L).getAmount());
+        orderManager.removeOrder(order);
+        assertEquals(1, recordStore.getSize());
+    }
 }
@@ -1,11 +1,10 @@
 package nl.rug.aoop.stockapplication.stock;
 
+import nl.rug.aoop.core.order.HeapOrderBook;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -36,13 +35,15 @@ public class TestOrderMatcherHandlerClass {
     }
 
     /**
-     * Tests that the OrderMatcherHandler registerOrderMatcher method throws an exception when a null argument is passed.
+     * Tests that the OrderMatcherHandler registerOrderMatcher method throws an exception when a null argument is
+     * passed.
      */
     @Test
     void testNullArgRegisterOrderMatcher() {
         OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
         assertThrows(NullPointerException.class, () -> orderMatcherHandler.registerOrderMatcher("Order", null));
-        assertThrows(NullPointerException.class, () -> orderMatcherHandler.registerOrderMatcher(null, mock(OrderMatcher.class)));
+        assertThrows(NullPointerException.class,
+                () -> orderMatcherHandler.registerOrderMatcher(null, mock(OrderMatcher.class)));
     }
 
     /**
@@ -60,9 +61,9 @@ public class TestOrderMatcherHandlerClass {
         Order mockOrder = mock(Order.class);
         when(mockOrder.getType()).thenReturn(mockOrderType);
 
-        Map<String, OrderCollection> orderCollectionMap = Map.of("Asks", new OrderCollection());
-        orderMatcherHandler.matchOrder(mockOrder, orderCollectionMap);
-        verify(mockOrderMatcher).matchOrder(mockOrder, orderCollectionMap);
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        orderMatcherHandler.matchOrder(mockOrder, orderBook);
+        verify(mockOrderMatcher).matchOrder(mockOrder, orderBook);
     }
 
     /**
@@ -71,8 +72,46 @@ public class TestOrderMatcherHandlerClass {
     @Test
     void testNullArgMatchOrder() {
         OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
-        Map<String, OrderCollection> orderCollectionMap = Map.of("Asks", new OrderCollection());
-        assertThrows(NullPointerException.class, () -> orderMatcherHandler.matchOrder(null, orderCollectionMap));
+        OrderBook orderBook = new HeapOrderBook("Stock");
+        assertThrows(NullPointerException.class, () -> orderMatcherHandler.matchOrder(null, orderBook));
         assertThrows(NullPointerException.class, () -> orderMatcherHandler.matchOrder(mock(Order.class), null));
     }
+
+    /**
+     * Tests that the OrderMatcherHandler activateOrder and cancelsRemainder methods call the correct OrderMatcher.
+     */
+    @Test
+    void testActivateOrderAndCancelsRemainder() {
+        OrderMatcher mockOrderMatcher = mock(OrderMatcher.class);
+        OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
+        orderMatcherHandler.registerOrderMatcher("MarketOrder", mockOrderMatcher);
+        Order mockOrder = mock(Order.class);
+        when(mockOrder.getType()).thenReturn("MarketOrder");
+        when(mockOrderMatcher.cancelsRemainder()).thenReturn(true);
+
+        orderMatcherHandler.activateOrder(mockOrder, null);
+        verify(mockOrderMatcher).activateOrder(mockOrder, null);
+        assertTrue(orderMatcherHandler.cancelsRemainder(mockOrder));
+        assertThrows(NullPointerException.class, () -> orderMatcherHandler.activateOrder(null, null));
+        assertThrows(NullPointerException.class, () -> orderMatcherHandler.cancelsRemainder(null));
+    }
+
+    /**
+     * Tests that the OrderMatcherHandler validateOrder method calls the correct OrderMatcher and rejects an Order of a
+     * type without an OrderMatcher.
+     */
+    @Test
+    void testValidateOrder() {
+        OrderMatcher mockOrderMatcher = mock(OrderMatcher.class);
+        OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
+        orderMatcherHandler.registerOrderMatcher("MarketOrder", mockOrderMatcher);
+        Order mockOrder = mock(Order.class);
+        when(mockOrder.getType()).thenReturn("MarketOrder");
+
+        orderMatcherHandler.validateOrder(mockOrder);
+        verify(mockOrderMatcher).validateOrder(mockOrder);
+        when(mockOrder.getType()).thenReturn("UnknownOrder");
+        assertThrows(IllegalArgumentException.class, () -> orderMatcherHandler.validateOrder(mockOrder));
+        assertThrows(NullPointerException.class, () -> orderMatcherHandler.validateOrder(null));
+    }
 }
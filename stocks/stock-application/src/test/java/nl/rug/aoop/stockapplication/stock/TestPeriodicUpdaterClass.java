@@ -1,14 +1,22 @@
 package nl.rug.aoop.stockapplication.stock;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.core.order.BookDepth;
+import nl.rug.aoop.core.order.BookDepthCollection;
+import nl.rug.aoop.core.order.DepthLevel;
 import nl.rug.aoop.core.stock.Stock;
 import nl.rug.aoop.core.stock.StockCollection;
 import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.core.trader.TraderCollection;
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.Communicator;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
@@ -23,14 +31,6 @@ public class TestPeriodicUpdaterClass {
      * StockExchange from which the PeriodicUpdater sources updates.
      */
     StockExchange mockStockExchange;
-    /**
-     * StockManager ('inside StockExchange') from which the PeriodicUpdater sources Stock updates.
-     */
-    StockManager mockStockManager;
-    /**
-     * TraderManager ('inside StockExchange') from which the PeriodicUpdater sources Trader updates.
-     */
-    TraderManager mockTraderManager;
     /**
      * Communicator through which the PeriodicUpdater will send updates.
      */
@@ -45,8 +45,6 @@ public class TestPeriodicUpdaterClass {
      */
     void setupPeriodicUpdater() {
         mockStockExchange = mock(StockExchange.class);
-        mockStockManager = mock(StockManager.class);
-        mockTraderManager = mock(TraderManager.class);
         mockTraderCommunicator = mock(Communicator.class);
         periodicUpdater = new PeriodicUpdater(mockStockExchange);
 
@@ -110,7 +108,8 @@ public class TestPeriodicUpdaterClass {
     }
 
     /**
-     * Tests that the PeriodicUpdater getStockUpdate method returns the correct update of StockManager (form StockExchange).
+     * Tests that the PeriodicUpdater getStockUpdate method returns the correct update of the Stocks (from the
+     * StockExchange snapshot).
      * @throws JsonProcessingException Thrown if Json String conversion fails.
      */
     @Test
@@ -118,12 +117,8 @@ public class TestPeriodicUpdaterClass {
         setupPeriodicUpdater();
 
         String traderId = "Trader";
-        Stock stock = new Stock("Stock", "Stock", 1L, 1.0, 1.0);
-        StockCollection stockCollection = new StockCollection();
-        stockCollection.getStocks().put(stock.getSymbol(), stock);
-        when(mockStockManager.getStockCollection()).thenReturn(stockCollection);
-        when(mockStockManager.getSize()).thenReturn(stockCollection.getSize());
-        when(mockStockExchange.getStockManager()).thenReturn(mockStockManager);
+        StockCollection stockCollection = createStockCollection();
+        setupSnapshot(stockCollection, new TraderCollection());
 
         Message expectedMessage = new Message(traderId, StockCollection.toString(stockCollection));
         NetworkMessage expectedNetworkMessage = new NetworkMessage("updateStocks", expectedMessage.toJson());
@@ -136,7 +131,8 @@ public class TestPeriodicUpdaterClass {
     }
 
     /**
-     * Tests that the PeriodicUpdater getTraderUpdate method returns the correct update of TraderManager (form StockExchange).
+     * Tests that the PeriodicUpdater getTraderUpdate method returns the correct update of the Trader (from the
+     * StockExchange snapshot).
      * @throws JsonProcessingException Thrown if Json String conversion fails.
      */
     @Test
@@ -144,8 +140,7 @@ public class TestPeriodicUpdaterClass {
         setupPeriodicUpdater();
 
         Trader trader = new Trader("Trader", "Trader", 1L);
-        when(mockTraderManager.getTrader(trader.getId())).thenReturn(trader);
-        when(mockStockExchange.getTraderManager()).thenReturn(mockTraderManager);
+        setupSnapshot(new StockCollection(), createTraderCollection(trader));
 
         Message expectedMessage = new Message(trader.getId(), Trader.toString(trader));
         NetworkMessage expectedNetworkMessage = new NetworkMessage("updateTrader", expectedMessage.toJson());
@@ -165,20 +160,54 @@ public class TestPeriodicUpdaterClass {
         setupPeriodicUpdater();
 
         Trader trader = new Trader("Trader", "Trader", 1L);
-        when(mockTraderManager.getTrader(trader.getId())).thenReturn(trader);
-        when(mockStockExchange.getTraderManager()).thenReturn(mockTraderManager);
+        setupSnapshot(createStockCollection(), createTraderCollection(trader));
+        periodicUpdater.registerTrader(trader.getId(), mockTraderCommunicator);
 
+        periodicUpdater.sendUpdates();
+        verify(mockTraderCommunicator, times(2)).sendMessageAsync(any(String.class));
+    }
+
+    /**
+     * Tests that the PeriodicUpdater sends the updates in the WireFormat negotiated on the connection of the Trader.
+     */
+    @Test
+    void testSendBinaryUpdates() {
+        setupPeriodicUpdater();
+
+        Trader trader = new Trader("Trader", "Trader", 1L);
+        setupSnapshot(createStockCollection(), createTraderCollection(trader));
+        when(mockTraderCommunicator.getAttachment()).thenReturn(WireFormat.BINARY);
         periodicUpdater.registerTrader(trader.getId(), mockTraderCommunicator);
 
-        Stock stock = new Stock("Stock", "Stock", 1L, 1.0, 1.0);
-        StockCollection stockCollection = new StockCollection();
-        stockCollection.getStocks().put(stock.getSymbol(), stock);
-        when(mockStockManager.getSize()).thenReturn(stockCollection.getSize());
-        when(mockStockManager.getStockCollection()).thenReturn(stockCollection);
-        when(mockStockExchange.getStockManager()).thenReturn(mockStockManager);
+        periodicUpdater.sendUpdates();
+        ArgumentCaptor<String> lines = ArgumentCaptor.forClass(String.class);
+        verify(mockTraderCommunicator, times(2)).sendMessageAsync(lines.capture());
+        Map<String, Object> options = WireFormat.decode(lines.getAllValues().get(0));
+        assertEquals(WireFormat.BINARY, options.get(WireFormat.FORMAT));
+        assertEquals("updateStocks", options.get(WireFormat.HEADER));
+        assertEquals(trader.getId(), WireFormat.toMessage(options.get(WireFormat.BODY)).header());
+    }
+
+    /**
+     * Tests that the PeriodicUpdater sends the OrderBook depths once the snapshot holds any.
+     */
+    @Test
+    void testSendDepthUpdates() throws JsonProcessingException {
+        setupPeriodicUpdater();
+
+        Trader trader = new Trader("Trader", "Trader", 1L);
+        BookDepth bookDepth = new BookDepth("Stock", List.of(new DepthLevel(4, 2L, 1)), List.of());
+        when(mockStockExchange.getSnapshot()).thenReturn(new StockExchangeSnapshot(1, createStockCollection(),
+                createTraderCollection(trader), List.of(bookDepth)));
+        periodicUpdater.registerTrader(trader.getId(), mockTraderCommunicator);
 
         periodicUpdater.sendUpdates();
-        verify(mockTraderCommunicator, times(2)).sendMessage(any(String.class));
+        verify(mockTraderCommunicator, times(3)).sendMessageAsync(any(String.class));
+        NetworkMessage networkMessage = NetworkMessage.fromJson(periodicUpdater.getDepthUpdate(trader.getId()));
+        assertEquals("updateDepth", networkMessage.header());
+        BookDepthCollection bookDepthCollection = BookDepthCollection.fromString(
+                Message.fromJson(networkMessage.body()).body());
+        assertEquals(bookDepth, bookDepthCollection.getBookDepth("Stock"));
     }
 
     /**
@@ -188,43 +217,31 @@ public class TestPeriodicUpdaterClass {
     void testSendUpdatesToNoOne() {
         setupPeriodicUpdater();
 
-        Stock stock = new Stock("Stock", "Stock", 1L, 1.0, 1.0);
-        StockCollection stockCollection = new StockCollection();
-        stockCollection.getStocks().put(stock.getSymbol(), stock);
-        when(mockStockManager.getStockCollection()).thenReturn(stockCollection);
-        when(mockStockManager.getSize()).thenReturn(stockCollection.getSize());
-        when(mockStockExchange.getStockManager()).thenReturn(mockStockManager);
-
         Trader trader = new Trader("Trader", "Trader", 1L);
-        when(mockTraderManager.getTrader(trader.getId())).thenReturn(trader);
-        when(mockStockExchange.getTraderManager()).thenReturn(mockTraderManager);
+        setupSnapshot(createStockCollection(), createTraderCollection(trader));
 
         assertDoesNotThrow(() -> periodicUpdater.sendUpdates());
     }
 
     /**
-     * Tests that the PeriodicUpdater sendUpdates method doesn't send a Stock update if no update is available i.e. StockManager is empty.
+     * Tests that the PeriodicUpdater sendUpdates method doesn't send a Stock update if no update is available i.e.
+     * the snapshot has no Stocks.
      */
     @Test
     void testEmptyStockUpdates() {
         setupPeriodicUpdater();
 
         Trader trader = new Trader("Trader", "Trader", 1L);
-        when(mockTraderManager.getTrader(trader.getId())).thenReturn(trader);
-        when(mockStockExchange.getTraderManager()).thenReturn(mockTraderManager);
-
+        setupSnapshot(new StockCollection(), createTraderCollection(trader));
         periodicUpdater.registerTrader(trader.getId(), mockTraderCommunicator);
 
-        when(mockStockManager.getSize()).thenReturn(0);
-        when(mockStockManager.getStockCollection()).thenReturn(null);
-        when(mockStockExchange.getStockManager()).thenReturn(mockStockManager);
-
         periodicUpdater.sendUpdates();
-        verify(mockTraderCommunicator, times(0)).sendMessage(any(String.class));
+        verify(mockTraderCommunicator, times(0)).sendMessageAsync(any(String.class));
     }
 
     /**
-     * Tests that the PeriodicUpdater sendUpdates method doesn't send a Trader update if no update is available i.e. TraderManager is empty.
+     * Tests that the PeriodicUpdater sendUpdates method doesn't send a Trader update if no update is available i.e.
+     * the snapshot doesn't have the Trader.
      */
     @Test
     void testEmptyTraderUpdates() {
@@ -232,19 +249,58 @@ public class TestPeriodicUpdaterClass {
 
         String traderId = "Trader";
         periodicUpdater.registerTrader(traderId, mockTraderCommunicator);
+        setupSnapshot(createStockCollection(), new TraderCollection());
+
+        periodicUpdater.sendUpdates();
+        verify(mockTraderCommunicator, times(0)).sendMessageAsync(any(String.class));
+    }
+
+    /**
+     * Tests that the PeriodicUpdater sends updates from the published snapshot and not from later changes.
+     */
+    @Test
+    void testUpdatesFromSnapshot() throws JsonProcessingException {
+        setupPeriodicUpdater();
+
+        Trader trader = new Trader("Trader", "Trader", 1L);
+        setupSnapshot(createStockCollection(), createTraderCollection(trader));
+        trader.setStockAmount("Stock", 5L);
 
+        Message actualMessage = Message.fromJson(NetworkMessage.fromJson(
+                periodicUpdater.getTraderUpdate(trader.getId())).body());
+        assertEquals(0L, Trader.fromString(actualMessage.body()).getStockAmount("Stock"));
+    }
+
+    /**
+     * Method creates a StockCollection with a single Stock.
+     * @return StockCollection with a single Stock.
+     */
+    private StockCollection createStockCollection() {
         Stock stock = new Stock("Stock", "Stock", 1L, 1.0, 1.0);
         StockCollection stockCollection = new StockCollection();
         stockCollection.getStocks().put(stock.getSymbol(), stock);
-        when(mockStockManager.getStockCollection()).thenReturn(stockCollection);
-        when(mockStockManager.getSize()).thenReturn(stockCollection.getSize());
-        when(mockStockExchange.getStockManager()).thenReturn(mockStockManager);
+        return stockCollection;
+    }
 
-        when(mockTraderManager.getTrader(traderId)).thenReturn(null);
-        when(mockStockExchange.getTraderManager()).thenReturn(mockTraderManager);
+    /**
+     * Method creates a TraderCollection with a single Trader.
+     * @param trader Trader in the TraderCollection.
+     * @return TraderCollection with the Trader.
+     */
+    private TraderCollection createTraderCollection(Trader trader) {
+        TraderCollection traderCollection = new TraderCollection();
+        traderCollection.updateTrader(trader);
+        return traderCollection;
+    }
 
-        periodicUpdater.sendUpdates();
-        verify(mockTraderCommunicator, times(0)).sendMessage(any(String.class));
+    /**
+     * Method makes the mock StockExchange return a snapshot of the given Stocks and Traders.
+     * @param stockCollection StockCollection of the snapshot.
+     * @param traderCollection TraderCollection of the snapshot.
+     */
+    private void setupSnapshot(StockCollection stockCollection, TraderCollection traderCollection) {
+        when(mockStockExchange.getSnapshot()).thenReturn(new StockExchangeSnapshot(1, stockCollection,
+                traderCollection));
     }
 
 }
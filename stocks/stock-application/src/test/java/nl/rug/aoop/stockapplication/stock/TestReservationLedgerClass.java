@@ -0,0 +1,169 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.trader.Trader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestReservationLedgerClass tests the ReservationLedger class.
+ */
+public class TestReservationLedgerClass {
+    /**
+     * Trader used for testing.
+     */
+    private Trader trader;
+    /**
+     * ReservationLedger used for testing.
+     */
+    private ReservationLedger reservationLedger;
+
+    /**
+     * Method sets up a ReservationLedger with a Trader that has 100 funds and 10 units of "Stock".
+     */
+    @BeforeEach
+    void setupReservationLedger() {
+        TraderManager traderManager = new TraderManager();
+        trader = new Trader("Trader", "Trader", 100L);
+        trader.setStockAmount("Stock", 10L);
+        traderManager.getTraderCollection().updateTrader(trader);
+        reservationLedger = new ReservationLedger(traderManager);
+    }
+
+    /**
+     * Method creates a LimitOrder of the Trader for "Stock".
+     * @param operation String of the Order's operation.
+     * @param price Integer of the Order's price.
+     * @param amount Integer of the Order's amount.
+     * @return New Order.
+     */
+    private Order createOrder(String operation, Integer price, Integer amount) {
+        return new LimitOrder.Builder()
+                .setTraderId("Trader")
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setPrice(price)
+                .setAmount(amount)
+                .build();
+    }
+
+    /**
+     * Tests that the ReservationLedger constructor throws an exception if a null argument is passed.
+     */
+    @Test
+    void testNullArgConstructor() {
+        assertThrows(NullPointerException.class, () -> new ReservationLedger(null));
+    }
+
+    /**
+     * Tests that buy Orders reserve funds at their price until the Trader's funds are used up.
+     */
+    @Test
+    void testReserveFunds() {
+        assertTrue(reservationLedger.reserve(createOrder("BUY", 10, 6)));
+        assertEquals(60L, reservationLedger.getReservedFunds("Trader"));
+        assertFalse(reservationLedger.reserve(createOrder("BUY", 10, 5)));
+        assertTrue(reservationLedger.reserve(createOrder("BUY", 10, 4)));
+        assertEquals(100L, reservationLedger.getReservedFunds("Trader"));
+    }
+
+    /**
+     * Tests that sell Orders reserve stock amounts until the Trader's stock amount is used up.
+     */
+    @Test
+    void testReserveStockAmount() {
+        assertTrue(reservationLedger.reserve(createOrder("SELL", 10, 6)));
+        assertEquals(6L, reservationLedger.getReservedStockAmount("Trader", "Stock"));
+        assertFalse(reservationLedger.reserve(createOrder("SELL", 10, 5)));
+        assertFalse(reservationLedger.reserve(createOrder("SELL", 10, 0)));
+        assertEquals(0L, reservationLedger.getReservedStockAmount("Trader", "Other"));
+    }
+
+    /**
+     * Tests that Orders of unknown Traders or with an unknown operation are not accepted.
+     */
+    @Test
+    void testReserveInvalidOrder() {
+        assertFalse(reservationLedger.reserve(createOrder("HOLD", 10, 1)));
+        assertFalse(reservationLedger.reserve(new LimitOrder.Builder()
+                .setTraderId("Unknown")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(1)
+                .setAmount(1)
+                .build()));
+        assertThrows(NullPointerException.class, () -> reservationLedger.reserve(null));
+    }
+
+    /**
+     * Tests that amending an Order reserves or releases the difference.
+     */
+    @Test
+    void testAmend() {
+        Order order = createOrder("BUY", 10, 5);
+        assertTrue(reservationLedger.reserve(order));
+        assertFalse(reservationLedger.amend(order, 11));
+        assertTrue(reservationLedger.amend(order, 10));
+        assertEquals(100L, reservationLedger.getReservedFunds("Trader"));
+        assertTrue(reservationLedger.amend(order, 2));
+        assertEquals(70L, reservationLedger.getReservedFunds("Trader"));
+        assertTrue(reservationLedger.amend(order, 0));
+        assertEquals(20L, reservationLedger.getReservedFunds("Trader"));
+    }
+
+    /**
+     * Tests that releasing never lowers a reservation below zero.
+     */
+    @Test
+    void testRelease() {
+        Order order = createOrder("SELL", 10, 5);
+        assertTrue(reservationLedger.reserve(order));
+        reservationLedger.release(order, 2);
+        assertEquals(3L, reservationLedger.getReservedStockAmount("Trader", "Stock"));
+        reservationLedger.release(order, 5);
+        assertEquals(0L, reservationLedger.getReservedStockAmount("Trader", "Stock"));
+    }
+
+    /**
+     * Tests that settling a resolution releases its reservation and transfers the stock amount and funds.
+     */
+    @Test
+    void testSettle() {
+        Order buyOrder = createOrder("BUY", 10, 5);
+        Order sellOrder = createOrder("SELL", 10, 5);
+        assertTrue(reservationLedger.reserve(buyOrder));
+        assertTrue(reservationLedger.reserve(sellOrder));
+
+        reservationLedger.settle(buyOrder, 3, 24);
+        assertEquals(20L, reservationLedger.getReservedFunds("Trader"));
+        assertEquals(76L, trader.getFunds());
+        assertEquals(13L, trader.getStockAmount("Stock"));
+
+        reservationLedger.settle(sellOrder, 5, 50);
+        assertEquals(0L, reservationLedger.getReservedStockAmount("Trader", "Stock"));
+        assertEquals(126L, trader.getFunds());
+        assertEquals(8L, trader.getStockAmount("Stock"));
+    }
+
+    /**
+     * Tests that the reserved stock amounts of different Stocks are kept apart.
+     */
+    @Test
+    void testReserveSeveralStocks() {
+        trader.setStockAmount("Other", 4L);
+        assertTrue(reservationLedger.reserve(createOrder("SELL", 10, 10)));
+        assertTrue(reservationLedger.reserve(new LimitOrder.Builder()
+                .setTraderId("Trader")
+                .setStockId("Other")
+                .setOperation("SELL")
+                .setPrice(10)
+                .setAmount(4)
+                .build()));
+        assertEquals(10L, reservationLedger.getReservedStockAmount("Trader", "Stock"));
+        assertEquals(4L, reservationLedger.getReservedStockAmount("Trader", "Other"));
+        assertEquals(2, reservationLedger.getStockSymbols().getSize());
+    }
+}
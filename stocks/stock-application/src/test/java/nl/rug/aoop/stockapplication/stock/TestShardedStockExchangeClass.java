@@ -0,0 +1,192 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderRecordStore;
+import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.trader.Trader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * TestShardedStockExchangeClass tests the ShardedStockExchange class.
+ */
+public class TestShardedStockExchangeClass {
+    /**
+     * StockManager shared by the shards.
+     */
+    private StockManager stockManager;
+    /**
+     * TraderManager shared by the shards.
+     */
+    private TraderManager traderManager;
+    /**
+     * ShardedStockExchange used for testing.
+     */
+    private ShardedStockExchange stockExchange;
+
+    /**
+     * Method sets up a ShardedStockExchange with two shards, the Stocks "A" and "B" (which belong to different
+     * shards), a Buyer, and a Seller for each Stock.
+     */
+    private void setupStockExchange() {
+        setupStockExchange(false);
+    }
+
+    /**
+     * Method sets up a ShardedStockExchange with two shards, the Stocks "A" and "B" (which belong to different
+     * shards), a Buyer, and a Seller for each Stock.
+     * @param offHeapOrderBooks boolean whether the shards keep their Orders off-heap.
+     */
+    private void setupStockExchange(boolean offHeapOrderBooks) {
+        stockManager = new StockManager();
+        stockManager.getStockCollection().updateStock(new Stock("A", "A", 1000L, 1.0, 1000.0));
+        stockManager.getStockCollection().updateStock(new Stock("B", "B", 1000L, 1.0, 1000.0));
+        traderManager = new TraderManager();
+        traderManager.getTraderCollection().updateTrader(new Trader("Buyer", "Buyer", 1000000L));
+        for (String stockId : List.of("A", "B")) {
+            Trader seller = new Trader("Seller" + stockId, "Seller" + stockId, 0L);
+            seller.setStockAmount(stockId, 1000000L);
+            traderManager.getTraderCollection().updateTrader(seller);
+        }
+        OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
+        orderMatcherHandler.registerOrderMatcher("LimitOrder", new LimitOrderMatcher());
+        stockExchange = new ShardedStockExchange(stockManager, traderManager, orderMatcherHandler, 2,
+                offHeapOrderBooks);
+    }
+
+    /**
+     * Method creates a LimitOrder for one unit at price 1.
+     * @param traderId String of the Trader's Id.
+     * @param stockId String of the Stock's Id.
+     * @param operation String of the Order's operation.
+     * @return New Order.
+     */
+    private Order createOrder(String traderId, String stockId, String operation) {
+        return new LimitOrder.Builder()
+                .setTraderId(traderId)
+                .setStockId(stockId)
+                .setOperation(operation)
+                .setPrice(1)
+                .setAmount(1)
+                .build();
+    }
+
+    /**
+     * Tests that the ShardedStockExchange constructor creates the shards and rejects invalid arguments.
+     */
+    @Test
+    void testConstructor() {
+        setupStockExchange();
+        assertEquals(2, stockExchange.getShards().size());
+        assertNotSame(stockExchange.getShards().get(0).getOrderManager(),
+                stockExchange.getShards().get(1).getOrderManager());
+        assertSame(traderManager, stockExchange.getShards().get(1).getTraderManager());
+        assertSame(stockExchange.getReservationLedger(), stockExchange.getShards().get(0).getReservationLedger());
+        assertSame(stockExchange.getReservationLedger(), stockExchange.getShards().get(1).getReservationLedger());
+        assertThrows(IllegalArgumentException.class, () -> new ShardedStockExchange(stockManager, traderManager,
+                mock(OrderMatcherHandler.class), 0));
+        assertThrows(NullPointerException.class, () -> new ShardedStockExchange(null, traderManager,
+                mock(OrderMatcherHandler.class), 1));
+    }
+
+    /**
+     * Tests that every Stock always belongs to the same shard, and that the shards generate distinct Order Ids.
+     */
+    @Test
+    void testShardRouting() {
+        setupStockExchange();
+        assertEquals(1, stockExchange.getShardIndex("A"));
+        assertEquals(0, stockExchange.getShardIndex("B"));
+        assertSame(stockExchange.getShard("A"), stockExchange.getShards().get(1));
+        assertEquals(1L, stockExchange.getShards().get(0).getOrderManager().generateOrderId());
+        assertEquals(2L, stockExchange.getShards().get(1).getOrderManager().generateOrderId());
+        assertEquals(3L, stockExchange.getShards().get(0).getOrderManager().generateOrderId());
+    }
+
+    /**
+     * Tests that a published snapshot holds all Stocks and Traders and the events of all shards.
+     */
+    @Test
+    void testPublishSnapshot() {
+        setupStockExchange();
+        stockExchange.getShard("A").resolveOrder(createOrder("SellerA", "A", "SELL"));
+        stockExchange.getShard("B").resolveOrder(createOrder("SellerB", "B", "SELL"));
+        stockExchange.getShard("B").resolveOrder(createOrder("Buyer", "B", "BUY"));
+        assertEquals(0, stockExchange.getSnapshot().getSequence());
+
+        stockExchange.publishSnapshot();
+        StockExchangeSnapshot snapshot = stockExchange.getSnapshot();
+        assertEquals(3, snapshot.getSequence());
+        assertEquals(2, snapshot.getStockCollection().getSize());
+        assertEquals(3, snapshot.getTraderCollection().getSize());
+        assertEquals(1L, snapshot.getTraderCollection().getTrader("Buyer").getStockAmount("B"));
+    }
+
+    /**
+     * Tests that the accounts of a Trader stay consistent while two shards trade with it in parallel.
+     * @throws InterruptedException Thrown if waiting for the shard threads is interrupted.
+     */
+    @Test
+    void testParallelShardsKeepTraderConsistent() throws InterruptedException {
+        setupStockExchange();
+        int trades = 2000;
+        List<Thread> threads = new ArrayList<>();
+        for (String stockId : List.of("A", "B")) {
+            StockExchange shard = stockExchange.getShard(stockId);
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < trades; i++) {
+                    shard.resolveOrder(createOrder("Seller" + stockId, stockId, "SELL"));
+                    shard.resolveOrder(createOrder("Buyer", stockId, "BUY"));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                stockExchange.publishSnapshot();
+            }
+        });
+        publisher.start();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        publisher.join();
+
+        Trader buyer = traderManager.getTrader("Buyer");
+        assertEquals(trades, buyer.getStockAmount("A"));
+        assertEquals(trades, buyer.getStockAmount("B"));
+        assertEquals(2 * trades, buyer.getTransactionHistory().size());
+        assertEquals(1000000L - trades, traderManager.getTrader("SellerA").getStockAmount("A"));
+        assertEquals(1000000L - 2 * trades, buyer.getFunds());
+        assertEquals(0L, stockExchange.getReservationLedger().getReservedFunds("Buyer"));
+        assertEquals(0, stockExchange.getShard("A").getOrderManager().getSize());
+    }
+
+    /**
+     * Tests that shards with off-heap OrderBooks each use their own OrderRecordStore and resolve Orders like on-heap
+     * shards.
+     */
+    @Test
+    void testOffHeapOrderBooks() {
+        setupStockExchange(true);
+        StockExchange shard = stockExchange.getShard("A");
+        OrderRecordStore recordStore = shard.getOrderManager().getRecordStore();
+        assertNotNull(recordStore);
+        assertNotSame(recordStore, stockExchange.getShard("B").getOrderManager().getRecordStore());
+        for (int i = 0; i < 3; i++) {
+            shard.resolveOrder(createOrder("SellerA", "A", "SELL"));
+        }
+        assertEquals(3, recordStore.getSize());
+        assertEquals(1, shard.resolveOrder(createOrder("Buyer", "A", "BUY")).size());
+        assertEquals(2, recordStore.getSize());
+        assertEquals(1L, traderManager.getTrader("Buyer").getStockAmount("A"));
+        assertEquals(2L, stockExchange.getReservationLedger().getReservedStockAmount("SellerA", "A"));
+    }
+}
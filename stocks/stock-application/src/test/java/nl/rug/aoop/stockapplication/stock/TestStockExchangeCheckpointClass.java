@@ -0,0 +1,107 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.StopOrder;
+import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.trader.Trader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestStockExchangeCheckpointClass tests the StockExchangeCheckpoint class.
+ */
+public class TestStockExchangeCheckpointClass {
+    /**
+     * Directory of the checkpoint files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Method creates a freshly loaded StockExchange with a Stock and two Traders.
+     * @return New StockExchange.
+     */
+    private StockExchange createStockExchange() {
+        StockManager stockManager = new StockManager();
+        stockManager.getStockCollection().updateStock(new Stock("Stock", "Stock", 100L, 10.0, 1000.0));
+        TraderManager traderManager = new TraderManager();
+        Trader seller = new Trader("Trader2", "Seller", 0L);
+        seller.setStockAmount("Stock", 10L);
+        traderManager.getTraderCollection().updateTrader(seller);
+        traderManager.getTraderCollection().updateTrader(new Trader("Trader1", "Buyer", 1000L));
+        OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
+        orderMatcherHandler.registerOrderMatcher("LimitOrder", new LimitOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("StopOrder", new StopOrderMatcher());
+        return new StockExchange(stockManager, traderManager, new OrderManager(), orderMatcherHandler);
+    }
+
+    /**
+     * Method creates a LimitOrder for the Stock.
+     * @param traderId String id of the Trader.
+     * @param operation String operation of the LimitOrder.
+     * @param price int price of the LimitOrder.
+     * @param amount int amount of the LimitOrder.
+     * @return New LimitOrder.
+     */
+    private Order createLimitOrder(String traderId, String operation, int price, int amount) {
+        return new LimitOrder.Builder().setTraderId(traderId).setStockId("Stock").setOperation(operation)
+                .setPrice(price).setAmount(amount).build();
+    }
+
+    /**
+     * Tests that a StockExchange restored from a written and read checkpoint has the stored Orders in price-time
+     * priority, their reservations, the pending Orders, the Traders with their transactions, the Stock price and the
+     * counters of the StockExchange it was captured from.
+     * @throws IOException Thrown if the checkpoint can't be written or read.
+     */
+    @Test
+    void testCaptureAndRestore() throws IOException {
+        StockExchange stockExchange = createStockExchange();
+        stockExchange.resolveOrder(createLimitOrder("Trader1", "BUY", 10, 2));
+        stockExchange.resolveOrder(createLimitOrder("Trader1", "BUY", 10, 3));
+        stockExchange.resolveOrder(createLimitOrder("Trader1", "BUY", 11, 1));
+        stockExchange.resolveOrder(createLimitOrder("Trader2", "SELL", 11, 2));
+        stockExchange.resolveOrder(StopOrder.newBuilder().setStopPrice(20).setTraderId("Trader1").setStockId("Stock")
+                .setOperation("BUY").setAmount(1).build());
+        Path file = directory.resolve("checkpoint.json");
+        StockExchangeCheckpoint.capture(stockExchange, 7).write(file);
+
+        StockExchange restored = createStockExchange();
+        StockExchangeCheckpoint checkpoint = StockExchangeCheckpoint.read(file);
+        assertEquals(7, checkpoint.getOffset());
+        checkpoint.restore(restored);
+
+        OrderBook orderBook = restored.getOrderManager().getOrderBook("Stock");
+        Iterator<Order> bids = orderBook.getMatchingBids(Order.NO_PRICE);
+        assertEquals(1, bids.next().getOrderId());
+        assertEquals(2, bids.next().getOrderId());
+        assertFalse(bids.hasNext());
+        assertEquals(1, orderBook.getNumOfAsks());
+        assertEquals(1, orderBook.getOrder(4).getAmount());
+        assertEquals(50, restored.getReservationLedger().getReservedFunds("Trader1"));
+        assertEquals(1, restored.getReservationLedger().getReservedStockAmount("Trader2", "Stock"));
+        assertEquals(989, restored.getTraderManager().getTrader("Trader1").getFunds());
+        assertEquals(1, restored.getTraderManager().getTrader("Trader2").getTransactionHistory().size());
+        assertEquals(11.0, restored.getStockManager().getStock("Stock").getPrice());
+        assertEquals(StopOrder.class, restored.getPendingOrders().get("Stock").get(5L).getClass());
+        assertEquals(stockExchange.getSequence(), restored.getSequence());
+        assertEquals(6, restored.getOrderManager().getNextOrderId());
+    }
+
+    /**
+     * Tests that reading a checkpoint that was never written returns null.
+     * @throws IOException Thrown if the checkpoint can't be read.
+     */
+    @Test
+    void testReadMissing() throws IOException {
+        assertNull(StockExchangeCheckpoint.read(directory.resolve("missing.json")));
+    }
+}
@@ -1,14 +1,23 @@
 package nl.rug.aoop.stockapplication.stock;
 
+import nl.rug.aoop.core.order.DepthLevel;
+import nl.rug.aoop.core.order.FillOrKillOrder;
+import nl.rug.aoop.core.order.HeapOrderBook;
 import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.MarketOrder;
 import nl.rug.aoop.core.order.Order;
-import nl.rug.aoop.core.order.OrderCollection;
+import nl.rug.aoop.core.order.OrderBook;
+import nl.rug.aoop.core.order.OrderUpdate;
+import nl.rug.aoop.core.order.StopOrder;
 import nl.rug.aoop.core.stock.Stock;
+import nl.rug.aoop.core.stock.StockCollection;
 import nl.rug.aoop.core.trader.Trader;
+import nl.rug.aoop.core.trader.TraderCollection;
 import nl.rug.aoop.core.trader.Transaction;
 import org.junit.jupiter.api.Test;
 
-import java.util.Map;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 import static java.lang.Math.min;
@@ -48,9 +57,9 @@ public class TestStockExchangeClass {
      */
     private Order oldOrder;
     /**
-     * OrderCollection that will hold the old Order.
+     * OrderBook that will hold the old Order.
      */
-    private OrderCollection matchingOrderCollection;
+    private OrderBook orderBook;
     /**
      * Transaction that could be executed.
      */
@@ -76,6 +85,7 @@ public class TestStockExchangeClass {
         mockTraderManager = mock(TraderManager.class);
         mockOrderManager = mock(OrderManager.class);
         mockOrderMatcherHandler = mock(OrderMatcherHandler.class);
+        when(mockOrderMatcherHandler.activateOrder(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
         stockExchange = new StockExchange(mockStockManager, mockTraderManager,
                 mockOrderManager, mockOrderMatcherHandler);
     }
@@ -98,6 +108,7 @@ public class TestStockExchangeClass {
                 .setAmount(amount1)
                 .build();
         oldOrder = new LimitOrder.Builder()
+                .setId(2L)
                 .setTraderId("Trader2")
                 .setStockId("Stock")
                 .setOperation(op2)
@@ -105,16 +116,16 @@ public class TestStockExchangeClass {
                 .setAmount(amount2)
                 .build();
 
-        matchingOrderCollection = new OrderCollection();
-        matchingOrderCollection.addOrder(oldOrder);
-        Map<String, OrderCollection> map;
+        orderBook = new HeapOrderBook("Stock");
+        orderBook.addOrder(oldOrder);
+        when(mockOrderManager.getOrderBook("Stock")).thenReturn(orderBook);
+        Iterator<Order> matchingOrders;
         if(Objects.equals(oldOrder.getOperation(), "SELL")) {
-            map = Map.of("Asks", matchingOrderCollection);
+            matchingOrders = orderBook.getMatchingAsks(null);
         } else {
-            map = Map.of("Bids", matchingOrderCollection);
+            matchingOrders = orderBook.getMatchingBids(null);
         }
-        when(mockOrderManager.getOrderCollectionMap()).thenReturn(map);
-        when(mockOrderMatcherHandler.matchOrder(newOrder, map)).thenReturn(matchingOrderCollection);
+        when(mockOrderMatcherHandler.matchOrder(newOrder, orderBook)).thenReturn(matchingOrders);
 
         transaction = new Transaction("Stock", min(newOrder.getAmount(), oldOrder.getAmount()), oldOrder.getPrice());
     }
@@ -139,6 +150,24 @@ public class TestStockExchangeClass {
         when(mockStockManager.getStock("Stock")).thenReturn(stock);
     }
 
+    /**
+     * Method creates a mock Order of Trader1 for 3 units at price 5 that no OrderMatcher matches.
+     * @param operation String of the Order's operation.
+     * @return Mock Order.
+     */
+    private Order createMockOrder(String operation) {
+        Order mockOrder = mock(Order.class);
+        when(mockOrder.getTraderId()).thenReturn("Trader1");
+        when(mockOrder.getStockId()).thenReturn("Stock");
+        when(mockOrder.getOperation()).thenReturn(operation);
+        when(mockOrder.getPrice()).thenReturn(5);
+        when(mockOrder.getAmount()).thenReturn(3);
+        when(mockOrder.getSide()).thenReturn(operation.equals("BUY") ? Order.BUY : Order.SELL);
+        when(mockOrder.getPriceTicks()).thenReturn(5);
+        when(mockOrder.getQuantity()).thenReturn(3L);
+        return mockOrder;
+    }
+
     /**
      * Tests that the StockExchange constructor creates a non-null StockExchange.
      */
@@ -165,6 +194,8 @@ public class TestStockExchangeClass {
                 null, mockOrderMatcherHandler));
         assertThrows(NullPointerException.class, () -> new StockExchange(mockStockManager, mockTraderManager,
                 mockOrderManager, null));
+        assertThrows(NullPointerException.class, () -> new StockExchange(mockStockManager, mockTraderManager,
+                mockOrderManager, mockOrderMatcherHandler, null));
     }
 
     /**
@@ -176,6 +207,110 @@ public class TestStockExchangeClass {
         assertThrows(NullPointerException.class, () -> stockExchange.resolveOrder(null));
     }
 
+    /**
+     * Tests that the StockExchange resolve method rejects an Order its OrderMatcher finds invalid before it assigns an
+     * Id or touches an OrderBook.
+     */
+    @Test
+    void testRejectInvalidOrder() {
+        setupStockExchange();
+        setupOrders("HOLD", 5, 3, "SELL", 5, 1);
+        doThrow(new IllegalArgumentException("invalid")).when(mockOrderMatcherHandler).validateOrder(newOrder);
+
+        assertThrows(IllegalArgumentException.class, () -> stockExchange.resolveOrder(newOrder));
+        verify(mockOrderManager, never()).generateOrderId();
+        verify(mockOrderMatcherHandler, never()).matchOrder(any(), any());
+        assertNull(newOrder.getId());
+    }
+
+    /**
+     * Tests that the StockExchange resolve method assigns a new Id to the resolved Order.
+     */
+    @Test
+    void testResolveAssignsOrderId() {
+        setupStockExchange();
+
+        setupOrders("BUY", 5, 3, "BUY", 5, 1);
+        setupTraders(100L, 100L);
+        setupStock();
+        when(mockOrderManager.generateOrderId()).thenReturn(7L);
+
+        stockExchange.resolveOrder(newOrder);
+        assertEquals(7L, newOrder.getId());
+    }
+
+    /**
+     * Tests that the StockExchange cancel method removes the stored Order of the Trader and releases its reservation.
+     */
+    @Test
+    void testCancelOrder() {
+        setupStockExchange();
+
+        setupOrders("BUY", 5, 3, "SELL", 5, 1);
+        setupTraders(100L, 100L);
+        trader2.setStockAmount("Stock", 1L);
+        assertTrue(stockExchange.getReservationLedger().reserve(oldOrder));
+        when(mockOrderManager.getOrder("Stock", 2L)).thenReturn(oldOrder);
+
+        assertTrue(stockExchange.cancelOrder(new OrderUpdate(2L, "Trader2", "Stock", null)));
+        verify(mockOrderManager).removeOrder(oldOrder);
+        assertEquals(0L, stockExchange.getReservationLedger().getReservedStockAmount("Trader2", "Stock"));
+    }
+
+    /**
+     * Tests that the StockExchange cancel method ignores unknown Orders and Orders of other Traders.
+     */
+    @Test
+    void testCancelInvalidOrder() {
+        setupStockExchange();
+
+        setupOrders("BUY", 5, 3, "SELL", 5, 1);
+        when(mockOrderManager.getOrder("Stock", 2L)).thenReturn(oldOrder);
+
+        assertFalse(stockExchange.cancelOrder(new OrderUpdate(2L, "Trader1", "Stock", null)));
+        assertFalse(stockExchange.cancelOrder(new OrderUpdate(3L, "Trader2", "Stock", null)));
+        verify(mockOrderManager, never()).removeOrder(any());
+        assertThrows(NullPointerException.class, () -> stockExchange.cancelOrder(null));
+    }
+
+    /**
+     * Tests that the StockExchange amend method changes the amount of the stored Order of the Trader and its
+     * reservation.
+     */
+    @Test
+    void testAmendOrder() {
+        setupStockExchange();
+
+        setupOrders("BUY", 5, 3, "SELL", 5, 1);
+        setupTraders(100L, 100L);
+        trader2.setStockAmount("Stock", 4L);
+        assertTrue(stockExchange.getReservationLedger().reserve(oldOrder));
+        when(mockOrderManager.getOrder("Stock", 2L)).thenReturn(oldOrder);
+
+        assertTrue(stockExchange.amendOrder(new OrderUpdate(2L, "Trader2", "Stock", 4)));
+        verify(mockOrderManager).amendOrder(oldOrder, 4);
+        assertEquals(4L, stockExchange.getReservationLedger().getReservedStockAmount("Trader2", "Stock"));
+    }
+
+    /**
+     * Tests that the StockExchange amend method ignores Orders of other Traders, updates without an amount, and
+     * increases the Trader lacks the resources for.
+     */
+    @Test
+    void testAmendInvalidOrder() {
+        setupStockExchange();
+
+        setupOrders("BUY", 5, 3, "SELL", 5, 1);
+        setupTraders(100L, 100L);
+        trader2.setStockAmount("Stock", 1L);
+        when(mockOrderManager.getOrder("Stock", 2L)).thenReturn(oldOrder);
+
+        assertFalse(stockExchange.amendOrder(new OrderUpdate(2L, "Trader1", "Stock", 4)));
+        assertFalse(stockExchange.amendOrder(new OrderUpdate(2L, "Trader2", "Stock", null)));
+        assertFalse(stockExchange.amendOrder(new OrderUpdate(2L, "Trader2", "Stock", 4)));
+        verify(mockOrderManager, never()).amendOrder(any(), any());
+    }
+
     /**
      * Tests that the StockExchange resolve method stores a non-matchable buy Order.
      */
@@ -187,7 +322,7 @@ public class TestStockExchangeClass {
         setupTraders(100L, 100L);
         setupStock();
 
-        Order mockOrder = mock(Order.class);
+        Order mockOrder = createMockOrder("BUY");
         stockExchange.resolveOrder(mockOrder);
         verify(mockOrderManager).storeOrder(mockOrder);
     }
@@ -201,9 +336,10 @@ public class TestStockExchangeClass {
 
         setupOrders("SELL", 5, 3, "SELL", 5, 1);
         setupTraders(100L, 100L);
+        trader1.setStockAmount("Stock", 100L);
         setupStock();
 
-        Order mockOrder = mock(Order.class);
+        Order mockOrder = createMockOrder("SELL");
         stockExchange.resolveOrder(mockOrder);
         verify(mockOrderManager).storeOrder(mockOrder);
     }
@@ -223,16 +359,18 @@ public class TestStockExchangeClass {
         stockExchange.resolveOrder(newOrder);
         assertEquals(newOrder.getAmount(), 3 - transaction.stockAmount());
         verify(mockOrderManager).storeOrder(newOrder);
-        verify(mockOrderManager).removeOrder(oldOrder);
+        assertNull(orderBook.getOrder(oldOrder.getId()));
         assertEquals(1, trader1.getTransactionHistory().size());
         assertEquals(transaction, trader1.getTransactionHistory().get(0));
         assertEquals(Long.valueOf(transaction.stockAmount()), trader1.getStockAmount(newOrder.getStockId()));
         assertEquals(100L - Long.valueOf(transaction.stockAmount()), trader2.getStockAmount(newOrder.getStockId()));
-        assertEquals(mockStockManager.getStock(newOrder.getStockId()).getPrice(), Double.valueOf(transaction.stockPrice()));
+        assertEquals(mockStockManager.getStock(newOrder.getStockId()).getPrice(),
+                Double.valueOf(transaction.stockPrice()));
     }
 
     /**
-     * Tests that the StockExchange resolve method correctly partially resolves the buy newOrder and stores the oldOrder.
+     * Tests that the StockExchange resolve method correctly partially resolves the buy newOrder and stores the
+     * oldOrder.
      */
     @Test
     void testResolvePartialBuyOrder2() {
@@ -248,7 +386,8 @@ public class TestStockExchangeClass {
         assertEquals(transaction, trader1.getTransactionHistory().get(0));
         assertEquals(Long.valueOf(transaction.stockAmount()), trader1.getStockAmount(newOrder.getStockId()));
         assertEquals(100L - Long.valueOf(transaction.stockAmount()), trader2.getStockAmount(newOrder.getStockId()));
-        assertEquals(mockStockManager.getStock(oldOrder.getStockId()).getPrice(), Double.valueOf(transaction.stockPrice()));
+        assertEquals(mockStockManager.getStock(oldOrder.getStockId()).getPrice(),
+                Double.valueOf(transaction.stockPrice()));
     }
 
     /**
@@ -266,7 +405,7 @@ public class TestStockExchangeClass {
         stockExchange.resolveOrder(newOrder);
         assertEquals(newOrder.getAmount(), 3 - transaction.stockAmount());
         verify(mockOrderManager).storeOrder(newOrder);
-        verify(mockOrderManager).removeOrder(oldOrder);
+        assertNull(orderBook.getOrder(oldOrder.getId()));
         assertEquals(1, trader1.getTransactionHistory().size());
         assertEquals(transaction, trader1.getTransactionHistory().get(0));
         assertEquals(100L - Long.valueOf(transaction.stockAmount()), trader1.getStockAmount(newOrder.getStockId()));
@@ -275,7 +414,8 @@ public class TestStockExchangeClass {
     }
 
     /**
-     * Tests that the StockExchange resolve method correctly partially resolves the sell newOrder and stores the newOrder.
+     * Tests that the StockExchange resolve method correctly partially resolves the sell newOrder and stores the
+     * newOrder.
      */
     @Test
     void testResolvePartialSellOrder2() {
@@ -309,7 +449,7 @@ public class TestStockExchangeClass {
         setupStock();
 
         stockExchange.resolveOrder(newOrder);
-        verify(mockOrderManager).removeOrder(oldOrder);
+        assertNull(orderBook.getOrder(oldOrder.getId()));
         assertEquals(1, trader1.getTransactionHistory().size());
         assertEquals(transaction, trader1.getTransactionHistory().get(0));
         assertEquals(Long.valueOf(transaction.stockAmount()), trader1.getStockAmount(newOrder.getStockId()));
@@ -330,7 +470,7 @@ public class TestStockExchangeClass {
         setupStock();
 
         stockExchange.resolveOrder(newOrder);
-        verify(mockOrderManager).removeOrder(oldOrder);
+        assertNull(orderBook.getOrder(oldOrder.getId()));
         assertEquals(1, trader1.getTransactionHistory().size());
         assertEquals(transaction, trader1.getTransactionHistory().get(0));
         assertEquals(100L - Long.valueOf(transaction.stockAmount()), trader1.getStockAmount(newOrder.getStockId()));
@@ -340,65 +480,293 @@ public class TestStockExchangeClass {
 
 
     /**
-     * Tests that the StockExchange resolve method doesn't resolve and stores an unfunded buy newOrder.
+     * Tests that the StockExchange resolve method rejects an unfunded buy newOrder.
      */
     @Test
-    void testResolveNonResolvableBuyOrder1() {
+    void testRejectUnfundedBuyOrder() {
         setupStockExchange();
 
         setupOrders("BUY", 5, 3, "SELL", 5, 3);
         setupTraders(0L, 100L);
-        trader1.setStockAmount("Stock", 100L);
+        trader2.setStockAmount("Stock", 100L);
         setupStock();
 
-        stockExchange.resolveOrder(newOrder);
-        verify(mockOrderManager).storeOrder(newOrder);
+        assertTrue(stockExchange.resolveOrder(newOrder).isEmpty());
+        verify(mockOrderManager, never()).storeOrder(any());
+        assertEquals(oldOrder, orderBook.getOrder(oldOrder.getId()));
+        assertEquals(100L, trader2.getFunds());
+        assertEquals(0L, stockExchange.getReservationLedger().getReservedFunds("Trader1"));
     }
 
     /**
-     * Tests that the StockExchange resolve method doesn't resolve and stores a funded buy newOrder, but amount-deficient oldOrder.
+     * Tests that the StockExchange resolve method rejects a buy newOrder whose funds are already reserved by another
+     * Order of the Trader.
      */
     @Test
-    void testResolveNonResolvableBuyOrder2() {
+    void testRejectReservedFundsBuyOrder() {
         setupStockExchange();
 
-        setupOrders("BUY", 5, 3, "SELL", 5, 1);
-        setupTraders(100L, 100L);
+        setupOrders("BUY", 5, 3, "SELL", 5, 3);
+        setupTraders(20L, 100L);
         setupStock();
+        Order reservedOrder = createMockOrder("BUY");
+        assertTrue(stockExchange.getReservationLedger().reserve(reservedOrder));
 
-        stockExchange.resolveOrder(newOrder);
-        verify(mockOrderManager).storeOrder(newOrder);
+        assertTrue(stockExchange.resolveOrder(newOrder).isEmpty());
+        verify(mockOrderManager, never()).storeOrder(any());
+        assertEquals(15L, stockExchange.getReservationLedger().getReservedFunds("Trader1"));
     }
 
     /**
-     * Tests that the StockExchange resolve method doesn't resolve and stores an amount-deficient sell newOrder.
+     * Tests that the StockExchange resolve method rejects an amount-deficient sell newOrder.
      */
     @Test
-    void testResolveNonResolvableSellOrder1() {
+    void testRejectAmountDeficientSellOrder() {
         setupStockExchange();
 
         setupOrders("SELL", 5, 3, "BUY", 5, 3);
         setupTraders(100L, 100L);
+        trader1.setStockAmount("Stock", 2L);
         setupStock();
 
-        stockExchange.resolveOrder(newOrder);
-        verify(mockOrderManager).storeOrder(newOrder);
+        assertTrue(stockExchange.resolveOrder(newOrder).isEmpty());
+        verify(mockOrderManager, never()).storeOrder(any());
+        assertEquals(oldOrder, orderBook.getOrder(oldOrder.getId()));
+        assertEquals(0L, trader2.getStockAmount("Stock"));
     }
 
     /**
-     * Tests that the StockExchange resolve method doesn't resolve and stores an amount-good sell newOrder, but unfunded oldOrder.
+     * Tests that the StockExchange resolve method rejects a sell newOrder whose stock amount is already reserved by
+     * another Order of the Trader.
      */
     @Test
-    void testResolveNonResolvableSellOrder2() {
+    void testRejectReservedStockSellOrder() {
         setupStockExchange();
 
         setupOrders("SELL", 5, 3, "BUY", 5, 3);
-        setupTraders(100L, 0L);
-        trader1.setStockAmount("Stock", 100L);
+        setupTraders(100L, 100L);
+        trader1.setStockAmount("Stock", 5L);
         setupStock();
+        assertTrue(stockExchange.getReservationLedger().reserve(createMockOrder("SELL")));
 
-        stockExchange.resolveOrder(newOrder);
+        assertTrue(stockExchange.resolveOrder(newOrder).isEmpty());
+        verify(mockOrderManager, never()).storeOrder(any());
+        assertEquals(3L, stockExchange.getReservationLedger().getReservedStockAmount("Trader1", "Stock"));
+    }
+
+    /**
+     * Tests that the StockExchange resolve method sweeps multiple price levels until the new Order no longer crosses,
+     * stores the remainder, and updates the Stock price once to the last Transaction price.
+     */
+    @Test
+    void testResolveSweepsPriceLevels() {
+        setupStockExchange();
+        setupTraders(100L, 100L);
+        trader2.setStockAmount("Stock", 100L);
+        setupStock();
+
+        orderBook = new HeapOrderBook("Stock");
+        Order[] sellOrders = new Order[3];
+        for (int i = 0; i < sellOrders.length; i++) {
+            sellOrders[i] = new LimitOrder.Builder()
+                    .setId((long) i + 10)
+                    .setTraderId("Trader2")
+                    .setStockId("Stock")
+                    .setOperation("SELL")
+                    .setPrice(4 + i)
+                    .setAmount(2)
+                    .build();
+            orderBook.addOrder(sellOrders[i]);
+        }
+        newOrder = new LimitOrder.Builder()
+                .setTraderId("Trader1")
+                .setStockId("Stock")
+                .setOperation("BUY")
+                .setPrice(5)
+                .setAmount(5)
+                .build();
+        when(mockOrderManager.getOrderBook("Stock")).thenReturn(orderBook);
+        when(mockOrderMatcherHandler.matchOrder(newOrder, orderBook)).thenReturn(orderBook.getMatchingAsks(5));
+        Stock spyStock = spy(stock);
+        when(mockStockManager.getStock("Stock")).thenReturn(spyStock);
+
+        List<Transaction> transactions = stockExchange.resolveOrder(newOrder);
+        assertEquals(List.of(new Transaction("Stock", 2, 4), new Transaction("Stock", 2, 5)), transactions);
+        assertEquals(transactions, trader1.getTransactionHistory());
+        assertEquals(1, newOrder.getAmount());
         verify(mockOrderManager).storeOrder(newOrder);
+        assertEquals(1, orderBook.getNumOfAsks());
+        assertEquals(6, orderBook.getBestAsk());
+        assertEquals(4L, trader1.getStockAmount("Stock"));
+        assertEquals(96L, trader2.getStockAmount("Stock"));
+        verify(spyStock, times(1)).updatePrice(any());
+        assertEquals(5.0, spyStock.getPrice());
+        assertEquals(82L, trader1.getFunds());
+        assertEquals(118L, trader2.getFunds());
+        assertEquals(5L, stockExchange.getReservationLedger().getReservedFunds("Trader1"));
     }
 
+    /**
+     * Tests that the StockExchange publishes snapshots that copy the Stocks and Traders and carry the sequence number
+     * of the last applied event.
+     */
+    @Test
+    void testPublishSnapshot() {
+        setupStockExchange();
+        setupOrders("BUY", 5, 3, "BUY", 5, 1);
+        setupTraders(100L, 100L);
+        setupStock();
+        StockCollection stockCollection = new StockCollection();
+        stockCollection.updateStock(stock);
+        TraderCollection traderCollection = new TraderCollection();
+        traderCollection.updateTrader(trader1);
+        when(mockStockManager.getStockCollection()).thenReturn(stockCollection);
+        when(mockTraderManager.getTraderCollection()).thenReturn(traderCollection);
+
+        assertEquals(0, stockExchange.getSnapshot().getSequence());
+        assertEquals(0, stockExchange.getSnapshot().getStockCollection().getSize());
+        stockExchange.resolveOrder(newOrder);
+        stockExchange.cancelOrder(new OrderUpdate(1L, "Trader1", "Stock", null));
+        assertEquals(0, stockExchange.getSnapshot().getSequence());
+
+        stockExchange.publishSnapshot();
+        StockExchangeSnapshot snapshot = stockExchange.getSnapshot();
+        assertEquals(2, snapshot.getSequence());
+        assertEquals(stock, snapshot.getStockCollection().getStock("Stock"));
+        assertNotSame(stock, snapshot.getStockCollection().getStock("Stock"));
+        Long publishedStockAmount = trader1.getStockAmount("Stock");
+        trader1.setStockAmount("Stock", publishedStockAmount + 10);
+        assertEquals(publishedStockAmount, snapshot.getTraderCollection().getTrader("Trader1").getStockAmount("Stock"));
+    }
+
+    /**
+     * Method sets up a StockExchange with real managers, all OrderMatchers, the Stock and two Traders with 100 funds,
+     * of which Trader2 owns 100 units of the Stock.
+     */
+    private void setupRealStockExchange() {
+        StockManager stockManager = new StockManager();
+        stock = new Stock("Stock", "Stock", 1L, 1.0, 1.0);
+        stockManager.getStockCollection().updateStock(stock);
+        TraderManager traderManager = new TraderManager();
+        trader1 = new Trader("Trader1", "Trader1", 100L);
+        trader2 = new Trader("Trader2", "Trader2", 100L);
+        trader2.setStockAmount("Stock", 100L);
+        traderManager.getTraderCollection().updateTrader(trader1);
+        traderManager.getTraderCollection().updateTrader(trader2);
+        OrderMatcherHandler orderMatcherHandler = new OrderMatcherHandler();
+        orderMatcherHandler.registerOrderMatcher("LimitOrder", new LimitOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("MarketOrder", new MarketOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("FillOrKillOrder", new FillOrKillOrderMatcher());
+        orderMatcherHandler.registerOrderMatcher("StopOrder", new StopOrderMatcher());
+        stockExchange = new StockExchange(stockManager, traderManager, new OrderManager(), orderMatcherHandler);
+    }
+
+    /**
+     * Method creates an Order of the given type for the Stock.
+     * @param builder Order.Builder of the Order's type.
+     * @param traderId String of the Trader's Id.
+     * @param operation String of the Order's operation.
+     * @param price Integer of the Order's price.
+     * @param amount Integer of the Order's amount.
+     * @return New Order.
+     */
+    private Order createOrder(Order.Builder<?> builder, String traderId, String operation, Integer price,
+                              Integer amount) {
+        return builder.setTraderId(traderId)
+                .setStockId("Stock")
+                .setOperation(operation)
+                .setPrice(price)
+                .setAmount(amount)
+                .build();
+    }
+
+    /**
+     * Tests that a market Order is resolved at the resting prices and its remaining amount is cancelled, without
+     * being stored.
+     */
+    @Test
+    void testResolveMarketOrder() {
+        setupRealStockExchange();
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 5, 2));
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 6, 1));
+
+        Order marketOrder = createOrder(MarketOrder.newBuilder(), "Trader1", "BUY", null, 5);
+        assertEquals(List.of(new Transaction("Stock", 2, 5), new Transaction("Stock", 1, 6)),
+                stockExchange.resolveOrder(marketOrder));
+        assertEquals(0, stockExchange.getOrderManager().getSize());
+        assertEquals(84L, trader1.getFunds());
+        assertEquals(3L, trader1.getStockAmount("Stock"));
+        assertEquals(0L, stockExchange.getReservationLedger().getReservedFunds("Trader1"));
+        assertTrue(stockExchange.resolveOrder(createOrder(MarketOrder.newBuilder(), "Trader1", "BUY", null, 1))
+                .isEmpty());
+    }
+
+    /**
+     * Tests that a fill-or-kill Order is either resolved in full or cancelled without touching the OrderBook.
+     */
+    @Test
+    void testResolveFillOrKillOrder() {
+        setupRealStockExchange();
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 5, 2));
+
+        assertTrue(stockExchange.resolveOrder(createOrder(FillOrKillOrder.newBuilder(), "Trader1", "BUY", 5, 3))
+                .isEmpty());
+        assertEquals(1, stockExchange.getOrderManager().getSize());
+        assertEquals(0L, stockExchange.getReservationLedger().getReservedFunds("Trader1"));
+        assertEquals(1, stockExchange.resolveOrder(createOrder(FillOrKillOrder.newBuilder(), "Trader1", "BUY", 5,
+                2)).size());
+        assertEquals(0, stockExchange.getOrderManager().getSize());
+    }
+
+    /**
+     * Tests that a stop Order waits until a Transaction moves the Stock price to its stop price, and that pending
+     * Orders can be cancelled.
+     */
+    @Test
+    void testResolveStopOrder() {
+        setupRealStockExchange();
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 2, 1));
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 3, 1));
+        Order stopOrder = StopOrder.newBuilder().setStopPrice(2).setTraderId("Trader1").setStockId("Stock")
+                .setOperation("BUY").setAmount(1).build();
+        Order cancelledStopOrder = StopOrder.newBuilder().setStopPrice(2).setTraderId("Trader1").setStockId("Stock")
+                .setOperation("BUY").setAmount(1).build();
+        assertTrue(stockExchange.resolveOrder(stopOrder).isEmpty());
+        assertTrue(stockExchange.resolveOrder(cancelledStopOrder).isEmpty());
+        assertTrue(stockExchange.cancelOrder(new OrderUpdate(cancelledStopOrder.getId(), "Trader1", "Stock", null)));
+        assertEquals(2, stockExchange.getOrderManager().getSize());
+
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader1", "BUY", 2, 1));
+        assertEquals(0, stockExchange.getOrderManager().getSize());
+        assertEquals(List.of(new Transaction("Stock", 1, 2), new Transaction("Stock", 1, 3)),
+                trader1.getTransactionHistory());
+        assertEquals(95L, trader1.getFunds());
+        assertTrue(stockExchange.getPendingOrders().get("Stock").isEmpty());
+    }
+
+    /**
+     * Tests that the depth of an OrderBook is only published for changed OrderBooks and follows the resolved,
+     * amended and cancelled Orders.
+     */
+    @Test
+    void testPublishDepths() {
+        setupRealStockExchange();
+        assertTrue(stockExchange.getBookDepth("Stock").getAsks().isEmpty());
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 5, 2));
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader2", "SELL", 6, 3));
+        assertTrue(stockExchange.getBookDepth("Stock").getAsks().isEmpty());
+
+        stockExchange.publishDepths();
+        assertEquals(List.of(new DepthLevel(5, 2, 1), new DepthLevel(6, 3, 1)),
+                stockExchange.getBookDepth("Stock").getAsks());
+        stockExchange.resolveOrder(createOrder(LimitOrder.newBuilder(), "Trader1", "BUY", 5, 1));
+        stockExchange.publishSnapshot();
+        assertEquals(new DepthLevel(5, 1, 1), stockExchange.getBookDepth("Stock").getBestAsk());
+        assertEquals(stockExchange.getBookDepth("Stock"),
+                stockExchange.getSnapshot().getBookDepthCollection().getBookDepth("Stock"));
+
+        stockExchange.cancelOrder(new OrderUpdate(1L, "Trader2", "Stock", null));
+        stockExchange.publishDepths();
+        assertEquals(List.of(new DepthLevel(6, 3, 1)), stockExchange.getBookDepth("Stock").getAsks());
+    }
 }
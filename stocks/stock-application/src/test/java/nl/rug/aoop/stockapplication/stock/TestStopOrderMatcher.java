@@ -0,0 +1,83 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import nl.rug.aoop.core.order.HeapOrderBook;
+import nl.rug.aoop.core.order.LimitOrder;
+import nl.rug.aoop.core.order.MarketOrder;
+import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.StopLimitOrder;
+import nl.rug.aoop.core.order.StopOrder;
+import nl.rug.aoop.core.stock.Stock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestStopOrderMatcher class tests the StopOrderMatcher and StopLimitOrderMatcher classes.
+ */
+public class TestStopOrderMatcher {
+    /**
+     * Method creates a Stock at the given price.
+     * @param price Double of the Stock's price.
+     * @return New Stock.
+     */
+    private Stock createStock(Double price) {
+        return new Stock("Stock", "Stock", 1L, price, 1.0);
+    }
+
+    /**
+     * Tests that a buy StopOrder is activated as a MarketOrder once the price rises to its stop price.
+     */
+    @Test
+    void testActivateBuyStopOrder() {
+        Order stopOrder = StopOrder.newBuilder().setStopPrice(10).setId(3L).setTraderId("Trader").setStockId("Stock")
+                .setOperation("BUY").setAmount(2).build();
+        StopOrderMatcher matcher = new StopOrderMatcher();
+        assertNull(matcher.activateOrder(stopOrder, createStock(9.0)));
+        assertNull(matcher.activateOrder(stopOrder, null));
+
+        Order activeOrder = matcher.activateOrder(stopOrder, createStock(10.0));
+        assertEquals(MarketOrder.class, activeOrder.getClass());
+        assertEquals(3L, activeOrder.getId());
+        assertEquals(2, activeOrder.getAmount());
+        assertEquals("BUY", activeOrder.getOperation());
+        assertFalse(matcher.cancelsRemainder());
+        assertThrows(IllegalArgumentException.class, () -> matcher.matchOrder(stopOrder, new HeapOrderBook("Stock")));
+    }
+
+    /**
+     * Tests that a sell StopLimitOrder is activated as a LimitOrder at its price once the price falls to its stop
+     * price.
+     */
+    @Test
+    void testActivateSellStopLimitOrder() {
+        Order stopOrder = StopLimitOrder.newBuilder().setStopPrice(10).setId(3L).setTraderId("Trader")
+                .setStockId("Stock").setOperation("SELL").setPrice(8).setAmount(2).build();
+        StopLimitOrderMatcher matcher = new StopLimitOrderMatcher();
+        assertNull(matcher.activateOrder(stopOrder, createStock(11.0)));
+
+        Order activeOrder = matcher.activateOrder(stopOrder, createStock(9.5));
+        assertEquals(LimitOrder.class, activeOrder.getClass());
+        assertEquals(3L, activeOrder.getId());
+        assertEquals(8, ((LimitOrder) activeOrder).getLimit());
+        assertEquals("SELL", activeOrder.getOperation());
+    }
+
+    /**
+     * Tests that a StopOrder needs a recognised operation and a stop price, and a StopLimitOrder also a price.
+     */
+    @Test
+    void testValidateOrder() {
+        StopOrderMatcher stopMatcher = new StopOrderMatcher();
+        StopLimitOrderMatcher stopLimitMatcher = new StopLimitOrderMatcher();
+        stopMatcher.validateOrder(StopOrder.newBuilder().setStopPrice(10).setOperation("SELL").setAmount(2).build());
+        stopLimitMatcher.validateOrder(StopLimitOrder.newBuilder().setStopPrice(10).setOperation("SELL").setPrice(8)
+                .setAmount(2).build());
+
+        assertThrows(IllegalArgumentException.class, () -> stopMatcher.validateOrder(StopOrder.newBuilder()
+                .setOperation("SELL").setAmount(2).build()));
+        assertThrows(IllegalArgumentException.class, () -> stopMatcher.validateOrder(StopOrder.newBuilder()
+                .setStopPrice(10).setOperation("HOLD").setAmount(2).build()));
+        assertThrows(IllegalArgumentException.class, () -> stopLimitMatcher.validateOrder(StopLimitOrder.newBuilder()
+                .setStopPrice(10).setOperation("SELL").setAmount(2).build()));
+    }
+}
@@ -0,0 +1,56 @@
+package nl.rug.aoop.stockapplication.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TestSymbolTableClass tests the SymbolTable class.
+ */
+public class TestSymbolTableClass {
+
+    /**
+     * Tests that symbols are interned as dense indices that never change.
+     */
+    @Test
+    void testIntern() {
+        SymbolTable symbolTable = new SymbolTable();
+        assertEquals(-1, symbolTable.getIndex("A"));
+        assertEquals(0, symbolTable.intern("A"));
+        assertEquals(1, symbolTable.intern("B"));
+        assertEquals(0, symbolTable.intern("A"));
+        assertEquals(1, symbolTable.getIndex("B"));
+        assertEquals(2, symbolTable.getSize());
+        assertThrows(NullPointerException.class, () -> symbolTable.intern(null));
+    }
+
+    /**
+     * Tests that threads interning the same symbols concurrently agree on their indices.
+     * @throws InterruptedException Thrown if waiting for the threads is interrupted.
+     */
+    @Test
+    void testConcurrentIntern() throws InterruptedException {
+        SymbolTable symbolTable = new SymbolTable();
+        Set<String> results = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    results.add(i + "=" + symbolTable.intern("Stock" + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, symbolTable.getSize());
+        assertEquals(100, results.size());
+    }
+}
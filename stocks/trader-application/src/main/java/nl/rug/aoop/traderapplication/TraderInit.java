@@ -1,11 +1,14 @@
 package nl.rug.aoop.traderapplication;
 
 import nl.rug.aoop.command.CommandHandler;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.networking.ThreadMode;
 import nl.rug.aoop.networking.client.Client;
 import nl.rug.aoop.traderapplication.bot.SimpleTradeStrategy;
 import nl.rug.aoop.traderapplication.bot.TraderBot;
 import nl.rug.aoop.traderapplication.bot.TraderBotManager;
 import nl.rug.aoop.traderapplication.command.TraderFactory;
+import nl.rug.aoop.traderapplication.command.WireFormatAcceptedCommand;
 import nl.rug.aoop.traderapplication.interactor.LocalStockManager;
 import nl.rug.aoop.traderapplication.interactor.LocalTrader;
 import nl.rug.aoop.traderapplication.interactor.LocalTraderManager;
@@ -18,6 +21,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * TraderInit class used to initialize the trader application.
@@ -27,6 +31,12 @@ public class TraderInit {
     private LocalTraderManager localTraderManager;
     private LocalStockManager localStockManager;
     private TraderFactory traderFactory;
+    /**
+     * Threads of the Clients and the TraderBots: platform or virtual threads, as the TRADER_THREAD_MODE environment
+     * variable decides.
+     */
+    private final ExecutorService executor =
+            ThreadMode.fromName(System.getenv("TRADER_THREAD_MODE")).newExecutor("trader");
 
     /**
      * Initializes the application.
@@ -53,8 +63,8 @@ public class TraderInit {
             }
             Client client = new Client(new InetSocketAddress("localhost", port),
                     new TraderMessageHandler(commandHandler));
-            new Thread(client).start();
-            StockInteractor stockInteractor = new StockInteractor(client, new NetworkProducer(client));
+            executor.execute(client);
+            StockInteractor stockInteractor = new StockInteractor(client, createProducer(client, commandHandler));
             LocalTrader localTrader = new LocalTrader();
             localTrader.setId(traderBot.getId());
             localTraderManager.getLocalTraders().put(traderBot.getId(), localTrader);
@@ -64,7 +74,21 @@ public class TraderInit {
             traderBot.setStockInteractor(stockInteractor);
             traderBot.setTradeStrategy(new SimpleTradeStrategy());
             botManager.addBot(traderBot);
-            new Thread(traderBot).start();
+            executor.execute(traderBot);
         }
     }
+
+    /**
+     * Creates the NetworkProducer of a connection and negotiates the WireFormat from the TRADER_WIRE_FORMAT environment
+     * variable (json or binary), binary by default.
+     * @param client Client of the connection.
+     * @param commandHandler CommandHandler of the connection, which handles the answer of the negotiation.
+     * @return NetworkProducer of the connection.
+     */
+    private NetworkProducer createProducer(Client client, CommandHandler commandHandler) {
+        NetworkProducer networkProducer = new NetworkProducer(client);
+        commandHandler.registerCommand("wireFormat", new WireFormatAcceptedCommand(networkProducer));
+        networkProducer.negotiate(WireFormat.fromName(System.getenv().getOrDefault("TRADER_WIRE_FORMAT", "binary")));
+        return networkProducer;
+    }
 }
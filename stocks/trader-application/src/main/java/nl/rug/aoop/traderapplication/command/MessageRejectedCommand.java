@@ -0,0 +1,32 @@
+package nl.rug.aoop.traderapplication.command;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.Command;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+
+import java.util.Map;
+
+/**
+ * MessageRejectedCommand handles a message that the stock application rejected because its message queue was full.
+ */
+@Slf4j
+@Getter
+public class MessageRejectedCommand implements Command {
+    /**
+     * Number of messages the stock application rejected.
+     */
+    private long numOfRejected = 0;
+
+    /**
+     * Method deserializes the rejected message and reports it.
+     * @param options Map(String, Object) with Objects for the Command to use.
+     */
+    @Override
+    public void execute(Map<String, Object> options) {
+        Message rejectedMessage = WireFormat.toMessage(options.get("Body"));
+        numOfRejected++;
+        log.warn("Stock application rejected a {} message, its message queue is full.", rejectedMessage.header());
+    }
+}
@@ -44,6 +44,8 @@ public class TraderFactory implements CommandHandlerFactory {
             CommandHandler updateCommandHandler = new CommandHandler();
             updateCommandHandler.registerCommand("updateStocks", new UpdateStocksCommand(localStockManager));
             updateCommandHandler.registerCommand("updateTrader", new UpdateTraderCommand(localTraderManager));
+            updateCommandHandler.registerCommand("updateDepth", new UpdateDepthCommand(localStockManager));
+            updateCommandHandler.registerCommand("messageRejected", new MessageRejectedCommand());
             return updateCommandHandler;
         } else {
             throw new IllegalArgumentException("Command handler type not recognized.");
@@ -0,0 +1,48 @@
+package nl.rug.aoop.traderapplication.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.Command;
+import nl.rug.aoop.core.order.BookDepthCollection;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.traderapplication.interactor.LocalStockManager;
+
+import java.util.Map;
+
+/**
+ * UpdateDepthCommand class updates the order book depth information in the trader application.
+ */
+@Slf4j
+@Getter
+public class UpdateDepthCommand implements Command {
+    /**
+     * LocalStockManager manages the stock and depth information.
+     */
+    private LocalStockManager localStockManager;
+
+    /**
+     * Constructor creates the class.
+     * @param localStockManager LocalStockManager manages the stock and depth information.
+     */
+    public UpdateDepthCommand(LocalStockManager localStockManager) {
+        this.localStockManager = localStockManager;
+    }
+
+    /**
+     * Method deserializes the book depth collection and passes it onto the stock manager.
+     * @param options Map(String, Object) with Objects for the Command to use.
+     */
+    @Override
+    public void execute(Map<String, Object> options) {
+        log.debug("Updating order book depths.");
+        try {
+            Message collectionMessage = WireFormat.toMessage(options.get("Body"));
+            BookDepthCollection bookDepthCollection = BookDepthCollection.fromString(collectionMessage.body());
+            localStockManager.updateBookDepths(bookDepthCollection);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error while deserializing String into BookDepthCollection.");
+        }
+    }
+}
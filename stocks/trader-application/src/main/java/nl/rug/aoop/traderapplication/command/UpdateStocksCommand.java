@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.command.Command;
 import nl.rug.aoop.core.stock.StockCollection;
 import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.traderapplication.interactor.LocalStockManager;
 
 import java.util.Map;
@@ -37,7 +38,7 @@ public class UpdateStocksCommand implements Command {
     public void execute(Map<String, Object> options) {
         log.info("Updating stocks.");
         try {
-            Message collectionMessage = Message.fromJson((String) options.get("Body"));
+            Message collectionMessage = WireFormat.toMessage(options.get("Body"));
             String collectionString = collectionMessage.body();
             StockCollection stockCollection = StockCollection.fromString(collectionString);
             localStockManager.updateStocks(stockCollection);
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.command.Command;
 import nl.rug.aoop.core.trader.Trader;
 import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.traderapplication.interactor.LocalTraderManager;
 
 import java.util.Map;
@@ -38,7 +39,7 @@ public class UpdateTraderCommand implements Command {
     public void execute(Map<String, Object> options) {
         log.info("Updating traders.");
         try {
-            Message message = Message.fromJson((String) options.get("Body"));
+            Message message = WireFormat.toMessage(options.get("Body"));
             Trader trader = Trader.fromString(message.body());
             localTraderManager.updateTraders(trader.getId(), trader);
         } catch (JsonProcessingException e) {
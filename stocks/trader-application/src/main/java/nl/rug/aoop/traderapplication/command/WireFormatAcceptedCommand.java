@@ -0,0 +1,45 @@
+package nl.rug.aoop.traderapplication.command;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.rug.aoop.command.Command;
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.traderapplication.network.NetworkProducer;
+
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * WireFormatAcceptedCommand handles the answer of the stock application to a wire format negotiation, and switches the
+ * NetworkProducer of the connection to the accepted WireFormat.
+ */
+@Slf4j
+public class WireFormatAcceptedCommand implements Command {
+    /**
+     * NetworkProducer of the connection.
+     */
+    private final NetworkProducer networkProducer;
+
+    /**
+     * Constructor creates the WireFormatAcceptedCommand.
+     * @param networkProducer NetworkProducer of the connection.
+     */
+    public WireFormatAcceptedCommand(NetworkProducer networkProducer) {
+        this.networkProducer = requireNonNull(networkProducer, "NetworkProducer can't be null.");
+    }
+
+    /**
+     * Method sets the WireFormat of the NetworkProducer to the accepted WireFormat in the Body.
+     * @param options Map(String, Object) with Objects for the Command to use.
+     */
+    @Override
+    public void execute(Map<String, Object> options) {
+        try {
+            networkProducer.setWireFormat(WireFormat.fromName((String) options.get("Body")));
+            log.info("Sending messages as {}.", networkProducer.getWireFormat());
+        } catch (IllegalArgumentException | ClassCastException e) {
+            log.error("Unknown wire format accepted, sending messages as JSON.", e);
+            networkProducer.setWireFormat(WireFormat.JSON);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package nl.rug.aoop.traderapplication.interactor;
 
 import lombok.Getter;
+import nl.rug.aoop.core.order.BookDepthCollection;
 import nl.rug.aoop.core.stock.StockCollection;
 
 /**
- * LocalStockManager class manages the stock information of the trader application.
+ * LocalStockManager class manages the stock and order book depth information of the trader application.
  */
 public class LocalStockManager {
     /**
@@ -12,6 +13,11 @@ public class LocalStockManager {
      */
     @Getter
     private StockCollection stockCollection = null;
+    /**
+     * Depth collection containing the order book depth of the stocks.
+     */
+    @Getter
+    private BookDepthCollection bookDepthCollection = new BookDepthCollection();
 
     /**
      * Default constructor.
@@ -26,4 +32,12 @@ public class LocalStockManager {
     public void updateStocks(StockCollection stockCollection) {
         this.stockCollection = stockCollection;
     }
+
+    /**
+     * Method updates the depth collection.
+     * @param bookDepthCollection New depth collection.
+     */
+    public void updateBookDepths(BookDepthCollection bookDepthCollection) {
+        this.bookDepthCollection = bookDepthCollection;
+    }
 }
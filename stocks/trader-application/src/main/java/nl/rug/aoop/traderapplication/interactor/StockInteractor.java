@@ -4,10 +4,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import nl.rug.aoop.core.order.Order;
+import nl.rug.aoop.core.order.OrderCodec;
 import nl.rug.aoop.core.order.OrderSerializer;
 import nl.rug.aoop.core.stock.Stock;
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.client.Client;
 import nl.rug.aoop.traderapplication.network.NetworkProducer;
 
@@ -54,15 +56,26 @@ public class StockInteractor {
      * @param order Order to be sent.
      */
     public void sendOrder(Order order) {
-        String orderString = null;
+        Message orderMessage = new Message("resolveOrder", serialize(order));
+        networkProducer.put(orderMessage);
+        log.info("Sending order to Server.");
+    }
+
+    /**
+     * Method converts an order to the body of its message: its binary fields once the server accepted the BINARY
+     * WireFormat, and its Json otherwise.
+     * @param order Order to be converted.
+     * @return String body of the order message.
+     */
+    private String serialize(Order order) {
+        if (networkProducer.getWireFormat() == WireFormat.BINARY) {
+            return OrderCodec.toText(order);
+        }
         try {
-            orderString = OrderSerializer.serialize(order);
+            return OrderSerializer.serialize(order);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error while attempting to serialize order.");
         }
-        Message orderMessage = new Message("resolveOrder", orderString);
-        networkProducer.put(orderMessage);
-        log.info("Sending order to Server.");
     }
 
     /**
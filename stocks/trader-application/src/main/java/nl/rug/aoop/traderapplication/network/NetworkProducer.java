@@ -2,20 +2,28 @@ package nl.rug.aoop.traderapplication.network;
 
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.messagequeue.process.MQProducer;
 import nl.rug.aoop.networking.client.Client;
 
+import java.util.Locale;
+
 import static java.util.Objects.requireNonNull;
 
 /**
  * Class NetworkProducer that implements MQProducer. It calls the given Client to send a NetworkMessage that contains
- * a Message and String header "MqPut" that signals that the Message should put into the queue.
+ * a Message and String header "MqPut" that signals that the Message should put into the queue. It sends JSON until
+ * the stock application accepts another WireFormat through negotiate.
  */
 public class NetworkProducer implements MQProducer {
     /**
      * Client that can send a Message.
      */
     private final Client client;
+    /**
+     * WireFormat in which Messages are sent, as accepted by the stock application.
+     */
+    private volatile WireFormat wireFormat = WireFormat.JSON;
 
     /**
      * Constructor for NetworkProducer that takes in a Client.
@@ -26,14 +34,39 @@ public class NetworkProducer implements MQProducer {
     }
 
     /**
-     * Method sends a NetworkMessage in JSON string form with header 'MqPut'
+     * Method sends a NetworkMessage in the WireFormat with header 'MqPut'
      * (command to put Message in MQ) to the client.
      * @param message The Message to be sent through a Client.
      */
     @Override
     public void put(Message message) {
-        NetworkMessage networkMessage = new NetworkMessage("mqPut", message.toJson());
-        client.sendMessage(networkMessage.toJson());
+        client.sendMessage(wireFormat.encode("mqPut", message));
+    }
+
+    /**
+     * Method asks the stock application to accept Messages in a WireFormat. Until it answers, Messages are sent in
+     * the current WireFormat.
+     * @param requested WireFormat in which the Messages should be sent.
+     */
+    public void negotiate(WireFormat requested) {
+        NetworkMessage request = new NetworkMessage("wireFormat", requested.name().toLowerCase(Locale.ROOT));
+        client.sendMessage(request.toJson());
+    }
+
+    /**
+     * Method retrieves the WireFormat in which Messages are sent.
+     * @return WireFormat of the Messages.
+     */
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * Method sets the WireFormat in which Messages are sent, once the stock application accepted it.
+     * @param wireFormat WireFormat of the Messages.
+     */
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = requireNonNull(wireFormat, "WireFormat can't be null.");
     }
 
 }
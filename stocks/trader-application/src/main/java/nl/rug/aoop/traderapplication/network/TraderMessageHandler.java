@@ -1,11 +1,10 @@
 package nl.rug.aoop.traderapplication.network;
 
 import nl.rug.aoop.command.CommandHandler;
-import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.Communicator;
 import nl.rug.aoop.networking.MessageHandler;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -33,11 +32,8 @@ public class TraderMessageHandler implements MessageHandler {
      */
     @Override
     public void handleMessage(String jsonMessage, Communicator out) {
-        NetworkMessage networkMessage = NetworkMessage.fromJson(jsonMessage);
-        Map<String, Object> map = new HashMap<>();
-        map.put("Header", networkMessage.header());
-        map.put("Body", networkMessage.body());
+        Map<String, Object> map = WireFormat.decode(jsonMessage);
         map.put("Interface", out);
-        commandHandler.executeCommand(networkMessage.header(), map);
+        commandHandler.executeCommand((String) map.get(WireFormat.HEADER), map);
     }
 }
@@ -0,0 +1,26 @@
+package nl.rug.aoop.traderapplication.command;
+
+import nl.rug.aoop.messagequeue.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TestMessageRejectedCommandClass tests the MessageRejectedCommand class.
+ */
+public class TestMessageRejectedCommandClass {
+
+    /**
+     * Method tests that every rejected message is counted.
+     */
+    @Test
+    void testExecute() {
+        MessageRejectedCommand command = new MessageRejectedCommand();
+        Map<String, Object> options = Map.of("Body", new Message("resolveOrder", "order").toJson());
+        command.execute(options);
+        command.execute(options);
+        assertEquals(2, command.getNumOfRejected());
+    }
+}
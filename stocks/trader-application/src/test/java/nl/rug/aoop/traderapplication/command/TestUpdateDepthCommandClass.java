@@ -0,0 +1,65 @@
+package nl.rug.aoop.traderapplication.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import nl.rug.aoop.core.order.BookDepth;
+import nl.rug.aoop.core.order.BookDepthCollection;
+import nl.rug.aoop.core.order.DepthLevel;
+import nl.rug.aoop.messagequeue.message.Message;
+import nl.rug.aoop.traderapplication.interactor.LocalStockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TestUpdateDepthCommandClass tests the UpdateDepthCommand class.
+ */
+public class TestUpdateDepthCommandClass {
+    /**
+     * LocalStockManager used in the command.
+     */
+    private LocalStockManager localStockManager;
+    /**
+     * Tested command.
+     */
+    private UpdateDepthCommand command;
+
+    /**
+     * Method creates the command before every test.
+     */
+    @BeforeEach
+    void createCommand() {
+        localStockManager = new LocalStockManager();
+        command = new UpdateDepthCommand(localStockManager);
+    }
+
+    /**
+     * Method tests that the command is correctly constructed.
+     */
+    @Test
+    void testLegalConstructor() {
+        assertEquals(localStockManager, command.getLocalStockManager());
+        assertEquals(0, localStockManager.getBookDepthCollection().getSize());
+    }
+
+    /**
+     * Method tests that the command is correctly executed. Checks that the
+     * BookDepthCollection in local stock manager has been correctly updated.
+     */
+    @Test
+    void testExecute() throws JsonProcessingException {
+        BookDepthCollection newBookDepthCollection = new BookDepthCollection();
+        newBookDepthCollection.updateBookDepth(new BookDepth("test", List.of(new DepthLevel(9, 5L, 2)),
+                List.of(new DepthLevel(10, 3L, 1), new DepthLevel(11, 7L, 3))));
+        Map<String, Object> map = new HashMap<>();
+        Message testCollectionMessage = new Message("test", BookDepthCollection.toString(newBookDepthCollection));
+        map.put("Body", testCollectionMessage.toJson());
+        command.execute(map);
+        assertEquals(newBookDepthCollection, localStockManager.getBookDepthCollection());
+        assertEquals(10, localStockManager.getBookDepthCollection().getBookDepth("test").getBestAsk().price());
+    }
+}
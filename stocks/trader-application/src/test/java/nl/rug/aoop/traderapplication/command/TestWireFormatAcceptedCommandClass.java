@@ -0,0 +1,39 @@
+package nl.rug.aoop.traderapplication.command;
+
+import nl.rug.aoop.messagequeue.message.WireFormat;
+import nl.rug.aoop.networking.client.Client;
+import nl.rug.aoop.traderapplication.network.NetworkProducer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * TestWireFormatAcceptedCommandClass tests the WireFormatAcceptedCommand class.
+ */
+public class TestWireFormatAcceptedCommandClass {
+
+    /**
+     * Tests that the constructor checks its argument.
+     */
+    @Test
+    void testConstructor() {
+        assertThrows(NullPointerException.class, () -> new WireFormatAcceptedCommand(null));
+    }
+
+    /**
+     * Tests that the accepted WireFormat is set on the NetworkProducer, and that an unknown one falls back to JSON.
+     */
+    @Test
+    void testExecute() {
+        NetworkProducer networkProducer = new NetworkProducer(mock(Client.class));
+        WireFormatAcceptedCommand command = new WireFormatAcceptedCommand(networkProducer);
+        command.execute(Map.of("Body", "binary"));
+        assertEquals(WireFormat.BINARY, networkProducer.getWireFormat());
+        command.execute(Map.of("Body", "unknown"));
+        assertEquals(WireFormat.JSON, networkProducer.getWireFormat());
+    }
+}
@@ -2,10 +2,12 @@ package nl.rug.aoop.traderapplication.network;
 
 import nl.rug.aoop.messagequeue.message.Message;
 import nl.rug.aoop.messagequeue.message.NetworkMessage;
+import nl.rug.aoop.messagequeue.message.WireFormat;
 import nl.rug.aoop.networking.client.Client;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
@@ -63,4 +65,20 @@ public class TestNetworkProducerClass {
         Mockito.verify(client).sendMessage(networkMessage.toJson());
     }
 
+    /**
+     * Tests that the NetworkProducer asks for a WireFormat in JSON, and sends binary envelopes once it is accepted.
+     */
+    @Test
+    void testNegotiate() {
+        createNetworkProducer();
+
+        producer.negotiate(WireFormat.BINARY);
+        Mockito.verify(client).sendMessage(new NetworkMessage("wireFormat", "binary").toJson());
+        assertEquals(WireFormat.JSON, producer.getWireFormat());
+        producer.setWireFormat(WireFormat.BINARY);
+        Message message = new Message("Hello", "Simple message");
+        producer.put(message);
+        Mockito.verify(client).sendMessage(WireFormat.BINARY.encode("mqPut", message));
+    }
+
 }